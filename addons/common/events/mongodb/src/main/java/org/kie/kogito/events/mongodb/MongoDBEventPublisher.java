@@ -18,25 +18,37 @@
  */
 package org.kie.kogito.events.mongodb;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
+import org.bson.Document;
 import org.bson.codecs.configuration.CodecRegistries;
 import org.bson.codecs.configuration.CodecRegistry;
 import org.bson.codecs.pojo.PojoCodecProvider;
+import org.bson.conversions.Bson;
 import org.kie.kogito.event.DataEvent;
 import org.kie.kogito.event.EventPublisher;
 import org.kie.kogito.event.process.ProcessInstanceDataEvent;
 import org.kie.kogito.event.usertask.UserTaskInstanceDataEvent;
+import org.kie.kogito.events.mongodb.codec.CodecUtils;
 import org.kie.kogito.events.mongodb.codec.EventMongoDBCodecProvider;
 import org.kie.kogito.mongodb.transaction.AbstractTransactionManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.mongodb.MongoClientSettings;
+import com.mongodb.client.ClientSession;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
 import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
 
 import static org.bson.codecs.configuration.CodecRegistries.fromProviders;
 
@@ -45,9 +57,11 @@ public abstract class MongoDBEventPublisher implements EventPublisher {
     private static final Logger logger = LoggerFactory.getLogger(MongoDBEventPublisher.class);
 
     static final String ID = "_id";
+    private static final String EXPIRE_AFTER_SECONDS = "expireAfterSeconds";
 
     private MongoCollection<ProcessInstanceDataEvent> processInstanceDataEventCollection;
     private MongoCollection<UserTaskInstanceDataEvent> userTaskInstanceDataEventCollection;
+    private boolean deleteAfterInsert = true;
 
     protected abstract MongoClient mongoClient();
 
@@ -63,12 +77,56 @@ public abstract class MongoDBEventPublisher implements EventPublisher {
 
     protected abstract String userTasksEventsCollection();
 
+    /**
+     * When present, events are left in the outbox collections after being inserted and a TTL index removes them
+     * once this time has elapsed. When empty, events are deleted right after being inserted.
+     */
+    protected Optional<Duration> outboxTimeToLive() {
+        return Optional.empty();
+    }
+
     protected void configure() {
-        CodecRegistry registry = CodecRegistries.fromRegistries(MongoClientSettings.getDefaultCodecRegistry(), fromProviders(new EventMongoDBCodecProvider(),
+        Optional<Duration> timeToLive = outboxTimeToLive();
+        deleteAfterInsert = timeToLive.isEmpty();
+        CodecRegistry registry = CodecRegistries.fromRegistries(MongoClientSettings.getDefaultCodecRegistry(), fromProviders(new EventMongoDBCodecProvider(!deleteAfterInsert),
                 PojoCodecProvider.builder().automatic(true).build()));
         MongoDatabase mongoDatabase = mongoClient().getDatabase(eventsDatabaseName()).withCodecRegistry(registry);
         processInstanceDataEventCollection = mongoDatabase.getCollection(processInstancesEventsCollection(), ProcessInstanceDataEvent.class).withCodecRegistry(registry);
         userTaskInstanceDataEventCollection = mongoDatabase.getCollection(userTasksEventsCollection(), UserTaskInstanceDataEvent.class).withCodecRegistry(registry);
+        timeToLive.ifPresent(ttl -> {
+            createTimeToLiveIndex(mongoDatabase, processInstanceDataEventCollection, ttl);
+            createTimeToLiveIndex(mongoDatabase, userTaskInstanceDataEventCollection, ttl);
+        });
+    }
+
+    /**
+     * Creates the TTL index on the outbox time field. An index left by a previous configuration is changed in place
+     * with <code>collMod</code> (creating it again with other options fails with IndexOptionsConflict), or dropped
+     * and created again when it has no TTL at all.
+     */
+    private static void createTimeToLiveIndex(MongoDatabase database, MongoCollection<?> collection, Duration ttl) {
+        long expireAfterSeconds = ttl.toSeconds();
+        Optional<Document> existing = collection.listIndexes().into(new ArrayList<>()).stream().filter(MongoDBEventPublisher::isOutboxTimeIndex).findFirst();
+        if (existing.isPresent()) {
+            Document index = existing.get();
+            Number current = index.get(EXPIRE_AFTER_SECONDS, Number.class);
+            if (current != null && current.longValue() == expireAfterSeconds) {
+                return;
+            }
+            if (current != null) {
+                logger.info("Changing expiration of outbox collection {} from {} to {} seconds", collection.getNamespace(), current, expireAfterSeconds);
+                database.runCommand(new Document("collMod", collection.getNamespace().getCollectionName())
+                        .append("index", new Document("name", index.getString("name")).append(EXPIRE_AFTER_SECONDS, expireAfterSeconds)));
+                return;
+            }
+            collection.dropIndex(index.getString("name"));
+        }
+        collection.createIndex(Indexes.ascending(CodecUtils.OUTBOX_TIME), new IndexOptions().expireAfter(expireAfterSeconds, TimeUnit.SECONDS));
+    }
+
+    private static boolean isOutboxTimeIndex(Document index) {
+        Document key = index.get("key", Document.class);
+        return key != null && key.size() == 1 && key.containsKey(CodecUtils.OUTBOX_TIME);
     }
 
     @Override
@@ -90,20 +148,55 @@ public abstract class MongoDBEventPublisher implements EventPublisher {
     private <T extends DataEvent<?>> void publishEvent(MongoCollection<T> collection, T event) {
         if (transactionManager().enabled()) {
             collection.insertOne(transactionManager().getClientSession(), event);
-            // delete the event immediately from the outbox collection
-            collection.deleteOne(transactionManager().getClientSession(), Filters.eq(ID, event.getId()));
+            if (deleteAfterInsert) {
+                // delete the event immediately from the outbox collection
+                collection.deleteOne(transactionManager().getClientSession(), Filters.eq(ID, event.getId()));
+            }
         } else {
             collection.insertOne(event);
-            // delete the event from the outbox collection
-            collection.deleteOne(Filters.eq(ID, event.getId()));
+            if (deleteAfterInsert) {
+                // delete the event from the outbox collection
+                collection.deleteOne(Filters.eq(ID, event.getId()));
+            }
         }
 
     }
 
     @Override
     public void publish(Collection<DataEvent<?>> events) {
+        List<ProcessInstanceDataEvent> processInstanceEvents = new ArrayList<>();
+        List<UserTaskInstanceDataEvent> userTaskInstanceEvents = new ArrayList<>();
         for (DataEvent<?> event : events) {
-            publish(event);
+            if (this.processInstancesEvents() && event instanceof ProcessInstanceDataEvent) {
+                processInstanceEvents.add((ProcessInstanceDataEvent) event);
+            } else if (this.userTasksEvents() && event instanceof UserTaskInstanceDataEvent) {
+                userTaskInstanceEvents.add((UserTaskInstanceDataEvent) event);
+            } else {
+                logger.debug("Unknown type of event '{}', ignoring", event.getType());
+            }
+        }
+        publishEvents(processInstanceDataEventCollection, processInstanceEvents);
+        publishEvents(userTaskInstanceDataEventCollection, userTaskInstanceEvents);
+    }
+
+    private <T extends DataEvent<?>> void publishEvents(MongoCollection<T> collection, List<T> events) {
+        if (events.size() == 1) {
+            publishEvent(collection, events.get(0));
+        } else if (!events.isEmpty()) {
+            // a single insert and a single delete for the whole batch instead of one of each per event
+            Bson ids = Filters.in(ID, events.stream().map(DataEvent::getId).collect(Collectors.toList()));
+            if (transactionManager().enabled()) {
+                ClientSession clientSession = transactionManager().getClientSession();
+                collection.insertMany(clientSession, events);
+                if (deleteAfterInsert) {
+                    collection.deleteMany(clientSession, ids);
+                }
+            } else {
+                collection.insertMany(events);
+                if (deleteAfterInsert) {
+                    collection.deleteMany(ids);
+                }
+            }
         }
     }
 }
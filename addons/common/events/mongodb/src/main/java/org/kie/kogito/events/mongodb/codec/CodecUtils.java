@@ -36,6 +36,11 @@ public class CodecUtils {
 
     static final String ID = "_id";
 
+    /**
+     * Date field written when outbox documents are expired by a TTL index rather than deleted right away
+     */
+    public static final String OUTBOX_TIME = "kogitoOutboxTime";
+
     private static final Codec<Document> CODEC = new DocumentCodec(CodecRegistries.fromRegistries(
             MongoClientSettings.getDefaultCodecRegistry(),
             fromProviders(PojoCodecProvider.builder().automatic(true).build())));
@@ -26,17 +26,29 @@ import org.kie.kogito.event.usertask.UserTaskInstanceDataEvent;
 
 public class EventMongoDBCodecProvider implements CodecProvider {
 
-    private static final ProcessInstanceDataEventCodec PROCESS_INSTANCE_DATA_EVENT_CODEC = new ProcessInstanceDataEventCodec();
-    private static final UserTaskInstanceDataEventCodec USER_TASK_INSTANCE_DATA_EVENT_CODEC = new UserTaskInstanceDataEventCodec();
+    private final ProcessInstanceDataEventCodec processInstanceDataEventCodec;
+    private final UserTaskInstanceDataEventCodec userTaskInstanceDataEventCodec;
+
+    public EventMongoDBCodecProvider() {
+        this(false);
+    }
+
+    /**
+     * @param outboxTime whether encoded events carry the date used by the outbox TTL index
+     */
+    public EventMongoDBCodecProvider(boolean outboxTime) {
+        this.processInstanceDataEventCodec = new ProcessInstanceDataEventCodec(outboxTime);
+        this.userTaskInstanceDataEventCodec = new UserTaskInstanceDataEventCodec(outboxTime);
+    }
 
     @SuppressWarnings("unchecked")
     @Override
     public <T> Codec<T> get(Class<T> aClass, CodecRegistry codecRegistry) {
         if (ProcessInstanceDataEvent.class.isAssignableFrom(aClass)) {
-            return (Codec<T>) PROCESS_INSTANCE_DATA_EVENT_CODEC;
+            return (Codec<T>) processInstanceDataEventCodec;
         }
         if (UserTaskInstanceDataEvent.class.isAssignableFrom(aClass)) {
-            return (Codec<T>) USER_TASK_INSTANCE_DATA_EVENT_CODEC;
+            return (Codec<T>) userTaskInstanceDataEventCodec;
         }
         return null;
     }
@@ -18,6 +18,8 @@
  */
 package org.kie.kogito.events.mongodb.codec;
 
+import java.util.Date;
+
 import org.bson.BsonReader;
 import org.bson.BsonString;
 import org.bson.BsonValue;
@@ -39,6 +41,17 @@ import static org.kie.kogito.events.mongodb.codec.CodecUtils.codec;
 public class ProcessInstanceDataEventCodec implements CollectibleCodec<ProcessInstanceDataEvent> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ProcessInstanceDataEventCodec.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper().findAndRegisterModules().disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private final boolean outboxTime;
+
+    public ProcessInstanceDataEventCodec() {
+        this(false);
+    }
+
+    public ProcessInstanceDataEventCodec(boolean outboxTime) {
+        this.outboxTime = outboxTime;
+    }
 
     @Override
     public ProcessInstanceDataEvent generateIdIfAbsentFromDocument(ProcessInstanceDataEvent processInstanceDataEvent) {
@@ -66,11 +79,11 @@ public class ProcessInstanceDataEventCodec implements CollectibleCodec<ProcessIn
     @Override
     public void encode(BsonWriter bsonWriter, ProcessInstanceDataEvent processInstanceDataEvent, EncoderContext encoderContext) {
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            mapper.findAndRegisterModules();
-            mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-            Document document = Document.parse(mapper.writeValueAsString(processInstanceDataEvent));
+            Document document = Document.parse(MAPPER.writeValueAsString(processInstanceDataEvent));
             document.put(CodecUtils.ID, processInstanceDataEvent.getId());
+            if (outboxTime) {
+                document.put(CodecUtils.OUTBOX_TIME, new Date());
+            }
             codec().encode(bsonWriter, document, encoderContext);
         } catch (JsonProcessingException e) {
             LOGGER.error("Could not process json event", e);
@@ -18,10 +18,14 @@
  */
 package org.kie.kogito.events.mongodb;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
+import org.bson.Document;
 import org.bson.codecs.configuration.CodecRegistry;
+import org.bson.conversions.Bson;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.kie.kogito.event.AbstractDataEvent;
@@ -30,18 +34,25 @@ import org.kie.kogito.event.process.ProcessInstanceDataEvent;
 import org.kie.kogito.event.process.ProcessInstanceStateDataEvent;
 import org.kie.kogito.event.usertask.UserTaskInstanceDataEvent;
 import org.kie.kogito.event.usertask.UserTaskInstanceStateDataEvent;
+import org.kie.kogito.events.mongodb.codec.CodecUtils;
 import org.kie.kogito.mongodb.transaction.AbstractTransactionManager;
+import org.mockito.ArgumentCaptor;
 
+import com.mongodb.MongoNamespace;
 import com.mongodb.client.ClientSession;
+import com.mongodb.client.ListIndexesIterable;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
 import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.IndexOptions;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.kie.kogito.events.mongodb.MongoDBEventPublisher.ID;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -219,4 +230,123 @@ class MongoDBEventPublisherTest {
         verify(mongoCollection).deleteOne(eq(clientSession), eq(Filters.eq(ID, "testUserTaskInstanceEvent")));
 
     }
+
+    @Test
+    void testPublishEventsBatch() {
+        ClientSession clientSession = mock(ClientSession.class);
+        when(transactionManager.getClientSession()).thenReturn(clientSession);
+        when(transactionManager.enabled()).thenReturn(true);
+        ProcessInstanceStateDataEvent otherProcessInstanceDataEvent = mock(ProcessInstanceStateDataEvent.class);
+        when(otherProcessInstanceDataEvent.getId()).thenReturn("otherProcessInstanceEvent");
+
+        publisher.configure();
+        publisher.publish(List.<DataEvent<?>> of(processInstanceDataEvent, otherProcessInstanceDataEvent, userTaskInstanceDataEvent));
+
+        verify(mongoCollection).insertMany(eq(clientSession), eq(List.of(processInstanceDataEvent, otherProcessInstanceDataEvent)));
+        verify(mongoCollection).deleteMany(eq(clientSession), eq(Filters.in(ID, List.of("testProcessInstanceEvent", "otherProcessInstanceEvent"))));
+        verify(mongoCollection).insertOne(eq(clientSession), eq(userTaskInstanceDataEvent));
+        verify(mongoCollection).deleteOne(eq(clientSession), eq(Filters.eq(ID, "testUserTaskInstanceEvent")));
+    }
+
+    @Test
+    void testPublishWithTimeToLive() {
+        mockIndexes();
+        MongoDBEventPublisher ttlPublisher = timeToLivePublisher(Duration.ofHours(1));
+        ttlPublisher.configure();
+        verify(mongoCollection, times(2)).createIndex(any(Bson.class), any(IndexOptions.class));
+
+        ttlPublisher.publish(processInstanceDataEvent);
+        ttlPublisher.publish(List.<DataEvent<?>> of(processInstanceDataEvent, processInstanceDataEvent));
+        verify(mongoCollection).insertOne(eq(processInstanceDataEvent));
+        verify(mongoCollection).insertMany(any());
+        verify(mongoCollection, never()).deleteOne(any());
+        verify(mongoCollection, never()).deleteMany(any());
+    }
+
+    @Test
+    void testTimeToLiveIndexChanged() {
+        mockIndexes(new Document("name", "kogitoOutboxTime_1").append("key", new Document(CodecUtils.OUTBOX_TIME, 1)).append("expireAfterSeconds", 60));
+        timeToLivePublisher(Duration.ofHours(1)).configure();
+
+        ArgumentCaptor<Bson> command = ArgumentCaptor.forClass(Bson.class);
+        verify(mongoDatabase, times(2)).runCommand(command.capture());
+        assertThat(command.getValue()).isEqualTo(new Document("collMod", "testCollection")
+                .append("index", new Document("name", "kogitoOutboxTime_1").append("expireAfterSeconds", 3600L)));
+        verify(mongoCollection, never()).createIndex(any(Bson.class), any(IndexOptions.class));
+    }
+
+    @Test
+    void testTimeToLiveIndexUnchanged() {
+        mockIndexes(new Document("name", "kogitoOutboxTime_1").append("key", new Document(CodecUtils.OUTBOX_TIME, 1)).append("expireAfterSeconds", 3600));
+        timeToLivePublisher(Duration.ofHours(1)).configure();
+
+        verify(mongoDatabase, never()).runCommand(any(Bson.class));
+        verify(mongoCollection, never()).createIndex(any(Bson.class), any(IndexOptions.class));
+    }
+
+    @Test
+    void testIndexWithoutTimeToLiveRecreated() {
+        mockIndexes(new Document("name", "kogitoOutboxTime_1").append("key", new Document(CodecUtils.OUTBOX_TIME, 1)));
+        timeToLivePublisher(Duration.ofHours(1)).configure();
+
+        verify(mongoCollection, times(2)).dropIndex("kogitoOutboxTime_1");
+        verify(mongoCollection, times(2)).createIndex(any(Bson.class), any(IndexOptions.class));
+        verify(mongoDatabase, never()).runCommand(any(Bson.class));
+    }
+
+    private void mockIndexes(Document... indexes) {
+        ListIndexesIterable<Document> listIndexes = mock(ListIndexesIterable.class);
+        when(listIndexes.into(any())).thenAnswer(invocation -> {
+            List<Document> target = invocation.getArgument(0);
+            target.add(new Document("name", "_id_").append("key", new Document(ID, 1)));
+            target.addAll(List.of(indexes));
+            return target;
+        });
+        when(mongoCollection.listIndexes()).thenReturn(listIndexes);
+        when(mongoCollection.getNamespace()).thenReturn(new MongoNamespace("testDB", "testCollection"));
+    }
+
+    private MongoDBEventPublisher timeToLivePublisher(Duration timeToLive) {
+        return new MongoDBEventPublisher() {
+            @Override
+            protected MongoClient mongoClient() {
+                return mongoClient;
+            }
+
+            @Override
+            protected AbstractTransactionManager transactionManager() {
+                return transactionManager;
+            }
+
+            @Override
+            protected boolean processInstancesEvents() {
+                return true;
+            }
+
+            @Override
+            protected boolean userTasksEvents() {
+                return true;
+            }
+
+            @Override
+            protected String eventsDatabaseName() {
+                return "testDB";
+            }
+
+            @Override
+            protected String processInstancesEventsCollection() {
+                return "testPICollection";
+            }
+
+            @Override
+            protected String userTasksEventsCollection() {
+                return "testTECollection";
+            }
+
+            @Override
+            protected Optional<Duration> outboxTimeToLive() {
+                return Optional.of(timeToLive);
+            }
+        };
+    }
 }
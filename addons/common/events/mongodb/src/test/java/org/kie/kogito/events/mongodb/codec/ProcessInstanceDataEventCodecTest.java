@@ -160,6 +160,26 @@ class ProcessInstanceDataEventCodecTest {
         }
     }
 
+    @Test
+    void encodeOutboxTime() {
+        try (MockedStatic<CodecUtils> codecUtils = mockStatic(CodecUtils.class)) {
+            Codec<Document> mockCodec = mock(Codec.class);
+            codecUtils.when(CodecUtils::codec).thenReturn(mockCodec);
+            BsonWriter writer = mock(BsonWriter.class);
+            EncoderContext context = EncoderContext.builder().build();
+
+            Date before = new Date();
+            new ProcessInstanceDataEventCodec(true).encode(writer, event, context);
+            codec.encode(writer, event, context);
+
+            ArgumentCaptor<Document> captor = ArgumentCaptor.forClass(Document.class);
+            verify(mockCodec, times(2)).encode(eq(writer), captor.capture(), eq(context));
+            assertThat(captor.getAllValues().get(0).get(CodecUtils.OUTBOX_TIME)).isInstanceOfSatisfying(Date.class,
+                    outboxTime -> assertThat(outboxTime).isBetween(before, new Date(), true, true));
+            assertThat(captor.getAllValues().get(1)).doesNotContainKey(CodecUtils.OUTBOX_TIME);
+        }
+    }
+
     @Test
     void getEncoderClass() {
         assertThat(codec.getEncoderClass()).isEqualTo(ProcessInstanceDataEvent.class);
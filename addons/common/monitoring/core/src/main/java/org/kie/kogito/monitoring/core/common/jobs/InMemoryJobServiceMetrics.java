@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.monitoring.core.common.jobs;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.kie.kogito.KogitoGAV;
+import org.kie.kogito.services.jobs.impl.InMemoryJobService;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+
+/**
+ * Registers the dispatching metrics of an {@link InMemoryJobService} handing its firings over to a job executor
+ */
+public class InMemoryJobServiceMetrics {
+
+    private static final String IN_FLIGHT_NAME = "kogito_job_service_in_flight_jobs";
+
+    private static final String IN_FLIGHT_HELP = "Job firings currently executed by the job executor.";
+
+    private static final String MAX_IN_FLIGHT_NAME = "kogito_job_service_max_in_flight_jobs";
+
+    private static final String MAX_IN_FLIGHT_HELP = "Maximum number of job firings executed by the job executor at the same time.";
+
+    private static final String DISPATCHED_NAME = "kogito_job_service_dispatched_jobs_total";
+
+    private static final String DISPATCHED_HELP = "Job firings handed over to the job executor.";
+
+    private static final String THROTTLED_NAME = "kogito_job_service_throttled_jobs_total";
+
+    private static final String THROTTLED_HELP = "Job firings delayed because the maximum number of firings in flight was reached.";
+
+    private final MeterRegistry registry;
+
+    private final KogitoGAV gav;
+
+    public InMemoryJobServiceMetrics(KogitoGAV gav, MeterRegistry meterRegistry) {
+        this.gav = gav;
+        this.registry = meterRegistry;
+    }
+
+    public void register(InMemoryJobService jobService) {
+        List<Tag> tags = Arrays.asList(Tag.of("artifactId", gav.getArtifactId()), Tag.of("version", gav.getVersion()));
+        Gauge.builder(IN_FLIGHT_NAME, jobService, InMemoryJobService::inFlightJobs)
+                .description(IN_FLIGHT_HELP)
+                .tags(tags)
+                .register(registry);
+        Gauge.builder(MAX_IN_FLIGHT_NAME, jobService, InMemoryJobService::maxInFlightJobs)
+                .description(MAX_IN_FLIGHT_HELP)
+                .tags(tags)
+                .register(registry);
+        FunctionCounter.builder(DISPATCHED_NAME, jobService, InMemoryJobService::dispatchedJobs)
+                .description(DISPATCHED_HELP)
+                .tags(tags)
+                .register(registry);
+        FunctionCounter.builder(THROTTLED_NAME, jobService, InMemoryJobService::throttledJobs)
+                .description(THROTTLED_HELP)
+                .tags(tags)
+                .register(registry);
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.monitoring.core.common.jobs;
+
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.KogitoGAV;
+import org.kie.kogito.services.jobs.impl.InMemoryJobService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class InMemoryJobServiceMetricsTest {
+
+    @Test
+    public void testJobServiceMetrics() {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        InMemoryJobService jobService = mock(InMemoryJobService.class);
+        when(jobService.inFlightJobs()).thenReturn(3);
+        when(jobService.maxInFlightJobs()).thenReturn(8);
+        when(jobService.dispatchedJobs()).thenReturn(42L);
+        when(jobService.throttledJobs()).thenReturn(5L);
+
+        new InMemoryJobServiceMetrics(KogitoGAV.EMPTY_GAV, registry).register(jobService);
+
+        assertThat(registry.find("kogito_job_service_in_flight_jobs").gauge().value()).isEqualTo(3);
+        assertThat(registry.find("kogito_job_service_max_in_flight_jobs").gauge().value()).isEqualTo(8);
+        assertThat(registry.find("kogito_job_service_dispatched_jobs_total").functionCounter().count()).isEqualTo(42);
+        assertThat(registry.find("kogito_job_service_throttled_jobs_total").functionCounter().count()).isEqualTo(5);
+    }
+}
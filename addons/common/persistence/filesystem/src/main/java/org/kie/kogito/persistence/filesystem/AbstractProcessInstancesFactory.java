@@ -20,19 +20,35 @@ package org.kie.kogito.persistence.filesystem;
 
 import java.nio.file.Paths;
 
+import org.jbpm.flow.serialization.PayloadCompression;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstancesFactory;
 
 public abstract class AbstractProcessInstancesFactory implements ProcessInstancesFactory {
 
     private final String path;
+    private final String compression;
+    private final int compressionThreshold;
 
     public AbstractProcessInstancesFactory(String path) {
+        this(path, PayloadCompression.NONE, PayloadCompression.DEFAULT_THRESHOLD);
+    }
+
+    public AbstractProcessInstancesFactory(String path, String compression, int compressionThreshold) {
         this.path = path;
+        this.compression = compression;
+        this.compressionThreshold = compressionThreshold;
     }
 
     public FileSystemProcessInstances createProcessInstances(Process<?> process) {
-        return new FileSystemProcessInstances(process, Paths.get(path));
+        return new FileSystemProcessInstances(process, Paths.get(path), compression, compressionThreshold);
+    }
+
+    /**
+     * @return job store keeping the jobs in the <code>.jobs</code> directory of the process instances storage
+     */
+    public FileSystemJobStore createJobStore() {
+        return new FileSystemJobStore(Paths.get(path, ".jobs"));
     }
 
 }
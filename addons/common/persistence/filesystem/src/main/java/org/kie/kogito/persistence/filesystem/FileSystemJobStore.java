@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.persistence.filesystem;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.drools.util.PathUtils;
+import org.kie.kogito.jobs.JobDescription;
+import org.kie.kogito.jobs.JobStore;
+import org.kie.kogito.services.jobs.impl.JobDescriptionMarshaller;
+
+/**
+ * {@link JobStore} keeping every job in its own file and its lease in a sibling <code>.lease</code> file.
+ * Claims are only atomic within this JVM, so the storage directory should not be shared between replicas.
+ */
+public class FileSystemJobStore implements JobStore {
+
+    private static final String LEASE_SUFFIX = ".lease";
+    private static final String LEASE_SEPARATOR = "\n";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final Path storage;
+
+    public FileSystemJobStore(Path storage) {
+        this.storage = storage;
+        try {
+            Files.createDirectories(storage);
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to create directories for file based storage of jobs", e);
+        }
+    }
+
+    @Override
+    public void store(JobDescription jobDescription) {
+        try {
+            write(PathUtils.getSecuredPath(storage, jobDescription.id()), JobDescriptionMarshaller.marshall(jobDescription));
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to store job with id " + jobDescription.id(), e);
+        }
+    }
+
+    @Override
+    public synchronized void remove(String id) {
+        try {
+            Files.deleteIfExists(PathUtils.getSecuredPath(storage, id));
+            Files.deleteIfExists(PathUtils.getSecuredPath(storage, id + LEASE_SUFFIX));
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to remove job with id " + id, e);
+        }
+    }
+
+    @Override
+    public boolean exists(String id) {
+        return Files.isRegularFile(PathUtils.getSecuredPath(storage, id));
+    }
+
+    @Override
+    public Optional<JobDescription> find(String id) {
+        Path file = PathUtils.getSecuredPath(storage, id);
+        try {
+            return Files.isRegularFile(file) ? Optional.of(JobDescriptionMarshaller.unmarshall(Files.readAllBytes(file))) : Optional.empty();
+        } catch (NoSuchFileException e) {
+            // removed in between
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to load job with id " + id, e);
+        }
+    }
+
+    @Override
+    public Collection<JobDescription> loadAll() {
+        Collection<JobDescription> jobs = new ArrayList<>();
+        try (Stream<Path> files = Files.list(storage)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (Files.isRegularFile(file) && isJobFile(file.getFileName().toString())) {
+                    jobs.add(JobDescriptionMarshaller.unmarshall(Files.readAllBytes(file)));
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to load jobs", e);
+        }
+        return jobs;
+    }
+
+    @Override
+    public List<JobDescription> loadClaimable(String afterId, int limit) {
+        List<JobDescription> jobs = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        try (Stream<Path> files = Files.list(storage)) {
+            List<String> ids = files.filter(Files::isRegularFile)
+                    .map(file -> file.getFileName().toString())
+                    .filter(fileName -> isJobFile(fileName) && (afterId == null || fileName.compareTo(afterId) > 0))
+                    .sorted()
+                    .collect(Collectors.toList());
+            for (String id : ids) {
+                if (jobs.size() == limit) {
+                    break;
+                }
+                Path leaseStorage = PathUtils.getSecuredPath(storage, id + LEASE_SUFFIX);
+                if (!Files.exists(leaseStorage) || leaseExpiration(leaseStorage) < now) {
+                    find(id).ifPresent(jobs::add);
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to load claimable jobs", e);
+        }
+        return jobs;
+    }
+
+    @Override
+    public synchronized boolean claim(String id, String owner, ZonedDateTime leaseExpiration) {
+        if (!exists(id)) {
+            return false;
+        }
+        Path leaseStorage = PathUtils.getSecuredPath(storage, id + LEASE_SUFFIX);
+        try {
+            if (Files.exists(leaseStorage)) {
+                String[] lease = new String(Files.readAllBytes(leaseStorage), StandardCharsets.UTF_8).split(LEASE_SEPARATOR);
+                if (!lease[0].equals(owner) && Long.parseLong(lease[1]) >= System.currentTimeMillis()) {
+                    return false;
+                }
+            }
+            write(leaseStorage, (owner + LEASE_SEPARATOR + leaseExpiration.toInstant().toEpochMilli()).getBytes(StandardCharsets.UTF_8));
+            return true;
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to claim job with id " + id, e);
+        }
+    }
+
+    private static long leaseExpiration(Path leaseStorage) throws IOException {
+        try {
+            return Long.parseLong(new String(Files.readAllBytes(leaseStorage), StandardCharsets.UTF_8).split(LEASE_SEPARATOR)[1]);
+        } catch (NoSuchFileException e) {
+            // released in between
+            return 0L;
+        }
+    }
+
+    private static boolean isJobFile(String fileName) {
+        return !fileName.endsWith(LEASE_SUFFIX) && !fileName.endsWith(TEMP_SUFFIX);
+    }
+
+    // written aside and moved, so a crash never leaves a truncated file behind
+    private static void write(Path file, byte[] data) throws IOException {
+        Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), TEMP_SUFFIX);
+        Files.write(temp, data);
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
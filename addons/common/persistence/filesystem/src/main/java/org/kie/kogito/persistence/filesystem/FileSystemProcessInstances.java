@@ -19,12 +19,14 @@
 package org.kie.kogito.persistence.filesystem;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.UserDefinedFileAttributeView;
 import java.util.ArrayList;
@@ -37,6 +39,7 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.drools.util.PathUtils;
+import org.jbpm.flow.serialization.PayloadCompression;
 import org.jbpm.flow.serialization.ProcessInstanceMarshallerService;
 import org.kie.kogito.Model;
 import org.kie.kogito.process.MutableProcessInstances;
@@ -58,7 +61,12 @@ public class FileSystemProcessInstances<T extends Model> implements MutableProce
     private ProcessInstanceMarshallerService marshaller;
 
     public FileSystemProcessInstances(Process<?> process, Path storage) {
-        this(process, storage, ProcessInstanceMarshallerService.newBuilder().withDefaultObjectMarshallerStrategies().withDefaultListeners().build());
+        this(process, storage, PayloadCompression.NONE, PayloadCompression.DEFAULT_THRESHOLD);
+    }
+
+    public FileSystemProcessInstances(Process<?> process, Path storage, String compression, int compressionThreshold) {
+        this(process, storage, ProcessInstanceMarshallerService.newBuilder().withDefaultObjectMarshallerStrategies().withDefaultListeners()
+                .withPayloadCompression(compression, compressionThreshold).build());
     }
 
     public FileSystemProcessInstances(Process<?> process, Path storage, ProcessInstanceMarshallerService marshaller) {
@@ -203,14 +211,33 @@ public class FileSystemProcessInstances<T extends Model> implements MutableProce
     }
 
     protected void storeProcessInstance(Path processInstanceStorage, ProcessInstance<?> instance) {
+        Path temporaryStorage = null;
         try {
-            byte[] data = marshaller.marshallProcessInstance(instance);
-            Files.write(processInstanceStorage, data);
+            // marshalled straight into a file outside the process folder, then moved in place,
+            // so a failure never leaves a truncated instance behind
+            temporaryStorage = Files.createTempFile(storage.getParent(), "." + process.id() + "-", ".tmp");
+            try (OutputStream output = Files.newOutputStream(temporaryStorage)) {
+                marshaller.writeProcessInstance(instance, output);
+            }
+            Files.move(temporaryStorage, processInstanceStorage, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            temporaryStorage = null;
             setMetadata(processInstanceStorage, PI_DESCRIPTION, instance.description());
             setMetadata(processInstanceStorage, PI_STATUS, String.valueOf(instance.status()));
 
         } catch (IOException e) {
             throw new RuntimeException("Unable to store process instance with id " + instance.id(), e);
+        } finally {
+            deleteTemporaryStorage(temporaryStorage);
+        }
+    }
+
+    private static void deleteTemporaryStorage(Path temporaryStorage) {
+        if (temporaryStorage != null) {
+            try {
+                Files.deleteIfExists(temporaryStorage);
+            } catch (IOException e) {
+                // nothing else to do, the file is ignored by the process instance storage anyway
+            }
         }
     }
 
@@ -18,7 +18,12 @@
  */
 package org.kie.persistence.filesystem;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Collections;
+import java.util.stream.Stream;
 
 import org.jbpm.process.instance.impl.Action;
 import org.jbpm.workflow.core.DroolsAction;
@@ -59,6 +64,7 @@ import static org.kie.kogito.test.utils.ProcessInstancesTestUtils.assertEmpty;
 import static org.kie.kogito.test.utils.ProcessInstancesTestUtils.getFirstReadOnly;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeast;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
@@ -243,6 +249,29 @@ class FileSystemProcessInstancesTest {
         assertEmpty(fileSystemBasedStorage);
     }
 
+    @Test
+    void testUpdateReplacesStoredInstance() throws IOException {
+        BpmnProcess process = createProcess("BPMN2-UserTask.bpmn2");
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test")));
+        processInstance.start();
+
+        processInstance.updateVariables(BpmnVariables.create(Collections.singletonMap("test", "updated")));
+        processInstance.updateVariables(BpmnVariables.create(Collections.singletonMap("test", "updated twice")));
+
+        FileSystemProcessInstances fileSystemBasedStorage = (FileSystemProcessInstances) process.instances();
+        verify(fileSystemBasedStorage, atLeast(2)).update(eq(processInstance.id()), any());
+        assertThat(fileSystemBasedStorage.findById(processInstance.id(), ProcessInstanceReadMode.READ_ONLY))
+                .hasValueSatisfying(pi -> assertThat(pi.variables().get("test")).isEqualTo("updated twice"));
+        assertThat(fileSystemBasedStorage.getMetadata(Paths.get("target", process.id(), processInstance.id()), FileSystemProcessInstances.PI_STATUS))
+                .isEqualTo("1");
+        // instances are written to a temporary file moved over the stored one, none of them is left behind
+        try (Stream<Path> files = Files.list(Paths.get("target"))) {
+            assertThat(files.map(file -> file.getFileName().toString())).noneMatch(name -> name.startsWith("." + process.id() + "-"));
+        }
+
+        abort(fileSystemBasedStorage);
+    }
+
     @Test
     void testResolveSecureRejectsPathTraversalViaFindById() {
         BpmnProcess process = createProcess("BPMN2-UserTask.bpmn2");
@@ -20,6 +20,7 @@ package org.kie.kogito.persistence.jdbc;
 
 import javax.sql.DataSource;
 
+import org.jbpm.flow.serialization.PayloadCompression;
 import org.kie.kogito.internal.process.runtime.HeadersPersistentConfig;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstancesFactory;
@@ -29,6 +30,9 @@ public abstract class AbstractProcessInstancesFactory implements ProcessInstance
     private final DataSource dataSource;
     private final Boolean lock;
     private final HeadersPersistentConfig headersConfig;
+    private final int deltaMaxPatches;
+    private final String compression;
+    private final int compressionThreshold;
 
     protected AbstractProcessInstancesFactory() {
         this(null, false);
@@ -39,13 +43,25 @@ public abstract class AbstractProcessInstancesFactory implements ProcessInstance
     }
 
     public AbstractProcessInstancesFactory(DataSource dataSource, Boolean lock, HeadersPersistentConfig headersConfig) {
+        this(dataSource, lock, headersConfig, 0);
+    }
+
+    public AbstractProcessInstancesFactory(DataSource dataSource, Boolean lock, HeadersPersistentConfig headersConfig, int deltaMaxPatches) {
+        this(dataSource, lock, headersConfig, deltaMaxPatches, PayloadCompression.NONE, PayloadCompression.DEFAULT_THRESHOLD);
+    }
+
+    public AbstractProcessInstancesFactory(DataSource dataSource, Boolean lock, HeadersPersistentConfig headersConfig, int deltaMaxPatches, String compression,
+            int compressionThreshold) {
         this.dataSource = dataSource;
         this.lock = lock;
         this.headersConfig = headersConfig;
+        this.deltaMaxPatches = deltaMaxPatches;
+        this.compression = compression;
+        this.compressionThreshold = compressionThreshold;
     }
 
     @Override
     public JDBCProcessInstances createProcessInstances(Process<?> process) {
-        return new JDBCProcessInstances(process, dataSource, lock, headersConfig);
+        return new JDBCProcessInstances(process, dataSource, lock, headersConfig, deltaMaxPatches, compression, compressionThreshold);
     }
 }
@@ -18,6 +18,7 @@
  */
 package org.kie.kogito.persistence.jdbc;
 
+import java.sql.Array;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -34,10 +35,15 @@ import static java.util.Arrays.stream;
 
 public class GenericRepository extends Repository {
 
+    private static final String ID = "id";
     private static final String PAYLOAD = "payload";
     private static final String VERSION = "version";
+    private static final String PATCHES = "patches";
+    private static final String PROCESS_INSTANCE_ID = "process_instance_id";
+    private static final String POSTGRESQL_PRODUCT_NAME = "PostgreSQL";
 
     private final DataSource dataSource;
+    private volatile Boolean postgreSQL;
 
     public GenericRepository(DataSource dataSource) {
         this.dataSource = dataSource;
@@ -46,18 +52,9 @@ public class GenericRepository extends Repository {
     @Override
     void insertInternal(String processId, String processVersion, UUID id, byte[] payload, String businessKey, String[] eventTypes) {
         try (Connection connection = dataSource.getConnection();
-                PreparedStatement statement = connection.prepareStatement(INSERT);
-                PreparedStatement eventStatement = connection.prepareStatement(DELETE_ALL_WAITING_FOR_EVENT_TYPE);
-                PreparedStatement insertEventStatement = connection.prepareStatement(INSERT_WAITING_FOR_EVENT_TYPE)) {
+                PreparedStatement statement = connection.prepareStatement(INSERT)) {
 
-            eventStatement.setString(1, id.toString());
-            eventStatement.executeUpdate();
-
-            for (String eventType : eventTypes) {
-                insertEventStatement.setString(1, id.toString());
-                insertEventStatement.setString(2, eventType);
-                insertEventStatement.executeUpdate();
-            }
+            writeEventTypes(connection, id.toString(), eventTypes);
 
             String processInstanceId = id.toString();
             statement.setString(1, processInstanceId);
@@ -79,62 +76,226 @@ public class GenericRepository extends Repository {
     }
 
     @Override
-    void updateInternal(String processId, String processVersion, UUID id, byte[] payload, String[] eventTypes) {
+    void updateInternal(String processId, String processVersion, UUID id, byte[] payload, String[] eventTypes, boolean discardPatches) {
         try (Connection connection = dataSource.getConnection();
-                PreparedStatement statement = connection.prepareStatement(sqlIncludingVersion(UPDATE, processVersion));
-                PreparedStatement eventStatement = connection.prepareStatement(DELETE_ALL_WAITING_FOR_EVENT_TYPE);
-                PreparedStatement insertEventStatement = connection.prepareStatement(INSERT_WAITING_FOR_EVENT_TYPE)) {
+                PreparedStatement statement = connection.prepareStatement(sqlIncludingVersion(UPDATE, processVersion))) {
+            inTransaction(connection, discardPatches, () -> {
+                writeEventTypes(connection, id.toString(), eventTypes);
+
+                statement.setBytes(1, payload);
+                statement.setString(2, processId);
+                statement.setString(3, id.toString());
+                if (processVersion != null) {
+                    statement.setString(4, processVersion);
+                }
+                statement.executeUpdate();
+                if (discardPatches) {
+                    deletePatches(connection, id.toString());
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            throw uncheckedException(e, "Error updating process instance %s", id);
+        }
+    }
 
-            eventStatement.setString(1, id.toString());
-            eventStatement.executeUpdate();
+    @Override
+    boolean updateWithLock(String processId, String processVersion, UUID id, byte[] payload, long version, String[] eventTypes, boolean discardPatches) {
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(sqlIncludingVersion(UPDATE_WITH_LOCK, processVersion))) {
+            return inTransaction(connection, discardPatches, () -> {
+                writeEventTypes(connection, id.toString(), eventTypes);
+
+                statement.setBytes(1, payload);
+                statement.setLong(2, version + 1);
+                statement.setString(3, processId);
+                statement.setString(4, id.toString());
+                statement.setLong(5, version);
+                if (processVersion != null) {
+                    statement.setString(6, processVersion);
+                }
+                int count = statement.executeUpdate();
+                if (count == 1 && discardPatches) {
+                    deletePatches(connection, id.toString());
+                }
+                return count == 1;
+            });
+        } catch (Exception e) {
+            throw uncheckedException(e, "Error updating with lock process instance %s", id);
+        }
+    }
 
-            for (String eventType : eventTypes) {
-                insertEventStatement.setString(1, id.toString());
-                insertEventStatement.setString(2, eventType);
-                insertEventStatement.executeUpdate();
-            }
+    @Override
+    void insertPatch(UUID id, int sequence, byte[] patch, String[] eventTypes) {
+        try (Connection connection = dataSource.getConnection()) {
+            inTransaction(connection, true, () -> {
+                writeEventTypes(connection, id.toString(), eventTypes);
+                writePatch(connection, id.toString(), sequence, patch);
+                return null;
+            });
+        } catch (Exception e) {
+            throw uncheckedException(e, "Error inserting patch %d of process instance %s", sequence, id);
+        }
+    }
 
-            statement.setBytes(1, payload);
-            statement.setString(2, processId);
-            statement.setString(3, id.toString());
-            if (processVersion != null) {
-                statement.setString(4, processVersion);
-            }
+    @Override
+    boolean insertPatchWithLock(String processId, String processVersion, UUID id, int sequence, byte[] patch, long version, String[] eventTypes) {
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(sqlIncludingVersion(UPDATE_VERSION_WITH_LOCK, processVersion))) {
+            return inTransaction(connection, true, () -> {
+                statement.setLong(1, version + 1);
+                statement.setString(2, processId);
+                statement.setString(3, id.toString());
+                statement.setLong(4, version);
+                if (processVersion != null) {
+                    statement.setString(5, processVersion);
+                }
+                if (statement.executeUpdate() != 1) {
+                    return false;
+                }
+                writeEventTypes(connection, id.toString(), eventTypes);
+                writePatch(connection, id.toString(), sequence, patch);
+                return true;
+            });
+        } catch (Exception e) {
+            throw uncheckedException(e, "Error inserting with lock patch %d of process instance %s", sequence, id);
+        }
+    }
+
+    private void writePatch(Connection connection, String processInstanceId, int sequence, byte[] patch) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_PATCH)) {
+            statement.setString(1, processInstanceId);
+            statement.setInt(2, sequence);
+            statement.setBytes(3, patch);
             statement.executeUpdate();
+        }
+    }
+
+    @Override
+    List<byte[]> findPatches(UUID id) {
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(FIND_PATCHES)) {
+            statement.setString(1, id.toString());
+            List<byte[]> patches = new ArrayList<>();
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    patches.add(resultSet.getBytes(PAYLOAD));
+                }
+            }
+            return patches;
         } catch (Exception e) {
-            throw uncheckedException(e, "Error updating process instance %s", id);
+            throw uncheckedException(e, "Error finding patches of process instance %s", id);
         }
     }
 
     @Override
-    boolean updateWithLock(String processId, String processVersion, UUID id, byte[] payload, long version, String[] eventTypes) {
+    Map<String, List<byte[]>> findPatches(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        String sql = FIND_PATCHES_SQL_TEMPLATE.formatted(ids.stream().map(id -> "?").collect(Collectors.joining(", ")));
         try (Connection connection = dataSource.getConnection();
-                PreparedStatement statement = connection.prepareStatement(sqlIncludingVersion(UPDATE_WITH_LOCK, processVersion));
-                PreparedStatement eventStatement = connection.prepareStatement(DELETE_ALL_WAITING_FOR_EVENT_TYPE);
-                PreparedStatement insertEventStatement = connection.prepareStatement(INSERT_WAITING_FOR_EVENT_TYPE)) {
+                PreparedStatement statement = connection.prepareStatement(sql)) {
+            int index = 1;
+            for (String id : ids) {
+                statement.setString(index++, id);
+            }
+            Map<String, List<byte[]>> patches = new HashMap<>();
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    patches.computeIfAbsent(resultSet.getString(PROCESS_INSTANCE_ID).trim(), k -> new ArrayList<>()).add(resultSet.getBytes(PAYLOAD));
+                }
+            }
+            return patches;
+        } catch (Exception e) {
+            throw uncheckedException(e, "Error finding patches of process instances %s", ids);
+        }
+    }
 
-            eventStatement.setString(1, id.toString());
-            eventStatement.executeUpdate();
+    private void deletePatches(Connection connection, String processInstanceId) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(DELETE_PATCHES)) {
+            statement.setString(1, processInstanceId);
+            statement.executeUpdate();
+        }
+    }
+
+    @FunctionalInterface
+    private interface SQLWork<R> {
+        R execute() throws SQLException;
+    }
+
+    /**
+     * Executes the statements atomically when several tables are written. A connection already enlisted in a transaction
+     * (not in auto commit mode) is left to it, otherwise a local transaction is used.
+     */
+    private static <R> R inTransaction(Connection connection, boolean required, SQLWork<R> work) throws SQLException {
+        if (!required || !connection.getAutoCommit()) {
+            return work.execute();
+        }
+        connection.setAutoCommit(false);
+        try {
+            R result = work.execute();
+            connection.commit();
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    private void writeEventTypes(Connection connection, String processInstanceId, String[] eventTypes) throws SQLException {
+        if (isPostgreSQL(connection)) {
+            writeEventTypesDiff(connection, processInstanceId, eventTypes);
+        } else {
+            writeEventTypesBatch(connection, processInstanceId, eventTypes);
+        }
+    }
 
+    private void writeEventTypesBatch(Connection connection, String processInstanceId, String[] eventTypes) throws SQLException {
+        try (PreparedStatement eventStatement = connection.prepareStatement(DELETE_ALL_WAITING_FOR_EVENT_TYPE)) {
+            eventStatement.setString(1, processInstanceId);
+            eventStatement.executeUpdate();
+        }
+        if (eventTypes.length == 0) {
+            return;
+        }
+        try (PreparedStatement insertEventStatement = connection.prepareStatement(INSERT_WAITING_FOR_EVENT_TYPE)) {
             for (String eventType : eventTypes) {
-                insertEventStatement.setString(1, id.toString());
+                insertEventStatement.setString(1, processInstanceId);
                 insertEventStatement.setString(2, eventType);
-                insertEventStatement.executeUpdate();
+                insertEventStatement.addBatch();
             }
+            insertEventStatement.executeBatch();
+        }
+    }
 
-            statement.setBytes(1, payload);
-            statement.setLong(2, version + 1);
-            statement.setString(3, processId);
-            statement.setString(4, id.toString());
-            statement.setLong(5, version);
-            if (processVersion != null) {
-                statement.setString(6, processVersion);
+    // only rows that are no longer (or not yet) waited for are touched, so an unchanged set of event types causes no writes
+    private void writeEventTypesDiff(Connection connection, String processInstanceId, String[] eventTypes) throws SQLException {
+        Array eventTypesArray = connection.createArrayOf("varchar", eventTypes);
+        try (PreparedStatement deleteStatement = connection.prepareStatement(DELETE_WAITING_FOR_EVENT_TYPE_NOT_IN);
+                PreparedStatement insertStatement = connection.prepareStatement(UPSERT_WAITING_FOR_EVENT_TYPE)) {
+            deleteStatement.setString(1, processInstanceId);
+            deleteStatement.setArray(2, eventTypesArray);
+            deleteStatement.executeUpdate();
+            if (eventTypes.length > 0) {
+                insertStatement.setString(1, processInstanceId);
+                insertStatement.setArray(2, eventTypesArray);
+                insertStatement.executeUpdate();
             }
-            int count = statement.executeUpdate();
-            return count == 1;
-        } catch (Exception e) {
-            throw uncheckedException(e, "Error updating with lock process instance %s", id);
+        } finally {
+            eventTypesArray.free();
+        }
+    }
+
+    private boolean isPostgreSQL(Connection connection) throws SQLException {
+        Boolean result = postgreSQL;
+        if (result == null) {
+            result = POSTGRESQL_PRODUCT_NAME.equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+            postgreSQL = result;
         }
+        return result;
     }
 
     @Override
@@ -159,7 +320,8 @@ public class GenericRepository extends Repository {
     }
 
     private Record from(ResultSet rs) throws SQLException {
-        return new Record(rs.getBytes(PAYLOAD), rs.getLong(VERSION));
+        // character(36) columns might be returned blank padded
+        return new Record(rs.getString(ID).trim(), rs.getBytes(PAYLOAD), rs.getLong(VERSION), rs.getInt(PATCHES));
     }
 
     @Override
@@ -183,7 +345,7 @@ public class GenericRepository extends Repository {
     }
 
     @Override
-    Stream<Record> findAllInternalWaitingFor(String processId, String processVersion, String eventType) {
+    List<Record> findAllInternalWaitingFor(String processId, String processVersion, String eventType) {
         try (Connection connection = dataSource.getConnection();
                 PreparedStatement statement = connection.prepareStatement(sqlIncludingVersion(FIND_ALL_WAITING_FOR_EVENT_TYPE, processVersion));) {
             statement.setString(1, processId);
@@ -198,12 +360,39 @@ public class GenericRepository extends Repository {
                 data.add(from(resultSet));
             }
             resultSet.close();
-            return data.stream();
+            return data;
         } catch (SQLException e) {
             throw uncheckedException(e, "Error finding all process instances, for processId %s waiting for %s", processId, eventType);
         }
     }
 
+    @Override
+    List<Record> findPageInternalWaitingFor(String processId, String processVersion, String eventType, UUID afterId, int pageSize) {
+        String sql = sqlIncludingVersion(afterId == null ? FIND_ALL_WAITING_FOR_EVENT_TYPE : FIND_ALL_WAITING_FOR_EVENT_TYPE_AFTER, processVersion) + " " + ORDER_BY_ID;
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(sql)) {
+            int index = 1;
+            statement.setString(index++, processId);
+            statement.setString(index++, eventType);
+            if (afterId != null) {
+                statement.setString(index++, afterId.toString());
+            }
+            if (processVersion != null) {
+                statement.setString(index, processVersion);
+            }
+            statement.setMaxRows(pageSize);
+            List<Record> data = new ArrayList<>(pageSize);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    data.add(from(resultSet));
+                }
+            }
+            return data;
+        } catch (SQLException e) {
+            throw uncheckedException(e, "Error finding process instances page, for processId %s waiting for %s after %s", processId, eventType, afterId);
+        }
+    }
+
     @Override
     Optional<Record> findByBusinessKey(String processId, String processVersion, String businessKey) {
         try (Connection connection = dataSource.getConnection();
@@ -298,6 +487,32 @@ public class GenericRepository extends Repository {
         }
     }
 
+    @Override
+    List<Record> findPageInternal(String processId, String processVersion, UUID afterId, int pageSize) {
+        String sql = sqlIncludingVersion(afterId == null ? FIND_ALL : FIND_ALL_AFTER, processVersion) + " " + ORDER_BY_ID;
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(sql)) {
+            int index = 1;
+            statement.setString(index++, processId);
+            if (afterId != null) {
+                statement.setString(index++, afterId.toString());
+            }
+            if (processVersion != null) {
+                statement.setString(index, processVersion);
+            }
+            statement.setMaxRows(pageSize);
+            List<Record> data = new ArrayList<>(pageSize);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    data.add(from(resultSet));
+                }
+            }
+            return data;
+        } catch (SQLException e) {
+            throw uncheckedException(e, "Error finding process instances page, for processId %s after %s", processId, afterId);
+        }
+    }
+
     private static String sqlIncludingVersion(String statement, String processVersion) {
         return statement + " " + (processVersion == null ? PROCESS_VERSION_IS_NULL : PROCESS_VERSION_EQUALS_TO);
     }
@@ -18,7 +18,10 @@
  */
 package org.kie.kogito.persistence.jdbc;
 
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -27,6 +30,8 @@ import java.util.stream.Stream;
 import javax.sql.DataSource;
 
 import org.jbpm.flow.serialization.MarshallerContextName;
+import org.jbpm.flow.serialization.PayloadCompression;
+import org.jbpm.flow.serialization.ProcessInstanceDelta;
 import org.jbpm.flow.serialization.ProcessInstanceMarshallerService;
 import org.kie.kogito.Model;
 import org.kie.kogito.internal.process.runtime.HeadersPersistentConfig;
@@ -53,10 +58,20 @@ public class JDBCProcessInstances<T extends Model> implements MutableProcessInst
     }
 
     public JDBCProcessInstances(Process<?> process, DataSource dataSource, boolean lock, HeadersPersistentConfig headersConfig) {
+        this(process, dataSource, lock, headersConfig, 0);
+    }
+
+    public JDBCProcessInstances(Process<?> process, DataSource dataSource, boolean lock, HeadersPersistentConfig headersConfig, int deltaMaxPatches) {
+        this(process, dataSource, lock, headersConfig, deltaMaxPatches, PayloadCompression.NONE, PayloadCompression.DEFAULT_THRESHOLD);
+    }
+
+    public JDBCProcessInstances(Process<?> process, DataSource dataSource, boolean lock, HeadersPersistentConfig headersConfig, int deltaMaxPatches,
+            String compression, int compressionThreshold) {
         this.process = process;
         this.lock = lock;
         this.marshaller = ProcessInstanceMarshallerService.newBuilder().withDefaultObjectMarshallerStrategies().withDefaultListeners()
-                .withContextEntry(MarshallerContextName.MARSHALLER_HEADERS_CONFIG, headersConfig).build();
+                .withContextEntry(MarshallerContextName.MARSHALLER_HEADERS_CONFIG, headersConfig).withDeltaPersistence(deltaMaxPatches)
+                .withPayloadCompression(compression, compressionThreshold).build();
         this.repository = new GenericRepository(dataSource);
     }
 
@@ -74,7 +89,9 @@ public class JDBCProcessInstances<T extends Model> implements MutableProcessInst
         LOGGER.debug("Creating process instance id: {}, processId: {}, processVersion: {}", id, process.id(), process.version());
         if (isActive(instance) || instance.status() == ProcessInstance.STATE_PENDING) {
             String[] eventTypes = getUniqueEvents(instance);
-            repository.insertInternal(process.id(), process.version(), UUID.fromString(id), marshaller.marshallProcessInstance(instance), instance.businessKey(), eventTypes);
+            ProcessInstanceDelta delta = marshaller.marshallProcessInstanceDelta(instance);
+            repository.insertInternal(process.id(), process.version(), UUID.fromString(id), delta.getPayload(), instance.businessKey(), eventTypes);
+            delta.persisted();
             connectInstance(instance);
         } else {
             LOGGER.warn("Skipping create of process instance id: {}, state: {}", id, instance.status());
@@ -86,15 +103,22 @@ public class JDBCProcessInstances<T extends Model> implements MutableProcessInst
         LOGGER.debug("Updating process instance id: {}, processId: {}, processVersion: {}", id, process.id(), process.version());
         if (isActive(instance) || instance.status() == ProcessInstance.STATE_PENDING) {
             String[] eventTypes = getUniqueEvents(instance);
+            UUID uuid = UUID.fromString(id);
+            ProcessInstanceDelta delta = marshaller.marshallProcessInstanceDelta(instance);
             if (lock) {
-                boolean isUpdated = repository.updateWithLock(process.id(), process.version(), UUID.fromString(id), marshaller.marshallProcessInstance(instance), instance.version(), eventTypes);
+                boolean isUpdated = delta.isSnapshot()
+                        ? repository.updateWithLock(process.id(), process.version(), uuid, delta.getPayload(), instance.version(), eventTypes, delta.isDiscardPatches())
+                        : repository.insertPatchWithLock(process.id(), process.version(), uuid, delta.getSequence(), delta.getPayload(), instance.version(), eventTypes);
                 if (!isUpdated) {
                     throw new ProcessInstanceOptimisticLockingException(id);
                 }
                 ((AbstractProcessInstance<T>) instance).setVersion(instance.version() + 1);
+            } else if (delta.isSnapshot()) {
+                repository.updateInternal(process.id(), process.version(), uuid, delta.getPayload(), eventTypes, delta.isDiscardPatches());
             } else {
-                repository.updateInternal(process.id(), process.version(), UUID.fromString(id), marshaller.marshallProcessInstance(instance), eventTypes);
+                repository.insertPatch(uuid, delta.getSequence(), delta.getPayload(), eventTypes);
             }
+            delta.persisted();
             connectInstance(instance);
         } else {
             LOGGER.warn("Process instance id: {}, state: {} is not active, skipping update", id, instance.status());
@@ -129,7 +153,13 @@ public class JDBCProcessInstances<T extends Model> implements MutableProcessInst
     @Override
     public Stream<ProcessInstance<T>> waitingForEventType(String eventType, ProcessInstanceReadMode mode) {
         LOGGER.debug("Find process instance waiting for {} using mode: {}", eventType, mode);
-        return repository.findAllInternalWaitingFor(process.id(), process.version(), eventType).map(r -> unmarshall(r, mode));
+        return unmarshall(repository.findAllInternalWaitingFor(process.id(), process.version(), eventType), mode);
+    }
+
+    @Override
+    public Stream<ProcessInstance<T>> waitingForEventType(String eventType, ProcessInstanceReadMode mode, String afterId, int pageSize) {
+        LOGGER.debug("Find page of {} process instances waiting for {} after {} using mode: {}", pageSize, eventType, afterId, mode);
+        return unmarshall(repository.findPageInternalWaitingFor(process.id(), process.version(), eventType, afterId == null ? null : UUID.fromString(afterId), pageSize), mode);
     }
 
     @Override
@@ -146,8 +176,24 @@ public class JDBCProcessInstances<T extends Model> implements MutableProcessInst
         return repository.findAllInternal(process.id(), process.version()).map(r -> unmarshall(r, mode));
     }
 
+    @Override
+    public Stream<ProcessInstance<T>> stream(ProcessInstanceReadMode mode, String afterId, int pageSize) {
+        LOGGER.debug("Find page of {} process instances after {} using mode: {}", pageSize, afterId, mode);
+        return unmarshall(repository.findPageInternal(process.id(), process.version(), afterId == null ? null : UUID.fromString(afterId), pageSize), mode);
+    }
+
+    // the patches of the whole page are read with a single query
+    private Stream<ProcessInstance<T>> unmarshall(List<Repository.Record> records, ProcessInstanceReadMode mode) {
+        Map<String, List<byte[]>> patches = repository.findPatches(records.stream().filter(r -> r.getPatches() > 0).map(Repository.Record::getId).toList());
+        return records.stream().map(r -> unmarshall(r, patches.getOrDefault(r.getId(), Collections.emptyList()), mode));
+    }
+
     private ProcessInstance<T> unmarshall(Repository.Record record, ProcessInstanceReadMode mode) {
-        AbstractProcessInstance<T> instance = (AbstractProcessInstance<T>) marshaller.unmarshallProcessInstance(record.getPayload(), process, mode);
+        return unmarshall(record, findPatches(record), mode);
+    }
+
+    private ProcessInstance<T> unmarshall(Repository.Record record, List<byte[]> patches, ProcessInstanceReadMode mode) {
+        AbstractProcessInstance<T> instance = (AbstractProcessInstance<T>) marshaller.unmarshallProcessInstance(record.getPayload(), patches, process, mode);
         instance.setVersion(record.getVersion());
         connectInstance(instance);
         return instance;
@@ -162,7 +208,12 @@ public class JDBCProcessInstances<T extends Model> implements MutableProcessInst
         ((AbstractProcessInstance<?>) instance).internalSetReloadSupplier(marshaller.createdReloadFunction(() -> {
             Repository.Record r = repository.findByIdInternal(process.id(), process.version(), UUID.fromString(instance.id())).orElseThrow();
             ((AbstractProcessInstance<?>) instance).setVersion(r.getVersion());
-            return r.getPayload();
+            return marshaller.compactProcessInstance(r.getPayload(), findPatches(r));
         }));
     }
+
+    // patches left over by a run with delta persistence enabled are applied even if it is now disabled
+    private List<byte[]> findPatches(Repository.Record record) {
+        return record.getPatches() > 0 ? repository.findPatches(UUID.fromString(record.getId())) : Collections.emptyList();
+    }
 }
@@ -18,6 +18,9 @@
  */
 package org.kie.kogito.persistence.jdbc;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Stream;
@@ -26,24 +29,47 @@ abstract class Repository {
 
     static final String INSERT = "INSERT INTO process_instances (id, payload, process_id, process_version, version) VALUES (?, ?, ?, ?, ?)";
     static final String INSERT_BUSINESS_KEY = "INSERT INTO business_key_mapping (business_key,process_instance_id) VALUES (?,?)";
-    static final String FIND_ALL = "SELECT payload, version FROM process_instances WHERE process_id = ?";
-    static final String FIND_BY_ID = "SELECT payload, version FROM process_instances WHERE process_id = ? and id = ?";
-    static final String FIND_BY_BUSINESS_KEY = "SELECT payload, version FROM process_instances INNER JOIN business_key_mapping ON id = process_instance_id WHERE business_key = ? and process_id = ?";
+    // number of patches written on top of the snapshot, so the patches table is only queried for instances having some
+    static final String SELECT_RECORD =
+            "SELECT id, payload, version, (SELECT count(*) FROM process_instance_patches WHERE process_instance_patches.process_instance_id = process_instances.id) AS patches";
+    static final String FIND_ALL = SELECT_RECORD + " FROM process_instances WHERE process_id = ?";
+    static final String FIND_ALL_AFTER = SELECT_RECORD + " FROM process_instances WHERE process_id = ? and id > ?";
+    static final String ORDER_BY_ID = "ORDER BY id";
+    static final String FIND_BY_ID = SELECT_RECORD + " FROM process_instances WHERE process_id = ? and id = ?";
+    static final String FIND_BY_BUSINESS_KEY = SELECT_RECORD
+            + " FROM process_instances INNER JOIN business_key_mapping ON id = business_key_mapping.process_instance_id WHERE business_key = ? and process_id = ?";
     static final String UPDATE = "UPDATE process_instances SET payload = ? WHERE process_id = ? and id = ?";
     static final String UPDATE_WITH_LOCK = "UPDATE process_instances SET payload = ?, version = ? WHERE process_id = ? and id = ? and version = ?";
+    static final String UPDATE_VERSION_WITH_LOCK = "UPDATE process_instances SET version = ? WHERE process_id = ? and id = ? and version = ?";
     static final String DELETE = "DELETE FROM process_instances WHERE process_id = ? and id = ?";
     static final String PROCESS_VERSION_EQUALS_TO = "and process_version = ?";
     static final String PROCESS_VERSION_IS_NULL = "and process_version is null";
     static final String MIGRATE_BULK = "UPDATE process_instances SET process_id = ?, process_version = ? WHERE process_id = ? ";
     static final String MIGRATE_INSTANCES_SQL_TEMPLATE = "UPDATE process_instances SET process_id = ?, process_version = ? WHERE process_id = ? and id IN ( %s ) ";
     static final String FIND_ALL_WAITING_FOR_EVENT_TYPE =
-            "SELECT payload, version FROM event_types, process_instances WHERE process_instances.id = event_types.process_instance_id AND process_id = ? AND event_type = ?";
+            SELECT_RECORD + " FROM event_types, process_instances WHERE process_instances.id = event_types.process_instance_id AND process_id = ? AND event_type = ?";
+    static final String FIND_ALL_WAITING_FOR_EVENT_TYPE_AFTER = FIND_ALL_WAITING_FOR_EVENT_TYPE + " AND id > ?";
     static final String DELETE_ALL_WAITING_FOR_EVENT_TYPE = "DELETE FROM event_types WHERE process_instance_id = ?";
     static final String INSERT_WAITING_FOR_EVENT_TYPE = "INSERT INTO event_types (process_instance_id, event_type) VALUES(?,?)";
+    static final String DELETE_WAITING_FOR_EVENT_TYPE_NOT_IN = "DELETE FROM event_types WHERE process_instance_id = ? AND NOT (event_type = ANY(?))";
+    static final String UPSERT_WAITING_FOR_EVENT_TYPE =
+            "INSERT INTO event_types (process_instance_id, event_type) SELECT ?, unnest(?) ON CONFLICT (process_instance_id, event_type) DO NOTHING";
+
+    static final String INSERT_PATCH = "INSERT INTO process_instance_patches (process_instance_id, patch_sequence, payload) VALUES (?, ?, ?)";
+    static final String FIND_PATCHES = "SELECT payload FROM process_instance_patches WHERE process_instance_id = ? ORDER BY patch_sequence";
+    static final String FIND_PATCHES_SQL_TEMPLATE =
+            "SELECT process_instance_id, payload FROM process_instance_patches WHERE process_instance_id IN ( %s ) ORDER BY process_instance_id, patch_sequence";
+    static final String DELETE_PATCHES = "DELETE FROM process_instance_patches WHERE process_instance_id = ?";
 
     static class Record {
+        private final String id;
         private final byte[] payload;
         private final long version;
+        private final int patches;
+
+        public String getId() {
+            return id;
+        }
 
         public byte[] getPayload() {
             return payload;
@@ -53,17 +79,42 @@ abstract class Repository {
             return version;
         }
 
-        public Record(byte[] payload, long version) {
+        public int getPatches() {
+            return patches;
+        }
+
+        public Record(String id, byte[] payload, long version) {
+            this(id, payload, version, 0);
+        }
+
+        public Record(String id, byte[] payload, long version, int patches) {
+            this.id = id;
             this.payload = payload;
             this.version = version;
+            this.patches = patches;
         }
     }
 
     abstract void insertInternal(String processId, String processVersion, UUID id, byte[] payload, String businessKey, String[] eventTypes);
 
-    abstract void updateInternal(String processId, String processVersion, UUID id, byte[] payload, String[] eventTypes);
+    /**
+     * Writes a snapshot of the process instance, when <code>discardPatches</code> is true the patches written on top of
+     * the previous snapshot are deleted atomically with it
+     */
+    abstract void updateInternal(String processId, String processVersion, UUID id, byte[] payload, String[] eventTypes, boolean discardPatches);
 
-    abstract boolean updateWithLock(String processId, String processVersion, UUID id, byte[] payload, long version, String[] eventTypes);
+    abstract boolean updateWithLock(String processId, String processVersion, UUID id, byte[] payload, long version, String[] eventTypes, boolean discardPatches);
+
+    abstract void insertPatch(UUID id, int sequence, byte[] patch, String[] eventTypes);
+
+    abstract boolean insertPatchWithLock(String processId, String processVersion, UUID id, int sequence, byte[] patch, long version, String[] eventTypes);
+
+    abstract List<byte[]> findPatches(UUID id);
+
+    /**
+     * Reads the patches of several process instances with a single query, keyed by process instance id
+     */
+    abstract Map<String, List<byte[]>> findPatches(Collection<String> ids);
 
     abstract boolean deleteInternal(String processId, String processVersion, UUID id);
 
@@ -73,7 +124,11 @@ abstract class Repository {
 
     abstract Stream<Record> findAllInternal(String processId, String processVersion);
 
-    abstract Stream<Record> findAllInternalWaitingFor(String id, String version, String eventType);
+    abstract List<Record> findPageInternal(String processId, String processVersion, UUID afterId, int pageSize);
+
+    abstract List<Record> findAllInternalWaitingFor(String id, String version, String eventType);
+
+    abstract List<Record> findPageInternalWaitingFor(String processId, String processVersion, String eventType, UUID afterId, int pageSize);
 
     protected RuntimeException uncheckedException(Exception ex, String message, Object... param) {
         return new RuntimeException(String.format(message, param), ex);
@@ -0,0 +1,200 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.persistence.jdbc.jobs;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.Savepoint;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import javax.sql.DataSource;
+
+import org.kie.kogito.jobs.JobDescription;
+import org.kie.kogito.jobs.JobStore;
+import org.kie.kogito.services.jobs.impl.JobDescriptionMarshaller;
+
+/**
+ * {@link JobStore} keeping jobs in the <code>job_descriptions</code> table. Claims are conditional updates of the
+ * lease columns, so the table might be shared by several replicas.
+ */
+public class JDBCJobStore implements JobStore {
+
+    static final String INSERT = "INSERT INTO job_descriptions (id, payload) VALUES (?, ?)";
+    static final String UPDATE = "UPDATE job_descriptions SET payload = ? WHERE id = ?";
+    static final String DELETE = "DELETE FROM job_descriptions WHERE id = ?";
+    static final String EXISTS = "SELECT 1 FROM job_descriptions WHERE id = ?";
+    static final String FIND_BY_ID = "SELECT payload FROM job_descriptions WHERE id = ?";
+    static final String FIND_ALL = "SELECT payload FROM job_descriptions";
+    static final String FIND_CLAIMABLE = "SELECT payload FROM job_descriptions WHERE (lease_owner IS NULL OR lease_expiration < ?)";
+    static final String FIND_CLAIMABLE_AFTER = FIND_CLAIMABLE + " AND id > ?";
+    static final String ORDER_BY_ID = " ORDER BY id";
+    static final String CLAIM =
+            "UPDATE job_descriptions SET lease_owner = ?, lease_expiration = ? WHERE id = ? AND (lease_owner IS NULL OR lease_owner = ? OR lease_expiration < ?)";
+
+    // SQL state of unique key violations, drivers not using it raise SQLIntegrityConstraintViolationException instead
+    private static final String UNIQUE_VIOLATION = "23505";
+
+    private final DataSource dataSource;
+
+    public JDBCJobStore(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public void store(JobDescription jobDescription) {
+        byte[] payload = JobDescriptionMarshaller.marshall(jobDescription);
+        try (Connection connection = dataSource.getConnection()) {
+            if (update(connection, jobDescription.id(), payload)) {
+                return;
+            }
+            // a failed statement aborts the whole transaction on some databases unless rolled back to a savepoint
+            Savepoint savepoint = connection.getAutoCommit() ? null : connection.setSavepoint();
+            try (PreparedStatement statement = connection.prepareStatement(INSERT)) {
+                statement.setString(1, jobDescription.id());
+                statement.setBytes(2, payload);
+                statement.executeUpdate();
+            } catch (SQLException e) {
+                if (!isUniqueViolation(e)) {
+                    throw e;
+                }
+                if (savepoint != null) {
+                    connection.rollback(savepoint);
+                    savepoint = null;
+                }
+                // another replica inserted the same job in between, overwrite its payload
+                if (!update(connection, jobDescription.id(), payload)) {
+                    throw e;
+                }
+            } finally {
+                if (savepoint != null) {
+                    connection.releaseSavepoint(savepoint);
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error storing job " + jobDescription.id(), e);
+        }
+    }
+
+    private static boolean update(Connection connection, String id, byte[] payload) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(UPDATE)) {
+            statement.setBytes(1, payload);
+            statement.setString(2, id);
+            return statement.executeUpdate() > 0;
+        }
+    }
+
+    private static boolean isUniqueViolation(SQLException e) {
+        return e instanceof SQLIntegrityConstraintViolationException || UNIQUE_VIOLATION.equals(e.getSQLState());
+    }
+
+    @Override
+    public void remove(String id) {
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(DELETE)) {
+            statement.setString(1, id);
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            throw new RuntimeException("Error removing job " + id, e);
+        }
+    }
+
+    @Override
+    public boolean exists(String id) {
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(EXISTS)) {
+            statement.setString(1, id);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next();
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error looking for job " + id, e);
+        }
+    }
+
+    @Override
+    public Optional<JobDescription> find(String id) {
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(FIND_BY_ID)) {
+            statement.setString(1, id);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? Optional.of(JobDescriptionMarshaller.unmarshall(resultSet.getBytes("payload"))) : Optional.empty();
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error looking for job " + id, e);
+        }
+    }
+
+    @Override
+    public Collection<JobDescription> loadAll() {
+        Collection<JobDescription> jobs = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(FIND_ALL);
+                ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                jobs.add(JobDescriptionMarshaller.unmarshall(resultSet.getBytes("payload")));
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error loading jobs", e);
+        }
+        return jobs;
+    }
+
+    @Override
+    public List<JobDescription> loadClaimable(String afterId, int limit) {
+        List<JobDescription> jobs = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement((afterId == null ? FIND_CLAIMABLE : FIND_CLAIMABLE_AFTER) + ORDER_BY_ID)) {
+            statement.setLong(1, System.currentTimeMillis());
+            if (afterId != null) {
+                statement.setString(2, afterId);
+            }
+            statement.setMaxRows(limit);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    jobs.add(JobDescriptionMarshaller.unmarshall(resultSet.getBytes("payload")));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error loading claimable jobs", e);
+        }
+        return jobs;
+    }
+
+    @Override
+    public boolean claim(String id, String owner, ZonedDateTime leaseExpiration) {
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(CLAIM)) {
+            statement.setString(1, owner);
+            statement.setLong(2, leaseExpiration.toInstant().toEpochMilli());
+            statement.setString(3, id);
+            statement.setString(4, owner);
+            statement.setLong(5, System.currentTimeMillis());
+            return statement.executeUpdate() > 0;
+        } catch (SQLException e) {
+            throw new RuntimeException("Error claiming job " + id, e);
+        }
+    }
+}
@@ -69,11 +69,15 @@ abstract class AbstractProcessInstancesIT {
     }
 
     private BpmnProcess createProcess(DataSource dataSource, Boolean lock, String fileName) {
+        return createProcess(new TestProcessInstancesFactory(dataSource, lock), fileName);
+    }
+
+    private BpmnProcess createProcess(TestProcessInstancesFactory factory, String fileName) {
         StaticProcessConfig processConfig = StaticProcessConfig.newStaticProcessConfigBuilder()
                 .withWorkItemHandler("Human Task", new DefaultKogitoWorkItemHandler())
                 .build();
 
-        Application application = StaticApplicationAssembler.instance().newStaticApplication(new TestProcessInstancesFactory(dataSource, lock), processConfig, fileName);
+        Application application = StaticApplicationAssembler.instance().newStaticApplication(factory, processConfig, fileName);
 
         org.kie.kogito.process.Processes container = application.get(org.kie.kogito.process.Processes.class);
         String processId = container.processIds().stream().findFirst().get();
@@ -349,4 +353,67 @@ abstract class AbstractProcessInstancesIT {
         process.send(SignalFactory.of("sig2", "SomeValue"));
         assertThat(process.instances().stream().count()).isEqualTo(0);
     }
+
+    @Test
+    public void testSignalStorageEventTypesRewrite() throws Exception {
+        BpmnProcess process = createProcess(getDataSource(), lock(), "BPMN2-IntermediateCatchEventSignal.bpmn2");
+        JDBCProcessInstances fsInstances = (JDBCProcessInstances) process.instances();
+        ProcessInstance<BpmnVariables> pi = process.createInstance(BpmnVariables.create(Collections.singletonMap("name", "sig1")));
+        pi.start();
+        pi.workItems().forEach(wi -> pi.completeWorkItem(wi.getId(), Collections.emptyMap()));
+
+        long eventTypes = countEventTypes(pi.id());
+        assertThat(eventTypes).isPositive();
+        assertThat(fsInstances.waitingForEventType("sig1")).hasSize(1);
+
+        fsInstances.update(pi.id(), pi);
+        assertThat(countEventTypes(pi.id())).isEqualTo(eventTypes);
+        assertThat(fsInstances.waitingForEventType("sig1")).hasSize(1);
+
+        process.send(SignalFactory.of("sig1", "SomeValue"));
+        assertThat(countEventTypes(pi.id())).isZero();
+    }
+
+    @Test
+    void testDeltaPersistence() throws Exception {
+        BpmnProcess process = createProcess(new TestProcessInstancesFactory(getDataSource(), lock(), 2), "BPMN2-UserTask.bpmn2");
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(singletonMap("test", "0")));
+        processInstance.start();
+        String id = processInstance.id();
+
+        for (int i = 1; i <= 4; i++) {
+            ProcessInstance<BpmnVariables> loaded = process.instances().findById(id).orElseThrow();
+            loaded.updateVariables(BpmnVariables.create(singletonMap("s", String.valueOf(i))));
+            // two patches on top of a snapshot, then a new snapshot discarding them
+            assertThat(countPatches(id)).isEqualTo(i % 3);
+            ProcessInstance<BpmnVariables> reloaded = process.instances().findById(id).orElseThrow();
+            assertThat(reloaded.variables().get("s")).isEqualTo(String.valueOf(i));
+            assertThat(reloaded.variables().get("test")).isEqualTo("0");
+        }
+
+        // patches left over are still applied once delta persistence is disabled, and discarded on the next snapshot
+        JDBCProcessInstances<BpmnVariables> deltaDisabled = new JDBCProcessInstances<>(process, getDataSource(), lock());
+        ProcessInstance<BpmnVariables> loaded = deltaDisabled.findById(id).orElseThrow();
+        assertThat(loaded.variables().get("s")).isEqualTo("4");
+        deltaDisabled.update(id, loaded);
+        assertThat(countPatches(id)).isZero();
+        assertThat(deltaDisabled.findById(id).orElseThrow().variables().get("s")).isEqualTo("4");
+
+        deltaDisabled.remove(id);
+        assertEmpty(process.instances());
+    }
+
+    private long countPatches(String processInstanceId) throws Exception {
+        try (Connection connection = getDataSource().getConnection();
+                ResultSet resultSet = connection.createStatement().executeQuery("SELECT count(*) FROM process_instance_patches WHERE process_instance_id = '" + processInstanceId + "'")) {
+            return resultSet.next() ? resultSet.getLong(1) : 0;
+        }
+    }
+
+    private long countEventTypes(String processInstanceId) throws Exception {
+        try (Connection connection = getDataSource().getConnection();
+                ResultSet resultSet = connection.createStatement().executeQuery("SELECT count(*) FROM event_types WHERE process_instance_id = '" + processInstanceId + "'")) {
+            return resultSet.next() ? resultSet.getLong(1) : 0;
+        }
+    }
 }
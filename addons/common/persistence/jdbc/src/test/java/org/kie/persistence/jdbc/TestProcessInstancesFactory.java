@@ -32,6 +32,10 @@ public class TestProcessInstancesFactory extends AbstractProcessInstancesFactory
         super(dataSource, lock);
     }
 
+    public TestProcessInstancesFactory(DataSource dataSource, boolean lock, int deltaMaxPatches) {
+        super(dataSource, lock, null, deltaMaxPatches);
+    }
+
     @Override
     public JDBCProcessInstances createProcessInstances(Process<?> process) {
         return spy(super.createProcessInstances(process));
@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.persistence.jdbc.jobs;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.jobs.DurationExpirationTime;
+import org.kie.kogito.jobs.ExactExpirationTime;
+import org.kie.kogito.jobs.JobDescription;
+import org.kie.kogito.jobs.descriptors.ProcessInstanceJobDescription;
+import org.kie.kogito.persistence.jdbc.jobs.JDBCJobStore;
+import org.kie.kogito.testcontainers.KogitoPostgreSqlContainer;
+import org.postgresql.ds.PGSimpleDataSource;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.kie.persistence.jdbc.correlation.JDBCCorrelationServiceIT.initMigration;
+
+@Testcontainers
+public class JDBCJobStoreIT {
+
+    @Container
+    private static final KogitoPostgreSqlContainer PG_CONTAINER = new KogitoPostgreSqlContainer();
+    private static JDBCJobStore jobStore;
+
+    @BeforeAll
+    public static void setUp() {
+        PGSimpleDataSource dataSource = new PGSimpleDataSource();
+        dataSource.setUrl(PG_CONTAINER.getJdbcUrl());
+        dataSource.setUser(PG_CONTAINER.getUsername());
+        dataSource.setPassword(PG_CONTAINER.getPassword());
+        jobStore = new JDBCJobStore(dataSource);
+        initMigration(dataSource);
+    }
+
+    @Test
+    public void testJobStore() {
+        JobDescription job = ProcessInstanceJobDescription.newProcessInstanceJobDescriptionBuilder()
+                .id("job")
+                .timerId("timer")
+                .processInstanceId("instance")
+                .processId("process")
+                .expirationTime(DurationExpirationTime.repeat(1000, 500L, 3))
+                .build();
+        jobStore.store(job);
+        jobStore.store(job);
+        assertThat(jobStore.exists("job")).isTrue();
+        assertThat(jobStore.loadAll()).singleElement().satisfies(stored -> {
+            assertThat(stored).isInstanceOf(ProcessInstanceJobDescription.class);
+            assertThat(stored.id()).isEqualTo("job");
+            assertThat(stored.expirationTime().get().toInstant()).isEqualTo(job.expirationTime().get().toInstant());
+            assertThat(stored.expirationTime().repeatInterval()).isEqualTo(500L);
+            assertThat(stored.expirationTime().repeatLimit()).isEqualTo(3);
+        });
+
+        assertThat(jobStore.claim("job", "replica1", ZonedDateTime.now().plusMinutes(1))).isTrue();
+        assertThat(jobStore.claim("job", "replica2", ZonedDateTime.now().plusMinutes(1))).isFalse();
+        assertThat(jobStore.claim("job", "replica1", ZonedDateTime.now().minusSeconds(1))).isTrue();
+        assertThat(jobStore.claim("job", "replica2", ZonedDateTime.now().plusMinutes(1))).isTrue();
+
+        jobStore.remove("job");
+        assertThat(jobStore.exists("job")).isFalse();
+        assertThat(jobStore.claim("job", "replica2", ZonedDateTime.now().plusMinutes(1))).isFalse();
+        assertThat(jobStore.loadAll()).isEmpty();
+    }
+
+    @Test
+    public void testConcurrentStoreOfNewJob() throws Exception {
+        JobDescription job = ProcessInstanceJobDescription.newProcessInstanceJobDescriptionBuilder()
+                .id("concurrentJob")
+                .timerId("timer")
+                .processInstanceId("instance")
+                .processId("process")
+                .expirationTime(ExactExpirationTime.now())
+                .build();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> stores = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                stores.add(executor.submit(() -> {
+                    start.await();
+                    jobStore.store(job);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> store : stores) {
+                store.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(jobStore.loadAll()).singleElement().extracting(JobDescription::id).isEqualTo("concurrentJob");
+        jobStore.remove("concurrentJob");
+    }
+
+    @Test
+    public void testLoadClaimable() {
+        for (String id : List.of("claimable1", "claimable2", "claimable3")) {
+            jobStore.store(ProcessInstanceJobDescription.newProcessInstanceJobDescriptionBuilder()
+                    .id(id)
+                    .timerId("timer")
+                    .processInstanceId("instance")
+                    .processId("process")
+                    .expirationTime(DurationExpirationTime.of(ZonedDateTime.now().plusSeconds(1), 500L, null))
+                    .build());
+        }
+        assertThat(jobStore.claim("claimable2", "replica1", ZonedDateTime.now().plusMinutes(1))).isTrue();
+        assertThat(jobStore.claim("claimable3", "replica1", ZonedDateTime.now().minusSeconds(1))).isTrue();
+
+        assertThat(jobStore.loadClaimable(null, 1)).extracting(JobDescription::id).containsExactly("claimable1");
+        assertThat(jobStore.loadClaimable("claimable1", 10)).extracting(JobDescription::id).containsExactly("claimable3");
+        assertThat(jobStore.find("claimable2")).hasValueSatisfying(stored -> assertThat(stored.expirationTime().repeatLimit()).isNull());
+        assertThat(jobStore.find("missing")).isEmpty();
+
+        List.of("claimable1", "claimable2", "claimable3").forEach(jobStore::remove);
+    }
+}
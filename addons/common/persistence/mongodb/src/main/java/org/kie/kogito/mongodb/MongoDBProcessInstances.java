@@ -55,6 +55,7 @@ import com.mongodb.client.MongoDatabase;
 import com.mongodb.client.model.Filters;
 import com.mongodb.client.model.IndexOptions;
 import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.Sorts;
 import com.mongodb.client.result.UpdateResult;
 
 import static org.kie.kogito.mongodb.utils.DocumentConstants.PROCESS_BUSINESS_KEY;
@@ -116,6 +117,25 @@ public class MongoDBProcessInstances<T extends Model> implements MutableProcessI
         return StreamSupport.stream(Spliterators.spliteratorUnknownSize(docs, Spliterator.ORDERED), false).map(doc -> unmarshall(doc, mode)).onClose(docs::close);
     }
 
+    @Override
+    public Stream<ProcessInstance<T>> waitingForEventType(String eventType, ProcessInstanceReadMode mode, String afterId, int pageSize) {
+        ClientSession clientSession = transactionManager.getClientSession();
+        Bson eventTypeFilter = new Document("eventTypes", eventType);
+        if (afterId != null) {
+            eventTypeFilter = Filters.and(eventTypeFilter, Filters.gt("id", afterId));
+        }
+        List<String> processInstancesId = new ArrayList<>(pageSize);
+        (clientSession == null ? events.find(eventTypeFilter) : events.find(clientSession, eventTypeFilter))
+                .sort(Sorts.ascending("id"))
+                .limit(pageSize)
+                .forEach(e -> processInstancesId.add(e.getString("id")));
+        Bson filters = Filters.in("id", processInstancesId);
+        MongoCursor<Document> docs = (clientSession == null ? collection.find(filters) : collection.find(clientSession, filters))
+                .sort(Sorts.ascending(PROCESS_INSTANCE_ID))
+                .iterator();
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(docs, Spliterator.ORDERED), false).map(doc -> unmarshall(doc, mode)).onClose(docs::close);
+    }
+
     @Override
     public Stream<ProcessInstance<T>> stream(ProcessInstanceReadMode mode) {
         ClientSession clientSession = transactionManager.getClientSession();
@@ -123,6 +143,17 @@ public class MongoDBProcessInstances<T extends Model> implements MutableProcessI
         return StreamSupport.stream(Spliterators.spliteratorUnknownSize(docs, Spliterator.ORDERED), false).map(doc -> unmarshall(doc, mode)).onClose(docs::close);
     }
 
+    @Override
+    public Stream<ProcessInstance<T>> stream(ProcessInstanceReadMode mode, String afterId, int pageSize) {
+        ClientSession clientSession = transactionManager.getClientSession();
+        Bson filter = afterId == null ? new Document() : Filters.gt(PROCESS_INSTANCE_ID, afterId);
+        MongoCursor<Document> docs = (clientSession == null ? collection.find(filter) : collection.find(clientSession, filter))
+                .sort(Sorts.ascending(PROCESS_INSTANCE_ID))
+                .limit(pageSize)
+                .iterator();
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(docs, Spliterator.ORDERED), false).map(doc -> unmarshall(doc, mode)).onClose(docs::close);
+    }
+
     private ProcessInstance<T> unmarshall(Document document, ProcessInstanceReadMode mode) {
         ProcessInstance<T> instance = (ProcessInstance<T>) marshaller.unmarshallProcessInstance(document.toJson().getBytes(), process, mode);
         setVersion(instance, document.getLong(VERSION));
@@ -18,6 +18,7 @@
  */
 package org.kie.kogito.persistence.postgresql;
 
+import org.jbpm.flow.serialization.PayloadCompression;
 import org.kie.kogito.internal.process.runtime.HeadersPersistentConfig;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstancesFactory;
@@ -30,6 +31,8 @@ public abstract class AbstractProcessInstancesFactory implements ProcessInstance
     private final PgPool client;
     private final Boolean lock;
     private HeadersPersistentConfig headersConfig;
+    private final String compression;
+    private final int compressionThreshold;
 
     // Constructor for DI
     protected AbstractProcessInstancesFactory() {
@@ -42,10 +45,17 @@ public abstract class AbstractProcessInstancesFactory implements ProcessInstance
 
     public AbstractProcessInstancesFactory(PgPool client, Long queryTimeout, Boolean lock,
             HeadersPersistentConfig headersConfig) {
+        this(client, queryTimeout, lock, headersConfig, PayloadCompression.NONE, PayloadCompression.DEFAULT_THRESHOLD);
+    }
+
+    public AbstractProcessInstancesFactory(PgPool client, Long queryTimeout, Boolean lock,
+            HeadersPersistentConfig headersConfig, String compression, int compressionThreshold) {
         this.client = client;
         this.queryTimeout = queryTimeout;
         this.lock = lock;
         this.headersConfig = headersConfig;
+        this.compression = compression;
+        this.compressionThreshold = compressionThreshold;
     }
 
     public PgPool client() {
@@ -58,6 +68,6 @@ public abstract class AbstractProcessInstancesFactory implements ProcessInstance
 
     @Override
     public PostgresqlProcessInstances createProcessInstances(Process<?> process) {
-        return new PostgresqlProcessInstances(process, client(), queryTimeout, lock(), headersConfig);
+        return new PostgresqlProcessInstances(process, client(), queryTimeout, lock(), headersConfig, compression, compressionThreshold);
     }
 }
@@ -32,6 +32,7 @@ import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 import org.jbpm.flow.serialization.MarshallerContextName;
+import org.jbpm.flow.serialization.PayloadCompression;
 import org.jbpm.flow.serialization.ProcessInstanceMarshallerService;
 import org.kie.kogito.Model;
 import org.kie.kogito.internal.process.runtime.HeadersPersistentConfig;
@@ -61,11 +62,14 @@ public class PostgresqlProcessInstances<T extends Model> implements MutableProce
     private static final String DELETE = "DELETE FROM process_instances WHERE process_id = $1 and id = $2 and process_version ";
     private static final String FIND_BY_ID = "SELECT payload, version FROM process_instances WHERE process_id = $1 and id = $2 and process_version ";
     private static final String FIND_ALL = "SELECT payload, version FROM process_instances WHERE process_id = $1 and process_version ";
+    private static final String FIND_ALL_AFTER = "SELECT payload, version FROM process_instances WHERE process_id = $1 and id > $2 and process_version ";
     private static final String UPDATE_WITH_LOCK = "UPDATE process_instances SET payload = $1, version = $2 WHERE process_id = $3 and id = $4 and version = $5 and process_version ";
     private static final String MIGRATE_BULK = "UPDATE process_instances SET process_id = $1, process_version = $2 WHERE process_id = $3 and process_version ";
     private static final String MIGRATE_INSTANCE = "UPDATE process_instances SET process_id = $1, process_version = $2 WHERE process_id = $3 and id = ANY ($4) and process_version ";
     static final String FIND_ALL_WAITING_FOR_EVENT_TYPE =
             "SELECT payload, version FROM event_types, process_instances WHERE process_instances.id = event_types.process_instance_id AND event_type = $1 AND process_id = $2 AND process_version ";
+    static final String FIND_ALL_WAITING_FOR_EVENT_TYPE_AFTER =
+            "SELECT payload, version FROM event_types, process_instances WHERE process_instances.id = event_types.process_instance_id AND event_type = $1 AND process_id = $2 AND process_instances.id > $3 AND process_version ";
     static final String DELETE_ALL_WAITING_FOR_EVENT_TYPE = "DELETE FROM event_types WHERE process_instance_id = $1";
     static final String INSERT_WAITING_FOR_EVENT_TYPE = "INSERT INTO event_types (process_instance_id, event_type) VALUES($1,$2)";
 
@@ -76,11 +80,17 @@ public class PostgresqlProcessInstances<T extends Model> implements MutableProce
     private final boolean lock;
 
     public PostgresqlProcessInstances(Process<?> process, PgPool client, Long queryTimeoutMillis, boolean lock, HeadersPersistentConfig headersConfig) {
+        this(process, client, queryTimeoutMillis, lock, headersConfig, PayloadCompression.NONE, PayloadCompression.DEFAULT_THRESHOLD);
+    }
+
+    public PostgresqlProcessInstances(Process<?> process, PgPool client, Long queryTimeoutMillis, boolean lock, HeadersPersistentConfig headersConfig,
+            String compression, int compressionThreshold) {
         this.process = process;
         this.client = client;
         this.queryTimeoutMillis = queryTimeoutMillis;
         this.marshaller = ProcessInstanceMarshallerService.newBuilder().withDefaultObjectMarshallerStrategies().withDefaultListeners()
-                .withContextEntry(MarshallerContextName.MARSHALLER_HEADERS_CONFIG, headersConfig).build();
+                .withContextEntry(MarshallerContextName.MARSHALLER_HEADERS_CONFIG, headersConfig)
+                .withPayloadCompression(compression, compressionThreshold).build();
         this.lock = lock;
     }
 
@@ -147,6 +157,21 @@ public class PostgresqlProcessInstances<T extends Model> implements MutableProce
         }
     }
 
+    @Override
+    public Stream<ProcessInstance<T>> stream(ProcessInstanceReadMode mode, String afterId, int pageSize) {
+        try {
+            Tuple parameters = tuple(process.id(), afterId == null ? "" : afterId, pageSize);
+            return getResultFromFuture(client.preparedQuery(FIND_ALL_AFTER + (process.version() == null ? IS_NULL : "= $4") + " ORDER BY id LIMIT $3").execute(parameters))
+                    .map(r -> StreamSupport.stream(r.spliterator(), false)).orElse(Stream.empty())
+                    .map(row -> unmarshall(row, mode));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw uncheckedException(e, "Error finding process instances page, for processId %s", process.id());
+        } catch (ExecutionException | TimeoutException e) {
+            throw uncheckedException(e, "Error finding process instances page, for processId %s", process.id());
+        }
+    }
+
     @Override
     public Stream<ProcessInstance<T>> waitingForEventType(String eventType, ProcessInstanceReadMode mode) {
         try {
@@ -163,6 +188,22 @@ public class PostgresqlProcessInstances<T extends Model> implements MutableProce
 
     }
 
+    @Override
+    public Stream<ProcessInstance<T>> waitingForEventType(String eventType, ProcessInstanceReadMode mode, String afterId, int pageSize) {
+        try {
+            Tuple parameters = tuple(eventType, process.id(), afterId == null ? "" : afterId, pageSize);
+            return getResultFromFuture(client.preparedQuery(FIND_ALL_WAITING_FOR_EVENT_TYPE_AFTER + (process.version() == null ? IS_NULL : "= $5") + " ORDER BY process_instances.id LIMIT $4")
+                    .execute(parameters))
+                    .map(r -> StreamSupport.stream(r.spliterator(), false)).orElse(Stream.empty())
+                    .map(row -> unmarshall(row, mode));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw uncheckedException(e, "Error finding process instances page, for processId %s waiting for %s", process.id(), eventType);
+        } catch (ExecutionException | TimeoutException e) {
+            throw uncheckedException(e, "Error finding process instances page, for processId %s waiting for %s", process.id(), eventType);
+        }
+    }
+
     private ProcessInstance<T> unmarshall(Row r, ProcessInstanceReadMode mode) {
         AbstractProcessInstance<T> instance = (AbstractProcessInstance<T>) marshaller.unmarshallProcessInstance(r.getBuffer(PAYLOAD).getBytes(), process, mode);
         instance.setVersion(r.getLong(VERSION));
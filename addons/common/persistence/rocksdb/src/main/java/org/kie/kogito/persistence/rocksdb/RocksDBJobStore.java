@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.persistence.rocksdb;
+
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.kie.kogito.jobs.JobDescription;
+import org.kie.kogito.jobs.JobStore;
+import org.kie.kogito.services.jobs.impl.JobDescriptionMarshaller;
+import org.rocksdb.RocksDB;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.RocksIterator;
+import org.rocksdb.WriteBatch;
+import org.rocksdb.WriteOptions;
+
+/**
+ * {@link JobStore} keeping jobs under the <code>job/</code> keys of the process instances database and their leases
+ * under the <code>job-lease/</code> keys. RocksDB is embedded, so claims only need to be atomic within this JVM.
+ */
+public class RocksDBJobStore implements JobStore {
+
+    static final String JOB_PREFIX = "job/";
+    static final String LEASE_PREFIX = "job-lease/";
+    private static final String LEASE_SEPARATOR = "\n";
+
+    private final RocksDB db;
+
+    public RocksDBJobStore(RocksDB db) {
+        this.db = db;
+    }
+
+    static boolean isJobKey(String key) {
+        return key.startsWith(JOB_PREFIX) || key.startsWith(LEASE_PREFIX);
+    }
+
+    @Override
+    public void store(JobDescription jobDescription) {
+        try {
+            db.put(jobKey(jobDescription.id()), JobDescriptionMarshaller.marshall(jobDescription));
+        } catch (RocksDBException e) {
+            throw new RuntimeException("Error storing job " + jobDescription.id(), e);
+        }
+    }
+
+    @Override
+    public synchronized void remove(String id) {
+        try (WriteBatch batch = new WriteBatch(); WriteOptions options = new WriteOptions()) {
+            batch.delete(jobKey(id));
+            batch.delete(leaseKey(id));
+            db.write(options, batch);
+        } catch (RocksDBException e) {
+            throw new RuntimeException("Error removing job " + id, e);
+        }
+    }
+
+    @Override
+    public boolean exists(String id) {
+        try {
+            return db.get(jobKey(id)) != null;
+        } catch (RocksDBException e) {
+            throw new RuntimeException("Error looking for job " + id, e);
+        }
+    }
+
+    @Override
+    public Optional<JobDescription> find(String id) {
+        try {
+            byte[] data = db.get(jobKey(id));
+            return data == null ? Optional.empty() : Optional.of(JobDescriptionMarshaller.unmarshall(data));
+        } catch (RocksDBException e) {
+            throw new RuntimeException("Error looking for job " + id, e);
+        }
+    }
+
+    @Override
+    public Collection<JobDescription> loadAll() {
+        Collection<JobDescription> jobs = new ArrayList<>();
+        byte[] prefix = JOB_PREFIX.getBytes(StandardCharsets.UTF_8);
+        try (RocksIterator iterator = db.newIterator()) {
+            for (iterator.seek(prefix); iterator.isValid() && startsWith(iterator.key(), prefix); iterator.next()) {
+                jobs.add(JobDescriptionMarshaller.unmarshall(iterator.value()));
+            }
+        }
+        return jobs;
+    }
+
+    @Override
+    public List<JobDescription> loadClaimable(String afterId, int limit) {
+        List<JobDescription> jobs = new ArrayList<>();
+        byte[] prefix = JOB_PREFIX.getBytes(StandardCharsets.UTF_8);
+        byte[] after = afterId == null ? null : jobKey(afterId);
+        long now = System.currentTimeMillis();
+        try (RocksIterator iterator = db.newIterator()) {
+            for (iterator.seek(after == null ? prefix : after); iterator.isValid() && startsWith(iterator.key(), prefix) && jobs.size() < limit; iterator.next()) {
+                if (after != null && Arrays.equals(iterator.key(), after)) {
+                    continue;
+                }
+                String id = new String(iterator.key(), prefix.length, iterator.key().length - prefix.length, StandardCharsets.UTF_8);
+                byte[] lease = db.get(leaseKey(id));
+                if (lease == null || leaseExpiration(lease) < now) {
+                    jobs.add(JobDescriptionMarshaller.unmarshall(iterator.value()));
+                }
+            }
+        } catch (RocksDBException e) {
+            throw new RuntimeException("Error loading claimable jobs", e);
+        }
+        return jobs;
+    }
+
+    @Override
+    public synchronized boolean claim(String id, String owner, ZonedDateTime leaseExpiration) {
+        try {
+            if (db.get(jobKey(id)) == null) {
+                return false;
+            }
+            byte[] lease = db.get(leaseKey(id));
+            if (lease != null) {
+                if (!leaseOwner(lease).equals(owner) && leaseExpiration(lease) >= System.currentTimeMillis()) {
+                    return false;
+                }
+            }
+            db.put(leaseKey(id), (owner + LEASE_SEPARATOR + leaseExpiration.toInstant().toEpochMilli()).getBytes(StandardCharsets.UTF_8));
+            return true;
+        } catch (RocksDBException e) {
+            throw new RuntimeException("Error claiming job " + id, e);
+        }
+    }
+
+    private static String leaseOwner(byte[] lease) {
+        return new String(lease, StandardCharsets.UTF_8).split(LEASE_SEPARATOR)[0];
+    }
+
+    private static long leaseExpiration(byte[] lease) {
+        return Long.parseLong(new String(lease, StandardCharsets.UTF_8).split(LEASE_SEPARATOR)[1]);
+    }
+
+    private static byte[] jobKey(String id) {
+        return (JOB_PREFIX + id).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] leaseKey(String id) {
+        return (LEASE_PREFIX + id).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static boolean startsWith(byte[] key, byte[] prefix) {
+        return key.length >= prefix.length && Arrays.equals(key, 0, prefix.length, prefix, 0, prefix.length);
+    }
+}
@@ -19,8 +19,9 @@
 package org.kie.kogito.persistence.rocksdb;
 
 import java.io.Closeable;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
@@ -32,6 +33,8 @@ import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 import org.jbpm.flow.serialization.MarshallerContextName;
+import org.jbpm.flow.serialization.PayloadCompression;
+import org.jbpm.flow.serialization.ProcessInstanceDelta;
 import org.jbpm.flow.serialization.ProcessInstanceMarshallerService;
 import org.kie.kogito.Model;
 import org.kie.kogito.internal.process.runtime.HeadersPersistentConfig;
@@ -43,26 +46,53 @@ import org.kie.kogito.process.impl.AbstractProcessInstance;
 import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
 import org.rocksdb.RocksIterator;
+import org.rocksdb.WriteBatch;
+import org.rocksdb.WriteOptions;
 
-import static java.util.stream.Collectors.toCollection;
-
+/**
+ * Stores every process instance under its id. Event type subscriptions are kept as an index of
+ * empty valued keys {@code event/<processId>-<version>/<eventType>/<instanceId>}, so
+ * {@link #waitingForEventType(String, ProcessInstanceReadMode)} is a prefix seek, plus one
+ * {@code subscription/<processId>-<version>/<instanceId>} key per instance listing its current event types,
+ * which allows the stale index entries to be removed on update. With delta persistence enabled, updates are
+ * appended as {@code patch/<processId>-<version>/<instanceId>/<sequence>} keys until compacted into the instance key.
+ * The instance and its index entries are written atomically through a {@link WriteBatch}.
+ */
 public class RocksDBProcessInstances<T extends Model> implements MutableProcessInstances<T> {
-    private final String EVENT_SEPARATOR = "::";
+    static final String EVENT_PREFIX = "event/";
+    static final String SUBSCRIPTION_PREFIX = "subscription/";
+    static final String PATCH_PREFIX = "patch/";
+    private static final String LEGACY_EVENT_SUFFIX = ".events";
+    private static final String LEGACY_EVENT_SEPARATOR = "::";
+    private static final char KEY_SEPARATOR = '/';
+    private static final String SUBSCRIPTION_SEPARATOR = "\n";
+    private static final String PATCH_SEQUENCE_FORMAT = "%010d";
+
     private final Process<T> process;
     private final ProcessInstanceMarshallerService marshaller;
     private final RocksDB db;
-    private String eventKey;
+    private final String processKey;
 
     public RocksDBProcessInstances(Process<T> process, RocksDB db) {
         this(process, db, null);
     }
 
     public RocksDBProcessInstances(Process<T> process, RocksDB db, HeadersPersistentConfig headersConfig) {
+        this(process, db, headersConfig, 0);
+    }
+
+    public RocksDBProcessInstances(Process<T> process, RocksDB db, HeadersPersistentConfig headersConfig, int deltaMaxPatches) {
+        this(process, db, headersConfig, deltaMaxPatches, PayloadCompression.NONE, PayloadCompression.DEFAULT_THRESHOLD);
+    }
+
+    public RocksDBProcessInstances(Process<T> process, RocksDB db, HeadersPersistentConfig headersConfig, int deltaMaxPatches, String compression, int compressionThreshold) {
         this.process = process;
         marshaller = ProcessInstanceMarshallerService.newBuilder().withDefaultObjectMarshallerStrategies().withDefaultListeners()
-                .withContextEntry(MarshallerContextName.MARSHALLER_HEADERS_CONFIG, headersConfig).build();
+                .withContextEntry(MarshallerContextName.MARSHALLER_HEADERS_CONFIG, headersConfig).withDeltaPersistence(deltaMaxPatches)
+                .withPayloadCompression(compression, compressionThreshold).build();
         this.db = db;
-        this.eventKey = process.id() + "-" + process.version() + ".events";
+        this.processKey = process.id() + "-" + process.version();
+        migrateLegacyEvents();
     }
 
     private class RockSplitIterator extends AbstractSpliterator<ProcessInstance<T>> implements Closeable {
@@ -86,11 +116,11 @@ public class RocksDBProcessInstances<T extends Model> implements MutableProcessI
             }
 
             while (iterator.isValid()) {
-                if (eventKey.equals(new String(iterator.key()))) {
+                if (isIndexKey(new String(iterator.key(), StandardCharsets.UTF_8))) {
                     iterator.next();
                     continue;
                 }
-                action.accept(unmarshall(iterator.value(), mode));
+                action.accept(unmarshall(new String(iterator.key()), iterator.value(), mode));
                 iterator.next();
                 return true;
             }
@@ -107,7 +137,7 @@ public class RocksDBProcessInstances<T extends Model> implements MutableProcessI
     public Optional<ProcessInstance<T>> findById(String id, ProcessInstanceReadMode mode) {
         try {
             byte[] data = db.get(id.getBytes());
-            return data == null ? Optional.empty() : Optional.of(unmarshall(data, mode));
+            return data == null ? Optional.empty() : Optional.of(unmarshall(id, data, mode));
         } catch (RocksDBException ex) {
             throw new IllegalStateException(ex);
         }
@@ -119,28 +149,52 @@ public class RocksDBProcessInstances<T extends Model> implements MutableProcessI
         return StreamSupport.stream(iterator, false).onClose(iterator::close);
     }
 
+    // instance keys are the instance ids, so keyset pagination is a seek on the last id of the previous page
     @Override
-    public Stream<ProcessInstance<T>> waitingForEventType(String eventType, ProcessInstanceReadMode mode) {
-        try {
-            byte[] eventData = db.get(this.eventKey.getBytes());
-            if (eventData == null) {
-                return Collections.<ProcessInstance<T>> emptyList().stream();
+    public Stream<ProcessInstance<T>> stream(ProcessInstanceReadMode mode, String afterId, int pageSize) {
+        List<ProcessInstance<T>> page = new ArrayList<>(pageSize);
+        try (RocksIterator iterator = db.newIterator()) {
+            if (afterId == null) {
+                iterator.seekToFirst();
+            } else {
+                iterator.seek(afterId.getBytes(StandardCharsets.UTF_8));
             }
-            String list = new String(eventData);
-            List<String> processInstancesId = Stream.of(list.split(","))
-                    .filter(e -> e.startsWith(eventType + EVENT_SEPARATOR))
-                    .map(e -> e.substring(e.indexOf(EVENT_SEPARATOR) + EVENT_SEPARATOR.length()))
-                    .toList();
-
-            List<ProcessInstance<T>> waitingInstances = new ArrayList<>();
-            for (String processInstanceId : processInstancesId) {
-                byte[] processData = db.get(processInstanceId.getBytes());
-                waitingInstances.add(unmarshall(processData, mode));
+            for (; iterator.isValid() && page.size() < pageSize; iterator.next()) {
+                String key = new String(iterator.key(), StandardCharsets.UTF_8);
+                if (!key.equals(afterId) && !isIndexKey(key)) {
+                    page.add(unmarshall(key, iterator.value(), mode));
+                }
+            }
+        }
+        return page.stream();
+    }
+
+    @Override
+    public Stream<ProcessInstance<T>> waitingForEventType(String eventType, ProcessInstanceReadMode mode) {
+        return waitingForEventType(eventType, mode, null, Integer.MAX_VALUE);
+    }
+
+    // event keys end with the instance id, so keyset pagination is a seek on the event key of the last id of the previous page
+    @Override
+    public Stream<ProcessInstance<T>> waitingForEventType(String eventType, ProcessInstanceReadMode mode, String afterId, int pageSize) {
+        byte[] prefix = eventKey(eventType, "").getBytes(StandardCharsets.UTF_8);
+        List<ProcessInstance<T>> waitingInstances = new ArrayList<>();
+        try (RocksIterator iterator = db.newIterator()) {
+            iterator.seek(afterId == null ? prefix : eventKey(eventType, afterId).getBytes(StandardCharsets.UTF_8));
+            for (; iterator.isValid() && waitingInstances.size() < pageSize && startsWith(iterator.key(), prefix); iterator.next()) {
+                String processInstanceId = new String(iterator.key(), prefix.length, iterator.key().length - prefix.length, StandardCharsets.UTF_8);
+                // longer event types sharing this prefix are skipped
+                if (processInstanceId.indexOf(KEY_SEPARATOR) < 0 && !processInstanceId.equals(afterId)) {
+                    byte[] processData = db.get(processInstanceId.getBytes());
+                    if (processData != null) {
+                        waitingInstances.add(unmarshall(processInstanceId, processData, mode));
+                    }
+                }
             }
-            return waitingInstances.stream();
         } catch (RocksDBException ex) {
             throw new IllegalStateException(ex);
         }
+        return waitingInstances.stream();
     }
 
     @Override
@@ -154,38 +208,136 @@ public class RocksDBProcessInstances<T extends Model> implements MutableProcessI
 
     @Override
     public void create(String id, ProcessInstance<T> instance) {
-        update(id, instance);
+        write(id, instance, false);
     }
 
     @Override
-    public synchronized void update(String id, ProcessInstance<T> instance) {
-        try {
-            db.put(id.getBytes(), marshaller.marshallProcessInstance(instance));
+    public void update(String id, ProcessInstance<T> instance) {
+        write(id, instance, true);
+    }
+
+    private void write(String id, ProcessInstance<T> instance, boolean existing) {
+        try (WriteBatch batch = new WriteBatch(); WriteOptions writeOptions = new WriteOptions()) {
+            ProcessInstanceDelta delta = marshaller.marshallProcessInstanceDelta(instance);
+            if (delta.isSnapshot()) {
+                batch.put(id.getBytes(), delta.getPayload());
+                if (existing && delta.isDiscardPatches()) {
+                    batch.deleteRange(patchKey(id, ""), patchKeyEnd(id));
+                }
+            } else {
+                batch.put(patchKey(id, String.format(PATCH_SEQUENCE_FORMAT, delta.getSequence())), delta.getPayload());
+            }
+            Set<String> previous = getSubscriptions(id);
+            Set<String> current = getUniqueEvents(instance);
+            for (String eventType : previous) {
+                if (!current.contains(eventType)) {
+                    batch.delete(eventKey(eventType, id).getBytes(StandardCharsets.UTF_8));
+                }
+            }
+            for (String eventType : current) {
+                if (!previous.contains(eventType)) {
+                    batch.put(eventKey(eventType, id).getBytes(StandardCharsets.UTF_8), new byte[0]);
+                }
+            }
+            if (current.isEmpty()) {
+                batch.delete(subscriptionKey(id));
+            } else if (!current.equals(previous)) {
+                batch.put(subscriptionKey(id), String.join(SUBSCRIPTION_SEPARATOR, current).getBytes(StandardCharsets.UTF_8));
+            }
+            db.write(writeOptions, batch);
+            delta.persisted();
             connectProcessInstance(instance);
-            Set<String> events = clearEventTypes(instance.id());
-            events.addAll(getUniqueEvents(instance));
-            db.put(this.eventKey.getBytes(), toBytes(events));
         } catch (RocksDBException ex) {
             throw new IllegalStateException(ex);
         }
     }
 
-    private byte[] toBytes(Set<String> events) {
-        return String.join(",", events).getBytes();
+    @Override
+    public void remove(String id) {
+        try (WriteBatch batch = new WriteBatch(); WriteOptions writeOptions = new WriteOptions()) {
+            batch.delete(id.getBytes());
+            for (String eventType : getSubscriptions(id)) {
+                batch.delete(eventKey(eventType, id).getBytes(StandardCharsets.UTF_8));
+            }
+            batch.delete(subscriptionKey(id));
+            batch.deleteRange(patchKey(id, ""), patchKeyEnd(id));
+            db.write(writeOptions, batch);
+        } catch (RocksDBException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private Set<String> getSubscriptions(String processInstanceId) throws RocksDBException {
+        byte[] data = db.get(subscriptionKey(processInstanceId));
+        if (data == null || data.length == 0) {
+            return new HashSet<>();
+        }
+        return new HashSet<>(Arrays.asList(new String(data, StandardCharsets.UTF_8).split(SUBSCRIPTION_SEPARATOR)));
     }
 
-    private Set<String> clearEventTypes(String processInstanceId) throws RocksDBException {
-        byte[] eventData = db.get(this.eventKey.getBytes());
-        String list = eventData != null ? new String(eventData) : new String();
-        return Stream.of(list.split(",")).filter(e -> !e.endsWith(EVENT_SEPARATOR + processInstanceId)).collect(toCollection(HashSet::new));
+    private String eventKey(String eventType, String processInstanceId) {
+        return EVENT_PREFIX + processKey + KEY_SEPARATOR + eventType + KEY_SEPARATOR + processInstanceId;
     }
 
-    @Override
-    public synchronized void remove(String id) {
+    private byte[] subscriptionKey(String processInstanceId) {
+        return (SUBSCRIPTION_PREFIX + processKey + KEY_SEPARATOR + processInstanceId).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private byte[] patchKey(String processInstanceId, String sequence) {
+        return (PATCH_PREFIX + processKey + KEY_SEPARATOR + processInstanceId + KEY_SEPARATOR + sequence).getBytes(StandardCharsets.UTF_8);
+    }
+
+    // exclusive upper bound of the patch keys of an instance, the character following the separator
+    private byte[] patchKeyEnd(String processInstanceId) {
+        return (PATCH_PREFIX + processKey + KEY_SEPARATOR + processInstanceId + (char) (KEY_SEPARATOR + 1)).getBytes(StandardCharsets.UTF_8);
+    }
+
+    // zero padded sequences keep the patches of an instance in write order
+    private List<byte[]> getPatches(String processInstanceId) {
+        byte[] prefix = patchKey(processInstanceId, "");
+        List<byte[]> patches = new ArrayList<>();
+        try (RocksIterator iterator = db.newIterator()) {
+            for (iterator.seek(prefix); iterator.isValid() && startsWith(iterator.key(), prefix); iterator.next()) {
+                patches.add(iterator.value());
+            }
+        }
+        return patches;
+    }
+
+    private static boolean isIndexKey(String key) {
+        return key.startsWith(EVENT_PREFIX) || key.startsWith(SUBSCRIPTION_PREFIX) || key.startsWith(PATCH_PREFIX) || key.endsWith(LEGACY_EVENT_SUFFIX) || RocksDBJobStore.isJobKey(key);
+    }
+
+    private static boolean startsWith(byte[] key, byte[] prefix) {
+        return key.length >= prefix.length && Arrays.equals(key, 0, prefix.length, prefix, 0, prefix.length);
+    }
+
+    // converts the comma joined "eventType::instanceId" blob written by previous versions into index entries
+    private void migrateLegacyEvents() {
+        byte[] legacyKey = (processKey + LEGACY_EVENT_SUFFIX).getBytes();
         try {
-            db.delete(id.getBytes());
-            Set<String> events = clearEventTypes(id);
-            db.put(this.eventKey.getBytes(), toBytes(events));
+            byte[] eventData = db.get(legacyKey);
+            if (eventData == null) {
+                return;
+            }
+            try (WriteBatch batch = new WriteBatch(); WriteOptions writeOptions = new WriteOptions()) {
+                Stream.of(new String(eventData).split(","))
+                        .filter(e -> e.contains(LEGACY_EVENT_SEPARATOR))
+                        .collect(Collectors.groupingBy(e -> e.substring(e.lastIndexOf(LEGACY_EVENT_SEPARATOR) + LEGACY_EVENT_SEPARATOR.length()),
+                                Collectors.mapping(e -> e.substring(0, e.lastIndexOf(LEGACY_EVENT_SEPARATOR)), Collectors.toSet())))
+                        .forEach((processInstanceId, eventTypes) -> {
+                            try {
+                                for (String eventType : eventTypes) {
+                                    batch.put(eventKey(eventType, processInstanceId).getBytes(StandardCharsets.UTF_8), new byte[0]);
+                                }
+                                batch.put(subscriptionKey(processInstanceId), String.join(SUBSCRIPTION_SEPARATOR, eventTypes).getBytes(StandardCharsets.UTF_8));
+                            } catch (RocksDBException ex) {
+                                throw new IllegalStateException(ex);
+                            }
+                        });
+                batch.delete(legacyKey);
+                db.write(writeOptions, batch);
+            }
         } catch (RocksDBException ex) {
             throw new IllegalStateException(ex);
         }
@@ -193,12 +345,11 @@ public class RocksDBProcessInstances<T extends Model> implements MutableProcessI
 
     private Set<String> getUniqueEvents(ProcessInstance<T> instance) {
         return Stream.of(((AbstractProcessInstance<T>) instance).internalGetProcessInstance().getEventTypes())
-                .map(e -> e + EVENT_SEPARATOR + instance.id())
                 .collect(Collectors.toCollection(HashSet::new));
     }
 
-    private ProcessInstance<T> unmarshall(byte[] data, ProcessInstanceReadMode mode) {
-        AbstractProcessInstance<?> pi = (AbstractProcessInstance<?>) marshaller.unmarshallProcessInstance(data, process, mode);
+    private ProcessInstance<T> unmarshall(String id, byte[] data, ProcessInstanceReadMode mode) {
+        AbstractProcessInstance<?> pi = (AbstractProcessInstance<?>) marshaller.unmarshallProcessInstance(data, getPatches(id), process, mode);
         connectProcessInstance(pi);
         return (ProcessInstance<T>) pi;
     }
@@ -206,7 +357,8 @@ public class RocksDBProcessInstances<T extends Model> implements MutableProcessI
     private void connectProcessInstance(ProcessInstance<?> pi) {
         ((AbstractProcessInstance<?>) pi).internalSetReloadSupplier(marshaller.createdReloadFunction(() -> {
             try {
-                return db.get(pi.id().getBytes());
+                byte[] data = db.get(pi.id().getBytes());
+                return data == null ? null : marshaller.compactProcessInstance(data, getPatches(pi.id()));
             } catch (Exception e) {
                 throw new RuntimeException(e);
             }
@@ -18,6 +18,7 @@
  */
 package org.kie.kogito.persistence.rocksdb;
 
+import org.jbpm.flow.serialization.PayloadCompression;
 import org.kie.kogito.internal.process.runtime.HeadersPersistentConfig;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstancesFactory;
@@ -29,19 +30,45 @@ public class RocksDBProcessInstancesFactory implements ProcessInstancesFactory,
 
     private final RocksDB db;
     private final HeadersPersistentConfig headersConfig;
+    private final int deltaMaxPatches;
+    private final String compression;
+    private final int compressionThreshold;
 
     public RocksDBProcessInstancesFactory(Options options, String dbLocation) throws RocksDBException {
         this(options, dbLocation, null);
     }
 
     public RocksDBProcessInstancesFactory(Options options, String dbLocation, HeadersPersistentConfig headersConfig) throws RocksDBException {
+        this(options, dbLocation, headersConfig, 0);
+    }
+
+    public RocksDBProcessInstancesFactory(Options options, String dbLocation, HeadersPersistentConfig headersConfig, int deltaMaxPatches) throws RocksDBException {
+        this(options, dbLocation, headersConfig, deltaMaxPatches, PayloadCompression.NONE, PayloadCompression.DEFAULT_THRESHOLD);
+    }
+
+    public RocksDBProcessInstancesFactory(Options options, String dbLocation, HeadersPersistentConfig headersConfig, int deltaMaxPatches, String compression,
+            int compressionThreshold) throws RocksDBException {
         this.db = RocksDB.open(options, dbLocation);
         this.headersConfig = headersConfig;
+        this.deltaMaxPatches = deltaMaxPatches;
+        this.compression = compression;
+        this.compressionThreshold = compressionThreshold;
     }
 
     @Override
     public RocksDBProcessInstances<?> createProcessInstances(Process<?> process) {
-        return new RocksDBProcessInstances(process, db, headersConfig);
+        return new RocksDBProcessInstances(process, db, headersConfig, deltaMaxPatches, compression, compressionThreshold);
+    }
+
+    /**
+     * @return job store sharing the database of the process instances
+     */
+    public RocksDBJobStore createJobStore() {
+        return new RocksDBJobStore(db);
+    }
+
+    RocksDB db() {
+        return db;
     }
 
     @Override
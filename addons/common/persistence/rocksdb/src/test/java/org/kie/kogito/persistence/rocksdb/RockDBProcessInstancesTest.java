@@ -19,15 +19,18 @@
 package org.kie.kogito.persistence.rocksdb;
 
 import java.nio.file.Path;
+import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.List;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.jbpm.workflow.instance.WorkflowProcessInstance;
@@ -39,9 +42,12 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 import org.kie.kogito.Application;
 import org.kie.kogito.Model;
+import org.kie.kogito.jobs.ExactExpirationTime;
+import org.kie.kogito.jobs.descriptors.ProcessInstanceJobDescription;
 import org.kie.kogito.process.MutableProcessInstances;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceReadMode;
 import org.kie.kogito.process.SignalFactory;
 import org.kie.kogito.process.bpmn2.BpmnProcess;
 import org.kie.kogito.process.bpmn2.BpmnVariables;
@@ -51,6 +57,7 @@ import org.kie.kogito.process.impl.StaticProcessConfig;
 import org.kie.kogito.process.workitems.impl.DefaultKogitoWorkItemHandler;
 import org.rocksdb.Options;
 import org.rocksdb.RocksDBException;
+import org.rocksdb.RocksIterator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -141,6 +148,29 @@ class RockDBProcessInstancesTest {
         }
     }
 
+    @Test
+    void testPagination() {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(createProcessInstance().getId());
+        }
+        Collections.sort(ids);
+
+        List<String> pagedIds = new ArrayList<>();
+        String afterId = null;
+        List<String> page;
+        do {
+            try (Stream<ProcessInstance<?>> stream = pi.stream(ProcessInstanceReadMode.READ_ONLY, afterId, 2)) {
+                page = stream.map(ProcessInstance::id).collect(Collectors.toList());
+            }
+            assertThat(page.size()).isLessThanOrEqualTo(2);
+            pagedIds.addAll(page);
+            afterId = page.isEmpty() ? afterId : page.get(page.size() - 1);
+        } while (page.size() == 2);
+
+        assertThat(pagedIds).containsExactlyElementsOf(ids);
+    }
+
     @Test
     public void testSignalStorage() {
         BpmnProcess process = createProcess("BPMN2-IntermediateCatchEventSignal.bpmn2");
@@ -157,6 +187,117 @@ class RockDBProcessInstancesTest {
         assertThat(process.instances().stream().count()).isEqualTo(0);
     }
 
+    @Test
+    public void testWaitingForEventTypeIndex() {
+        BpmnProcess process = createProcess("BPMN2-IntermediateCatchEventSignal.bpmn2");
+        RocksDBProcessInstances fsInstances = (RocksDBProcessInstances) process.instances();
+        ProcessInstance<BpmnVariables> pi1 = process.createInstance(BpmnVariables.create(Collections.singletonMap("name", "sig1")));
+        ProcessInstance<BpmnVariables> pi2 = process.createInstance(BpmnVariables.create(Collections.singletonMap("name", "sig2")));
+        pi1.start();
+        pi2.start();
+
+        pi1.workItems().forEach(wi -> pi1.completeWorkItem(wi.getId(), Collections.emptyMap()));
+        pi2.workItems().forEach(wi -> pi2.completeWorkItem(wi.getId(), Collections.emptyMap()));
+        assertThat(fsInstances.waitingForEventType("sig1")).hasSize(1);
+        assertThat(fsInstances.waitingForEventType("sig")).isEmpty();
+        assertThat(process.instances().stream().count()).isEqualTo(2);
+
+        process.send(SignalFactory.of("sig1", "SomeValue"));
+        assertThat(fsInstances.waitingForEventType("sig1")).isEmpty();
+        assertThat(fsInstances.waitingForEventType("sig2")).hasSize(1);
+        assertThat(process.instances().stream().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testWaitingForEventTypePagination() {
+        BpmnProcess process = createProcess("BPMN2-IntermediateCatchEventSignal.bpmn2");
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ProcessInstance<BpmnVariables> waiting = process.createInstance(BpmnVariables.create(Collections.singletonMap("name", i == 0 ? "sig2" : "sig1")));
+            waiting.start();
+            waiting.workItems().forEach(wi -> waiting.completeWorkItem(wi.getId(), Collections.emptyMap()));
+            if (i > 0) {
+                ids.add(waiting.id());
+            }
+        }
+        Collections.sort(ids);
+
+        List<String> pagedIds = new ArrayList<>();
+        String afterId = null;
+        List<String> page;
+        do {
+            try (Stream<ProcessInstance<BpmnVariables>> stream = process.instances().waitingForEventType("sig1", ProcessInstanceReadMode.READ_ONLY, afterId, 3)) {
+                page = stream.map(ProcessInstance::id).collect(Collectors.toList());
+            }
+            assertThat(page.size()).isLessThanOrEqualTo(3);
+            pagedIds.addAll(page);
+            afterId = page.isEmpty() ? afterId : page.get(page.size() - 1);
+        } while (page.size() == 3);
+
+        assertThat(pagedIds).containsExactlyElementsOf(ids);
+    }
+
+    @Test
+    void testDeltaPersistence() throws RocksDBException {
+        factory.close();
+        factory = new RocksDBProcessInstancesFactory(options, tempDir.toString(), null, 2);
+        BpmnProcess process = createProcess("BPMN2-UserTask.bpmn2");
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "0")));
+        processInstance.start();
+
+        for (int i = 1; i <= 5; i++) {
+            ProcessInstance<BpmnVariables> loaded = process.instances().findById(processInstance.id()).orElseThrow();
+            loaded.updateVariables(BpmnVariables.create(Collections.singletonMap("s", String.valueOf(i))));
+            assertThat(patchCount()).isEqualTo(i % 3);
+            ProcessInstance<BpmnVariables> reloaded = process.instances().findById(processInstance.id()).orElseThrow();
+            assertThat(reloaded.variables().get("s")).isEqualTo(String.valueOf(i));
+            assertThat(reloaded.variables().get("test")).isEqualTo("0");
+        }
+
+        process.instances().findById(processInstance.id()).orElseThrow().abort();
+        assertThat(process.instances().stream().count()).isZero();
+        assertThat(patchCount()).isZero();
+    }
+
+    private long patchCount() throws RocksDBException {
+        long count = 0;
+        try (RocksIterator iterator = factory.db().newIterator()) {
+            for (iterator.seekToFirst(); iterator.isValid(); iterator.next()) {
+                if (new String(iterator.key()).startsWith(RocksDBProcessInstances.PATCH_PREFIX)) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    @Test
+    void testJobStore() {
+        RocksDBJobStore jobStore = factory.createJobStore();
+        WorkflowProcessInstance createPi = createProcessInstance();
+        jobStore.store(ProcessInstanceJobDescription.newProcessInstanceJobDescriptionBuilder()
+                .id("job")
+                .timerId("timer")
+                .processInstanceId(createPi.getId())
+                .expirationTime(ExactExpirationTime.now())
+                .build());
+        assertThat(jobStore.loadAll()).singleElement().satisfies(job -> assertThat(job.id()).isEqualTo("job"));
+        assertThat(jobStore.loadClaimable(null, 10)).singleElement().satisfies(job -> assertThat(job.id()).isEqualTo("job"));
+        assertThat(jobStore.loadClaimable("job", 10)).isEmpty();
+        assertThat(jobStore.claim("job", "replica1", ZonedDateTime.now().plusMinutes(1))).isTrue();
+        assertThat(jobStore.claim("job", "replica2", ZonedDateTime.now().plusMinutes(1))).isFalse();
+        assertThat(jobStore.loadClaimable(null, 10)).isEmpty();
+        assertThat(jobStore.find("job")).isPresent();
+        try (Stream<ProcessInstance<?>> stream = pi.stream()) {
+            assertThat(stream.count()).isOne();
+        }
+
+        jobStore.remove("job");
+        assertThat(jobStore.exists("job")).isFalse();
+        assertThat(jobStore.claim("job", "replica2", ZonedDateTime.now().plusMinutes(1))).isFalse();
+        removeProcessInstance(createPi);
+    }
+
     WorkflowProcessInstance createProcessInstance() {
         WorkflowProcessInstance instance = ((AbstractProcessInstance<?>) process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test")))).internalGetProcessInstance();
         logger.debug("Created instance {}", instance.getId());
@@ -18,13 +18,19 @@
  */
 package org.kie.kogito.tracing.decision;
 
-import java.util.LinkedList;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
+import java.util.function.LongSupplier;
 import java.util.function.Supplier;
 
 import org.kie.dmn.api.core.DMNModel;
@@ -38,20 +44,45 @@ import org.kie.kogito.tracing.decision.terminationdetector.TerminationDetector;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Collects the {@link EvaluateEvent}s of every evaluation until its {@link TerminationDetector} fires and emits them
+ * aggregated as a single CloudEvent.
+ * <p>
+ * Evaluations that never terminate (e.g. an exception was thrown or the thread was interrupted) are evicted once
+ * older than the configured time to live, and the oldest evaluations are evicted when the configured maximum of
+ * in flight evaluations is reached, so the collector memory stays bounded.
+ */
 public class DecisionTracingCollector {
 
+    public static final int DEFAULT_MAX_IN_FLIGHT_EXECUTIONS = 10000;
+    public static final Duration DEFAULT_EXECUTION_TTL = Duration.ofMinutes(5);
+
     private static final Logger LOG = LoggerFactory.getLogger(DecisionTracingCollector.class);
 
-    private final Map<String, List<EvaluateEvent>> cacheMap;
-    private final Map<String, TerminationDetector> terminationDetectorMap;
+    private static final int DEFAULT_EXPECTED_EVENTS = 16;
+
+    private final Map<String, Execution> executions;
+    private final Queue<Execution> executionsByAge;
+    private final AtomicInteger executionsByAgeSize;
+    private final Map<String, Integer> expectedEventsByModel;
+    private final LongAdder evictedExecutions;
+    private final LongAdder expiredExecutions;
     private final Aggregator aggregator;
     private final Consumer<String> payloadConsumer;
     private final BiFunction<String, String, DMNModel> modelSupplier;
     private final Supplier<TerminationDetector> terminationDetectorSupplier;
     private final ConfigBean configBean;
+    private final int maxInFlightExecutions;
+    private final long executionTtlNanos;
+    private final LongSupplier nanoClock;
 
     public DecisionTracingCollector(Consumer<String> payloadConsumer, BiFunction<String, String, DMNModel> modelSupplier, ConfigBean configBean) {
-        this(new DefaultAggregator(), payloadConsumer, modelSupplier, CounterTerminationDetector::new, configBean);
+        this(payloadConsumer, modelSupplier, configBean, DEFAULT_MAX_IN_FLIGHT_EXECUTIONS, DEFAULT_EXECUTION_TTL);
+    }
+
+    public DecisionTracingCollector(Consumer<String> payloadConsumer, BiFunction<String, String, DMNModel> modelSupplier, ConfigBean configBean, int maxInFlightExecutions,
+            Duration executionTtl) {
+        this(new DefaultAggregator(), payloadConsumer, modelSupplier, CounterTerminationDetector::new, configBean, maxInFlightExecutions, executionTtl);
     }
 
     public DecisionTracingCollector(
@@ -60,31 +91,70 @@ public class DecisionTracingCollector {
             BiFunction<String, String, DMNModel> modelSupplier,
             Supplier<TerminationDetector> terminationDetectorSupplier,
             ConfigBean configBean) {
-        this.cacheMap = new ConcurrentHashMap<>();
-        this.terminationDetectorMap = new ConcurrentHashMap<>();
+        this(aggregator, payloadConsumer, modelSupplier, terminationDetectorSupplier, configBean, DEFAULT_MAX_IN_FLIGHT_EXECUTIONS, DEFAULT_EXECUTION_TTL);
+    }
+
+    public DecisionTracingCollector(
+            Aggregator aggregator,
+            Consumer<String> payloadConsumer,
+            BiFunction<String, String, DMNModel> modelSupplier,
+            Supplier<TerminationDetector> terminationDetectorSupplier,
+            ConfigBean configBean,
+            int maxInFlightExecutions,
+            Duration executionTtl) {
+        this(aggregator, payloadConsumer, modelSupplier, terminationDetectorSupplier, configBean, maxInFlightExecutions, executionTtl, System::nanoTime);
+    }
+
+    DecisionTracingCollector(
+            Aggregator aggregator,
+            Consumer<String> payloadConsumer,
+            BiFunction<String, String, DMNModel> modelSupplier,
+            Supplier<TerminationDetector> terminationDetectorSupplier,
+            ConfigBean configBean,
+            int maxInFlightExecutions,
+            Duration executionTtl,
+            LongSupplier nanoClock) {
+        if (maxInFlightExecutions <= 0) {
+            throw new IllegalArgumentException("Max in flight executions must be positive, was " + maxInFlightExecutions);
+        }
+        this.executions = new ConcurrentHashMap<>();
+        this.executionsByAge = new ConcurrentLinkedQueue<>();
+        this.executionsByAgeSize = new AtomicInteger();
+        this.expectedEventsByModel = new ConcurrentHashMap<>();
+        this.evictedExecutions = new LongAdder();
+        this.expiredExecutions = new LongAdder();
         this.aggregator = aggregator;
         this.payloadConsumer = payloadConsumer;
         this.modelSupplier = modelSupplier;
         this.terminationDetectorSupplier = terminationDetectorSupplier;
         this.configBean = configBean;
+        this.maxInFlightExecutions = maxInFlightExecutions;
+        this.executionTtlNanos = executionTtl.toNanos();
+        this.nanoClock = nanoClock;
     }
 
     public void addEvent(EvaluateEvent event) {
         LOG.trace("Received {}(executionId: {}, modelName: {}, modelNamespace: {})", event.getType(), event.getExecutionId(), event.getModelName(), event.getModelNamespace());
 
         String executionId = event.getExecutionId();
-        if (!cacheMap.containsKey(executionId)) {
-            cacheMap.put(executionId, new LinkedList<>());
-            terminationDetectorMap.put(executionId, terminationDetectorSupplier.get());
-            LOG.trace("Added evaluation {} to cache (current size: {})", executionId, cacheMap.size());
+        Execution execution = executions.get(executionId);
+        if (execution == null) {
+            execution = register(executionId, event);
         }
 
-        cacheMap.get(executionId).add(event);
-        terminationDetectorMap.get(executionId).add(event);
+        boolean terminated;
+        synchronized (execution) {
+            execution.events.add(event);
+            execution.terminationDetector.add(event);
+            terminated = execution.terminationDetector.isTerminated();
+        }
+
+        if (terminated && executions.remove(executionId, execution)) {
+            LOG.trace("Removed evaluation {} from cache (current size: {})", executionId, executions.size());
+            expectedEventsByModel.put(modelKey(event), execution.events.size());
 
-        if (terminationDetectorMap.get(executionId).isTerminated()) {
             DMNModel dmnModel = modelSupplier.apply(event.getModelNamespace(), event.getModelName());
-            Optional<String> optPayload = aggregate(dmnModel, executionId, cacheMap.get(executionId));
+            Optional<String> optPayload = aggregate(dmnModel, executionId, execution.events);
 
             if (optPayload.isPresent()) {
                 String payload = optPayload.get();
@@ -93,14 +163,96 @@ public class DecisionTracingCollector {
             } else {
                 LOG.error("Failed aggregating data for evaluation {}", executionId);
             }
+        }
+    }
+
+    /**
+     * @return number of evaluations collected and not yet terminated
+     */
+    public int inFlightExecutions() {
+        return executions.size();
+    }
+
+    /**
+     * @return number of evaluations dropped because the maximum of in flight evaluations was reached
+     */
+    public long evictedExecutions() {
+        return evictedExecutions.sum();
+    }
+
+    /**
+     * @return number of evaluations dropped because they did not terminate within the time to live
+     */
+    public long expiredExecutions() {
+        return expiredExecutions.sum();
+    }
+
+    private Execution register(String executionId, EvaluateEvent event) {
+        long now = nanoClock.getAsLong();
+        evict(now);
+        Execution created = new Execution(executionId, now, expectedEventsByModel.getOrDefault(modelKey(event), DEFAULT_EXPECTED_EVENTS), terminationDetectorSupplier.get());
+        Execution execution = executions.putIfAbsent(executionId, created);
+        if (execution != null) {
+            return execution;
+        }
+        executionsByAge.add(created);
+        if (executionsByAgeSize.incrementAndGet() > 2 * maxInFlightExecutions) {
+            // evaluations terminated out of order behind a long running one, drop them all at once
+            executionsByAge.removeIf(this::isRemoved);
+            executionsByAgeSize.set(executionsByAge.size());
+        }
+        LOG.trace("Added evaluation {} to cache (current size: {})", executionId, executions.size());
+        return created;
+    }
 
-            cacheMap.remove(executionId);
-            terminationDetectorMap.remove(executionId);
-            LOG.trace("Removed evaluation {} from cache (current size: {})", executionId, cacheMap.size());
+    private void evict(long now) {
+        Execution oldest;
+        while ((oldest = executionsByAge.peek()) != null) {
+            boolean removed = isRemoved(oldest);
+            boolean expired = now - oldest.createdAt >= executionTtlNanos;
+            boolean full = executions.size() >= maxInFlightExecutions;
+            if (!removed && !expired && !full) {
+                return;
+            }
+            if (executionsByAge.remove(oldest)) {
+                executionsByAgeSize.decrementAndGet();
+                if (!removed && executions.remove(oldest.executionId, oldest)) {
+                    if (expired) {
+                        expiredExecutions.increment();
+                        LOG.warn("Evaluation {} did not terminate within {} ms, its tracing events are discarded", oldest.executionId, executionTtlNanos / 1_000_000);
+                    } else {
+                        evictedExecutions.increment();
+                        LOG.warn("Maximum of {} in flight evaluations reached, tracing events of evaluation {} are discarded", maxInFlightExecutions, oldest.executionId);
+                    }
+                }
+            }
         }
     }
 
+    private boolean isRemoved(Execution execution) {
+        return executions.get(execution.executionId) != execution;
+    }
+
     private Optional<String> aggregate(DMNModel model, String executionId, List<EvaluateEvent> events) {
         return aggregator.aggregate(model, executionId, events, configBean).flatMap(CloudEventUtils::encode);
     }
+
+    private static String modelKey(EvaluateEvent event) {
+        return event.getModelNamespace() + ':' + event.getModelName();
+    }
+
+    private static class Execution {
+
+        private final String executionId;
+        private final long createdAt;
+        private final List<EvaluateEvent> events;
+        private final TerminationDetector terminationDetector;
+
+        private Execution(String executionId, long createdAt, int expectedEvents, TerminationDetector terminationDetector) {
+            this.executionId = executionId;
+            this.createdAt = createdAt;
+            this.events = new ArrayList<>(expectedEvents);
+            this.terminationDetector = terminationDetector;
+        }
+    }
 }
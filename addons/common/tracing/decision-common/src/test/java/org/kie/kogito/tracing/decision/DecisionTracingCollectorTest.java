@@ -19,9 +19,11 @@
 package org.kie.kogito.tracing.decision;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
@@ -48,7 +50,9 @@ import static org.kie.kogito.dmn.DecisionTestUtils.createDMNModel;
 import static org.kie.kogito.tracing.decision.DecisionTracingTestUtils.EVALUATE_ALL_JSON_RESOURCE;
 import static org.kie.kogito.tracing.decision.DecisionTracingTestUtils.EVALUATE_DECISION_SERVICE_JSON_RESOURCE;
 import static org.kie.kogito.tracing.decision.DecisionTracingTestUtils.readEvaluateEventsFromJsonResource;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -73,6 +77,47 @@ class DecisionTracingCollectorTest {
         testInterleavedEvaluations(CounterTerminationDetector::new);
     }
 
+    @Test
+    void testNotTerminatedEvaluationIsExpired() throws IOException {
+        AtomicLong clock = new AtomicLong();
+        Consumer<String> payloadConsumer = mock(Consumer.class);
+        DecisionTracingCollector collector = new DecisionTracingCollector(new MockDefaultAggregator(), payloadConsumer, (namespace, name) -> model,
+                CounterTerminationDetector::new, configBean, 10, Duration.ofMinutes(1), clock::get);
+
+        List<EvaluateEvent> evaluateAllEvents = readEvaluateEventsFromJsonResource(EVALUATE_ALL_JSON_RESOURCE);
+        List<EvaluateEvent> evaluateDecisionServiceEvents = readEvaluateEventsFromJsonResource(EVALUATE_DECISION_SERVICE_JSON_RESOURCE);
+
+        collector.addEvent(evaluateAllEvents.get(0));
+        assertThat(collector.inFlightExecutions()).isOne();
+
+        clock.addAndGet(Duration.ofMinutes(2).toNanos());
+        collector.addEvent(evaluateDecisionServiceEvents.get(0));
+        assertThat(collector.inFlightExecutions()).isOne();
+        assertThat(collector.expiredExecutions()).isOne();
+        assertThat(collector.evictedExecutions()).isZero();
+        verify(payloadConsumer, never()).accept(any());
+    }
+
+    @Test
+    void testOldestEvaluationIsEvictedWhenFull() throws IOException {
+        MockDefaultAggregator aggregator = new MockDefaultAggregator();
+        Consumer<String> payloadConsumer = mock(Consumer.class);
+        DecisionTracingCollector collector = new DecisionTracingCollector(aggregator, payloadConsumer, (namespace, name) -> model,
+                CounterTerminationDetector::new, configBean, 1, Duration.ofMinutes(1));
+
+        List<EvaluateEvent> evaluateAllEvents = readEvaluateEventsFromJsonResource(EVALUATE_ALL_JSON_RESOURCE);
+        List<EvaluateEvent> evaluateDecisionServiceEvents = readEvaluateEventsFromJsonResource(EVALUATE_DECISION_SERVICE_JSON_RESOURCE);
+
+        collector.addEvent(evaluateAllEvents.get(0));
+        evaluateDecisionServiceEvents.forEach(collector::addEvent);
+
+        assertThat(collector.evictedExecutions()).isOne();
+        assertThat(collector.expiredExecutions()).isZero();
+        assertThat(collector.inFlightExecutions()).isZero();
+        assertThat(aggregator.getCalls()).containsOnlyKeys(EVALUATE_DECISION_SERVICE_EXECUTION_ID);
+        verify(payloadConsumer).accept(any());
+    }
+
     private void testInterleavedEvaluations(Supplier<TerminationDetector> terminationDetectorSupplier) throws IOException {
         MockDefaultAggregator aggregator = new MockDefaultAggregator();
         Consumer<String> payloadConsumer = mock(Consumer.class);
@@ -38,4 +38,42 @@ public interface ConfigBean extends KogitoConfig {
     default short processInstanceLimit() {
         return 1000;
     }
+
+    /**
+     * Number of instances signalled per unit of work when broadcasting a signal to every instance waiting for it,
+     * 0 means all the waiting instances are signalled within the unit of work in progress
+     */
+    default int signalBroadcastPageSize() {
+        return 0;
+    }
+
+    /**
+     * Whether updates of process instances are deferred to the end of the unit of work, so every instance
+     * is written once per unit of work
+     */
+    default boolean persistenceWriteBehind() {
+        return false;
+    }
+
+    /**
+     * Strategy locking process instances while operated on, either <code>atomic</code> or <code>striped</code>
+     */
+    default String processInstanceLockStrategy() {
+        return "atomic";
+    }
+
+    /**
+     * Number of stripes of the <code>striped</code> process instance lock strategy
+     */
+    default int processInstanceLockStripes() {
+        return 1024;
+    }
+
+    /**
+     * Maximum time, in milliseconds, a nested operation waits for the lock of a process instance
+     * with the <code>striped</code> process instance lock strategy
+     */
+    default long processInstanceLockTimeout() {
+        return 30000L;
+    }
 }
@@ -27,6 +27,11 @@ public class StaticConfigBean implements ConfigBean {
     private String serviceUrl;
     private boolean useCloudEvents = true;
     private boolean failOnEmptyBean = false;
+    private int signalBroadcastPageSize;
+    private boolean persistenceWriteBehind;
+    private String processInstanceLockStrategy = "atomic";
+    private int processInstanceLockStripes = 1024;
+    private long processInstanceLockTimeout = 30000L;
     private KogitoGAV gav;
 
     public StaticConfigBean() {
@@ -50,6 +55,26 @@ public class StaticConfigBean implements ConfigBean {
         this.failOnEmptyBean = failOnEmptyBean;
     }
 
+    protected void setSignalBroadcastPageSize(int signalBroadcastPageSize) {
+        this.signalBroadcastPageSize = signalBroadcastPageSize;
+    }
+
+    protected void setPersistenceWriteBehind(boolean persistenceWriteBehind) {
+        this.persistenceWriteBehind = persistenceWriteBehind;
+    }
+
+    protected void setProcessInstanceLockStrategy(String processInstanceLockStrategy) {
+        this.processInstanceLockStrategy = processInstanceLockStrategy;
+    }
+
+    protected void setProcessInstanceLockStripes(int processInstanceLockStripes) {
+        this.processInstanceLockStripes = processInstanceLockStripes;
+    }
+
+    protected void setProcessInstanceLockTimeout(long processInstanceLockTimeout) {
+        this.processInstanceLockTimeout = processInstanceLockTimeout;
+    }
+
     public void setGav(KogitoGAV gav) {
         this.gav = gav;
     }
@@ -73,4 +98,29 @@ public class StaticConfigBean implements ConfigBean {
     public boolean failOnEmptyBean() {
         return failOnEmptyBean;
     }
+
+    @Override
+    public int signalBroadcastPageSize() {
+        return signalBroadcastPageSize;
+    }
+
+    @Override
+    public boolean persistenceWriteBehind() {
+        return persistenceWriteBehind;
+    }
+
+    @Override
+    public String processInstanceLockStrategy() {
+        return processInstanceLockStrategy;
+    }
+
+    @Override
+    public int processInstanceLockStripes() {
+        return processInstanceLockStripes;
+    }
+
+    @Override
+    public long processInstanceLockTimeout() {
+        return processInstanceLockTimeout;
+    }
 }
@@ -50,6 +50,10 @@ public class DurationExpirationTime implements ExpirationTime {
         return repeatLimit;
     }
 
+    public static DurationExpirationTime of(ZonedDateTime expirationTime, Long repeatInterval, Integer repeatLimit) {
+        return new DurationExpirationTime(expirationTime, repeatInterval, repeatLimit);
+    }
+
     public static DurationExpirationTime now() {
         return new DurationExpirationTime(ZonedDateTime.now(), null, 0);
     }
@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.jobs;
+
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Durable storage of the jobs scheduled by an embedded {@link JobsService}, so timers survive restarts.
+ * Stores might be shared by several replicas; a due job is only executed by the replica holding its lease.
+ */
+public interface JobStore {
+
+    /**
+     * Stores the job, replacing any previous job with the same id
+     */
+    void store(JobDescription jobDescription);
+
+    /**
+     * Removes the job, if present
+     */
+    void remove(String id);
+
+    boolean exists(String id);
+
+    /**
+     * @return the job with the given id, if kept by this store
+     */
+    Optional<JobDescription> find(String id);
+
+    /**
+     * @return all the jobs kept by this store
+     */
+    Collection<JobDescription> loadAll();
+
+    /**
+     * Keyset pagination over the jobs that might be claimed right now, because they are not leased or their lease
+     * expired: returns at most <code>limit</code> of those jobs, ordered by id, whose id is greater than <code>afterId</code>.
+     *
+     * @param afterId id of the last job of the previous page, null to start from the first job
+     * @param limit maximum number of jobs returned
+     * @return the jobs of the page
+     */
+    List<JobDescription> loadClaimable(String afterId, int limit);
+
+    /**
+     * Claims the job for the given owner until the given time. The claim succeeds when the job exists and
+     * it is not leased, its lease already expired or it is already leased by the same owner.
+     *
+     * @return true if the caller now holds the lease of the job
+     */
+    boolean claim(String id, String owner, ZonedDateTime leaseExpiration);
+}
@@ -18,6 +18,7 @@
  */
 package org.kie.kogito.process;
 
+import java.util.Comparator;
 import java.util.Optional;
 import java.util.stream.Stream;
 
@@ -51,12 +52,48 @@ public interface ProcessInstances<T> {
         return stream(ProcessInstanceReadMode.READ_ONLY);
     }
 
+    /**
+     * Keyset pagination over the instances of this process: returns at most <code>pageSize</code> instances,
+     * ordered by id, whose id is greater than <code>afterId</code>.
+     * The id of the last instance of a page is the cursor to fetch the next one.
+     * Persistence implementations are expected to push both bounds down to the store, this default
+     * implementation sorts the whole stream.
+     *
+     * @param mode read mode of the returned instances
+     * @param afterId id of the last instance of the previous page, null to start from the first instance
+     * @param pageSize maximum number of instances returned
+     * @return the instances of the page
+     */
+    default Stream<ProcessInstance<T>> stream(ProcessInstanceReadMode mode, String afterId, int pageSize) {
+        return stream(mode)
+                .filter(pi -> afterId == null || pi.id().compareTo(afterId) > 0)
+                .sorted(Comparator.comparing(ProcessInstance::id))
+                .limit(pageSize);
+    }
+
     default Stream<ProcessInstance<T>> waitingForEventType(String eventType) {
         return waitingForEventType(eventType, ProcessInstanceReadMode.READ_ONLY);
     }
 
     Stream<ProcessInstance<T>> waitingForEventType(String eventType, ProcessInstanceReadMode mode);
 
+    /**
+     * Keyset pagination over the instances of this process waiting for <code>eventType</code>, with the same contract
+     * as {@link #stream(ProcessInstanceReadMode, String, int)}.
+     *
+     * @param eventType event type the returned instances are waiting for
+     * @param mode read mode of the returned instances
+     * @param afterId id of the last instance of the previous page, null to start from the first instance
+     * @param pageSize maximum number of instances returned
+     * @return the instances of the page
+     */
+    default Stream<ProcessInstance<T>> waitingForEventType(String eventType, ProcessInstanceReadMode mode, String afterId, int pageSize) {
+        return waitingForEventType(eventType, mode)
+                .filter(pi -> afterId == null || pi.id().compareTo(afterId) > 0)
+                .sorted(Comparator.comparing(ProcessInstance::id))
+                .limit(pageSize);
+    }
+
     default Stream<ProcessInstance<T>> acceptingEventType(String signalName, String id) {
         return findById(id, ProcessInstanceReadMode.MUTABLE)
                 .filter(pi -> {
@@ -23,6 +23,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import org.kie.kogito.MapOutput;
 import org.kie.kogito.MappableToModel;
@@ -59,10 +61,41 @@ public interface ProcessService {
 
     <T extends MappableToModel<R>, R> List<R> getProcessInstanceOutput(Process<T> process);
 
+    /**
+     * Returns a page of process instance outputs ordered by process instance id.
+     *
+     * @param process process of the instances
+     * @param afterId id of the last instance of the previous page, null to start from the first instance
+     * @param pageSize maximum number of outputs returned, capped by the configured process instance limit
+     * @return the outputs of the page
+     */
+    <T extends MappableToModel<R>, R> List<R> getProcessInstanceOutput(Process<T> process, String afterId, int pageSize);
+
+    /**
+     * Streams the outputs of all the instances of the process, fetching them page by page so that
+     * only one page is held in memory at a time. The returned stream must be closed.
+     *
+     * @param process process of the instances
+     * @return the outputs of all the instances
+     */
+    <T extends MappableToModel<R>, R> Stream<R> streamProcessInstanceOutput(Process<T> process);
+
     <T extends MappableToModel<R>, R> Optional<R> findById(Process<T> process, String id);
 
     <T extends MappableToModel<R>, R> Optional<R> signalProcessInstance(Process<T> process, String id, Object data, String signalName);
 
+    /**
+     * Loads a process instance and, if it is waiting for the given signal, signals it within the same unit of work,
+     * so the instance is read and unmarshalled just once.
+     *
+     * @param process process of the instance
+     * @param loader loads the instance, invoked once within the unit of work
+     * @param data signal payload
+     * @param signalName signal name
+     * @return the loaded instance, empty if the loader did not find any
+     */
+    <T extends Model> Optional<ProcessInstance<T>> loadAndSignalProcessInstance(Process<T> process, Supplier<Optional<ProcessInstance<T>>> loader, Object data, String signalName);
+
     <T> void migrateProcessInstances(Process<T> process, String targetProcessId, String targetProcessVersion, String... id) throws UnsupportedOperationException;
 
     <T> long migrateAll(Process<T> process, String targetProcessId, String targetProcessVersion) throws UnsupportedOperationException;
@@ -19,9 +19,12 @@
 
 package org.kie.kogito.signal;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.SignalFactory;
 
 public interface ProcessInstanceResolver<T> {
 
@@ -29,4 +32,23 @@ public interface ProcessInstanceResolver<T> {
 
     List<ProcessInstance<T>> waitingForEvents(String eventType);
 
+    /**
+     * Returns the instances waiting for the event type, loaded while the stream is consumed.
+     * The stream must be closed once consumed.
+     */
+    default Stream<ProcessInstance<T>> streamWaitingForEvents(String eventType) {
+        return waitingForEvents(eventType).stream();
+    }
+
+    /**
+     * Signals every instance waiting for the event type, except the given ones.
+     * 
+     * @return number of signalled instances
+     */
+    default long signalWaitingForEvents(String eventType, Object payload, Collection<String> excludedIds) {
+        List<ProcessInstance<T>> waiting = waitingForEvents(eventType).stream().filter(pi -> !excludedIds.contains(pi.id())).toList();
+        waiting.forEach(pi -> pi.send(SignalFactory.of(eventType, payload)));
+        return waiting.size();
+    }
+
 }
@@ -45,6 +45,16 @@ public interface UnitOfWorkManager {
      */
     UnitOfWork newUnitOfWork();
 
+    /**
+     * Returns whether a unit of work has been started and not yet completed in this execution context (usually thread).
+     * Managers not able to tell report an active unit of work, so callers never start a nested one.
+     * 
+     * @return true if there is a unit of work in progress
+     */
+    default boolean hasActiveUnitOfWork() {
+        return true;
+    }
+
     /**
      * Returns instance of the event manager configured for this unit of work manager
      * 
@@ -26,6 +26,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -37,6 +38,7 @@ import org.kie.kogito.event.DataEvent;
 import org.kie.kogito.event.EventDispatcher;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceReadMode;
 import org.kie.kogito.process.ProcessService;
 import org.kie.kogito.process.SignalFactory;
 import org.slf4j.Logger;
@@ -52,6 +54,8 @@ public class ProcessEventDispatcher<M extends Model, D> implements EventDispatch
     private final Optional<Function<D, M>> modelConverter;
     private final Process<M> process;
     private final Function<DataEvent<D>, D> dataResolver;
+    private final LongAdder consumedMessages = new LongAdder();
+    private final LongAdder instanceLoads = new LongAdder();
 
     public ProcessEventDispatcher(Process<M> process, Optional<Function<D, M>> modelConverter, ProcessService processService, Set<String> correlationKeys,
             Function<DataEvent<D>, D> dataResolver) {
@@ -70,6 +74,7 @@ public class ProcessEventDispatcher<M extends Model, D> implements EventDispatch
             }
             return null;
         }
+        consumedMessages.increment();
         // obtain data from the event
         Object data = dataResolver.apply(event);
         // check correlation key, if an instance associated to that correlation key exist, notify the instance, if it does not exist, ignore the event
@@ -116,24 +121,28 @@ public class ProcessEventDispatcher<M extends Model, D> implements EventDispatch
             return Optional.empty();
         }
 
-        Optional<ProcessInstance<M>> processInstance = findProcessInstance.apply(processInstanceId);
-        if (processInstance.isEmpty()) {
-            return Optional.empty();
-        }
+        // the instance is loaded within the unit of work signalling it, so it is read just once
+        return processService.loadAndSignalProcessInstance(process, () -> findProcessInstance.apply(processInstanceId), data, "Message-" + trigger);
+    }
 
-        signalProcess(processInstance.get(), trigger, data);
-        return processInstance;
+    /**
+     * @return number of messages consumed by this dispatcher
+     */
+    public long consumedMessages() {
+        return consumedMessages.sum();
     }
 
-    private void signalProcess(ProcessInstance<M> pi, String trigger, Object data) {
-        if (LOGGER.isDebugEnabled()) {
-            LOGGER.debug("Sending signal {} to process {} with instance id '{}' with data {}", trigger, process.id(), pi.id(), data);
-        }
-        signalProcessInstance(trigger, pi.id(), data);
+    /**
+     * @return number of process instances loaded to deliver the consumed messages, not including the ones loaded when broadcasting
+     *         a message to every instance waiting for it
+     */
+    public long instanceLoads() {
+        return instanceLoads.sum();
     }
 
     private Optional<ProcessInstance<M>> findById(String id) {
         LOGGER.debug("Received message with process {} with instance id '{}'", process.id(), id);
+        instanceLoads.increment();
         Optional<ProcessInstance<M>> result = process.instances().findById(id);
         if (LOGGER.isDebugEnabled() && result.isEmpty()) {
             LOGGER.debug("No instance found for process {} with instance id '{}'", process.id(), id);
@@ -144,7 +153,8 @@ public class ProcessEventDispatcher<M extends Model, D> implements EventDispatch
 
     private Optional<ProcessInstance<M>> findByBusinessKey(String key) {
         LOGGER.debug("Received message with process {} with business key '{}'", process.id(), key);
-        Optional<ProcessInstance<M>> result = process.instances().findByBusinessKey(key);
+        instanceLoads.increment();
+        Optional<ProcessInstance<M>> result = process.instances().findByBusinessKey(key, ProcessInstanceReadMode.MUTABLE);
         if (LOGGER.isDebugEnabled() && result.isEmpty()) {
             LOGGER.debug("No instance found for process {} with business key '{}'", process.id(), key);
         }
@@ -174,10 +184,6 @@ public class ProcessEventDispatcher<M extends Model, D> implements EventDispatch
         }
     }
 
-    private Optional<M> signalProcessInstance(String trigger, String id, Object data) {
-        return processService.signalProcessInstance((Process) process, id, data, "Message-" + trigger);
-    }
-
     private ProcessInstance<M> startNewInstance(String trigger, DataEvent<D> event) {
         if (modelConverter.isEmpty()) {
             return null;
@@ -24,6 +24,7 @@ import java.util.UUID;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -77,7 +78,8 @@ class ProcessEventDispatcherTest {
         when(processInstances.findById("1")).thenReturn(Optional.of(processInstance));
         processService = mock(ProcessService.class);
         when(processService.createProcessInstance(eq(process), any(), any(), any(), any(), any(), any(), any())).thenReturn(processInstance);
-        when(processService.signalProcessInstance(eq(process), any(), any(), any())).thenReturn(Optional.of(mock(DummyModel.class)));
+        when(processService.loadAndSignalProcessInstance(eq(process), any(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<Optional<ProcessInstance<DummyModel>>>> getArgument(1).get());
         executor = Executors.newSingleThreadExecutor();
     }
 
@@ -93,17 +95,20 @@ class ProcessEventDispatcherTest {
 
     @Test
     void testSigCloudEvent() throws Exception {
-        EventDispatcher<DummyModel, TestEvent> dispatcher = new ProcessEventDispatcher<>(process, Optional.empty(), processService, null, o -> o.getData());
+        ProcessEventDispatcher<DummyModel, TestEvent> dispatcher = new ProcessEventDispatcher<>(process, Optional.empty(), processService, null, o -> o.getData());
         ProcessInstance<DummyModel> instance = dispatcher.dispatch(DUMMY_TOPIC, new TestCloudEvent<>(new TestEvent("pepe"), DUMMY_TOPIC, "source", "1"));
 
         ArgumentCaptor<String> signal = ArgumentCaptor.forClass(String.class);
         ArgumentCaptor<String> processInstanceId = ArgumentCaptor.forClass(String.class);
 
-        verify(processService, times(1)).signalProcessInstance(Mockito.any(Process.class), processInstanceId.capture(), Mockito.any(Object.class), signal.capture());
+        verify(processService, times(1)).loadAndSignalProcessInstance(Mockito.any(Process.class), any(), Mockito.any(Object.class), signal.capture());
+        verify(processInstances, times(1)).findById(processInstanceId.capture());
 
         assertThat(signal.getValue()).isEqualTo("Message-" + DUMMY_TOPIC);
         assertThat(processInstanceId.getValue()).isEqualTo("1");
         assertThat(processInstance).isEqualTo(instance);
+        assertThat(dispatcher.consumedMessages()).isOne();
+        assertThat(dispatcher.instanceLoads()).isOne();
     }
 
     @Test
@@ -115,7 +120,7 @@ class ProcessEventDispatcherTest {
         ArgumentCaptor<String> referenceId = ArgumentCaptor.forClass(String.class);
 
         verify(processInstances, never()).findById(any());
-        verify(processService, never()).signalProcessInstance(eq(process), any(), any(), signal.capture());
+        verify(processService, never()).loadAndSignalProcessInstance(eq(process), any(), any(), signal.capture());
         verify(processService, times(1)).createProcessInstance(eq(process), any(), any(DummyModel.class), any(), any(), signal.capture(), referenceId.capture(), isNull());
 
         assertThat(signal.getValue()).isEqualTo(DUMMY_TOPIC);
@@ -161,7 +166,8 @@ class ProcessEventDispatcherTest {
         ArgumentCaptor<String> processInstanceId = ArgumentCaptor.forClass(String.class);
         ArgumentCaptor<Object> signalObject = ArgumentCaptor.forClass(Object.class);
 
-        verify(processService, times(1)).signalProcessInstance(Mockito.any(Process.class), processInstanceId.capture(), signalObject.capture(), signal.capture());
+        verify(processService, times(1)).loadAndSignalProcessInstance(Mockito.any(Process.class), any(), signalObject.capture(), signal.capture());
+        verify(processInstances, times(1)).findById(processInstanceId.capture());
 
         assertThat(signal.getValue()).isEqualTo("Message-" + DUMMY_TOPIC);
         assertThat(signalObject.getValue()).isEqualTo("pepe");
@@ -232,7 +238,8 @@ class ProcessEventDispatcherTest {
         ArgumentCaptor<String> processInstanceId = ArgumentCaptor.forClass(String.class);
 
         verify(correlationService).find(compositeCorrelation);
-        verify(processService).signalProcessInstance(Mockito.any(Process.class), processInstanceId.capture(), Mockito.any(Object.class), signal.capture());
+        verify(processService).loadAndSignalProcessInstance(Mockito.any(Process.class), any(), Mockito.any(Object.class), signal.capture());
+        verify(processInstances).findById(processInstanceId.capture());
 
         assertThat(signal.getValue()).isEqualTo("Message-" + DUMMY_TOPIC);
         assertThat(processInstanceId.getValue()).isEqualTo("1");
@@ -0,0 +1,196 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.services.executor;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.kie.kogito.event.KogitoThreadPoolFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executor for blocking process operations triggered by asynchronous endpoints. Tasks run on virtual threads, when the
+ * JVM supports them, or on platform threads, but at most {@link #maxConcurrency()} of them at the same time. Tasks
+ * exceeding that limit wait in a queue holding up to {@link #queueSize()} tasks; once the queue is full new tasks are
+ * rejected with a {@link RejectedExecutionException}.
+ * The queue depth, the running tasks and the completed and rejected counts are exposed for monitoring.
+ */
+public class BoundedExecutor implements Executor, AutoCloseable {
+
+    /**
+     * (string) threads running the tasks; possible values: virtual-threads, platform-threads; default is virtual-threads
+     */
+    public static final String EXECUTOR_TYPE_PROPERTY = "kogito.rest.executor.type";
+    /**
+     * (int) maximum number of tasks executed at the same time; default is 256
+     */
+    public static final String EXECUTOR_MAX_CONCURRENCY_PROPERTY = "kogito.rest.executor.max-concurrency";
+    /**
+     * (int) maximum number of tasks waiting for execution; default is 10000
+     */
+    public static final String EXECUTOR_QUEUE_SIZE_PROPERTY = "kogito.rest.executor.queue-size";
+    /**
+     * (long) seconds a client is asked to wait, through the Retry-After header of the 503 response, before retrying a
+     * request rejected because the queue is full; default is 1
+     */
+    public static final String EXECUTOR_RETRY_AFTER_PROPERTY = "kogito.rest.executor.retry-after";
+
+    public static final String VIRTUAL_THREADS = "virtual-threads";
+    public static final String PLATFORM_THREADS = "platform-threads";
+    public static final String DEFAULT_MAX_CONCURRENCY = "256";
+    public static final String DEFAULT_QUEUE_SIZE = "10000";
+    public static final String DEFAULT_RETRY_AFTER = "1";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BoundedExecutor.class);
+    private static final String THREAD_NAME = "kogito-rest";
+
+    private final ExecutorService delegate;
+    private final int maxConcurrency;
+    private final int queueSize;
+    private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public BoundedExecutor(String type, int maxConcurrency, int queueSize) {
+        this(newDelegate(type), maxConcurrency, queueSize);
+    }
+
+    /**
+     * @param delegate executor running the tasks, it is shut down when this executor is closed
+     * @param maxConcurrency maximum number of tasks executed at the same time
+     * @param queueSize maximum number of tasks waiting for execution
+     */
+    public BoundedExecutor(ExecutorService delegate, int maxConcurrency, int queueSize) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("Max concurrency must be positive, got " + maxConcurrency);
+        }
+        this.delegate = delegate;
+        this.maxConcurrency = maxConcurrency;
+        this.queueSize = queueSize;
+    }
+
+    private static ExecutorService newDelegate(String type) {
+        switch (type) {
+            case VIRTUAL_THREADS:
+                try {
+                    // looked up reflectively since virtual threads are only available from JDK 21
+                    return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+                } catch (ReflectiveOperationException e) {
+                    LOGGER.warn("Virtual threads are not supported by this JVM, tasks will be executed on platform threads");
+                    return Executors.newCachedThreadPool(new KogitoThreadPoolFactory(THREAD_NAME));
+                }
+            case PLATFORM_THREADS:
+                // the concurrency limit bounds the number of threads of the cached pool
+                return Executors.newCachedThreadPool(new KogitoThreadPoolFactory(THREAD_NAME));
+            default:
+                throw new IllegalArgumentException("Unknown executor type " + type);
+        }
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (queued.incrementAndGet() > queueSize) {
+            queued.decrementAndGet();
+            rejected.increment();
+            throw new RejectedExecutionException("Executor queue is full, " + queueSize + " tasks are already waiting");
+        }
+        queue.offer(task);
+        drain();
+    }
+
+    private void drain() {
+        while (!queue.isEmpty()) {
+            int running = active.get();
+            if (running >= maxConcurrency) {
+                // a running task drains the queue when completing
+                return;
+            }
+            if (!active.compareAndSet(running, running + 1)) {
+                continue;
+            }
+            Runnable task = queue.poll();
+            if (task == null) {
+                active.decrementAndGet();
+                continue;
+            }
+            queued.decrementAndGet();
+            try {
+                delegate.execute(() -> run(task));
+            } catch (RejectedExecutionException e) {
+                active.decrementAndGet();
+                rejected.increment();
+                throw e;
+            }
+        }
+    }
+
+    private void run(Runnable task) {
+        try {
+            task.run();
+        } finally {
+            completed.increment();
+            active.decrementAndGet();
+            drain();
+        }
+    }
+
+    public int maxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public int queueSize() {
+        return queueSize;
+    }
+
+    /**
+     * @return number of tasks waiting for execution
+     */
+    public int queueDepth() {
+        return queued.get();
+    }
+
+    /**
+     * @return number of tasks being executed
+     */
+    public int activeCount() {
+        return active.get();
+    }
+
+    public long completedCount() {
+        return completed.sum();
+    }
+
+    public long rejectedCount() {
+        return rejected.sum();
+    }
+
+    @Override
+    public void close() {
+        delegate.shutdown();
+    }
+}
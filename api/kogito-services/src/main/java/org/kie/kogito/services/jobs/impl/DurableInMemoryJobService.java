@@ -0,0 +1,301 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.services.jobs.impl;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.kie.kogito.jobs.DurationExpirationTime;
+import org.kie.kogito.jobs.ExpirationTime;
+import org.kie.kogito.jobs.JobDescription;
+import org.kie.kogito.jobs.JobStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * In memory jobs service writing every job through to a {@link JobStore}, so timers survive restarts without an external jobs service.
+ * <p>
+ * Jobs kept by the store are loaded at construction and scheduled again as soon as a {@link JobExecutorFactory} accepting them
+ * is registered; jobs already due are fired right away. Before firing, the job is claimed in the store for
+ * {@link #IN_MEMORY_JOB_SERVICE_LEASE_PROPERTY} milliseconds, so replicas sharing the store do not fire the same job twice.
+ * Every {@link #IN_MEMORY_JOB_SERVICE_RECOVERY_INTERVAL_PROPERTY} milliseconds a page of the jobs kept by the store that are
+ * not leased, or whose lease expired, is loaded again, so jobs scheduled by a replica that stopped are picked up by the remaining ones.
+ */
+public class DurableInMemoryJobService extends InMemoryJobService {
+
+    /**
+     * (long) milliseconds a fired job is leased to this service before other replicas might claim it; default is 60000
+     */
+    public static final String IN_MEMORY_JOB_SERVICE_LEASE_PROPERTY = "kogito.in-memory.job-service.lease";
+    /**
+     * (string) identifier of this replica when claiming jobs; default is a random identifier
+     */
+    public static final String IN_MEMORY_JOB_SERVICE_OWNER_PROPERTY = "kogito.in-memory.job-service.owner";
+    /**
+     * (long) milliseconds between loads of the jobs kept by the store that are unknown to this service; default is the lease
+     */
+    public static final String IN_MEMORY_JOB_SERVICE_RECOVERY_INTERVAL_PROPERTY = "kogito.in-memory.job-service.recovery-interval";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DurableInMemoryJobService.class);
+
+    // maximum number of jobs loaded from the store at once while recovering
+    private static final int RECOVERY_PAGE_SIZE = 500;
+
+    private final JobStore jobStore;
+    private final String owner;
+    private final Duration lease;
+    private final Map<String, JobDescription> recoveredJobs = new ConcurrentHashMap<>();
+    // jobs being scheduled by this service, not to be taken as jobs of another replica while being stored
+    private final Set<String> schedulingJobs = ConcurrentHashMap.newKeySet();
+    // id of the last job loaded by the periodic recovery, which resumes from the next one
+    private String recoveryCursor;
+
+    public DurableInMemoryJobService(JobStore jobStore) {
+        this(new ScheduledThreadPoolExecutor(Integer.parseInt(System.getProperty(IN_MEMORY_JOB_SERVICE_POOL_SIZE_PROPERTY, "10"))), jobStore);
+    }
+
+    public DurableInMemoryJobService(ScheduledExecutorService scheduler, JobStore jobStore) {
+        super(scheduler);
+        this.jobStore = jobStore;
+        this.owner = System.getProperty(IN_MEMORY_JOB_SERVICE_OWNER_PROPERTY, UUID.randomUUID().toString());
+        this.lease = Duration.ofMillis(Long.parseLong(System.getProperty(IN_MEMORY_JOB_SERVICE_LEASE_PROPERTY, "60000")));
+        recover(true);
+        scheduleRecovery(Duration.ofMillis(Long.parseLong(System.getProperty(IN_MEMORY_JOB_SERVICE_RECOVERY_INTERVAL_PROPERTY, Long.toString(lease.toMillis())))));
+    }
+
+    /**
+     * @param scheduler executor used to keep the time of the jobs
+     * @param jobExecutor executor running the jobs once fired, null to run them on the scheduler threads
+     * @param maxInFlight maximum number of jobs being executed by the job executor at the same time
+     * @param jobStore store keeping the scheduled jobs
+     * @param owner identifier of this replica when claiming jobs
+     * @param lease time a fired job is leased to this replica
+     */
+    public DurableInMemoryJobService(ScheduledExecutorService scheduler, Executor jobExecutor, int maxInFlight, JobStore jobStore, String owner, Duration lease) {
+        this(scheduler, jobExecutor, maxInFlight, jobStore, owner, lease, lease);
+    }
+
+    /**
+     * @param scheduler executor used to keep the time of the jobs
+     * @param jobExecutor executor running the jobs once fired, null to run them on the scheduler threads
+     * @param maxInFlight maximum number of jobs being executed by the job executor at the same time
+     * @param jobStore store keeping the scheduled jobs
+     * @param owner identifier of this replica when claiming jobs
+     * @param lease time a fired job is leased to this replica
+     * @param recoveryInterval time between loads of the jobs kept by the store that are unknown to this replica
+     */
+    public DurableInMemoryJobService(ScheduledExecutorService scheduler, Executor jobExecutor, int maxInFlight, JobStore jobStore, String owner, Duration lease, Duration recoveryInterval) {
+        super(scheduler, jobExecutor, maxInFlight);
+        this.jobStore = jobStore;
+        this.owner = owner;
+        this.lease = lease;
+        recover(true);
+        scheduleRecovery(recoveryInterval);
+    }
+
+    private void scheduleRecovery(Duration recoveryInterval) {
+        scheduler.scheduleWithFixedDelay(this::recoverSafely, recoveryInterval.toMillis(), recoveryInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void recoverSafely() {
+        try {
+            recover(false);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Error recovering jobs from job store", e);
+        }
+    }
+
+    /**
+     * Schedules the claimable jobs kept by the store that are not known to this service yet, either because they were
+     * stored before it started or by another replica. Jobs still held by a live replica are claimed by it when fired,
+     * so the copy scheduled here only runs if that replica stops. Every call loads a page of claimable jobs, resuming
+     * after the last job loaded by the previous call, unless <code>allPages</code> is set.
+     */
+    private synchronized void recover(boolean allPages) {
+        int recovered = 0;
+        do {
+            List<JobDescription> page = jobStore.loadClaimable(recoveryCursor, RECOVERY_PAGE_SIZE);
+            for (JobDescription jobDescription : page) {
+                String id = jobDescription.id();
+                recoveryCursor = id;
+                if (scheduledJobs.containsKey(id) || schedulingJobs.contains(id)) {
+                    continue;
+                }
+                if (jobExecutorFactories.stream().anyMatch(factory -> factory.accept(jobDescription))) {
+                    if (recoveredJobs.remove(id) == null) {
+                        recovered++;
+                    }
+                    LOGGER.debug("Scheduling recovered job {}", jobDescription);
+                    super.scheduleJob(jobDescription);
+                } else if (recoveredJobs.putIfAbsent(id, jobDescription) == null) {
+                    recovered++;
+                }
+            }
+            if (page.size() < RECOVERY_PAGE_SIZE) {
+                recoveryCursor = null;
+            }
+        } while (allPages && recoveryCursor != null);
+        // completed or cancelled by another replica meanwhile
+        recoveredJobs.keySet().removeIf(id -> !jobStore.exists(id));
+        if (recovered > 0) {
+            LOGGER.info("Recovered {} jobs from job store", recovered);
+        }
+    }
+
+    @Override
+    public synchronized InMemoryJobService registerJobExecutorFactory(JobExecutorFactory jobExecutorFactory) {
+        super.registerJobExecutorFactory(jobExecutorFactory);
+        Iterator<JobDescription> iterator = recoveredJobs.values().iterator();
+        while (iterator.hasNext()) {
+            JobDescription jobDescription = iterator.next();
+            if (jobExecutorFactory.accept(jobDescription)) {
+                iterator.remove();
+                LOGGER.debug("Rescheduling recovered job {}", jobDescription);
+                super.scheduleJob(jobDescription);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * @return number of jobs loaded from the store still waiting for a job executor factory accepting them
+     */
+    public int pendingRecoveredJobs() {
+        return recoveredJobs.size();
+    }
+
+    @Override
+    public String scheduleJob(JobDescription jobDescription) {
+        boolean marked = schedulingJobs.add(jobDescription.id());
+        try {
+            // stored first, a job firing right away must find itself in the store to be claimed
+            jobStore.store(jobDescription);
+            try {
+                return super.scheduleJob(jobDescription);
+            } catch (RuntimeException e) {
+                jobStore.remove(jobDescription.id());
+                throw e;
+            }
+        } finally {
+            if (marked) {
+                schedulingJobs.remove(jobDescription.id());
+            }
+        }
+    }
+
+    @Override
+    public String rescheduleJob(JobDescription jobDescription) {
+        // the job is briefly neither scheduled nor stored while being rescheduled
+        boolean marked = schedulingJobs.add(jobDescription.id());
+        try {
+            return super.rescheduleJob(jobDescription);
+        } finally {
+            if (marked) {
+                schedulingJobs.remove(jobDescription.id());
+            }
+        }
+    }
+
+    @Override
+    public boolean cancelJob(String id, boolean force) {
+        recoveredJobs.remove(id);
+        jobStore.remove(id);
+        return super.cancelJob(id, force);
+    }
+
+    @Override
+    protected Runnable createJob(JobExecutorFactory jobExecutorFactory, JobDescription jobDescription, boolean repeatable) {
+        return new LeasedJob(jobDescription, super.createJob(jobExecutorFactory, jobDescription, repeatable), repeatable);
+    }
+
+    /**
+     * Runs the job only once its lease is held by this replica. A single job whose lease is held by another replica is
+     * claimed again when that lease expires, in case that replica stopped before completing it. A repeatable job stores
+     * its next expiration after every firing, so the remaining repetitions are kept across restarts; when taken over
+     * from another replica, it is scheduled again with the repetitions left by that replica.
+     */
+    private class LeasedJob implements Runnable {
+
+        private final JobDescription jobDescription;
+        private final Runnable job;
+        private final boolean repeatable;
+        private Integer repeatLimit;
+
+        LeasedJob(JobDescription jobDescription, Runnable job, boolean repeatable) {
+            this.jobDescription = jobDescription;
+            this.job = job;
+            this.repeatable = repeatable;
+            this.repeatLimit = jobDescription.expirationTime().repeatLimit();
+        }
+
+        @Override
+        public void run() {
+            String id = jobDescription.id();
+            if (!jobStore.claim(id, owner, ZonedDateTime.now().plus(lease))) {
+                if (!jobStore.exists(id)) {
+                    LOGGER.debug("Job {} was completed or cancelled by another replica", id);
+                    DurableInMemoryJobService.super.cancelJob(id, false);
+                } else if (!repeatable) {
+                    LOGGER.debug("Job {} is leased by another replica, claiming it again in {}", id, lease);
+                    scheduledJobs.put(id, scheduler.schedule(this, lease.toMillis(), TimeUnit.MILLISECONDS));
+                }
+                return;
+            }
+            if (repeatable && resumeStored(id)) {
+                return;
+            }
+            job.run();
+            if (repeatable && scheduledJobs.containsKey(id)) {
+                if (repeatLimit != null && repeatLimit > 0) {
+                    repeatLimit--;
+                }
+                ExpirationTime expirationTime = jobDescription.expirationTime();
+                jobStore.store(JobDescriptionMarshaller.withExpirationTime(jobDescription,
+                        DurationExpirationTime.of(ZonedDateTime.now().plus(Duration.ofMillis(expirationTime.repeatInterval())), expirationTime.repeatInterval(), repeatLimit)));
+            }
+        }
+
+        /**
+         * Replaces this job with the stored one when another replica fired it meanwhile, so the repetitions it left are
+         * not run again, at the next expiration stored by that replica.
+         */
+        private boolean resumeStored(String id) {
+            Optional<JobDescription> stored = jobStore.find(id);
+            if (stored.isEmpty() || Objects.equals(stored.get().expirationTime().repeatLimit(), repeatLimit)) {
+                return false;
+            }
+            LOGGER.debug("Job {} was fired by another replica, resuming it with {} repetitions left", id, stored.get().expirationTime().repeatLimit());
+            DurableInMemoryJobService.super.cancelJob(id, false);
+            DurableInMemoryJobService.super.scheduleJob(stored.get());
+            return true;
+        }
+    }
+}
@@ -25,32 +25,89 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.kie.kogito.jobs.JobDescription;
 import org.kie.kogito.jobs.JobsService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class InMemoryJobService implements JobsService, AutoCloseable {
+/**
+ * Jobs service keeping timers in memory. By default jobs are executed on the scheduler threads. When a job executor
+ * is provided (see {@link #IN_MEMORY_JOB_SERVICE_EXECUTOR_PROPERTY}) the scheduler only keeps the time and hands every
+ * firing over to that executor, allowing at most {@link #IN_MEMORY_JOB_SERVICE_MAX_IN_FLIGHT_PROPERTY} firings in flight.
+ * Once that limit is reached further firings are scheduled again after a short delay, so scheduler threads never wait
+ * for a firing to complete.
+ */
+public class InMemoryJobService implements JobsService, JobExecutorFactoryRegistry, AutoCloseable {
 
     public static final String IN_MEMORY_JOB_SERVICE_POOL_SIZE_PROPERTY = "kogito.in-memory.job-service.pool-size";
+    /**
+     * (string) where jobs are executed; possible values: scheduler, virtual-threads; default is scheduler
+     */
+    public static final String IN_MEMORY_JOB_SERVICE_EXECUTOR_PROPERTY = "kogito.in-memory.job-service.executor";
+    /**
+     * (int) maximum number of job firings executed at the same time when jobs are not executed by the scheduler; default is 256
+     */
+    public static final String IN_MEMORY_JOB_SERVICE_MAX_IN_FLIGHT_PROPERTY = "kogito.in-memory.job-service.max-in-flight";
+    /**
+     * (string) in memory jobs service used by the application; possible values: scheduled, timing-wheel; default is scheduled
+     */
+    public static final String IN_MEMORY_JOB_SERVICE_TYPE_PROPERTY = "kogito.in-memory.job-service.type";
+    public static final String SCHEDULED_TYPE = "scheduled";
+    public static final String TIMING_WHEEL_TYPE = "timing-wheel";
+    public static final String SCHEDULER_EXECUTOR = "scheduler";
+    public static final String VIRTUAL_THREADS_EXECUTOR = "virtual-threads";
+
     private static final Logger LOGGER = LoggerFactory.getLogger(InMemoryJobService.class);
 
+    // delay before dispatching again a firing that found no free in flight slot
+    private static final long THROTTLED_RETRY_DELAY_MILLIS = 10L;
+
     protected ScheduledExecutorService scheduler;
 
     protected ConcurrentHashMap<String, ScheduledFuture<?>> scheduledJobs;
     protected List<JobExecutorFactory> jobExecutorFactories;
 
+    // jobs handed over to the job executor, kept until a single job has run so it can be cancelled meanwhile
+    private final ConcurrentHashMap<String, DispatchingJob> dispatchingJobs = new ConcurrentHashMap<>();
+    private final Executor jobExecutor;
+    private final boolean ownedJobExecutor;
+    private final Semaphore inFlightPermits;
+    private final int maxInFlight;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder dispatched = new LongAdder();
+    private final LongAdder throttled = new LongAdder();
+
     public InMemoryJobService() {
         this(new ScheduledThreadPoolExecutor(Integer.parseInt(System.getProperty(IN_MEMORY_JOB_SERVICE_POOL_SIZE_PROPERTY, "10"))));
     }
 
     public InMemoryJobService(ScheduledExecutorService scheduler) {
+        this(scheduler, configuredJobExecutor(), Integer.parseInt(System.getProperty(IN_MEMORY_JOB_SERVICE_MAX_IN_FLIGHT_PROPERTY, "256")), true);
+    }
+
+    /**
+     * @param scheduler executor used to keep the time of the jobs
+     * @param jobExecutor executor running the jobs once fired, null to run them on the scheduler threads
+     * @param maxInFlight maximum number of jobs being executed by the job executor at the same time
+     */
+    public InMemoryJobService(ScheduledExecutorService scheduler, Executor jobExecutor, int maxInFlight) {
+        this(scheduler, jobExecutor, maxInFlight, false);
+    }
+
+    private InMemoryJobService(ScheduledExecutorService scheduler, Executor jobExecutor, int maxInFlight, boolean ownedJobExecutor) {
         this.scheduledJobs = new ConcurrentHashMap<>();
         this.jobExecutorFactories = new ArrayList<>();
         this.scheduler = scheduler;
+        this.jobExecutor = jobExecutor;
+        this.ownedJobExecutor = ownedJobExecutor;
+        this.maxInFlight = maxInFlight;
+        this.inFlightPermits = jobExecutor != null ? new Semaphore(maxInFlight) : null;
     }
 
+    @Override
     public InMemoryJobService registerJobExecutorFactory(JobExecutorFactory jobExecutorFactory) {
         Iterator<JobExecutorFactory> iterator = this.jobExecutorFactories.iterator();
         while (iterator.hasNext()) {
@@ -71,12 +128,170 @@ public class InMemoryJobService implements JobsService, AutoCloseable {
             Long interval = jobDescription.expirationTime().repeatInterval();
             String jobId = jobDescription.id();
             scheduledJobs.put(jobId,
-                    interval != null ? scheduler.scheduleAtFixedRate(jobExecutorFactory.createNewRepeteableRunnable(this, jobDescription), delay, interval, TimeUnit.MILLISECONDS)
-                            : scheduler.schedule(jobExecutorFactory.createNewRunnable(this, jobDescription), delay, TimeUnit.MILLISECONDS));
+                    interval != null ? scheduler.scheduleAtFixedRate(dispatching(jobId, createJob(jobExecutorFactory, jobDescription, true), true), delay, interval, TimeUnit.MILLISECONDS)
+                            : scheduler.schedule(dispatching(jobId, createJob(jobExecutorFactory, jobDescription, false), false), delay, TimeUnit.MILLISECONDS));
             return jobId;
         }).orElseThrow(() -> new IllegalArgumentException("Could not schedule ProcessInstanceJobDescription " + jobDescription + ". No job executor factory provided"));
     }
 
+    /**
+     * Creates the task run every time the job is fired
+     */
+    protected Runnable createJob(JobExecutorFactory jobExecutorFactory, JobDescription jobDescription, boolean repeatable) {
+        return repeatable ? jobExecutorFactory.createNewRepeteableRunnable(this, jobDescription) : jobExecutorFactory.createNewRunnable(this, jobDescription);
+    }
+
+    private Runnable dispatching(String jobId, Runnable job, boolean repeatable) {
+        if (jobExecutor == null) {
+            return job;
+        }
+        DispatchingJob dispatchingJob = new DispatchingJob(jobId, job, repeatable);
+        dispatchingJobs.put(jobId, dispatchingJob);
+        return dispatchingJob;
+    }
+
+    /**
+     * @return number of job firings currently executed by the job executor
+     */
+    public int inFlightJobs() {
+        return inFlight.get();
+    }
+
+    /**
+     * @return maximum number of job firings that might be executed by the job executor at the same time
+     */
+    public int maxInFlightJobs() {
+        return maxInFlight;
+    }
+
+    /**
+     * @return number of job firings handed over to the job executor
+     */
+    public long dispatchedJobs() {
+        return dispatched.sum();
+    }
+
+    /**
+     * @return number of times a job firing was delayed because the maximum number of firings in flight was reached
+     */
+    public long throttledJobs() {
+        return throttled.sum();
+    }
+
+    private static Executor configuredJobExecutor() {
+        String executor = System.getProperty(IN_MEMORY_JOB_SERVICE_EXECUTOR_PROPERTY, SCHEDULER_EXECUTOR);
+        switch (executor) {
+            case SCHEDULER_EXECUTOR:
+                return null;
+            case VIRTUAL_THREADS_EXECUTOR:
+                return newVirtualThreadExecutor();
+            default:
+                throw new IllegalArgumentException("Unknown in memory job service executor " + executor);
+        }
+    }
+
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            // looked up reflectively since virtual threads are only available from JDK 21
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            LOGGER.warn("Virtual threads are not supported by this JVM, in memory jobs will be executed on a cached thread pool");
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    /**
+     * Hands the firings of a job over to the job executor. Firings of the same job never overlap: if the job is
+     * still running, or waiting for a free in flight slot, when fired again, it is executed once more afterwards.
+     */
+    private class DispatchingJob implements Runnable {
+
+        private final String jobId;
+        private final Runnable job;
+        private final boolean repeatable;
+        private final AtomicInteger pendingFirings = new AtomicInteger();
+        private volatile boolean cancelled;
+        private volatile boolean started;
+
+        DispatchingJob(String jobId, Runnable job, boolean repeatable) {
+            this.jobId = jobId;
+            this.job = job;
+            this.repeatable = repeatable;
+        }
+
+        @Override
+        public void run() {
+            if (cancelled || pendingFirings.getAndIncrement() > 0) {
+                return;
+            }
+            dispatch();
+        }
+
+        private void dispatch() {
+            if (cancelled) {
+                completed();
+                return;
+            }
+            if (!inFlightPermits.tryAcquire()) {
+                throttled.increment();
+                try {
+                    scheduler.schedule(this::dispatch, THROTTLED_RETRY_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+                } catch (RejectedExecutionException e) {
+                    LOGGER.debug("Scheduler rejected delayed job firing", e);
+                    completed();
+                }
+                return;
+            }
+            try {
+                inFlight.incrementAndGet();
+                dispatched.increment();
+                jobExecutor.execute(this::execute);
+            } catch (RejectedExecutionException e) {
+                LOGGER.warn("Job executor rejected job firing", e);
+                inFlight.decrementAndGet();
+                inFlightPermits.release();
+                completed();
+            }
+        }
+
+        private void execute() {
+            try {
+                do {
+                    if (cancelled) {
+                        break;
+                    }
+                    started = true;
+                    try {
+                        job.run();
+                    } catch (RuntimeException e) {
+                        LOGGER.error("Error executing job", e);
+                    }
+                } while (pendingFirings.decrementAndGet() > 0);
+            } finally {
+                inFlight.decrementAndGet();
+                inFlightPermits.release();
+            }
+            if (cancelled || !repeatable) {
+                completed();
+            }
+        }
+
+        /**
+         * @return true if the job never started running, so cancelling prevented it
+         */
+        boolean cancel() {
+            cancelled = true;
+            return !started;
+        }
+
+        private void completed() {
+            pendingFirings.set(0);
+            if (!repeatable) {
+                dispatchingJobs.remove(jobId, this);
+            }
+        }
+    }
+
     private Optional<JobExecutorFactory> findJobExecutorFactory(JobDescription jobDescription) {
         return jobExecutorFactories.stream().filter(factory -> factory.accept(jobDescription)).findFirst();
     }
@@ -89,7 +304,10 @@ public class InMemoryJobService implements JobsService, AutoCloseable {
     public boolean cancelJob(String id, boolean force) {
         LOGGER.debug("Cancel Job: {}", id);
         ScheduledFuture<?> future = scheduledJobs.remove(id);
-        return future != null && !future.isDone() && future.cancel(force);
+        boolean cancelled = future != null && !future.isDone() && future.cancel(force);
+        // a single job already fired by the scheduler might still be waiting for the job executor
+        DispatchingJob dispatchingJob = dispatchingJobs.remove(id);
+        return dispatchingJob != null ? dispatchingJob.cancel() || cancelled : cancelled;
     }
 
     @Override
@@ -112,11 +330,18 @@ public class InMemoryJobService implements JobsService, AutoCloseable {
         scheduler.shutdownNow();
         scheduledJobs.values().forEach(v -> v.cancel(true));
         scheduledJobs.clear();
+        dispatchingJobs.values().forEach(DispatchingJob::cancel);
+        dispatchingJobs.clear();
+        if (ownedJobExecutor && jobExecutor instanceof ExecutorService) {
+            ((ExecutorService) jobExecutor).shutdownNow();
+        }
     }
 
     public void clearJobExecutorFactories() {
         scheduledJobs.values().forEach(v -> v.cancel(true));
         scheduledJobs.clear();
+        dispatchingJobs.values().forEach(DispatchingJob::cancel);
+        dispatchingJobs.clear();
         jobExecutorFactories.clear();
     }
 }
@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.services.jobs.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+import org.kie.kogito.jobs.DurationExpirationTime;
+import org.kie.kogito.jobs.ExpirationTime;
+import org.kie.kogito.jobs.JobDescription;
+import org.kie.kogito.jobs.descriptors.ProcessInstanceJobDescription;
+import org.kie.kogito.jobs.descriptors.ProcessJobDescription;
+import org.kie.kogito.jobs.descriptors.UserTaskInstanceJobDescription;
+
+/**
+ * Binary representation of the job descriptions handled by the embedded jobs services, used by the {@link org.kie.kogito.jobs.JobStore} implementations.
+ */
+public final class JobDescriptionMarshaller {
+
+    private static final byte FORMAT_VERSION = 2;
+    // repeat limit always written, null stored as 0
+    private static final byte NON_NULLABLE_REPEAT_LIMIT_VERSION = 1;
+
+    private static final byte PROCESS_INSTANCE_JOB = 1;
+    private static final byte PROCESS_JOB = 2;
+    private static final byte USER_TASK_INSTANCE_JOB = 3;
+
+    private JobDescriptionMarshaller() {
+    }
+
+    public static byte[] marshall(JobDescription jobDescription) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+            if (jobDescription instanceof ProcessInstanceJobDescription description) {
+                out.writeByte(PROCESS_INSTANCE_JOB);
+                writeCommon(out, description);
+                writeString(out, description.timerId());
+                writeString(out, description.processInstanceId());
+                writeString(out, description.rootProcessInstanceId());
+                writeString(out, description.processId());
+                writeString(out, description.rootProcessId());
+                writeString(out, description.nodeInstanceId());
+            } else if (jobDescription instanceof ProcessJobDescription description) {
+                out.writeByte(PROCESS_JOB);
+                writeCommon(out, description);
+                writeString(out, description.processId() != null ? description.processId() : description.process().id());
+            } else if (jobDescription instanceof UserTaskInstanceJobDescription description) {
+                out.writeByte(USER_TASK_INSTANCE_JOB);
+                writeCommon(out, description);
+                writeString(out, description.userTaskInstanceId());
+                writeString(out, description.processId());
+                writeString(out, description.processInstanceId());
+                writeString(out, description.nodeInstanceId());
+                writeString(out, description.rootProcessInstanceId());
+                writeString(out, description.rootProcessId());
+            } else {
+                throw new IllegalArgumentException("Job description " + jobDescription + " cannot be stored");
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static JobDescription unmarshall(byte[] data) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            byte version = in.readByte();
+            if (version != FORMAT_VERSION && version != NON_NULLABLE_REPEAT_LIMIT_VERSION) {
+                throw new IllegalArgumentException("Unsupported job description format " + version);
+            }
+            byte type = in.readByte();
+            String id = readString(in);
+            Integer priority = in.readInt();
+            ExpirationTime expirationTime = readExpirationTime(in, version);
+            switch (type) {
+                case PROCESS_INSTANCE_JOB:
+                    return ProcessInstanceJobDescription.newProcessInstanceJobDescriptionBuilder()
+                            .id(id)
+                            .priority(priority)
+                            .expirationTime(expirationTime)
+                            .timerId(readString(in))
+                            .processInstanceId(readString(in))
+                            .rootProcessInstanceId(readString(in))
+                            .processId(readString(in))
+                            .rootProcessId(readString(in))
+                            .nodeInstanceId(readString(in))
+                            .build();
+                case PROCESS_JOB:
+                    return ProcessJobDescription.of(expirationTime, priority, readString(in), id);
+                case USER_TASK_INSTANCE_JOB:
+                    return new UserTaskInstanceJobDescription(id, expirationTime, priority, readString(in), readString(in), readString(in), readString(in), readString(in),
+                            readString(in));
+                default:
+                    throw new IllegalArgumentException("Unknown job description type " + type);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @return a copy of the job description expiring at the given time
+     */
+    public static JobDescription withExpirationTime(JobDescription jobDescription, ExpirationTime expirationTime) {
+        if (jobDescription instanceof ProcessInstanceJobDescription description) {
+            return new ProcessInstanceJobDescription(description.id(), description.timerId(), expirationTime, description.priority(), description.processInstanceId(),
+                    description.rootProcessInstanceId(), description.processId(), description.rootProcessId(), description.nodeInstanceId());
+        } else if (jobDescription instanceof ProcessJobDescription description) {
+            return ProcessJobDescription.of(expirationTime, description.priority(), description.processId() != null ? description.processId() : description.process().id(),
+                    description.id());
+        } else if (jobDescription instanceof UserTaskInstanceJobDescription description) {
+            return new UserTaskInstanceJobDescription(description.id(), expirationTime, description.priority(), description.userTaskInstanceId(), description.processId(),
+                    description.processInstanceId(), description.nodeInstanceId(), description.rootProcessInstanceId(), description.rootProcessId());
+        }
+        throw new IllegalArgumentException("Job description " + jobDescription + " cannot be stored");
+    }
+
+    private static void writeCommon(DataOutputStream out, JobDescription description) throws IOException {
+        writeString(out, description.id());
+        out.writeInt(description.priority() != null ? description.priority() : ProcessInstanceJobDescription.DEFAULT_PRIORITY);
+        ExpirationTime expirationTime = description.expirationTime();
+        ZonedDateTime time = expirationTime.get();
+        out.writeLong(time.toInstant().toEpochMilli());
+        out.writeUTF(time.getZone().getId());
+        Long repeatInterval = expirationTime.repeatInterval();
+        out.writeBoolean(repeatInterval != null);
+        if (repeatInterval != null) {
+            out.writeLong(repeatInterval);
+        }
+        Integer repeatLimit = expirationTime.repeatLimit();
+        out.writeBoolean(repeatLimit != null);
+        if (repeatLimit != null) {
+            out.writeInt(repeatLimit);
+        }
+    }
+
+    private static ExpirationTime readExpirationTime(DataInputStream in, byte version) throws IOException {
+        ZonedDateTime time = ZonedDateTime.ofInstant(Instant.ofEpochMilli(in.readLong()), ZoneId.of(in.readUTF()));
+        Long repeatInterval = in.readBoolean() ? in.readLong() : null;
+        Integer repeatLimit = version == NON_NULLABLE_REPEAT_LIMIT_VERSION || in.readBoolean() ? in.readInt() : null;
+        return DurationExpirationTime.of(time, repeatInterval, repeatLimit);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
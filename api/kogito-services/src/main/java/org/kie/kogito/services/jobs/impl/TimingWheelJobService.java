@@ -0,0 +1,404 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.services.jobs.impl;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.kie.kogito.jobs.JobDescription;
+import org.kie.kogito.jobs.JobsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.kie.kogito.services.jobs.impl.InMemoryJobService.IN_MEMORY_JOB_SERVICE_POOL_SIZE_PROPERTY;
+
+/**
+ * In memory jobs service based on a hashed timing wheel. Jobs are placed in the wheel bucket of the tick they expire at,
+ * which makes scheduling and cancelling constant time operations with a single small allocation per job, at the price
+ * of firing jobs with a precision of one tick. A single worker thread advances the wheel and hands expired jobs over to
+ * the job executor.
+ * Firings of the same repeatable job never overlap, the next one is scheduled once the previous one completes.
+ */
+public class TimingWheelJobService implements JobsService, JobExecutorFactoryRegistry, AutoCloseable {
+
+    /**
+     * (long) duration of a tick of the wheel in milliseconds; default is 100
+     */
+    public static final String TICK_DURATION_PROPERTY = "kogito.in-memory.job-service.tick-duration";
+    /**
+     * (int) number of buckets of the wheel, rounded up to a power of two; default is 512
+     */
+    public static final String WHEEL_SIZE_PROPERTY = "kogito.in-memory.job-service.wheel-size";
+    public static final String DEFAULT_TICK_DURATION = "100";
+    public static final String DEFAULT_WHEEL_SIZE = "512";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TimingWheelJobService.class);
+
+    private static final int MAX_TRANSFERS_PER_TICK = 100000;
+
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final long startTime;
+
+    private final Queue<Timeout> pendingTimeouts = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelledTimeouts = new ConcurrentLinkedQueue<>();
+    private final ConcurrentHashMap<String, Timeout> scheduledJobs = new ConcurrentHashMap<>();
+    private final List<JobExecutorFactory> jobExecutorFactories = new ArrayList<>();
+
+    private final Executor jobExecutor;
+    private final boolean ownedJobExecutor;
+    private final Thread workerThread;
+    private volatile boolean running = true;
+    // only accessed by the worker thread
+    private long tick;
+
+    public TimingWheelJobService() {
+        this(Long.getLong(TICK_DURATION_PROPERTY, Long.parseLong(DEFAULT_TICK_DURATION)), Integer.getInteger(WHEEL_SIZE_PROPERTY, Integer.parseInt(DEFAULT_WHEEL_SIZE)),
+                Integer.parseInt(System.getProperty(IN_MEMORY_JOB_SERVICE_POOL_SIZE_PROPERTY, "10")));
+    }
+
+    /**
+     * @param tickMillis duration of a tick of the wheel in milliseconds
+     * @param wheelSize number of buckets of the wheel
+     * @param poolSize number of threads running the jobs once expired, shut down when this service is closed
+     */
+    public TimingWheelJobService(long tickMillis, int wheelSize, int poolSize) {
+        this(tickMillis, wheelSize, Executors.newFixedThreadPool(poolSize), true);
+    }
+
+    /**
+     * @param tickMillis duration of a tick of the wheel in milliseconds
+     * @param wheelSize number of buckets of the wheel
+     * @param jobExecutor executor running the jobs once expired
+     */
+    public TimingWheelJobService(long tickMillis, int wheelSize, Executor jobExecutor) {
+        this(tickMillis, wheelSize, jobExecutor, false);
+    }
+
+    private TimingWheelJobService(long tickMillis, int wheelSize, Executor jobExecutor, boolean ownedJobExecutor) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Tick duration must be positive but was " + tickMillis);
+        }
+        if (wheelSize <= 0) {
+            throw new IllegalArgumentException("Wheel size must be positive but was " + wheelSize);
+        }
+        int size = Integer.highestOneBit(wheelSize);
+        if (size < wheelSize) {
+            size <<= 1;
+        }
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = size - 1;
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        this.jobExecutor = jobExecutor;
+        this.ownedJobExecutor = ownedJobExecutor;
+        this.startTime = System.nanoTime();
+        this.workerThread = new Thread(this::advance, "kogito-timing-wheel-job-service");
+        this.workerThread.setDaemon(true);
+        this.workerThread.start();
+    }
+
+    @Override
+    public TimingWheelJobService registerJobExecutorFactory(JobExecutorFactory jobExecutorFactory) {
+        Iterator<JobExecutorFactory> iterator = this.jobExecutorFactories.iterator();
+        while (iterator.hasNext()) {
+            JobExecutorFactory factory = iterator.next();
+            if (factory.types().containsAll(jobExecutorFactory.types())) {
+                iterator.remove();
+            }
+        }
+        this.jobExecutorFactories.add(jobExecutorFactory);
+        return this;
+    }
+
+    @Override
+    public String scheduleJob(JobDescription jobDescription) {
+        LOGGER.debug("ScheduleProcessJob: {}", jobDescription);
+        return findJobExecutorFactory(jobDescription).map(jobExecutorFactory -> {
+            Long interval = jobDescription.expirationTime().repeatInterval();
+            String jobId = jobDescription.id();
+            Runnable job = interval != null ? jobExecutorFactory.createNewRepeteableRunnable(this, jobDescription) : jobExecutorFactory.createNewRunnable(this, jobDescription);
+            long deadline = System.nanoTime() - startTime + TimeUnit.MILLISECONDS.toNanos(calculateDelay(jobDescription));
+            schedule(new Timeout(jobId, job, deadline, interval != null ? TimeUnit.MILLISECONDS.toNanos(interval) : 0L));
+            return jobId;
+        }).orElseThrow(() -> new IllegalArgumentException("Could not schedule ProcessInstanceJobDescription " + jobDescription + ". No job executor factory provided"));
+    }
+
+    private void schedule(Timeout timeout) {
+        Timeout previous = scheduledJobs.put(timeout.jobId, timeout);
+        if (previous != null && previous != timeout && previous.cancel()) {
+            cancelledTimeouts.add(previous);
+        }
+        pendingTimeouts.add(timeout);
+    }
+
+    private Optional<JobExecutorFactory> findJobExecutorFactory(JobDescription jobDescription) {
+        return jobExecutorFactories.stream().filter(factory -> factory.accept(jobDescription)).findFirst();
+    }
+
+    @Override
+    public boolean cancelJob(String id) {
+        LOGGER.debug("Cancel Job: {}", id);
+        Timeout timeout = scheduledJobs.remove(id);
+        if (timeout == null) {
+            return false;
+        }
+        if (timeout.cancel()) {
+            cancelledTimeouts.add(timeout);
+            return true;
+        }
+        // an executing repeatable job is cancelled by not scheduling its next firing
+        return timeout.isRepeatable();
+    }
+
+    @Override
+    public String rescheduleJob(JobDescription jobDescription) {
+        LOGGER.debug("Reschedule Job: {}", jobDescription.id());
+        if (cancelJob(jobDescription.id())) {
+            return scheduleJob(jobDescription);
+        }
+        return "Job reschedule failed";
+    }
+
+    /**
+     * @return number of jobs currently scheduled
+     */
+    public int scheduledJobs() {
+        return scheduledJobs.size();
+    }
+
+    protected long calculateDelay(JobDescription description) {
+        long delay = Duration.between(ZonedDateTime.now(), description.expirationTime().get()).toMillis();
+        return delay <= 0 ? 1 : delay;
+    }
+
+    @Override
+    public void close() throws Exception {
+        LOGGER.info("closing timing wheel job service");
+        running = false;
+        workerThread.interrupt();
+        workerThread.join(TimeUnit.NANOSECONDS.toMillis(tickNanos) * 2 + 1);
+        scheduledJobs.clear();
+        if (ownedJobExecutor && jobExecutor instanceof ExecutorService) {
+            ((ExecutorService) jobExecutor).shutdownNow();
+        }
+    }
+
+    private void advance() {
+        while (running) {
+            long deadline = waitForNextTick();
+            if (deadline < 0) {
+                break;
+            }
+            removeCancelledTimeouts();
+            transferPendingTimeouts();
+            wheel[(int) (tick & mask)].expire(deadline);
+            tick++;
+        }
+    }
+
+    private long waitForNextTick() {
+        long deadline = tickNanos * (tick + 1);
+        for (;;) {
+            long current = System.nanoTime() - startTime;
+            long sleepMillis = TimeUnit.NANOSECONDS.toMillis(deadline - current + 999999);
+            if (sleepMillis <= 0) {
+                return current;
+            }
+            try {
+                Thread.sleep(sleepMillis);
+            } catch (InterruptedException e) {
+                if (!running) {
+                    return -1;
+                }
+            }
+        }
+    }
+
+    private void removeCancelledTimeouts() {
+        Timeout timeout;
+        while ((timeout = cancelledTimeouts.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    private void transferPendingTimeouts() {
+        for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+            Timeout timeout = pendingTimeouts.poll();
+            if (timeout == null) {
+                break;
+            }
+            if (timeout.isCancelled()) {
+                continue;
+            }
+            long expirationTick = timeout.deadline / tickNanos;
+            timeout.remainingRounds = (expirationTick - tick) / wheel.length;
+            // jobs already due are placed in the current bucket
+            long bucketTick = Math.max(expirationTick, tick);
+            wheel[(int) (bucketTick & mask)].add(timeout);
+        }
+    }
+
+    private void fire(Timeout timeout) {
+        if (!timeout.expire()) {
+            return;
+        }
+        if (!timeout.isRepeatable()) {
+            scheduledJobs.remove(timeout.jobId, timeout);
+        }
+        try {
+            jobExecutor.execute(() -> execute(timeout));
+        } catch (RejectedExecutionException e) {
+            LOGGER.warn("Job executor rejected job {}", timeout.jobId, e);
+            scheduledJobs.remove(timeout.jobId, timeout);
+        }
+    }
+
+    private void execute(Timeout timeout) {
+        try {
+            timeout.job.run();
+        } catch (RuntimeException e) {
+            LOGGER.error("Error executing job {}", timeout.jobId, e);
+        } finally {
+            if (timeout.isRepeatable() && running) {
+                Timeout next = new Timeout(timeout.jobId, timeout.job, timeout.deadline + timeout.intervalNanos, timeout.intervalNanos);
+                if (scheduledJobs.replace(timeout.jobId, timeout, next)) {
+                    pendingTimeouts.add(next);
+                }
+            }
+        }
+    }
+
+    private static final int PENDING = 0;
+    private static final int CANCELLED = 1;
+    private static final int EXPIRED = 2;
+
+    private static class Timeout {
+        private final String jobId;
+        private final Runnable job;
+        private final long deadline;
+        private final long intervalNanos;
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+
+        // only accessed by the worker thread
+        private long remainingRounds;
+        private Bucket bucket;
+        private Timeout next;
+        private Timeout prev;
+
+        Timeout(String jobId, Runnable job, long deadline, long intervalNanos) {
+            this.jobId = jobId;
+            this.job = job;
+            this.deadline = deadline;
+            this.intervalNanos = intervalNanos;
+        }
+
+        boolean cancel() {
+            return state.compareAndSet(PENDING, CANCELLED);
+        }
+
+        boolean expire() {
+            return state.compareAndSet(PENDING, EXPIRED);
+        }
+
+        boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+
+        boolean isRepeatable() {
+            return intervalNanos > 0;
+        }
+    }
+
+    private class Bucket {
+        private Timeout head;
+        private Timeout tail;
+
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        void expire(long deadline) {
+            Timeout timeout = head;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                if (timeout.remainingRounds <= 0) {
+                    remove(timeout);
+                    if (timeout.deadline <= deadline) {
+                        fire(timeout);
+                    } else {
+                        // not expected, the timeout was placed in a wrong bucket
+                        pendingTimeouts.add(timeout);
+                    }
+                } else if (timeout.isCancelled()) {
+                    remove(timeout);
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+
+        void remove(Timeout timeout) {
+            if (timeout.bucket != this) {
+                return;
+            }
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            }
+            if (timeout == head) {
+                head = timeout.next;
+            }
+            if (timeout == tail) {
+                tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+    }
+}
@@ -26,6 +26,7 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
 
 import org.kie.api.runtime.process.EventListener;
 import org.kie.kogito.internal.process.runtime.KogitoProcessInstance;
@@ -47,7 +48,7 @@ public class DefaultSignalManagerHub implements SignalManagerHub {
         if (listeners.containsKey(eventType)) {
             return true;
         }
-        return workflowInstanceResolver.stream().map(e -> e.waitingForEvents(eventType)).flatMap(List::stream).count() > 0;
+        return workflowInstanceResolver.stream().anyMatch(e -> isWaitingForEvents(e, eventType));
     }
 
     @Override
@@ -65,13 +66,15 @@ public class DefaultSignalManagerHub implements SignalManagerHub {
             }
         });
 
-        var processInstancesWaiting = workflowInstanceResolver.stream()
-                .map(e -> e.waitingForEvents(eventType))
-                .flatMap(List::stream)
-                .filter(p -> !idList.contains(p.id()))
-                .toList();
+        for (ProcessInstanceResolver<?> resolver : List.copyOf(workflowInstanceResolver)) {
+            resolver.signalWaitingForEvents(eventType, payload, idList);
+        }
+    }
 
-        processInstancesWaiting.forEach(eventListener -> eventListener.send(SignalFactory.of(eventType, payload)));
+    private static boolean isWaitingForEvents(ProcessInstanceResolver<?> resolver, String eventType) {
+        try (Stream<? extends ProcessInstance<?>> waiting = resolver.streamWaitingForEvents(eventType)) {
+            return waiting.findAny().isPresent();
+        }
     }
 
     @Override
@@ -69,6 +69,11 @@ public class DefaultUnitOfWorkManager implements UnitOfWorkManager {
         return unit;
     }
 
+    @Override
+    public boolean hasActiveUnitOfWork() {
+        return currentUnitOfWork.get() != null;
+    }
+
     @Override
     public UnitOfWork newUnitOfWork() {
         return new ManagedUnitOfWork(factory.create(eventManager), this::onStart, this::onEnd, this::onAbort);
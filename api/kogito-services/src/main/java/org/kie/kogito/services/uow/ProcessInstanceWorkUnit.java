@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.services.uow;
+
+import java.util.Objects;
+import java.util.function.Consumer;
+
+import org.kie.kogito.process.ProcessInstance;
+
+/**
+ * Work unit that persists a process instance. Two work units are considered equal when they
+ * refer to the same process instance, so intercepting a save for an instance that already has
+ * a pending save replaces the previous one and only the last state is written when the
+ * unit of work ends.
+ */
+public class ProcessInstanceWorkUnit<T extends ProcessInstance<?>> extends BaseWorkUnit<T> {
+
+    public ProcessInstanceWorkUnit(T processInstance, Consumer<T> action) {
+        super(processInstance, action);
+    }
+
+    public ProcessInstanceWorkUnit(T processInstance, Consumer<T> action, Consumer<T> compensation) {
+        super(processInstance, action, compensation);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(data().process().id(), data().id());
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof ProcessInstanceWorkUnit)) {
+            return false;
+        }
+        ProcessInstance<?> other = ((ProcessInstanceWorkUnit<?>) obj).data();
+        return Objects.equals(data().process().id(), other.process().id()) && Objects.equals(data().id(), other.id());
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.services.jobs.impl;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.jobs.DurationExpirationTime;
+import org.kie.kogito.jobs.ExactExpirationTime;
+import org.kie.kogito.jobs.ExpirationTime;
+import org.kie.kogito.jobs.JobDescription;
+import org.kie.kogito.jobs.JobStore;
+import org.kie.kogito.jobs.JobsService;
+import org.kie.kogito.jobs.descriptors.ProcessInstanceJobDescription;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DurableInMemoryJobServiceTest {
+
+    @Test
+    void testJobsRecoveredAfterRestart() throws Exception {
+        MapJobStore jobStore = new MapJobStore();
+        AtomicInteger executions = new AtomicInteger();
+        try (DurableInMemoryJobService jobService = newJobService(jobStore, "replica1")) {
+            jobService.registerJobExecutorFactory(new CountingJobExecutorFactory(executions));
+            jobService.scheduleJob(jobDescription("job1", ExactExpirationTime.of(ZonedDateTime.now().plusHours(1))));
+            jobService.scheduleJob(jobDescription("job2", ExactExpirationTime.of(ZonedDateTime.now().plusHours(1))));
+            jobService.cancelJob("job2");
+        }
+        assertThat(jobStore.jobs).containsOnlyKeys("job1");
+
+        try (DurableInMemoryJobService jobService = newJobService(jobStore, "replica1")) {
+            assertThat(jobService.pendingRecoveredJobs()).isOne();
+            jobService.registerJobExecutorFactory(new CountingJobExecutorFactory(executions));
+            assertThat(jobService.pendingRecoveredJobs()).isZero();
+            assertThat(jobService.scheduledJobs).containsOnlyKeys("job1");
+        }
+        assertThat(executions).hasValue(0);
+    }
+
+    @Test
+    void testDueJobFiredOnceAcrossReplicas() throws Exception {
+        MapJobStore jobStore = new MapJobStore();
+        jobStore.store(jobDescription("job1", ExactExpirationTime.now()));
+        AtomicInteger executions = new AtomicInteger();
+        try (DurableInMemoryJobService replica1 = newJobService(jobStore, "replica1");
+                DurableInMemoryJobService replica2 = newJobService(jobStore, "replica2")) {
+            replica1.registerJobExecutorFactory(new CountingJobExecutorFactory(executions));
+            replica2.registerJobExecutorFactory(new CountingJobExecutorFactory(executions));
+
+            waitUntil(jobStore.jobs::isEmpty);
+            Thread.sleep(200);
+            assertThat(executions).hasValue(1);
+        }
+    }
+
+    @Test
+    void testJobsOfStoppedReplicaRecoveredPeriodically() throws Exception {
+        MapJobStore jobStore = new MapJobStore();
+        AtomicInteger executions = new AtomicInteger();
+        try (DurableInMemoryJobService replica2 = new DurableInMemoryJobService(new ScheduledThreadPoolExecutor(1), null, 1, jobStore, "replica2", Duration.ofMinutes(1),
+                Duration.ofMillis(50))) {
+            replica2.registerJobExecutorFactory(new CountingJobExecutorFactory(executions));
+            try (DurableInMemoryJobService replica1 = newJobService(jobStore, "replica1")) {
+                replica1.registerJobExecutorFactory(new CountingJobExecutorFactory(executions));
+                replica1.scheduleJob(jobDescription("job1", ExactExpirationTime.of(ZonedDateTime.now().plusSeconds(1))));
+            }
+            assertThat(jobStore.jobs).containsOnlyKeys("job1");
+
+            waitUntil(jobStore.jobs::isEmpty);
+            Thread.sleep(200);
+            assertThat(executions).hasValue(1);
+        }
+    }
+
+    @Test
+    void testRepeatableJobStoresRemainingRepetitions() throws Exception {
+        MapJobStore jobStore = new MapJobStore();
+        AtomicInteger executions = new AtomicInteger();
+        try (DurableInMemoryJobService jobService = newJobService(jobStore, "replica1")) {
+            jobService.registerJobExecutorFactory(new CountingJobExecutorFactory(executions));
+            jobService.scheduleJob(jobDescription("job1", DurationExpirationTime.repeat(10, 60000L, 3)));
+
+            waitUntil(() -> jobStore.loadAll().iterator().next().expirationTime().repeatLimit() == 2);
+            assertThat(executions).hasValue(1);
+        }
+    }
+
+    @Test
+    void testRepeatableJobTakenOverWithStoredRepetitions() throws Exception {
+        MapJobStore jobStore = new MapJobStore();
+        AtomicInteger executions = new AtomicInteger();
+        jobStore.store(jobDescription("job1", DurationExpirationTime.of(ZonedDateTime.now().plusNanos(TimeUnit.MILLISECONDS.toNanos(300)), 60000L, 3)));
+        try (DurableInMemoryJobService replica2 = newJobService(jobStore, "replica2")) {
+            replica2.registerJobExecutorFactory(new CountingJobExecutorFactory(executions));
+            // fired twice by another replica meanwhile
+            jobStore.store(jobDescription("job1", DurationExpirationTime.of(ZonedDateTime.now(), 60000L, 1)));
+
+            waitUntil(() -> jobStore.loadAll().iterator().next().expirationTime().repeatLimit() == 0);
+            assertThat(executions).hasValue(1);
+        }
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private static DurableInMemoryJobService newJobService(JobStore jobStore, String owner) {
+        return new DurableInMemoryJobService(new ScheduledThreadPoolExecutor(1), null, 1, jobStore, owner, Duration.ofMinutes(1));
+    }
+
+    private static JobDescription jobDescription(String id, ExpirationTime expirationTime) {
+        return ProcessInstanceJobDescription.newProcessInstanceJobDescriptionBuilder()
+                .id(id)
+                .timerId("timer")
+                .processInstanceId("instance")
+                .expirationTime(expirationTime)
+                .build();
+    }
+
+    private static class CountingJobExecutorFactory implements JobExecutorFactory {
+
+        private final AtomicInteger executions;
+
+        CountingJobExecutorFactory(AtomicInteger executions) {
+            this.executions = executions;
+        }
+
+        @Override
+        public Set<Class<? extends JobDescription>> types() {
+            return Set.of(ProcessInstanceJobDescription.class);
+        }
+
+        @Override
+        public Runnable createNewRunnable(JobsService jobService, JobDescription jobDescription) {
+            return () -> {
+                executions.incrementAndGet();
+                jobService.cancelJob(jobDescription.id());
+            };
+        }
+
+        @Override
+        public Runnable createNewRepeteableRunnable(JobsService jobService, JobDescription jobDescription) {
+            return executions::incrementAndGet;
+        }
+    }
+
+    private static class MapJobStore implements JobStore {
+
+        private final Map<String, byte[]> jobs = new ConcurrentHashMap<>();
+        private final Map<String, String> owners = new ConcurrentHashMap<>();
+
+        @Override
+        public void store(JobDescription jobDescription) {
+            jobs.put(jobDescription.id(), JobDescriptionMarshaller.marshall(jobDescription));
+        }
+
+        @Override
+        public synchronized void remove(String id) {
+            jobs.remove(id);
+            owners.remove(id);
+        }
+
+        @Override
+        public boolean exists(String id) {
+            return jobs.containsKey(id);
+        }
+
+        @Override
+        public Optional<JobDescription> find(String id) {
+            return Optional.ofNullable(jobs.get(id)).map(JobDescriptionMarshaller::unmarshall);
+        }
+
+        @Override
+        public Collection<JobDescription> loadAll() {
+            return jobs.values().stream().map(JobDescriptionMarshaller::unmarshall).collect(Collectors.toList());
+        }
+
+        @Override
+        public List<JobDescription> loadClaimable(String afterId, int limit) {
+            return jobs.keySet().stream()
+                    .filter(id -> !owners.containsKey(id) && (afterId == null || id.compareTo(afterId) > 0))
+                    .sorted()
+                    .limit(limit)
+                    .map(this::find)
+                    .flatMap(Optional::stream)
+                    .collect(Collectors.toList());
+        }
+
+        @Override
+        public synchronized boolean claim(String id, String owner, ZonedDateTime leaseExpiration) {
+            return jobs.containsKey(id) && owners.computeIfAbsent(id, k -> owner).equals(owner);
+        }
+    }
+}
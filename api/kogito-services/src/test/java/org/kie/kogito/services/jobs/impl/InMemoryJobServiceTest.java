@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.services.jobs.impl;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.jobs.ExactExpirationTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryJobServiceTest {
+
+    @Test
+    void testJobsDispatchedToJobExecutorWithBoundedConcurrency() throws Exception {
+        int jobs = 5;
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch completed = new CountDownLatch(jobs);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        ExecutorService jobExecutor = Executors.newCachedThreadPool();
+        try (InMemoryJobService jobService = new InMemoryJobService(new ScheduledThreadPoolExecutor(1), jobExecutor, 2)) {
+            jobService.registerJobExecutorFactory(new TestJobExecutorFactory(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                running.decrementAndGet();
+                completed.countDown();
+            }));
+            for (int i = 0; i < jobs; i++) {
+                jobService.scheduleJob(new TestJobDescription("job" + i, ExactExpirationTime.now()));
+            }
+
+            Thread.sleep(200);
+            assertThat(jobService.inFlightJobs()).isEqualTo(2);
+            release.countDown();
+
+            assertThat(completed.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(maxRunning).hasValue(2);
+            assertThat(jobService.dispatchedJobs()).isEqualTo(jobs);
+            assertThat(jobService.throttledJobs()).isPositive();
+        } finally {
+            jobExecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testCancelJobWaitingForInFlightSlot() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executed = new AtomicInteger();
+
+        ExecutorService jobExecutor = Executors.newCachedThreadPool();
+        try (InMemoryJobService jobService = new InMemoryJobService(new ScheduledThreadPoolExecutor(1), jobExecutor, 1)) {
+            jobService.registerJobExecutorFactory(new TestJobExecutorFactory(() -> {
+                executed.incrementAndGet();
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            jobService.scheduleJob(new TestJobDescription("running", ExactExpirationTime.now()));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            jobService.scheduleJob(new TestJobDescription("waiting", ExactExpirationTime.now()));
+
+            Thread.sleep(200);
+            assertThat(jobService.throttledJobs()).isPositive();
+            assertThat(jobService.cancelJob("waiting")).isTrue();
+            assertThat(jobService.cancelJob("running")).isFalse();
+            release.countDown();
+
+            Thread.sleep(200);
+            assertThat(executed).hasValue(1);
+            assertThat(jobService.inFlightJobs()).isZero();
+        } finally {
+            jobExecutor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.services.jobs.impl;
+
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.kie.kogito.jobs.DurationExpirationTime;
+import org.kie.kogito.jobs.JobsService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares scheduling and cancelling jobs, the usual lifecycle of SLA and boundary timers, while a large number
+ * of other jobs is already scheduled.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JobServiceBenchmark {
+
+    @Param({ "in-memory", "timing-wheel" })
+    private String implementation;
+
+    @Param({ "100000" })
+    private int scheduledJobs;
+
+    private JobsService jobService;
+    private long counter;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        TestJobExecutorFactory factory = new TestJobExecutorFactory(() -> {
+        });
+        if ("timing-wheel".equals(implementation)) {
+            jobService = new TimingWheelJobService(100, 512, Executors.newSingleThreadExecutor()).registerJobExecutorFactory(factory);
+        } else {
+            jobService = new InMemoryJobService(new ScheduledThreadPoolExecutor(1)).registerJobExecutorFactory(factory);
+        }
+        for (int i = 0; i < scheduledJobs; i++) {
+            jobService.scheduleJob(new TestJobDescription("background-" + i, DurationExpirationTime.after(1, ChronoUnit.HOURS)));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        ((AutoCloseable) jobService).close();
+    }
+
+    @Benchmark
+    public boolean scheduleAndCancel() {
+        String id = "job-" + counter++;
+        jobService.scheduleJob(new TestJobDescription(id, DurationExpirationTime.after(30, ChronoUnit.MINUTES)));
+        return jobService.cancelJob(id);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JobServiceBenchmark.class.getSimpleName()).build()).run();
+    }
+}
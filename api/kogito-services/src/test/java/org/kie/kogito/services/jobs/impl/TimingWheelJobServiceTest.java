@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.services.jobs.impl;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.jobs.DurationExpirationTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimingWheelJobServiceTest {
+
+    private ExecutorService jobExecutor;
+    private TimingWheelJobService jobService;
+
+    @BeforeEach
+    void setUp() {
+        jobExecutor = Executors.newFixedThreadPool(2);
+        jobService = new TimingWheelJobService(10, 8, jobExecutor);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        jobService.close();
+        jobExecutor.shutdownNow();
+    }
+
+    @Test
+    void testJobFired() throws InterruptedException {
+        CountDownLatch fired = new CountDownLatch(1);
+        jobService.registerJobExecutorFactory(new TestJobExecutorFactory(fired::countDown));
+
+        // longer than a full rotation of the wheel
+        jobService.scheduleJob(new TestJobDescription("job", DurationExpirationTime.after(150)));
+
+        assertThat(jobService.scheduledJobs()).isOne();
+        assertThat(fired.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(jobService.scheduledJobs()).isZero();
+    }
+
+    @Test
+    void testJobCancelled() throws InterruptedException {
+        CountDownLatch fired = new CountDownLatch(1);
+        jobService.registerJobExecutorFactory(new TestJobExecutorFactory(fired::countDown));
+
+        jobService.scheduleJob(new TestJobDescription("job", DurationExpirationTime.after(100)));
+
+        assertThat(jobService.cancelJob("job")).isTrue();
+        assertThat(jobService.cancelJob("job")).isFalse();
+        assertThat(fired.await(300, TimeUnit.MILLISECONDS)).isFalse();
+    }
+
+    @Test
+    void testRepeatableJob() throws InterruptedException {
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch fired = new CountDownLatch(3);
+        jobService.registerJobExecutorFactory(new TestJobExecutorFactory(() -> {
+            executions.incrementAndGet();
+            fired.countDown();
+        }));
+
+        jobService.scheduleJob(new TestJobDescription("job", DurationExpirationTime.repeat(10, 20L)));
+
+        assertThat(fired.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(jobService.cancelJob("job")).isTrue();
+        int executed = executions.get();
+        Thread.sleep(100);
+        assertThat(executions.get()).isLessThanOrEqualTo(executed + 1);
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.services.signal;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.internal.process.runtime.KogitoProcessInstance;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.signal.ProcessInstanceResolver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class DefaultSignalManagerHubTest {
+
+    @Test
+    public void testAcceptStopsAtFirstWaitingInstance() {
+        DefaultSignalManagerHub hub = new DefaultSignalManagerHub();
+        ProcessInstanceResolver<?> resolver = mock(ProcessInstanceResolver.class);
+        ProcessInstance<?> waiting = mock(ProcessInstance.class);
+        when(resolver.streamWaitingForEvents("signal")).thenReturn((Stream) Stream.of(waiting, waiting));
+        when(resolver.streamWaitingForEvents("other")).thenReturn(Stream.empty());
+        hub.addProcessInstanceResolver(resolver);
+
+        assertThat(hub.accept("signal", null)).isTrue();
+        assertThat(hub.accept("other", null)).isFalse();
+        verify(resolver, never()).waitingForEvents(anyString());
+    }
+
+    @Test
+    public void testSignalEventDelegatesToResolverExcludingInMemoryListeners() {
+        DefaultSignalManagerHub hub = new DefaultSignalManagerHub();
+        ProcessInstanceResolver<?> resolver = mock(ProcessInstanceResolver.class);
+        hub.addProcessInstanceResolver(resolver);
+
+        KogitoProcessInstance listener = mock(KogitoProcessInstance.class);
+        ProcessInstance<?> inMemory = mock(ProcessInstance.class);
+        when(listener.getId()).thenReturn("inMemory");
+        when(listener.unwrap()).thenReturn((ProcessInstance) inMemory);
+        hub.addEventListener("signal", listener);
+
+        hub.signalEvent("signal", "payload");
+
+        verify(inMemory).send(any());
+        verify(resolver).signalWaitingForEvents(eq("signal"), eq("payload"), eq(List.of("inMemory")));
+        verify(resolver, never()).waitingForEvents(anyString());
+    }
+}
@@ -18,10 +18,14 @@
  */
 package org.kie.kogito.services.uow;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.kie.kogito.process.Process;
+import org.kie.kogito.process.ProcessInstance;
 import org.kie.kogito.uow.UnitOfWork;
 import org.kie.kogito.uow.UnitOfWorkManager;
 import org.kie.kogito.uow.WorkUnit;
@@ -33,6 +37,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 public class DefaultUnitOfWorkManagerTest {
 
@@ -73,6 +78,18 @@ public class DefaultUnitOfWorkManagerTest {
         verify(listener, never()).onAfterAbortEvent(any());
     }
 
+    @Test
+    public void testHasActiveUnitOfWork() {
+
+        assertThat(unitOfWorkManager.hasActiveUnitOfWork()).isFalse();
+        UnitOfWork unit = unitOfWorkManager.newUnitOfWork();
+        assertThat(unitOfWorkManager.hasActiveUnitOfWork()).isFalse();
+        unit.start();
+        assertThat(unitOfWorkManager.hasActiveUnitOfWork()).isTrue();
+        unit.end();
+        assertThat(unitOfWorkManager.hasActiveUnitOfWork()).isFalse();
+    }
+
     @Test
     public void testUnitOfWorkStartAbort() {
 
@@ -149,4 +166,29 @@ public class DefaultUnitOfWorkManagerTest {
         assertThat(counter).hasValue(1);
         assertThat(picounter).hasValue(0);
     }
+
+    @Test
+    public void testUnitOfWorkCoalescesProcessInstanceWork() {
+
+        UnitOfWork unit = unitOfWorkManager.newUnitOfWork();
+
+        Process process = mock(Process.class);
+        when(process.id()).thenReturn("process");
+        ProcessInstance<?> first = mock(ProcessInstance.class);
+        when(first.process()).thenReturn(process);
+        when(first.id()).thenReturn("1");
+        ProcessInstance<?> second = mock(ProcessInstance.class);
+        when(second.process()).thenReturn(process);
+        when(second.id()).thenReturn("2");
+
+        final List<String> saved = new ArrayList<>();
+
+        unit.start();
+        unit.intercept(new ProcessInstanceWorkUnit<ProcessInstance<?>>(first, pi -> saved.add("first-" + pi.id())));
+        unit.intercept(new ProcessInstanceWorkUnit<ProcessInstance<?>>(second, pi -> saved.add("second-" + pi.id())));
+        unit.intercept(new ProcessInstanceWorkUnit<ProcessInstance<?>>(first, pi -> saved.add("last-" + pi.id())));
+        unit.end();
+
+        assertThat(saved).containsExactly("second-2", "last-1");
+    }
 }
@@ -22,6 +22,7 @@ import io.vertx.mutiny.ext.web.client.WebClient;
 import io.vertx.ext.web.client.WebClientOptions;
 import io.vertx.mutiny.core.Vertx;
 import org.kogito.workitem.rest.RestWorkItemHandler;
+import org.kogito.workitem.rest.auth.OAuth2TokenManager;
 import static org.kogito.workitem.rest.RestWorkItemHandlerUtils.sslWebClientOptions;
 
 public class xxxRestWorkItemHandler extends RestWorkItemHandler {
@@ -32,6 +33,7 @@ public class xxxRestWorkItemHandler extends RestWorkItemHandler {
 
     public xxxRestWorkItemHandler(Vertx vertx, WebClientOptions sslOptions) {
     	super(WebClient.create(vertx), WebClient.create(vertx, sslOptions));
+    	OAuth2TokenManager.get().useVertx(vertx);
     }
     
     @Override
@@ -18,10 +18,12 @@
  */
 package org.jbpm.process.instance.context.variable;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.Supplier;
 
 import org.jbpm.process.core.context.variable.Variable;
 import org.jbpm.process.core.context.variable.VariableScope;
@@ -44,6 +46,7 @@ public class VariableScopeInstance extends AbstractContextInstance {
     private static final long serialVersionUID = 510l;
 
     private Map<String, Object> variables = new HashMap<>();
+    private transient Map<String, Supplier<Object>> lazyVariables = null;
     private transient String variableIdPrefix = null;
     private transient String variableInstanceIdPrefix = null;
 
@@ -55,6 +58,9 @@ public class VariableScopeInstance extends AbstractContextInstance {
     public Object getVariable(String name) {
 
         Object value = variables.get(name);
+        if (value == null && lazyVariables != null) {
+            value = resolveLazyVariable(name);
+        }
         if (value != null) {
             return value;
         }
@@ -79,9 +85,39 @@ public class VariableScopeInstance extends AbstractContextInstance {
     }
 
     public Map<String, Object> getVariables() {
+        if (lazyVariables != null) {
+            new ArrayList<>(lazyVariables.keySet()).forEach(this::resolveLazyVariable);
+        }
         return Collections.unmodifiableMap(variables);
     }
 
+    /**
+     * Registers a variable whose value is only computed the first time it is read, either
+     * through {@link #getVariable(String)} or {@link #getVariables()}.
+     * Used when loading read only process instances so variables nobody reads are never decoded.
+     */
+    public void internalSetLazyVariable(String name, Supplier<Object> supplier) {
+        if (lazyVariables == null) {
+            lazyVariables = new HashMap<>();
+        }
+        variables.remove(name);
+        lazyVariables.put(name, supplier);
+    }
+
+    public boolean hasLazyVariables() {
+        return lazyVariables != null && !lazyVariables.isEmpty();
+    }
+
+    private Object resolveLazyVariable(String name) {
+        Supplier<Object> supplier = lazyVariables.remove(name);
+        if (supplier == null) {
+            return null;
+        }
+        Object value = supplier.get();
+        internalSetVariable(name, value);
+        return value;
+    }
+
     public void setVariable(String name, Object value) {
         setVariable(null, name, value);
     }
@@ -143,6 +179,9 @@ public class VariableScopeInstance extends AbstractContextInstance {
             ((KogitoObjectListenerAware) value).addKogitoObjectListener(
                     new VariableScopeListener(getProcessInstance(), name, variableIdPrefix, variableInstanceIdPrefix, getVariableScope().tags(name)));
         }
+        if (lazyVariables != null) {
+            lazyVariables.remove(name);
+        }
         variables.put(name, value);
     }
 
@@ -167,7 +206,8 @@ public class VariableScopeInstance extends AbstractContextInstance {
     public void enforceRequiredVariables() {
         VariableScope variableScope = getVariableScope();
         for (Variable variable : variableScope.getVariables()) {
-            if (variableScope.isRequired(variable.getName()) && !variables.containsKey(variable.getName())) {
+            if (variableScope.isRequired(variable.getName()) && !variables.containsKey(variable.getName())
+                    && (lazyVariables == null || !lazyVariables.containsKey(variable.getName()))) {
                 throw new VariableViolationException(getProcessInstance().getStringId(), variable.getName(), "Variable '" + variable.getName() + "' is required but not set");
             }
         }
@@ -87,6 +87,7 @@ public class Metadata {
     public static final String EVAL_VARIABLE = "evalVariable";
     public static final String PROCESS_DURATION = "processDuration";
     public static final String TEXT_ANNOTATIONS = "TextAnnotations";
+    public static final String PRECOMPILED_EXPRESSIONS = "PrecompiledExpressions";
 
     private Metadata() {
     }
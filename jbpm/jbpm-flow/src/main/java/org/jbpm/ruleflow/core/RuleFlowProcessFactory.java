@@ -20,6 +20,7 @@ package org.jbpm.ruleflow.core;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -58,6 +59,7 @@ import org.kie.api.definition.process.Node;
 import org.kie.api.definition.process.NodeContainer;
 import org.kie.api.definition.process.WorkflowElementIdentifier;
 import org.kie.kogito.internal.process.runtime.KogitoNode;
+import org.kie.kogito.process.expr.ExpressionHandlerFactory;
 
 import static org.jbpm.process.core.context.exception.ExceptionScope.EXCEPTION_SCOPE;
 import static org.jbpm.ruleflow.core.Metadata.ACTION;
@@ -66,6 +68,7 @@ import static org.jbpm.ruleflow.core.Metadata.CANCEL_ACTIVITY;
 import static org.jbpm.ruleflow.core.Metadata.ERROR_EVENT;
 import static org.jbpm.ruleflow.core.Metadata.ERROR_STRUCTURE_REF;
 import static org.jbpm.ruleflow.core.Metadata.HAS_ERROR_EVENT;
+import static org.jbpm.ruleflow.core.Metadata.PRECOMPILED_EXPRESSIONS;
 import static org.jbpm.ruleflow.core.Metadata.SIGNAL_NAME;
 import static org.jbpm.ruleflow.core.Metadata.TIME_CYCLE;
 import static org.jbpm.ruleflow.core.Metadata.TIME_DATE;
@@ -244,9 +247,18 @@ public class RuleFlowProcessFactory extends RuleFlowNodeContainerFactory<RuleFlo
         if (errors.length > 0) {
             throw new IllegalStateException("Process could not be validated !" + Arrays.toString(errors));
         }
+        precompileExpressions();
         return this;
     }
 
+    private void precompileExpressions() {
+        RuleFlowProcess process = getRuleFlowProcess();
+        Object expressions = process.getMetaData().get(PRECOMPILED_EXPRESSIONS);
+        if (expressions instanceof Collection && process.getExpressionLanguage() != null) {
+            ExpressionHandlerFactory.precompile(process.getExpressionLanguage(), (Collection<?>) expressions);
+        }
+    }
+
     public RuleFlowProcessFactory newCorrelationMessage(String messageId, String messageName, String messageType) {
         RuleFlowProcess process = getRuleFlowProcess();
         process.getCorrelationManager().newMessage(messageId, messageName, messageType);
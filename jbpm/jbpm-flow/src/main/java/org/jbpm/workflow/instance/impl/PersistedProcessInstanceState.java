@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbpm.workflow.instance.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps what was last written to the storage for a process instance, so delta persistence can find out
+ * which variables and completed nodes changed since then.
+ * Variables are kept as a digest of their persisted (marshalled) form, which must implement a value based <code>equals</code>.
+ */
+public class PersistedProcessInstanceState {
+
+    private final Map<String, Object> variables;
+    private final int completedNodeIds;
+    private final int patches;
+
+    public PersistedProcessInstanceState(Map<String, Object> variables, int completedNodeIds, int patches) {
+        this.variables = Collections.unmodifiableMap(variables);
+        this.completedNodeIds = completedNodeIds;
+        this.patches = patches;
+    }
+
+    public boolean isVariableDirty(String name, Object digest) {
+        return !digest.equals(variables.get(name));
+    }
+
+    public List<String> removedVariables(Collection<String> currentNames) {
+        List<String> removed = new ArrayList<>();
+        for (String name : variables.keySet()) {
+            if (!currentNames.contains(name)) {
+                removed.add(name);
+            }
+        }
+        return removed;
+    }
+
+    public Map<String, Object> getVariables() {
+        return variables;
+    }
+
+    /**
+     * Number of completed node ids already persisted; completed node ids are only ever appended.
+     */
+    public int getCompletedNodeIds() {
+        return completedNodeIds;
+    }
+
+    /**
+     * Number of patches written on top of the last full snapshot.
+     */
+    public int getPatches() {
+        return patches;
+    }
+}
@@ -177,6 +177,8 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl im
 
     private ProcessInstance<?> kogitoProcessInstance;
 
+    private transient PersistedProcessInstanceState persistedState;
+
     @Override
     public NodeContainer getNodeContainer() {
         return getWorkflowProcess();
@@ -396,6 +398,11 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl im
         return variableScopeInstance.getVariables();
     }
 
+    public boolean hasLazyVariables() {
+        List<ContextInstance> variableScopeInstances = getContextInstances(VariableScope.VARIABLE_SCOPE);
+        return variableScopeInstances != null && variableScopeInstances.stream().anyMatch(c -> ((VariableScopeInstance) c).hasLazyVariables());
+    }
+
     @Override
     public void setVariable(String name, Object value) {
         VariableScope variableScope = (VariableScope) ((ContextContainer) getProcess()).getDefaultContext(VariableScope.VARIABLE_SCOPE);
@@ -1318,6 +1325,17 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl im
         return this.referenceId;
     }
 
+    /**
+     * State last written by a delta capable persistence, <code>null</code> when unknown and a full snapshot must be written.
+     */
+    public PersistedProcessInstanceState getPersistedState() {
+        return persistedState;
+    }
+
+    public void setPersistedState(PersistedProcessInstanceState persistedState) {
+        this.persistedState = persistedState;
+    }
+
     private boolean isVariableExpression(String eventType) {
         if (eventType == null) {
             return false;
@@ -22,5 +22,14 @@ public interface ExpressionHandler {
 
     Expression get(String expr);
 
+    /**
+     * Compiles the expression ahead of its first evaluation, keeping it available for the whole application lifetime
+     * 
+     * @param expr expression text, as it will be later passed to {@link #get(String)}
+     */
+    default void precompile(String expr) {
+        get(expr);
+    }
+
     String lang();
 }
@@ -23,8 +23,13 @@ import java.util.Optional;
 import java.util.ServiceLoader;
 import java.util.stream.Collectors;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 public class ExpressionHandlerFactory {
 
+    private static final Logger logger = LoggerFactory.getLogger(ExpressionHandlerFactory.class);
+
     private ExpressionHandlerFactory() {
     }
 
@@ -36,6 +41,19 @@ public class ExpressionHandlerFactory {
                 () -> new IllegalArgumentException("Unsupported language " + lang)).get(expr);
     }
 
+    public static void precompile(String lang, Collection<?> exprs) {
+        getExpressionHandler(lang).ifPresent(handler -> exprs.forEach(expr -> precompile(handler, expr.toString())));
+    }
+
+    private static void precompile(ExpressionHandler handler, String expr) {
+        try {
+            handler.precompile(expr);
+        } catch (RuntimeException ex) {
+            // invalid expressions are reported when evaluated, as they would be without precompilation
+            logger.debug("Expression {} cannot be precompiled", expr, ex);
+        }
+    }
+
     public static boolean isSupported(String lang) {
         return expressionHandlers.stream().map(ExpressionHandler::lang).anyMatch(lang::equals);
     }
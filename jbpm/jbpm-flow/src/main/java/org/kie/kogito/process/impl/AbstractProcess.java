@@ -28,6 +28,7 @@ import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.jbpm.process.core.ProcessSupplier;
 import org.jbpm.process.core.timer.DateTimeUtils;
@@ -41,6 +42,7 @@ import org.kie.api.runtime.process.EventListener;
 import org.kie.api.runtime.process.WorkflowProcessInstance;
 import org.kie.kogito.Application;
 import org.kie.kogito.Model;
+import org.kie.kogito.config.ConfigBean;
 import org.kie.kogito.correlation.CorrelationService;
 import org.kie.kogito.event.correlation.DefaultCorrelationService;
 import org.kie.kogito.internal.process.runtime.KogitoNode;
@@ -65,14 +67,22 @@ import org.kie.kogito.process.ProcessVersionResolver;
 import org.kie.kogito.process.Signal;
 import org.kie.kogito.process.SignalFactory;
 import org.kie.kogito.process.WorkItem;
+import org.kie.kogito.process.impl.lock.ProcessInstanceAtomicLockStrategy;
+import org.kie.kogito.process.impl.lock.ProcessInstanceLockStrategy;
+import org.kie.kogito.services.uow.UnitOfWorkExecutor;
 import org.kie.kogito.signal.ProcessInstanceResolver;
 import org.kie.kogito.signal.SignalManagerHub;
+import org.kie.kogito.uow.UnitOfWorkManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import static org.kie.kogito.internal.process.workitem.KogitoWorkItemHandlerFactory.findAllKogitoWorkItemHandlersRegistered;
 
 @SuppressWarnings("unchecked")
 public abstract class AbstractProcess<T extends Model> implements Process<T>, ProcessSupplier {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(AbstractProcess.class);
+
     protected final ProcessRuntimeServiceProvider services;
     protected ProcessInstancesFactory processInstancesFactory;
     protected MutableProcessInstances<T> instances;
@@ -89,6 +99,7 @@ public abstract class AbstractProcess<T extends Model> implements Process<T>, Pr
     private CorrelationService correlations;
     private ProcessVersionResolver versionResolver;
     private ProcessInstanceResolver<T> processInstanceResolver;
+    private ProcessInstanceLockStrategy processInstanceLockStrategy;
 
     protected AbstractProcess() {
         this(null, new LightProcessRuntimeServiceProvider());
@@ -203,6 +214,9 @@ public abstract class AbstractProcess<T extends Model> implements Process<T>, Pr
         registerListeners();
         if (isProcessFactorySet()) {
             this.instances = (MutableProcessInstances<T>) processInstancesFactory.createProcessInstances(this);
+            if (persistenceWriteBehind() && services.getUnitOfWorkManager() != null) {
+                this.instances = new WriteBehindProcessInstances<>(this.instances, services.getUnitOfWorkManager());
+            }
         } else {
             this.instances = new MapProcessInstances<>(this);
         }
@@ -231,19 +245,25 @@ public abstract class AbstractProcess<T extends Model> implements Process<T>, Pr
 
                 @Override
                 public List<ProcessInstance<T>> waitingForEvents(String eventType) {
-                    List<ProcessInstance<T>> list = instances.waitingForEventType(eventType, ProcessInstanceReadMode.MUTABLE)
-                            .map(e -> (AbstractProcessInstance<T>) e)
-                            .map(pi -> {
-                                KogitoProcessRuntime runtime = getProcessRuntime();
-                                KogitoProcessInstance instance = runtime.getProcessInstance(pi.id());
-                                if (instance != null) {
-                                    return (AbstractProcessInstance<T>) instance.unwrap();
-                                }
-                                return pi;
-                            })
-                            .map(e -> (ProcessInstance<T>) e)
-                            .toList();
-                    return list;
+                    try (Stream<ProcessInstance<T>> waiting = streamWaitingForEvents(eventType)) {
+                        return waiting.toList();
+                    }
+                }
+
+                @Override
+                public Stream<ProcessInstance<T>> streamWaitingForEvents(String eventType) {
+                    return instances.waitingForEventType(eventType, ProcessInstanceReadMode.MUTABLE).map(AbstractProcess.this::runtimeInstance);
+                }
+
+                @Override
+                public long signalWaitingForEvents(String eventType, Object payload, Collection<String> excludedIds) {
+                    int pageSize = signalBroadcastPageSize();
+                    UnitOfWorkManager unitOfWorkManager = services.getUnitOfWorkManager();
+                    // pages are committed on their own, so they cannot join a unit of work already in progress
+                    if (pageSize <= 0 || unitOfWorkManager == null || unitOfWorkManager.hasActiveUnitOfWork()) {
+                        return ProcessInstanceResolver.super.signalWaitingForEvents(eventType, payload, excludedIds);
+                    }
+                    return signalWaitingForEventsInPages(eventType, payload, excludedIds, pageSize, unitOfWorkManager);
                 }
 
                 @Override
@@ -258,6 +278,79 @@ public abstract class AbstractProcess<T extends Model> implements Process<T>, Pr
         this.activated = true;
     }
 
+    // instances already loaded in the process runtime are signalled in place of the ones read from the store
+    private ProcessInstance<T> runtimeInstance(ProcessInstance<T> pi) {
+        KogitoProcessInstance instance = getProcessRuntime().getProcessInstance(pi.id());
+        if (instance != null) {
+            return (ProcessInstance<T>) instance.unwrap();
+        }
+        return pi;
+    }
+
+    /**
+     * Returns the strategy locking the instances of this process while operated on, as configured for the application
+     */
+    public ProcessInstanceLockStrategy processInstanceLockStrategy() {
+        if (processInstanceLockStrategy == null) {
+            ConfigBean configBean = app == null ? null : app.config().get(ConfigBean.class);
+            processInstanceLockStrategy = configBean == null ? ProcessInstanceAtomicLockStrategy.instance()
+                    : ProcessInstanceLockStrategy.of(configBean.processInstanceLockStrategy(), configBean.processInstanceLockStripes(), configBean.processInstanceLockTimeout());
+        }
+        return processInstanceLockStrategy;
+    }
+
+    private boolean persistenceWriteBehind() {
+        ConfigBean configBean = app == null ? null : app.config().get(ConfigBean.class);
+        return configBean != null && configBean.persistenceWriteBehind();
+    }
+
+    private int signalBroadcastPageSize() {
+        ConfigBean configBean = app == null ? null : app.config().get(ConfigBean.class);
+        return configBean == null ? 0 : configBean.signalBroadcastPageSize();
+    }
+
+    /**
+     * Reads the instances waiting for the event type from the store one page at a time, keyed on the id of the last
+     * instance of the previous page, and signals every page within its own unit of work, so only a page of instances
+     * is kept in memory and a failing page does not roll back the ones already signalled.
+     */
+    private long signalWaitingForEventsInPages(String eventType, Object payload, Collection<String> excludedIds, int pageSize, UnitOfWorkManager unitOfWorkManager) {
+        long signalled = 0;
+        long failed = 0;
+        int pages = 0;
+        String afterId = null;
+        List<ProcessInstance<T>> page;
+        do {
+            try (Stream<ProcessInstance<T>> waiting = instances.waitingForEventType(eventType, ProcessInstanceReadMode.MUTABLE, afterId, pageSize)) {
+                page = waiting.map(this::runtimeInstance).toList();
+            }
+            if (page.isEmpty()) {
+                break;
+            }
+            afterId = page.get(page.size() - 1).id();
+            List<ProcessInstance<T>> signalling = page.stream().filter(pi -> !excludedIds.contains(pi.id())).toList();
+            if (signalling.isEmpty()) {
+                continue;
+            }
+            pages++;
+            try {
+                UnitOfWorkExecutor.executeInUnitOfWork(unitOfWorkManager, () -> {
+                    signalling.forEach(pi -> pi.send(SignalFactory.of(eventType, payload)));
+                    return null;
+                });
+                signalled += signalling.size();
+                LOGGER.debug("Signal {} broadcast to process {}: page {} with {} instances committed, {} instances signalled so far", eventType, id(), pages, signalling.size(), signalled);
+            } catch (RuntimeException e) {
+                failed += signalling.size();
+                LOGGER.warn("Signal {} broadcast to process {}: page {} with {} instances failed", eventType, id(), pages, signalling.size(), e);
+            }
+        } while (page.size() == pageSize);
+        if (pages > 0) {
+            LOGGER.info("Signal {} broadcast to process {} completed in {} pages: {} instances signalled, {} failed", eventType, id(), pages, signalled, failed);
+        }
+        return signalled;
+    }
+
     @Override
     public void deactivate() {
         if (this.services.getSignalManager() instanceof SignalManagerHub signalManagerHub) {
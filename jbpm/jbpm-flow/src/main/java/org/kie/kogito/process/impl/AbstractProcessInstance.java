@@ -33,6 +33,7 @@ import java.util.Set;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 import org.jbpm.process.instance.InternalProcessRuntime;
@@ -75,6 +76,7 @@ import org.kie.kogito.process.flexible.AdHocFragment;
 import org.kie.kogito.process.flexible.Milestone;
 import org.kie.kogito.process.impl.lock.ContextAwareProcessInstanceLockStrategy;
 import org.kie.kogito.process.impl.lock.ProcessInstanceAtomicLockStrategy;
+import org.kie.kogito.process.impl.lock.ProcessInstanceLock;
 import org.kie.kogito.process.impl.lock.ProcessInstanceLockStrategy;
 import org.kie.kogito.process.workitems.InternalKogitoWorkItem;
 import org.slf4j.Logger;
@@ -105,6 +107,8 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
 
     protected Consumer<AbstractProcessInstance<?>> reloadSupplier;
 
+    private Supplier<Map<String, Object>> deferredVariables;
+
     protected long version;
 
     private Optional<CorrelationInstance> correlationInstance = Optional.empty();
@@ -123,7 +127,7 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
         this.process = process;
         this.rt = (InternalProcessRuntime) rt;
         this.variables = variables;
-        this.processInstanceLockStrategy = new ContextAwareProcessInstanceLockStrategy(ProcessInstanceAtomicLockStrategy.instance());
+        this.processInstanceLockStrategy = new ContextAwareProcessInstanceLockStrategy(lockStrategyOf(process));
         setCorrelationKey(businessKey);
         Map<String, Object> map = bind(variables);
 
@@ -161,12 +165,23 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
         this.process = process;
         this.rt = (InternalProcessRuntime) rt;
         this.variables = variables;
-        this.processInstanceLockStrategy = new ContextAwareProcessInstanceLockStrategy(ProcessInstanceAtomicLockStrategy.instance());
+        this.processInstanceLockStrategy = new ContextAwareProcessInstanceLockStrategy(lockStrategyOf(process));
+
+        // read only instances loaded with lazily decoded variables bind the model on first access
+        boolean deferVariables = rt == null && wpi instanceof WorkflowProcessInstanceImpl && ((WorkflowProcessInstanceImpl) wpi).hasLazyVariables();
+        syncWorkflowInstanceState((WorkflowProcessInstance) wpi, deferVariables);
+    }
 
-        syncWorkflowInstanceState((WorkflowProcessInstance) wpi);
+    private static ProcessInstanceLockStrategy lockStrategyOf(AbstractProcess<?> process) {
+        ProcessInstanceLockStrategy strategy = process == null ? null : process.processInstanceLockStrategy();
+        return strategy == null ? ProcessInstanceAtomicLockStrategy.instance() : strategy;
     }
 
     private void syncWorkflowInstanceState(WorkflowProcessInstance wpi) {
+        syncWorkflowInstanceState(wpi, false);
+    }
+
+    private void syncWorkflowInstanceState(WorkflowProcessInstance wpi, boolean deferVariables) {
         status = wpi.getState();
         id = wpi.getStringId();
         description = wpi.getDescription();
@@ -180,7 +195,12 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
             this.processError = buildProcessError();
         }
 
-        unbind(variables, wpi.getVariables());
+        if (deferVariables && this.status != STATE_COMPLETED && this.status != STATE_ERROR) {
+            deferredVariables = wpi::getVariables;
+        } else {
+            deferredVariables = null;
+            unbind(variables, wpi.getVariables());
+        }
         setCorrelationKey(wpi.getCorrelationKey());
 
         if (this.status == STATE_COMPLETED || this.status == STATE_ERROR) {
@@ -315,6 +335,13 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
         processInstance.wrap(this);
     }
 
+    /**
+     * Locks this instance for the current thread beyond the operation in progress, until the returned lock is released
+     */
+    public ProcessInstanceLock internalAcquireLock() {
+        return processInstanceLockStrategy.acquire(id);
+    }
+
     public void internalSetReloadSupplier(Consumer<AbstractProcessInstance<?>> reloadSupplier) {
         this.reloadSupplier = reloadSupplier;
     }
@@ -407,11 +434,20 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
 
     @Override
     public T variables() {
+        bindDeferredVariables();
         return delegateIfPresent(variables, p -> {
             return variables;
         });
     }
 
+    private void bindDeferredVariables() {
+        Supplier<Map<String, Object>> deferred = deferredVariables;
+        if (deferred != null) {
+            deferredVariables = null;
+            unbind(variables, deferred.get());
+        }
+    }
+
     public void reload() {
         executeInWorkflowProcessInstance(Function.identity());
     }
@@ -457,13 +493,13 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
     @Override
     public T updateVariables(T updates) {
         Map<String, Object> map = bind(updates);
-        variables.update(map);
+        variables().update(map);
         return updateVariables(map);
     }
 
     @Override
     public T updateVariablesPartially(T updates) {
-        return updateVariables(this.variables.updatePartially(bind(updates)));
+        return updateVariables(variables().updatePartially(bind(updates)));
     }
 
     private T updateVariables(Map<String, Object> map) {
@@ -18,13 +18,21 @@
  */
 package org.kie.kogito.process.impl;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.jbpm.util.JsonSchemaUtil;
 import org.jbpm.workflow.core.node.WorkItemNode;
@@ -43,6 +51,7 @@ import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstance;
 import org.kie.kogito.process.ProcessInstanceNotFoundException;
 import org.kie.kogito.process.ProcessInstanceReadMode;
+import org.kie.kogito.process.ProcessInstances;
 import org.kie.kogito.process.ProcessService;
 import org.kie.kogito.process.SignalFactory;
 import org.kie.kogito.process.WorkItem;
@@ -103,6 +112,23 @@ public class ProcessServiceImpl implements ProcessService {
         }
     }
 
+    @Override
+    public <T extends MappableToModel<R>, R> List<R> getProcessInstanceOutput(Process<T> process, String afterId, int pageSize) {
+        int size = pageSize <= 0 || pageSize > processInstanceLimit ? processInstanceLimit : pageSize;
+        try (Stream<ProcessInstance<T>> stream = process.instances().stream(ProcessInstanceReadMode.READ_ONLY, afterId, size)) {
+            return stream.map(ProcessInstance::variables)
+                    .map(MappableToModel::toModel)
+                    .collect(Collectors.toList());
+        }
+    }
+
+    @Override
+    public <T extends MappableToModel<R>, R> Stream<R> streamProcessInstanceOutput(Process<T> process) {
+        return StreamSupport.stream(new ProcessInstancePageSpliterator<>(process.instances(), processInstanceLimit), false)
+                .map(ProcessInstance::variables)
+                .map(MappableToModel::toModel);
+    }
+
     @Override
     public <T extends MappableToModel<R>, R> Optional<R> findById(Process<T> process, String id) {
         Optional<ProcessInstance<T>> instance = process.instances()
@@ -171,6 +197,33 @@ public class ProcessServiceImpl implements ProcessService {
                         }));
     }
 
+    @Override
+    public <T extends Model> Optional<ProcessInstance<T>> loadAndSignalProcessInstance(Process<T> process, Supplier<Optional<ProcessInstance<T>>> loader, Object data,
+            String signalName) {
+        return UnitOfWorkExecutor.executeInUnitOfWork(
+                application.unitOfWorkManager(),
+                () -> loader.get()
+                        .map(pi -> {
+                            if (isAcceptingEventType(process, pi, signalName)) {
+                                pi.send(SignalFactory.of(signalName, data));
+                                pi.checkError();
+                            }
+                            return pi;
+                        }));
+    }
+
+    // same check as ProcessInstances.acceptingEventType, but using the event types of the already loaded instance
+    private static <T> boolean isAcceptingEventType(Process<T> process, ProcessInstance<T> pi, String signalName) {
+        if (pi instanceof AbstractProcessInstance<?> abstractProcessInstance) {
+            return abstractProcessInstance.executeInWorkflowProcessInstanceRead(wpi -> {
+                List<String> eventTypes = Arrays.asList(wpi.getEventTypes());
+                return eventTypes.contains(signalName) || eventTypes.contains("Message-" + signalName)
+                        || wpi.adHocFragments().stream().anyMatch(fragment -> fragment.getName().equals(signalName));
+            });
+        }
+        return process.instances().acceptingEventType(signalName, pi.id()).findAny().isPresent();
+    }
+
     @Override
     public <T extends Model> Optional<List<WorkItem>> getWorkItems(Process<T> process, String id, Policy... policy) {
         return process.instances()
@@ -281,4 +334,43 @@ public class ProcessServiceImpl implements ProcessService {
                 JsonSchemaUtil.load(Thread.currentThread().getContextClassLoader(), process.id(), workItemTaskName));
     }
 
+
+    /**
+     * Walks all the instances of a process using keyset pagination, holding a single page in memory
+     */
+    private static class ProcessInstancePageSpliterator<T> extends Spliterators.AbstractSpliterator<ProcessInstance<T>> {
+
+        private final ProcessInstances<T> instances;
+        private final int pageSize;
+        private Iterator<ProcessInstance<T>> page = Collections.emptyIterator();
+        private String lastId;
+        private boolean lastPage;
+
+        ProcessInstancePageSpliterator(ProcessInstances<T> instances, int pageSize) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.instances = instances;
+            this.pageSize = pageSize;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super ProcessInstance<T>> action) {
+            if (!page.hasNext()) {
+                if (lastPage) {
+                    return false;
+                }
+                List<ProcessInstance<T>> next;
+                try (Stream<ProcessInstance<T>> stream = instances.stream(ProcessInstanceReadMode.READ_ONLY, lastId, pageSize)) {
+                    next = stream.collect(Collectors.toList());
+                }
+                lastPage = next.size() < pageSize;
+                if (next.isEmpty()) {
+                    return false;
+                }
+                lastId = next.get(next.size() - 1).id();
+                page = next.iterator();
+            }
+            action.accept(page.next());
+            return true;
+        }
+    }
 }
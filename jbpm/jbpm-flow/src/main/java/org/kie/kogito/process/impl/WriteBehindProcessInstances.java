@@ -0,0 +1,246 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.process.impl;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.jbpm.workflow.instance.WorkflowProcessInstance;
+import org.kie.kogito.Model;
+import org.kie.kogito.process.MutableProcessInstances;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceReadMode;
+import org.kie.kogito.process.impl.lock.ProcessInstanceLock;
+import org.kie.kogito.services.uow.ProcessInstanceWorkUnit;
+import org.kie.kogito.uow.UnitOfWork;
+import org.kie.kogito.uow.UnitOfWorkManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Process instances decorator that defers updates until the current unit of work ends.
+ * Several updates of the same process instance within one unit of work are coalesced so the
+ * instance is marshalled and written only once, with its final state. Until then, reads
+ * performed within the same unit of work see the pending state.
+ * <p>
+ * Pending updates are kept per unit of work, so concurrent units of work touching the same instance
+ * never discard each other's state. The instance stays locked by the unit of work that deferred its update
+ * until the update is written or discarded, so other units of work cannot read the stored state before it
+ * is overwritten.
+ */
+class WriteBehindProcessInstances<T extends Model> implements MutableProcessInstances<T> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WriteBehindProcessInstances.class);
+
+    private final MutableProcessInstances<T> delegate;
+    private final UnitOfWorkManager unitOfWorkManager;
+    private final Map<PendingKey, PendingUpdate<T>> pendingUpdates = new ConcurrentHashMap<>();
+
+    public WriteBehindProcessInstances(MutableProcessInstances<T> delegate, UnitOfWorkManager unitOfWorkManager) {
+        this.delegate = delegate;
+        this.unitOfWorkManager = unitOfWorkManager;
+    }
+
+    @Override
+    public boolean exists(String id) {
+        return pending(id).isPresent() || delegate.exists(id);
+    }
+
+    @Override
+    public void create(String id, ProcessInstance<T> instance) {
+        delegate.create(id, instance);
+    }
+
+    @Override
+    public void update(String id, ProcessInstance<T> instance) {
+        AbstractProcessInstance<T> processInstance = (AbstractProcessInstance<T>) instance;
+        UnitOfWork unitOfWork = unitOfWorkManager.currentUnitOfWork();
+        PendingKey key = new PendingKey(unitOfWork, id);
+        PendingUpdate<T> previous = pendingUpdates.get(key);
+        PendingUpdate<T> pendingUpdate = previous == null
+                ? new PendingUpdate<>(unitOfWork, processInstance, processInstance.internalGetProcessInstance(), processInstance.internalAcquireLock(), processInstance.reloadSupplier)
+                : new PendingUpdate<>(unitOfWork, processInstance, processInstance.internalGetProcessInstance(), previous.lock, previous.reloadSupplier);
+        pendingUpdates.put(key, pendingUpdate);
+        connectProcessInstance(pendingUpdate);
+        LOGGER.debug("Deferring update of process instance id: {} until the end of the unit of work", id);
+        unitOfWork.intercept(new ProcessInstanceWorkUnit<>(processInstance, pi -> flush(key), pi -> discard(key)));
+    }
+
+    @Override
+    public void remove(String id) {
+        discard(new PendingKey(unitOfWorkManager.currentUnitOfWork(), id));
+        delegate.remove(id);
+    }
+
+    @Override
+    public Optional<ProcessInstance<T>> findById(String id, ProcessInstanceReadMode mode) {
+        Optional<PendingUpdate<T>> pendingUpdate = pending(id);
+        if (pendingUpdate.isPresent()) {
+            return Optional.of(pendingUpdate.get().processInstance);
+        }
+        return delegate.findById(id, mode);
+    }
+
+    @Override
+    public Optional<ProcessInstance<T>> findByBusinessKey(String businessKey, ProcessInstanceReadMode mode) {
+        return delegate.findByBusinessKey(businessKey, mode).map(this::replaceWithPending);
+    }
+
+    @Override
+    public Stream<ProcessInstance<T>> stream(ProcessInstanceReadMode mode) {
+        return delegate.stream(mode).map(this::replaceWithPending);
+    }
+
+    @Override
+    public Stream<ProcessInstance<T>> stream(ProcessInstanceReadMode mode, String afterId, int pageSize) {
+        return delegate.stream(mode, afterId, pageSize).map(this::replaceWithPending);
+    }
+
+    @Override
+    public Stream<ProcessInstance<T>> waitingForEventType(String eventType, ProcessInstanceReadMode mode) {
+        UnitOfWork unitOfWork = unitOfWorkManager.currentUnitOfWork();
+        Stream<ProcessInstance<T>> stored = delegate.waitingForEventType(eventType, mode).filter(pi -> !isPendingIn(pi.id(), unitOfWork));
+        Stream<ProcessInstance<T>> pending = pendingUpdates.values().stream()
+                .filter(p -> p.unitOfWork == unitOfWork && Arrays.asList(p.workflowProcessInstance.getEventTypes()).contains(eventType))
+                .map(p -> p.processInstance);
+        return Stream.concat(pending, stored);
+    }
+
+    @Override
+    public Stream<ProcessInstance<T>> waitingForEventType(String eventType, ProcessInstanceReadMode mode, String afterId, int pageSize) {
+        return delegate.waitingForEventType(eventType, mode, afterId, pageSize).map(this::replaceWithPending);
+    }
+
+    @Override
+    public long migrateAll(String targetProcessId, String targetProcessVersion) {
+        return delegate.migrateAll(targetProcessId, targetProcessVersion);
+    }
+
+    @Override
+    public void migrateProcessInstances(String targetProcessId, String targetProcessVersion, String... processIds) {
+        delegate.migrateProcessInstances(targetProcessId, targetProcessVersion, processIds);
+    }
+
+    @Override
+    public boolean lock() {
+        return delegate.lock();
+    }
+
+    MutableProcessInstances<T> delegate() {
+        return delegate;
+    }
+
+    private void flush(PendingKey key) {
+        // latest state recorded by this unit of work, none if the instance was removed within it
+        PendingUpdate<T> pendingUpdate = pendingUpdates.remove(key);
+        if (pendingUpdate == null) {
+            return;
+        }
+        String id = key.id;
+        AbstractProcessInstance<T> processInstance = pendingUpdate.processInstance;
+        boolean unloaded = processInstance.internalGetProcessInstance() == null;
+        if (unloaded) {
+            processInstance.internalSetProcessInstance(pendingUpdate.workflowProcessInstance);
+        }
+        // the store connects the instance again when written, the previous connection is restored for those which do not
+        processInstance.internalSetReloadSupplier(pendingUpdate.reloadSupplier);
+        try {
+            delegate.update(id, processInstance);
+        } finally {
+            if (unloaded) {
+                processInstance.internalUnloadState();
+            }
+            pendingUpdate.lock.release();
+        }
+    }
+
+    private void discard(PendingKey key) {
+        PendingUpdate<T> pendingUpdate = pendingUpdates.remove(key);
+        if (pendingUpdate != null) {
+            pendingUpdate.processInstance.internalSetReloadSupplier(pendingUpdate.reloadSupplier);
+            pendingUpdate.lock.release();
+        }
+    }
+
+    // reloads within the unit of work see the pending state instead of the stored one
+    private void connectProcessInstance(PendingUpdate<T> pendingUpdate) {
+        pendingUpdate.processInstance.internalSetReloadSupplier(pi -> pi.internalSetProcessInstance(pendingUpdate.workflowProcessInstance));
+    }
+
+    private ProcessInstance<T> replaceWithPending(ProcessInstance<T> instance) {
+        return pending(instance.id()).<ProcessInstance<T>> map(p -> p.processInstance).orElse(instance);
+    }
+
+    private boolean isPendingIn(String id, UnitOfWork unitOfWork) {
+        return pendingUpdates.containsKey(new PendingKey(unitOfWork, id));
+    }
+
+    private Optional<PendingUpdate<T>> pending(String id) {
+        return Optional.ofNullable(pendingUpdates.get(new PendingKey(unitOfWorkManager.currentUnitOfWork(), id)));
+    }
+
+    private static class PendingKey {
+        private final UnitOfWork unitOfWork;
+        private final String id;
+
+        PendingKey(UnitOfWork unitOfWork, String id) {
+            this.unitOfWork = unitOfWork;
+            this.id = id;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(unitOfWork) + Objects.hashCode(id);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof PendingKey)) {
+                return false;
+            }
+            PendingKey other = (PendingKey) obj;
+            return unitOfWork == other.unitOfWork && Objects.equals(id, other.id);
+        }
+    }
+
+    private static class PendingUpdate<T extends Model> {
+        private final UnitOfWork unitOfWork;
+        private final AbstractProcessInstance<T> processInstance;
+        private final WorkflowProcessInstance workflowProcessInstance;
+        private final ProcessInstanceLock lock;
+        private final Consumer<AbstractProcessInstance<?>> reloadSupplier;
+
+        PendingUpdate(UnitOfWork unitOfWork, AbstractProcessInstance<T> processInstance, WorkflowProcessInstance workflowProcessInstance, ProcessInstanceLock lock,
+                Consumer<AbstractProcessInstance<?>> reloadSupplier) {
+            this.unitOfWork = unitOfWork;
+            this.processInstance = processInstance;
+            this.workflowProcessInstance = workflowProcessInstance;
+            this.lock = lock;
+            this.reloadSupplier = reloadSupplier;
+        }
+    }
+}
@@ -66,4 +66,9 @@ public class ContextAwareProcessInstanceLockStrategy implements ProcessInstanceL
             }
         });
     }
+
+    @Override
+    public ProcessInstanceLock acquire(String processInstanceId) {
+        return delegate.acquire(processInstanceId);
+    }
 }
@@ -74,15 +74,7 @@ public class ProcessInstanceAtomicLockStrategy implements ProcessInstanceLockStr
         // compute and compute if present are thread safe and atomic to the bucket being computed meaning that the creation and obtaining this will rise
         // the proper counter
 
-        ProcessInstanceLockHolder processInstanceLockHolder = locks.compute(processInstanceId, (pid, holder) -> {
-            ProcessInstanceLockHolder newHolder = holder;
-            if (newHolder == null) {
-                newHolder = new ProcessInstanceLockHolder();
-            }
-            newHolder.addReference();
-            LOG.trace("Creating lock {} from list as none is waiting for it by {}", newHolder.lock, pid);
-            return newHolder;
-        });
+        ProcessInstanceLockHolder processInstanceLockHolder = reference(processInstanceId);
 
         // at this points this is a safe ask as if we invoked prior to this point the hold it will always return
         // properly
@@ -102,20 +94,48 @@ public class ProcessInstanceAtomicLockStrategy implements ProcessInstanceLockStr
                 LOG.trace("Lock released for {}", processInstanceId);
             }
 
-            // evaluate atomically if the lock is still in used before removing it.
-            locks.computeIfPresent(processInstanceId, (pid, holder) -> {
-                holder.removeReference();
-                if (holder.isReferenced()) {
-                    return holder;
-                } else {
-                    LOG.trace("Removing lock {} from list as none is waiting for it by {}", holder.lock, pid);
-                    return null;
-                }
-            });
+            dereference(processInstanceId);
         }
 
     }
 
+    @Override
+    public ProcessInstanceLock acquire(String processInstanceId) {
+        ProcessInstanceLockHolder processInstanceLockHolder = reference(processInstanceId);
+        processInstanceLockHolder.lock();
+        LOG.trace("Lock acquired for {} until released", processInstanceId);
+        return () -> {
+            processInstanceLockHolder.unlock();
+            LOG.trace("Lock released for {}", processInstanceId);
+            dereference(processInstanceId);
+        };
+    }
+
+    private ProcessInstanceLockHolder reference(String processInstanceId) {
+        return locks.compute(processInstanceId, (pid, holder) -> {
+            ProcessInstanceLockHolder newHolder = holder;
+            if (newHolder == null) {
+                newHolder = new ProcessInstanceLockHolder();
+            }
+            newHolder.addReference();
+            LOG.trace("Creating lock {} from list as none is waiting for it by {}", newHolder.lock, pid);
+            return newHolder;
+        });
+    }
+
+    private void dereference(String processInstanceId) {
+        // evaluate atomically if the lock is still in used before removing it.
+        locks.computeIfPresent(processInstanceId, (pid, holder) -> {
+            holder.removeReference();
+            if (holder.isReferenced()) {
+                return holder;
+            } else {
+                LOG.trace("Removing lock {} from list as none is waiting for it by {}", holder.lock, pid);
+                return null;
+            }
+        });
+    }
+
     public static synchronized ProcessInstanceLockStrategy instance() {
         if (INSTANCE == null) {
             INSTANCE = new ProcessInstanceAtomicLockStrategy();
@@ -20,6 +20,34 @@ package org.kie.kogito.process.impl.lock;
 
 public interface ProcessInstanceLockStrategy {
 
+    String ATOMIC = "atomic";
+
+    String STRIPED = "striped";
+
     <T> T executeOperation(String processInstanceId, WorkflowAtomicExecutor<T> empty);
 
+    /**
+     * Locks the process instance for the current thread beyond a single operation, until the returned lock is released
+     * by the same thread. Operations executed by that thread on the instance in the meantime reenter the lock.
+     */
+    ProcessInstanceLock acquire(String processInstanceId);
+
+    /**
+     * Returns the shared lock strategy named <code>strategy</code>, either {@value #ATOMIC} or {@value #STRIPED}.
+     *
+     * @param strategy name of the strategy
+     * @param stripes number of stripes of the {@value #STRIPED} strategy
+     * @param timeoutMillis maximum wait of nested operations of the {@value #STRIPED} strategy, in milliseconds
+     */
+    static ProcessInstanceLockStrategy of(String strategy, int stripes, long timeoutMillis) {
+        switch (strategy) {
+            case ATOMIC:
+                return ProcessInstanceAtomicLockStrategy.instance();
+            case STRIPED:
+                return ProcessInstanceStripedLockStrategy.instance(stripes, timeoutMillis);
+            default:
+                throw new IllegalArgumentException("Unknown process instance lock strategy " + strategy);
+        }
+    }
+
 }
@@ -0,0 +1,219 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.process.impl.lock;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Lock strategy backed by a fixed array of stripes, chosen by hashing the process instance id. Each stripe keeps
+ * the reentrant locks of the instances of the stripe being operated on, and recycles them once released, so no
+ * lock holder is allocated nor registered in a shared map per operation. Stripes are only held while looking up
+ * a lock, so unrelated instances sharing a stripe never wait for each other.
+ * <p>
+ * Nested operations on other instances (e.g. a sub process) could deadlock with threads locking the same
+ * instances the other way round. A thread already holding the lock of another instance therefore waits at most
+ * the configured timeout, after which the operation fails with an {@link IllegalStateException} instead of
+ * blocking forever.
+ */
+public class ProcessInstanceStripedLockStrategy implements ProcessInstanceLockStrategy {
+
+    public static final int DEFAULT_STRIPES = 1024;
+
+    public static final long DEFAULT_TIMEOUT_MILLIS = 30000L;
+
+    private static final Logger LOG = LoggerFactory.getLogger(ProcessInstanceStripedLockStrategy.class);
+
+    // released locks kept per stripe for reuse
+    private static final int MAX_RECYCLED_LOCKS = 4;
+
+    private static ProcessInstanceStripedLockStrategy INSTANCE;
+
+    private final Stripe[] stripes;
+    private final int mask;
+    private final long timeoutMillis;
+    private final ThreadLocal<int[]> heldLocks = ThreadLocal.withInitial(() -> new int[1]);
+
+    public ProcessInstanceStripedLockStrategy(int stripes) {
+        this(stripes, DEFAULT_TIMEOUT_MILLIS);
+    }
+
+    public ProcessInstanceStripedLockStrategy(int stripes, long timeoutMillis) {
+        if (stripes <= 0) {
+            throw new IllegalArgumentException("Number of stripes must be positive but was " + stripes);
+        }
+        // round up to a power of two so the stripe can be computed with a mask
+        int size = Integer.highestOneBit(stripes);
+        if (size < stripes) {
+            size <<= 1;
+        }
+        this.stripes = new Stripe[size];
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new Stripe();
+        }
+        this.mask = size - 1;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    @Override
+    public <T> T executeOperation(String processInstanceId, WorkflowAtomicExecutor<T> executor) {
+        ProcessInstanceLock lock = acquire(processInstanceId);
+        try {
+            return executor.execute();
+        } finally {
+            lock.release();
+        }
+    }
+
+    @Override
+    public ProcessInstanceLock acquire(String processInstanceId) {
+        Stripe stripe = stripes[stripeFor(processInstanceId)];
+        InstanceLock lock = stripe.reference(processInstanceId);
+        int[] held = heldLocks.get();
+        try {
+            // a thread holding no other lock cannot take part in a deadlock by waiting, neither can one reentering
+            lock(processInstanceId, lock, held[0] == 0 || lock.isHeldByCurrentThread());
+        } catch (RuntimeException e) {
+            stripe.dereference(lock);
+            throw e;
+        }
+        held[0]++;
+        LOG.trace("Lock acquired for {}", processInstanceId);
+        return () -> {
+            held[0]--;
+            lock.unlock();
+            stripe.dereference(lock);
+            LOG.trace("Lock released for {}", processInstanceId);
+        };
+    }
+
+    private void lock(String processInstanceId, ReentrantLock lock, boolean withoutLimit) {
+        if (withoutLimit) {
+            lock.lock();
+            return;
+        }
+        try {
+            if (!lock.tryLock(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("Timeout of " + timeoutMillis + " ms waiting for the lock of process instance " + processInstanceId
+                        + " while holding the lock of another one");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for the lock of process instance " + processInstanceId, e);
+        }
+    }
+
+    boolean isLocked(String processInstanceId) {
+        return stripes[stripeFor(processInstanceId)].isLocked(processInstanceId);
+    }
+
+    int stripeFor(String processInstanceId) {
+        int hash = processInstanceId.hashCode();
+        // spread higher bits, as done by HashMap, since uuid strings hash poorly on the lower ones
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    int stripes() {
+        return stripes.length;
+    }
+
+    /**
+     * Returns the shared striped lock strategy, created with the given settings on first use
+     */
+    public static synchronized ProcessInstanceLockStrategy instance(int stripes, long timeoutMillis) {
+        if (INSTANCE == null) {
+            INSTANCE = new ProcessInstanceStripedLockStrategy(stripes, timeoutMillis);
+        }
+        return INSTANCE;
+    }
+
+    private static class InstanceLock extends ReentrantLock {
+
+        private static final long serialVersionUID = 1L;
+
+        private String processInstanceId;
+        private int references;
+        private InstanceLock next;
+    }
+
+    /**
+     * Locks of the instances of a stripe referenced by an operation, plus a few released ones kept for reuse
+     */
+    private static class Stripe {
+
+        private InstanceLock referenced;
+        private InstanceLock recycled;
+        private int recycledCount;
+
+        synchronized InstanceLock reference(String processInstanceId) {
+            for (InstanceLock lock = referenced; lock != null; lock = lock.next) {
+                if (lock.processInstanceId.equals(processInstanceId)) {
+                    lock.references++;
+                    return lock;
+                }
+            }
+            InstanceLock lock = recycled;
+            if (lock == null) {
+                lock = new InstanceLock();
+            } else {
+                recycled = lock.next;
+                recycledCount--;
+            }
+            lock.processInstanceId = processInstanceId;
+            lock.references = 1;
+            lock.next = referenced;
+            referenced = lock;
+            return lock;
+        }
+
+        synchronized void dereference(InstanceLock lock) {
+            if (--lock.references > 0) {
+                return;
+            }
+            if (referenced == lock) {
+                referenced = lock.next;
+            } else {
+                InstanceLock previous = referenced;
+                while (previous.next != lock) {
+                    previous = previous.next;
+                }
+                previous.next = lock.next;
+            }
+            lock.processInstanceId = null;
+            lock.next = null;
+            if (recycledCount < MAX_RECYCLED_LOCKS) {
+                lock.next = recycled;
+                recycled = lock;
+                recycledCount++;
+            }
+        }
+
+        synchronized boolean isLocked(String processInstanceId) {
+            for (InstanceLock lock = referenced; lock != null; lock = lock.next) {
+                if (lock.processInstanceId.equals(processInstanceId)) {
+                    return lock.isLocked();
+                }
+            }
+            return false;
+        }
+    }
+}
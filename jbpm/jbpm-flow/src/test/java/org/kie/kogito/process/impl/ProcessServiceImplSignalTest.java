@@ -20,6 +20,7 @@ package org.kie.kogito.process.impl;
 
 import java.util.Collections;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -40,6 +41,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -232,6 +234,42 @@ class ProcessServiceImplSignalTest {
     /**
      * Test model for testing
      */
+    @Test
+    void testLoadAndSignalProcessInstance_LoadsInstanceOnce() {
+        String processInstanceId = "test-signal-instance4";
+        String signalName = "Message-HelloMartin";
+        AtomicInteger loads = new AtomicInteger();
+
+        when(processInstance.id()).thenReturn(processInstanceId);
+        when(processInstances.acceptingEventType(signalName, processInstanceId))
+                .thenReturn(Stream.of(processInstance));
+        when(processInstance.checkError()).thenReturn(processInstance);
+
+        Optional<ProcessInstance<TestModel>> result = processService.loadAndSignalProcessInstance(process, () -> {
+            loads.incrementAndGet();
+            return Optional.of(processInstance);
+        }, "test-data", signalName);
+
+        assertThat(result).contains(processInstance);
+        assertThat(loads).hasValue(1);
+        verify(processInstance).send(any());
+    }
+
+    @Test
+    void testLoadAndSignalProcessInstance_NotAcceptingSignal_ReturnsInstance() {
+        String processInstanceId = "test-signal-instance5";
+        String signalName = "Message-InvalidSignal";
+
+        when(processInstance.id()).thenReturn(processInstanceId);
+        when(processInstances.acceptingEventType(signalName, processInstanceId))
+                .thenReturn(Stream.empty());
+
+        Optional<ProcessInstance<TestModel>> result = processService.loadAndSignalProcessInstance(process, () -> Optional.of(processInstance), "test-data", signalName);
+
+        assertThat(result).contains(processInstance);
+        verify(processInstance, never()).send(any());
+    }
+
     static class TestModel implements MappableToModel<TestModel>, Model {
         @Override
         public TestModel toModel() {
@@ -0,0 +1,215 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.process.impl;
+
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import org.jbpm.workflow.instance.WorkflowProcessInstance;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.Model;
+import org.kie.kogito.event.EventBatch;
+import org.kie.kogito.event.EventManager;
+import org.kie.kogito.process.MutableProcessInstances;
+import org.kie.kogito.process.Process;
+import org.kie.kogito.process.ProcessInstanceReadMode;
+import org.kie.kogito.process.impl.lock.ProcessInstanceLock;
+import org.kie.kogito.services.uow.CollectingUnitOfWork;
+import org.kie.kogito.uow.UnitOfWork;
+import org.kie.kogito.uow.UnitOfWorkManager;
+import org.mockito.InOrder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class WriteBehindProcessInstancesTest {
+
+    private static final String ID = "instance-1";
+
+    private MutableProcessInstances<Model> delegate;
+    private UnitOfWorkManager unitOfWorkManager;
+    private EventManager eventManager;
+    private Process<Model> process;
+    private WriteBehindProcessInstances<Model> instances;
+
+    @BeforeEach
+    void setup() {
+        delegate = mock(MutableProcessInstances.class);
+        unitOfWorkManager = mock(UnitOfWorkManager.class);
+        eventManager = mock(EventManager.class);
+        when(eventManager.newBatch()).thenReturn(mock(EventBatch.class));
+        process = mock(Process.class);
+        when(process.id()).thenReturn("process");
+        instances = new WriteBehindProcessInstances<>(delegate, unitOfWorkManager);
+    }
+
+    @Test
+    void testUpdateWrittenOnlyOnceAtEnd() {
+        UnitOfWork unitOfWork = begin();
+        AbstractProcessInstance<Model> processInstance = processInstance();
+
+        instances.update(ID, processInstance);
+        instances.update(ID, processInstance);
+        verify(delegate, never()).update(anyString(), any());
+        assertThat(instances.findById(ID, ProcessInstanceReadMode.MUTABLE)).containsSame(processInstance);
+
+        unitOfWork.end();
+        verify(delegate).update(ID, processInstance);
+    }
+
+    @Test
+    void testConcurrentUnitsOfWorkOnSameInstance() {
+        UnitOfWork first = begin();
+        AbstractProcessInstance<Model> firstInstance = processInstance();
+        instances.update(ID, firstInstance);
+
+        UnitOfWork second = begin();
+        AbstractProcessInstance<Model> secondInstance = processInstance();
+        instances.update(ID, secondInstance);
+
+        current(first);
+        assertThat(instances.findById(ID, ProcessInstanceReadMode.MUTABLE)).containsSame(firstInstance);
+        first.end();
+        verify(delegate).update(ID, firstInstance);
+
+        current(second);
+        assertThat(instances.findById(ID, ProcessInstanceReadMode.MUTABLE)).containsSame(secondInstance);
+        second.end();
+        verify(delegate).update(ID, secondInstance);
+    }
+
+    @Test
+    void testOtherUnitOfWorkReadsStoredState() {
+        UnitOfWork first = begin();
+        instances.update(ID, processInstance());
+
+        begin();
+        when(delegate.findById(ID, ProcessInstanceReadMode.MUTABLE)).thenReturn(Optional.empty());
+        when(delegate.exists(ID)).thenReturn(false);
+        assertThat(instances.findById(ID, ProcessInstanceReadMode.MUTABLE)).isEmpty();
+        assertThat(instances.exists(ID)).isFalse();
+
+        current(first);
+        assertThat(instances.exists(ID)).isTrue();
+    }
+
+    @Test
+    void testAbortDiscardsPendingUpdate() {
+        UnitOfWork unitOfWork = begin();
+        instances.update(ID, processInstance());
+
+        unitOfWork.abort();
+        verify(delegate, never()).update(anyString(), any());
+
+        begin();
+        when(delegate.findById(ID, ProcessInstanceReadMode.MUTABLE)).thenReturn(Optional.empty());
+        assertThat(instances.findById(ID, ProcessInstanceReadMode.MUTABLE)).isEmpty();
+    }
+
+    @Test
+    void testLockHeldUntilEndOfUnitOfWork() {
+        UnitOfWork unitOfWork = begin();
+        AbstractProcessInstance<Model> processInstance = processInstance();
+        ProcessInstanceLock lock = mock(ProcessInstanceLock.class);
+        when(processInstance.internalAcquireLock()).thenReturn(lock);
+        Consumer<AbstractProcessInstance<?>> storeReload = mock(Consumer.class);
+        processInstance.reloadSupplier = storeReload;
+
+        instances.update(ID, processInstance);
+        instances.update(ID, processInstance);
+        verify(processInstance, times(1)).internalAcquireLock();
+        verify(lock, never()).release();
+
+        unitOfWork.end();
+        InOrder inOrder = inOrder(processInstance, delegate, lock);
+        inOrder.verify(processInstance).internalSetReloadSupplier(storeReload);
+        inOrder.verify(delegate).update(ID, processInstance);
+        inOrder.verify(lock).release();
+    }
+
+    @Test
+    void testAbortReleasesLock() {
+        UnitOfWork unitOfWork = begin();
+        AbstractProcessInstance<Model> processInstance = processInstance();
+        ProcessInstanceLock lock = mock(ProcessInstanceLock.class);
+        when(processInstance.internalAcquireLock()).thenReturn(lock);
+        Consumer<AbstractProcessInstance<?>> storeReload = mock(Consumer.class);
+        processInstance.reloadSupplier = storeReload;
+
+        instances.update(ID, processInstance);
+        unitOfWork.abort();
+        verify(processInstance).internalSetReloadSupplier(storeReload);
+        verify(lock).release();
+    }
+
+    @Test
+    void testRemoveAfterUpdate() {
+        UnitOfWork unitOfWork = begin();
+        instances.update(ID, processInstance());
+        instances.remove(ID);
+
+        unitOfWork.end();
+        verify(delegate).remove(ID);
+        verify(delegate, never()).update(anyString(), any());
+    }
+
+    @Test
+    void testRemoveKeepsOtherUnitOfWorkUpdate() {
+        UnitOfWork first = begin();
+        AbstractProcessInstance<Model> firstInstance = processInstance();
+        instances.update(ID, firstInstance);
+
+        UnitOfWork second = begin();
+        instances.update(ID, processInstance());
+        instances.remove(ID);
+        second.end();
+
+        current(first);
+        first.end();
+        verify(delegate).update(ID, firstInstance);
+    }
+
+    private UnitOfWork begin() {
+        UnitOfWork unitOfWork = new CollectingUnitOfWork(eventManager);
+        unitOfWork.start();
+        current(unitOfWork);
+        return unitOfWork;
+    }
+
+    private void current(UnitOfWork unitOfWork) {
+        when(unitOfWorkManager.currentUnitOfWork()).thenReturn(unitOfWork);
+    }
+
+    private AbstractProcessInstance<Model> processInstance() {
+        AbstractProcessInstance<Model> processInstance = mock(AbstractProcessInstance.class);
+        when(processInstance.id()).thenReturn(ID);
+        when(processInstance.process()).thenReturn(process);
+        when(processInstance.internalGetProcessInstance()).thenReturn(mock(WorkflowProcessInstance.class));
+        when(processInstance.internalAcquireLock()).thenReturn(mock(ProcessInstanceLock.class));
+        return processInstance;
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.process.impl.lock;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the lock strategies executing operations over a set of process instance ids.
+ * Run it through {@link #main(String[])}, it executes every benchmark with 1, 8 and 64 threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProcessInstanceLockStrategyBenchmark {
+
+    @Param({ "atomic", "striped" })
+    private String strategy;
+
+    @Param({ "1", "1024" })
+    private int processInstances;
+
+    private ProcessInstanceLockStrategy lockStrategy;
+    private String[] ids;
+
+    @Setup
+    public void setup() {
+        lockStrategy = ProcessInstanceLockStrategy.STRIPED.equals(strategy) ? new ProcessInstanceStripedLockStrategy(1024) : new ProcessInstanceAtomicLockStrategy();
+        ids = new String[processInstances];
+        for (int i = 0; i < processInstances; i++) {
+            ids[i] = UUID.randomUUID().toString();
+        }
+    }
+
+    @Benchmark
+    public Integer executeOperation() {
+        String id = ids[ThreadLocalRandom.current().nextInt(ids.length)];
+        return lockStrategy.executeOperation(id, id::length);
+    }
+
+    @Benchmark
+    public Integer executeReentrantOperation() {
+        String id = ids[ThreadLocalRandom.current().nextInt(ids.length)];
+        return lockStrategy.executeOperation(id, () -> lockStrategy.executeOperation(id, id::length));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (int threads : new int[] { 1, 8, 64 }) {
+            Options options = new OptionsBuilder()
+                    .include(ProcessInstanceLockStrategyBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .build();
+            new Runner(options).run();
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.process.impl.lock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ProcessInstanceStripedLockStrategyTest {
+
+    @Test
+    public void testStripesRoundedToPowerOfTwo() {
+        assertThat(new ProcessInstanceStripedLockStrategy(1).stripes()).isEqualTo(1);
+        assertThat(new ProcessInstanceStripedLockStrategy(100).stripes()).isEqualTo(128);
+        assertThat(new ProcessInstanceStripedLockStrategy(256).stripes()).isEqualTo(256);
+        assertThatThrownBy(() -> new ProcessInstanceStripedLockStrategy(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testReentrantOperation() {
+        ProcessInstanceStripedLockStrategy strategy = new ProcessInstanceStripedLockStrategy(16);
+        assertThat(strategy.executeOperation("pi1", () -> strategy.executeOperation("pi1", () -> "done"))).isEqualTo("done");
+        assertThat(strategy.isLocked("pi1")).isFalse();
+    }
+
+    @Test
+    public void testNestedOperationOnSharedStripeDoesNotWait() throws Exception {
+        ProcessInstanceStripedLockStrategy strategy = new ProcessInstanceStripedLockStrategy(2, 100);
+        String busy = "pi1";
+        String shared = IntStream.range(2, 100).mapToObj(i -> "pi" + i).filter(id -> strategy.stripeFor(id) == strategy.stripeFor(busy)).findFirst().orElseThrow();
+        String outer = IntStream.range(2, 100).mapToObj(i -> "pi" + i).filter(id -> strategy.stripeFor(id) != strategy.stripeFor(busy)).findFirst().orElseThrow();
+        CountDownLatch busyLocked = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.execute(() -> strategy.executeOperation(busy, () -> {
+                busyLocked.countDown();
+                try {
+                    return done.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }));
+            assertThat(busyLocked.await(10, TimeUnit.SECONDS)).isTrue();
+            assertThat(strategy.executeOperation(outer, () -> strategy.executeOperation(shared, () -> outer + shared))).isEqualTo(outer + shared);
+        } finally {
+            done.countDown();
+            executor.shutdown();
+        }
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(strategy.isLocked(busy)).isFalse();
+        assertThat(strategy.isLocked(shared)).isFalse();
+    }
+
+    @Test
+    public void testOperationsOnSameInstanceAreExclusive() throws InterruptedException {
+        ProcessInstanceStripedLockStrategy strategy = new ProcessInstanceStripedLockStrategy(16);
+        int[] counter = new int[1];
+        int threads = 8;
+        int iterations = 1000;
+        CountDownLatch latch = new CountDownLatch(threads);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int i = 0; i < threads; i++) {
+                executor.execute(() -> {
+                    for (int j = 0; j < iterations; j++) {
+                        strategy.executeOperation("pi1", () -> counter[0]++);
+                    }
+                    latch.countDown();
+                });
+            }
+            assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(counter[0]).isEqualTo(threads * iterations);
+    }
+
+    @Test
+    public void testNestedOperationsInOppositeOrderDoNotDeadlock() throws Exception {
+        ProcessInstanceStripedLockStrategy strategy = new ProcessInstanceStripedLockStrategy(16, 100);
+        String first = "pi1";
+        String second = IntStream.range(2, 100).mapToObj(i -> "pi" + i).filter(id -> strategy.stripeFor(id) != strategy.stripeFor(first)).findFirst().orElseThrow();
+        CountDownLatch outerLocked = new CountDownLatch(2);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> firstThenSecond = executor.submit(() -> nested(strategy, first, second, outerLocked));
+            Future<String> secondThenFirst = executor.submit(() -> nested(strategy, second, first, outerLocked));
+
+            List<String> results = new ArrayList<>();
+            int failures = 0;
+            for (Future<String> future : List.of(firstThenSecond, secondThenFirst)) {
+                try {
+                    results.add(future.get(10, TimeUnit.SECONDS));
+                } catch (ExecutionException e) {
+                    assertThat(e.getCause()).isInstanceOf(IllegalStateException.class);
+                    failures++;
+                }
+            }
+            assertThat(results).hasSize(1);
+            assertThat(failures).isOne();
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(strategy.isLocked(first)).isFalse();
+        assertThat(strategy.isLocked(second)).isFalse();
+    }
+
+    private static String nested(ProcessInstanceStripedLockStrategy strategy, String outer, String inner, CountDownLatch outerLocked) {
+        return strategy.executeOperation(outer, () -> {
+            outerLocked.countDown();
+            try {
+                outerLocked.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return strategy.executeOperation(inner, () -> outer + inner);
+        });
+    }
+}
@@ -20,6 +20,7 @@ package org.jbpm.flow.serialization;
 
 import java.util.function.Supplier;
 
+import org.jbpm.flow.serialization.protobuf.KogitoProcessInstanceProtobuf;
 import org.jbpm.ruleflow.instance.RuleFlowProcessInstance;
 import org.kie.kogito.internal.process.runtime.HeadersPersistentConfig;
 import org.kie.kogito.process.Process;
@@ -37,6 +38,8 @@ public final class MarshallerContextName<T> {
             new MarshallerContextName<>("MARSHALLER_INSTANCE_LISTENERS", () -> new ProcessInstanceMarshallerListener[0]);
     public static final MarshallerContextName<NodeInstanceReader[]> MARSHALLER_NODE_INSTANCE_READER = new MarshallerContextName<>("MARSHALLER_NODE_INSTANCE_READER", () -> new NodeInstanceReader[0]);
     public static final MarshallerContextName<NodeInstanceWriter[]> MARSHALLER_NODE_INSTANCE_WRITER = new MarshallerContextName<>("MARSHALLER_NODE_INSTANCE_WRITER", () -> new NodeInstanceWriter[0]);
+    // message built by the protobuf writer, so delta persistence does not need to parse the bytes just written
+    public static final MarshallerContextName<KogitoProcessInstanceProtobuf.ProcessInstance> MARSHALLER_WRITTEN_PROCESS_INSTANCE = new MarshallerContextName<>("WRITTEN_PROCESS_INSTANCE");
 
     public static final String MARSHALLER_FORMAT_JSON = "json";
 
@@ -0,0 +1,220 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbpm.flow.serialization;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PushbackInputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jbpm.util.JbpmClassLoaderUtil;
+
+/**
+ * Optional compression of marshalled process instances.
+ * A compressed payload starts with a zero byte, which never starts a protobuf message nor a json document, followed by
+ * the id of the {@link PayloadCompressor} and the uncompressed size as a big endian int. Payloads without that header
+ * are returned as they are, so instances stored before compression was enabled are still readable.
+ * Payloads smaller than the threshold, or which would not shrink, are stored uncompressed.
+ */
+public final class PayloadCompression {
+
+    /**
+     * Name of the compressor, <code>none</code> by default.
+     */
+    public static final String COMPRESSION_PROPERTY = "kogito.persistence.compression";
+    /**
+     * Minimum payload size in bytes to be compressed.
+     */
+    public static final String COMPRESSION_THRESHOLD_PROPERTY = "kogito.persistence.compression.threshold";
+    public static final String NONE = "none";
+    public static final int DEFAULT_THRESHOLD = 1024;
+
+    private static final byte HEADER = 0;
+    private static final int HEADER_SIZE = 6;
+
+    private static volatile Map<Byte, PayloadCompressor> compressors;
+
+    private final PayloadCompressor compressor;
+    private final int threshold;
+
+    private final LongAdder payloads = new LongAdder();
+    private final LongAdder compressedPayloads = new LongAdder();
+    private final LongAdder rawBytes = new LongAdder();
+    private final LongAdder storedBytes = new LongAdder();
+
+    private PayloadCompression(PayloadCompressor compressor, int threshold) {
+        this.compressor = compressor;
+        this.threshold = threshold;
+    }
+
+    public static PayloadCompression none() {
+        return new PayloadCompression(null, Integer.MAX_VALUE);
+    }
+
+    public static PayloadCompression of(PayloadCompressor compressor, int threshold) {
+        if (compressor.id() <= 0) {
+            throw new IllegalArgumentException("Payload compressor " + compressor.name() + " must have a strictly positive id");
+        }
+        return new PayloadCompression(compressor, threshold);
+    }
+
+    /**
+     * Looks up the compressor by its configured name, see {@link #COMPRESSION_PROPERTY}.
+     *
+     * @param compressorName name of a registered {@link PayloadCompressor}, <code>none</code> or null to disable compression
+     * @param threshold minimum payload size in bytes to be compressed
+     */
+    public static PayloadCompression of(String compressorName, int threshold) {
+        if (compressorName == null || NONE.equalsIgnoreCase(compressorName)) {
+            return none();
+        }
+        PayloadCompressor compressor = compressors().values().stream().filter(c -> c.name().equalsIgnoreCase(compressorName)).findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown payload compressor " + compressorName));
+        return of(compressor, threshold);
+    }
+
+    public boolean isEnabled() {
+        return compressor != null;
+    }
+
+    /**
+     * Returns the first <code>length</code> bytes of the data, compressed when worth it.
+     */
+    public byte[] encode(byte[] data, int length) throws IOException {
+        if (isEnabled() && length >= threshold) {
+            ByteArrayOutputStream output = new ByteArrayOutputStream(length / 2 + HEADER_SIZE);
+            writeHeader(output, length);
+            compressor.compress(data, 0, length, output);
+            if (output.size() < length) {
+                record(length, output.size());
+                return output.toByteArray();
+            }
+        }
+        record(length, length);
+        return length == data.length ? data : Arrays.copyOf(data, length);
+    }
+
+    /**
+     * Writes the first <code>length</code> bytes of the data, compressed when worth it, returning the number of bytes written.
+     */
+    public int encode(byte[] data, int length, OutputStream output) throws IOException {
+        byte[] encoded = isEnabled() && length >= threshold ? encode(data, length) : null;
+        if (encoded == null) {
+            record(length, length);
+            output.write(data, 0, length);
+            return length;
+        }
+        output.write(encoded);
+        return encoded.length;
+    }
+
+    public byte[] decode(byte[] data) throws IOException {
+        if (data.length == 0 || data[0] != HEADER) {
+            return data;
+        }
+        return decompress(new ByteArrayInputStream(data, 1, data.length - 1));
+    }
+
+    public InputStream decode(InputStream input) throws IOException {
+        PushbackInputStream pushback = new PushbackInputStream(input, 1);
+        int first = pushback.read();
+        if (first == HEADER) {
+            return new ByteArrayInputStream(decompress(pushback));
+        }
+        if (first >= 0) {
+            pushback.unread(first);
+        }
+        return pushback;
+    }
+
+    private byte[] decompress(InputStream input) throws IOException {
+        DataInputStream header = new DataInputStream(input);
+        byte id = header.readByte();
+        PayloadCompressor payloadCompressor = compressor != null && compressor.id() == id ? compressor : compressors().get(id);
+        if (payloadCompressor == null) {
+            throw new IOException("No payload compressor registered with id " + id);
+        }
+        byte[] data = new byte[header.readInt()];
+        payloadCompressor.decompress(input, data);
+        return data;
+    }
+
+    private void writeHeader(ByteArrayOutputStream output, int length) {
+        output.write(HEADER);
+        output.write(compressor.id());
+        output.write(length >>> 24);
+        output.write(length >>> 16);
+        output.write(length >>> 8);
+        output.write(length);
+    }
+
+    private void record(int raw, int stored) {
+        payloads.increment();
+        rawBytes.add(raw);
+        storedBytes.add(stored);
+        if (stored < raw) {
+            compressedPayloads.increment();
+        }
+    }
+
+    private static Map<Byte, PayloadCompressor> compressors() {
+        Map<Byte, PayloadCompressor> result = compressors;
+        if (result == null) {
+            result = new HashMap<>();
+            for (PayloadCompressor payloadCompressor : ServiceLoader.load(PayloadCompressor.class, JbpmClassLoaderUtil.findClassLoader())) {
+                result.put(payloadCompressor.id(), payloadCompressor);
+            }
+            compressors = result;
+        }
+        return result;
+    }
+
+    /**
+     * Number of payloads written, compressed or not.
+     */
+    public long payloads() {
+        return payloads.sum();
+    }
+
+    public long compressedPayloads() {
+        return compressedPayloads.sum();
+    }
+
+    /**
+     * Total size of the payloads written, before compression.
+     */
+    public long rawBytes() {
+        return rawBytes.sum();
+    }
+
+    /**
+     * Total size of the payloads written, as stored.
+     */
+    public long storedBytes() {
+        return storedBytes.sum();
+    }
+}
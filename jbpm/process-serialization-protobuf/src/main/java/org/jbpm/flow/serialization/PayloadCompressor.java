@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbpm.flow.serialization;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Compression algorithm applied to marshalled process instances, registered through the {@link java.util.ServiceLoader}.
+ * The id is stored along with every compressed payload so it can be read back whatever compressor is configured for writing.
+ */
+public interface PayloadCompressor {
+
+    /**
+     * Unique, strictly positive, identifier of the algorithm, stored in the payload header.
+     */
+    byte id();
+
+    /**
+     * Name used to select the compressor in the configuration.
+     */
+    String name();
+
+    void compress(byte[] data, int offset, int length, OutputStream output) throws IOException;
+
+    /**
+     * Decompresses the remaining content of the input into the output array, whose length is the uncompressed size.
+     */
+    void decompress(InputStream input, byte[] output) throws IOException;
+}
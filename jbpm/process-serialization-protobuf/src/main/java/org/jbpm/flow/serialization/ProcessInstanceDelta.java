@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbpm.flow.serialization;
+
+/**
+ * Result of marshalling a process instance in delta mode: either a full snapshot, which replaces the stored
+ * payload and every patch written on top of it, or a patch to be appended after the existing ones.
+ */
+public final class ProcessInstanceDelta {
+
+    private final boolean snapshot;
+    private final byte[] payload;
+    private final int sequence;
+    private final boolean discardPatches;
+    private final Runnable onPersisted;
+
+    private ProcessInstanceDelta(boolean snapshot, byte[] payload, int sequence, boolean discardPatches, Runnable onPersisted) {
+        this.snapshot = snapshot;
+        this.payload = payload;
+        this.sequence = sequence;
+        this.discardPatches = discardPatches;
+        this.onPersisted = onPersisted;
+    }
+
+    static ProcessInstanceDelta snapshot(byte[] payload, boolean discardPatches, Runnable onPersisted) {
+        return new ProcessInstanceDelta(true, payload, 0, discardPatches, onPersisted);
+    }
+
+    static ProcessInstanceDelta patch(byte[] payload, int sequence, Runnable onPersisted) {
+        return new ProcessInstanceDelta(false, payload, sequence, false, onPersisted);
+    }
+
+    public boolean isSnapshot() {
+        return snapshot;
+    }
+
+    public byte[] getPayload() {
+        return payload;
+    }
+
+    /**
+     * Position of a patch after the snapshot, starting at 1; patches must be read back in this order.
+     */
+    public int getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Whether patches might exist for the instance and have to be removed together with writing this snapshot.
+     */
+    public boolean isDiscardPatches() {
+        return discardPatches;
+    }
+
+    /**
+     * Must be invoked once the delta was successfully written, so the next delta is computed against it.
+     */
+    public void persisted() {
+        onPersisted.run();
+    }
+}
@@ -21,6 +21,7 @@ package org.jbpm.flow.serialization;
 import org.kie.kogito.internal.process.runtime.KogitoNodeInstance;
 import org.kie.kogito.internal.process.runtime.KogitoProcessRuntime;
 import org.kie.kogito.internal.process.runtime.KogitoWorkflowProcessInstance;
+import org.kie.kogito.process.Process;
 
 public interface ProcessInstanceMarshallerListener {
 
@@ -40,4 +41,11 @@ public interface ProcessInstanceMarshallerListener {
 
     }
 
+    /**
+     * Invoked once a process instance payload is produced, with its size before and after compression.
+     */
+    default void afterMarshallPayload(Process<?> process, int rawSize, int storedSize) {
+
+    }
+
 }
@@ -20,6 +20,10 @@ package org.jbpm.flow.serialization;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -30,8 +34,12 @@ import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
+import org.jbpm.flow.serialization.impl.ProtobufProcessInstanceDeltaCodec;
 import org.jbpm.flow.serialization.impl.ProtobufProcessInstanceMarshallerFactory;
+import org.jbpm.flow.serialization.protobuf.KogitoProcessInstanceProtobuf;
 import org.jbpm.util.JbpmClassLoaderUtil;
+import org.jbpm.workflow.instance.impl.PersistedProcessInstanceState;
+import org.jbpm.workflow.instance.impl.WorkflowProcessInstanceImpl;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstance;
 import org.kie.kogito.process.ProcessInstanceReadMode;
@@ -42,6 +50,8 @@ import org.slf4j.LoggerFactory;
 public class ProcessInstanceMarshallerService {
     private static final Logger LOGGER = LoggerFactory.getLogger(ProcessInstanceMarshallerService.class);
 
+    private static final int INITIAL_BUFFER_SIZE = 4 * 1024;
+
     private List<ObjectMarshallerStrategy> strats;
 
     private List<ProcessInstanceMarshallerListener> listeners;
@@ -53,6 +63,16 @@ public class ProcessInstanceMarshallerService {
     private List<NodeInstanceReader> readers;
     private List<NodeInstanceWriter> writers;
 
+    private int deltaMaxPatches;
+
+    private PayloadCompression compression;
+
+    // immutable snapshots taken at build time and shared by every context
+    private ObjectMarshallerStrategy[] strategiesArray;
+    private ProcessInstanceMarshallerListener[] listenersArray;
+    private NodeInstanceReader[] readersArray;
+    private NodeInstanceWriter[] writersArray;
+
     public class Builder {
 
         public Builder() {
@@ -114,6 +134,31 @@ public class ProcessInstanceMarshallerService {
             return this;
         }
 
+        /**
+         * Enables delta persistence, see {@link ProcessInstanceMarshallerService#marshallProcessInstanceDelta(ProcessInstance)}.
+         *
+         * @param maxPatches patches written on top of a snapshot before compacting them, zero disables delta persistence
+         */
+        public Builder withDeltaPersistence(int maxPatches) {
+            ProcessInstanceMarshallerService.this.deltaMaxPatches = maxPatches;
+            return this;
+        }
+
+        public Builder withPayloadCompression(PayloadCompression compression) {
+            ProcessInstanceMarshallerService.this.compression = compression;
+            return this;
+        }
+
+        /**
+         * Enables payload compression, see {@link PayloadCompression#of(String, int)}.
+         *
+         * @param compressorName name of the compressor, <code>none</code> disables compression
+         * @param threshold minimum payload size in bytes to be compressed
+         */
+        public Builder withPayloadCompression(String compressorName, int threshold) {
+            return withPayloadCompression(PayloadCompression.of(compressorName, threshold));
+        }
+
         public Builder withObjectMarshallerStrategies(ObjectMarshallerStrategy... strategies) {
             for (ObjectMarshallerStrategy strategy : strategies) {
                 ProcessInstanceMarshallerService.this.strats.add(strategy);
@@ -125,6 +170,19 @@ public class ProcessInstanceMarshallerService {
             Collections.sort(ProcessInstanceMarshallerService.this.strats);
             Collections.sort(ProcessInstanceMarshallerService.this.readers);
             Collections.sort(ProcessInstanceMarshallerService.this.writers);
+            ProcessInstanceMarshallerService.this.strategiesArray = strats.toArray(ObjectMarshallerStrategy[]::new);
+            ProcessInstanceMarshallerService.this.listenersArray = listeners.toArray(ProcessInstanceMarshallerListener[]::new);
+            ProcessInstanceMarshallerService.this.readersArray = readers.toArray(NodeInstanceReader[]::new);
+            ProcessInstanceMarshallerService.this.writersArray = writers.toArray(NodeInstanceWriter[]::new);
+            if (deltaMaxPatches > 0 && (!(processInstanceMarshallerFactory instanceof ProtobufProcessInstanceMarshallerFactory)
+                    || MarshallerContextName.MARSHALLER_FORMAT_JSON.equals(contextEntries.get(MarshallerContextName.MARSHALLER_FORMAT)))) {
+                LOGGER.warn("Delta persistence requires the binary protobuf format, full process instances will be written");
+                ProcessInstanceMarshallerService.this.deltaMaxPatches = 0;
+            }
+            if (compression.isEnabled() && MarshallerContextName.MARSHALLER_FORMAT_JSON.equals(contextEntries.get(MarshallerContextName.MARSHALLER_FORMAT))) {
+                LOGGER.warn("Payload compression is not applied to the json format, process instances will be written uncompressed");
+                ProcessInstanceMarshallerService.this.compression = PayloadCompression.none();
+            }
             return ProcessInstanceMarshallerService.this;
         }
 
@@ -140,10 +198,15 @@ public class ProcessInstanceMarshallerService {
         this.readers = new ArrayList<>();
         this.writers = new ArrayList<>();
         this.contextEntries = new HashMap<>();
+        this.compression = PayloadCompression.none();
+        this.strategiesArray = new ObjectMarshallerStrategy[0];
+        this.listenersArray = new ProcessInstanceMarshallerListener[0];
+        this.readersArray = new NodeInstanceReader[0];
+        this.writersArray = new NodeInstanceWriter[0];
     }
 
     protected void setupEnvironment(MarshallerContext env) {
-        env.set(MarshallerContextName.OBJECT_MARSHALLING_STRATEGIES, strats.toArray(new ObjectMarshallerStrategy[strats.size()]));
+        env.set(MarshallerContextName.OBJECT_MARSHALLING_STRATEGIES, strategiesArray);
 
         for (Map.Entry<MarshallerContextName<Object>, Object> entry : contextEntries.entrySet()) {
             env.set(entry.getKey(), entry.getValue());
@@ -151,27 +214,96 @@ public class ProcessInstanceMarshallerService {
     }
 
     public byte[] marshallProcessInstance(ProcessInstance<?> processInstance) {
-        try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-            MarshallerWriterContext context = processInstanceMarshallerFactory.newWriterContext(baos);
+        MarshallingBuffer buffer = new MarshallingBuffer();
+        try {
+            writeRawProcessInstance(processInstance, buffer);
+            byte[] payload = compression.encode(buffer.buffer(), buffer.size());
+            payloadWritten(processInstance, buffer.size(), payload.length);
+            return payload;
+        } catch (IOException e) {
+            throw new ProcessInstanceMarshallerException("Error while compressing process instance", e);
+        }
+    }
+
+    /**
+     * Writes the process instance into the given stream, which is not closed by this method.
+     * The stream is written straight away, unless payload compression is enabled.
+     */
+    public void writeProcessInstance(ProcessInstance<?> processInstance, OutputStream output) {
+        if (!compression.isEnabled()) {
+            CountingOutputStream counting = new CountingOutputStream(output);
+            writeRawProcessInstance(processInstance, counting);
+            payloadWritten(processInstance, counting.count, counting.count);
+            return;
+        }
+        MarshallingBuffer buffer = new MarshallingBuffer();
+        try {
+            writeRawProcessInstance(processInstance, buffer);
+            payloadWritten(processInstance, buffer.size(), compression.encode(buffer.buffer(), buffer.size(), output));
+        } catch (IOException e) {
+            throw new ProcessInstanceMarshallerException("Error while compressing process instance", e);
+        }
+    }
+
+    private byte[] marshallRawProcessInstance(ProcessInstance<?> processInstance) {
+        MarshallingBuffer buffer = new MarshallingBuffer();
+        writeRawProcessInstance(processInstance, buffer);
+        return buffer.toByteArray();
+    }
+
+    private MarshallerWriterContext writeRawProcessInstance(ProcessInstance<?> processInstance, OutputStream output) {
+        try {
+            MarshallerWriterContext context = processInstanceMarshallerFactory.newWriterContext(output);
             context.set(MarshallerContextName.MARSHALLER_PROCESS, processInstance.process());
-            context.set(MarshallerContextName.MARSHALLER_INSTANCE_LISTENER, listeners.toArray(ProcessInstanceMarshallerListener[]::new));
-            context.set(MarshallerContextName.MARSHALLER_NODE_INSTANCE_WRITER, this.writers.toArray(NodeInstanceWriter[]::new));
+            context.set(MarshallerContextName.MARSHALLER_INSTANCE_LISTENER, listenersArray);
+            context.set(MarshallerContextName.MARSHALLER_NODE_INSTANCE_WRITER, writersArray);
             setupEnvironment(context);
             org.jbpm.flow.serialization.ProcessInstanceMarshaller marshaller = processInstanceMarshallerFactory.newKogitoProcessInstanceMarshaller();
             marshaller.writeProcessInstance(context, processInstance);
-            return baos.toByteArray();
+            return context;
         } catch (Exception e) {
             throw new ProcessInstanceMarshallerException("Error while marshalling process instance", e);
         }
     }
 
+    private byte[] encode(ProcessInstance<?> processInstance, byte[] data) throws IOException {
+        byte[] payload = compression.encode(data, data.length);
+        payloadWritten(processInstance, data.length, payload.length);
+        return payload;
+    }
+
+    private void payloadWritten(ProcessInstance<?> processInstance, int rawSize, int storedSize) {
+        for (ProcessInstanceMarshallerListener listener : listenersArray) {
+            listener.afterMarshallPayload(processInstance.process(), rawSize, storedSize);
+        }
+    }
+
     public ProcessInstance<?> unmarshallProcessInstance(byte[] data, Process<?> process, boolean readOnly) {
-        try (ByteArrayInputStream bais = new ByteArrayInputStream(data)) {
-            MarshallerReaderContext context = processInstanceMarshallerFactory.newReaderContext(bais);
+        try {
+            return readRawProcessInstance(new ByteArrayInputStream(compression.decode(data)), process, readOnly);
+        } catch (IOException e) {
+            throw new ProcessInstanceMarshallerException("Error while decompressing process instance", e);
+        }
+    }
+
+    /**
+     * Reads the process instance straight from the given stream, which is not closed by this method.
+     */
+    public ProcessInstance<?> readProcessInstance(InputStream input, Process<?> process, boolean readOnly) {
+        try {
+            return readRawProcessInstance(compression.decode(input), process, readOnly);
+        } catch (IOException e) {
+            throw new ProcessInstanceMarshallerException("Error while decompressing process instance", e);
+        }
+    }
+
+    private ProcessInstance<?> readRawProcessInstance(InputStream input, Process<?> process, boolean readOnly) {
+        try {
+            MarshallerReaderContext context = processInstanceMarshallerFactory.newReaderContext(input);
             context.set(MarshallerContextName.MARSHALLER_PROCESS, process);
             context.set(MarshallerContextName.MARSHALLER_INSTANCE_READ_ONLY, readOnly);
-            context.set(MarshallerContextName.MARSHALLER_INSTANCE_LISTENER, listeners.toArray(ProcessInstanceMarshallerListener[]::new));
-            context.set(MarshallerContextName.MARSHALLER_NODE_INSTANCE_READER, this.readers.toArray(NodeInstanceReader[]::new));
+            context.set(MarshallerContextName.MARSHALLER_INSTANCE_LISTENER, listenersArray);
+            context.set(MarshallerContextName.MARSHALLER_NODE_INSTANCE_READER, readersArray);
             setupEnvironment(context);
             org.jbpm.flow.serialization.ProcessInstanceMarshaller marshaller = processInstanceMarshallerFactory.newKogitoProcessInstanceMarshaller();
             return marshaller.readProcessInstance(context);
@@ -194,11 +326,11 @@ public class ProcessInstanceMarshallerService {
             if (data == null) {
                 LOGGER.warn("Process Instance {} cannot be found", processInstance.id());
             }
-            try (ByteArrayInputStream bais = new ByteArrayInputStream(data)) {
+            try (ByteArrayInputStream bais = new ByteArrayInputStream(compression.decode(data))) {
                 MarshallerReaderContext context = processInstanceMarshallerFactory.newReaderContext(bais);
                 context.set(MarshallerContextName.MARSHALLER_PROCESS, processInstance.process());
-                context.set(MarshallerContextName.MARSHALLER_INSTANCE_LISTENER, listeners.toArray(ProcessInstanceMarshallerListener[]::new));
-                context.set(MarshallerContextName.MARSHALLER_NODE_INSTANCE_READER, this.readers.toArray(NodeInstanceReader[]::new));
+                context.set(MarshallerContextName.MARSHALLER_INSTANCE_LISTENER, listenersArray);
+                context.set(MarshallerContextName.MARSHALLER_NODE_INSTANCE_READER, readersArray);
                 setupEnvironment(context);
                 org.jbpm.flow.serialization.ProcessInstanceMarshaller marshaller =
                         processInstanceMarshallerFactory.newKogitoProcessInstanceMarshaller();
@@ -210,6 +342,100 @@ public class ProcessInstanceMarshallerService {
         };
     }
 
+    public boolean isDeltaPersistence() {
+        return deltaMaxPatches > 0;
+    }
+
+    /**
+     * Marshalls the process instance as a patch against the state last written for it when delta persistence is enabled,
+     * that state is known and fewer than the configured number of patches were written since the last snapshot.
+     * Otherwise, or when the patch would not be smaller, a full snapshot is returned.
+     * {@link ProcessInstanceDelta#persisted()} must be invoked once the result is stored.
+     */
+    public ProcessInstanceDelta marshallProcessInstanceDelta(ProcessInstance<?> processInstance) {
+        WorkflowProcessInstanceImpl internal = (WorkflowProcessInstanceImpl) ((AbstractProcessInstance<?>) processInstance).internalGetProcessInstance();
+        PersistedProcessInstanceState persisted = internal == null ? null : internal.getPersistedState();
+        try {
+            if (!isDeltaPersistence()) {
+                // patches are only known when left over by a previous run with delta persistence enabled
+                return ProcessInstanceDelta.snapshot(encode(processInstance, marshallRawProcessInstance(processInstance)), persisted != null && persisted.getPatches() > 0, () -> {
+                    if (internal != null) {
+                        internal.setPersistedState(null);
+                    }
+                });
+            }
+            byte[] data;
+            KogitoProcessInstanceProtobuf.ProcessInstance instance;
+            MarshallingBuffer buffer = new MarshallingBuffer();
+            instance = writeRawProcessInstance(processInstance, buffer).get(MarshallerContextName.MARSHALLER_WRITTEN_PROCESS_INSTANCE);
+            data = buffer.toByteArray();
+            if (persisted != null && persisted.getPatches() < deltaMaxPatches) {
+                byte[] patch = ProtobufProcessInstanceDeltaCodec.diff(instance, persisted);
+                if (patch != null && patch.length < data.length) {
+                    int sequence = persisted.getPatches() + 1;
+                    return ProcessInstanceDelta.patch(encode(processInstance, patch), sequence, () -> internal.setPersistedState(ProtobufProcessInstanceDeltaCodec.stateOf(instance, sequence)));
+                }
+            }
+            return ProcessInstanceDelta.snapshot(encode(processInstance, data), persisted == null || persisted.getPatches() > 0, () -> {
+                if (internal != null) {
+                    internal.setPersistedState(ProtobufProcessInstanceDeltaCodec.stateOf(instance, 0));
+                }
+            });
+        } catch (IOException e) {
+            throw new ProcessInstanceMarshallerException("Error while computing process instance delta", e);
+        }
+    }
+
+    /**
+     * Unmarshalls a process instance stored as a snapshot followed by the patches written on top of it, in sequence order.
+     */
+    public ProcessInstance<?> unmarshallProcessInstance(byte[] snapshot, List<byte[]> patches, Process<?> process, ProcessInstanceReadMode mode) {
+        if (patches.isEmpty() && !isDeltaPersistence()) {
+            return unmarshallProcessInstance(snapshot, process, mode);
+        }
+        try {
+            byte[] rawSnapshot = compression.decode(snapshot);
+            KogitoProcessInstanceProtobuf.ProcessInstance merged = ProtobufProcessInstanceDeltaCodec.merge(rawSnapshot, decode(patches));
+            ProcessInstance<?> processInstance = readRawProcessInstance(new ByteArrayInputStream(patches.isEmpty() ? rawSnapshot : merged.toByteArray()), process, mode.isReadOnly());
+            if (!mode.isReadOnly()) {
+                ((WorkflowProcessInstanceImpl) ((AbstractProcessInstance<?>) processInstance).internalGetProcessInstance())
+                        .setPersistedState(ProtobufProcessInstanceDeltaCodec.stateOf(merged, patches.size()));
+            }
+            return processInstance;
+        } catch (IOException e) {
+            throw new ProcessInstanceMarshallerException("Error while applying process instance patches", e);
+        }
+    }
+
+    /**
+     * Folds the patches into the snapshot, returning a payload readable by {@link #unmarshallProcessInstance(byte[], Process)}.
+     */
+    public byte[] compactProcessInstance(byte[] snapshot, List<byte[]> patches) {
+        if (patches.isEmpty()) {
+            return snapshot;
+        }
+        try {
+            return ProtobufProcessInstanceDeltaCodec.merge(compression.decode(snapshot), decode(patches)).toByteArray();
+        } catch (IOException e) {
+            throw new ProcessInstanceMarshallerException("Error while applying process instance patches", e);
+        }
+    }
+
+    private List<byte[]> decode(List<byte[]> payloads) throws IOException {
+        List<byte[]> decoded = new ArrayList<>(payloads.size());
+        for (byte[] payload : payloads) {
+            decoded.add(compression.decode(payload));
+        }
+        return decoded;
+    }
+
+    /**
+     * Sizes of the payloads written by this service, before and after compression.
+     */
+    public PayloadCompression payloadCompression() {
+        return compression;
+    }
+
     public Function<byte[], ProcessInstance<?>> createUnmarshallFunction(Process<?> process, ProcessInstanceReadMode readMode) {
         return data -> unmarshallProcessInstance(data, process, readMode);
     }
@@ -217,4 +443,41 @@ public class ProcessInstanceMarshallerService {
     public ProcessInstance<?> unmarshallProcessInstance(byte[] data, Process<?> process, ProcessInstanceReadMode mode) {
         return unmarshallProcessInstance(data, process, mode.isReadOnly());
     }
+
+    public ProcessInstance<?> readProcessInstance(InputStream input, Process<?> process, ProcessInstanceReadMode mode) {
+        return readProcessInstance(input, process, mode.isReadOnly());
+    }
+
+    // exposes its internal array so payloads are compressed without copying them first
+    private static class MarshallingBuffer extends ByteArrayOutputStream {
+
+        private MarshallingBuffer() {
+            super(INITIAL_BUFFER_SIZE);
+        }
+
+        private byte[] buffer() {
+            return buf;
+        }
+    }
+
+    private static class CountingOutputStream extends FilterOutputStream {
+
+        private int count;
+
+        private CountingOutputStream(OutputStream output) {
+            super(output);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
 }
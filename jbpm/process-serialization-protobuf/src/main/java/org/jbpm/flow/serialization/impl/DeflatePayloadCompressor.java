@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbpm.flow.serialization.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.jbpm.flow.serialization.PayloadCompressor;
+
+/**
+ * Zlib compression from the JDK, favouring speed over ratio. Deflaters and inflaters hold native memory
+ * which is only freed by {@link Deflater#end()}, so one is created per payload and ended straight away
+ * rather than cached per thread, which would leak with virtual threads.
+ */
+public class DeflatePayloadCompressor implements PayloadCompressor {
+
+    public static final byte ID = 1;
+    public static final String NAME = "deflate";
+
+    private static final int CHUNK_SIZE = 8 * 1024;
+
+    @Override
+    public byte id() {
+        return ID;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public void compress(byte[] data, int offset, int length, OutputStream output) throws IOException {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        byte[] chunk = new byte[CHUNK_SIZE];
+        try {
+            deflater.setInput(data, offset, length);
+            deflater.finish();
+            while (!deflater.finished()) {
+                output.write(chunk, 0, deflater.deflate(chunk));
+            }
+        } finally {
+            deflater.end();
+        }
+    }
+
+    @Override
+    public void decompress(InputStream input, byte[] output) throws IOException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(input.readAllBytes());
+            int read = 0;
+            while (read < output.length && !inflater.finished()) {
+                int inflated = inflater.inflate(output, read, output.length - read);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                read += inflated;
+            }
+            if (read != output.length || !inflater.finished()) {
+                throw new IOException("Compressed payload does not match its declared size of " + output.length + " bytes");
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Invalid compressed payload", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbpm.flow.serialization.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jbpm.flow.serialization.protobuf.KogitoProcessInstanceProtobuf;
+import org.jbpm.flow.serialization.protobuf.KogitoTypesProtobuf;
+import org.jbpm.workflow.instance.impl.PersistedProcessInstanceState;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+
+/**
+ * Computes and applies process instance patches.
+ * A patch carries the whole process instance message except for the process variables, where only the changed
+ * ones are included, and the completed node ids, where only the ones appended since the previous write are included.
+ * Node instances are small compared to variables and completed node ids and are always written in full.
+ * <p>
+ * Wire format of a patch:
+ * <ul>
+ * <li>field 1, bytes: the partial <code>ProcessInstance</code> message</li>
+ * <li>field 2, repeated string: names of the variables removed since the previous write</li>
+ * </ul>
+ */
+public final class ProtobufProcessInstanceDeltaCodec {
+
+    private static final int PATCH_INSTANCE_FIELD = 1;
+    private static final int PATCH_REMOVED_VARIABLE_FIELD = 2;
+    private static final String VARIABLE_DIGEST_ALGORITHM = "SHA-256";
+
+    private ProtobufProcessInstanceDeltaCodec() {
+    }
+
+    /**
+     * Returns the patch turning the persisted state into the given instance, or <code>null</code> when
+     * the changes cannot be expressed as a patch.
+     */
+    public static byte[] diff(KogitoProcessInstanceProtobuf.ProcessInstance instance, PersistedProcessInstanceState persisted) throws IOException {
+        int completedNodeIds = instance.getCompletedNodeIdsCount();
+        if (completedNodeIds < persisted.getCompletedNodeIds()) {
+            return null;
+        }
+        List<KogitoTypesProtobuf.Variable> variables = instance.getContext().getVariableList();
+        Set<String> names = new HashSet<>();
+        List<KogitoTypesProtobuf.Variable> dirty = new ArrayList<>();
+        for (KogitoTypesProtobuf.Variable variable : variables) {
+            names.add(variable.getName());
+            if (persisted.isVariableDirty(variable.getName(), digestOf(variable))) {
+                dirty.add(variable);
+            }
+        }
+        KogitoProcessInstanceProtobuf.ProcessInstance partial = instance.toBuilder()
+                .clearCompletedNodeIds()
+                .addAllCompletedNodeIds(instance.getCompletedNodeIdsList().subList(persisted.getCompletedNodeIds(), completedNodeIds))
+                .setContext(instance.getContext().toBuilder().clearVariable().addAllVariable(dirty))
+                .build();
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(partial.getSerializedSize() + 64);
+        CodedOutputStream output = CodedOutputStream.newInstance(bytes);
+        output.writeBytes(PATCH_INSTANCE_FIELD, partial.toByteString());
+        for (String removed : persisted.removedVariables(names)) {
+            output.writeString(PATCH_REMOVED_VARIABLE_FIELD, removed);
+        }
+        output.flush();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Applies the patches, in the order they were written, on top of the snapshot.
+     */
+    public static KogitoProcessInstanceProtobuf.ProcessInstance merge(byte[] snapshot, List<byte[]> patches) throws IOException {
+        KogitoProcessInstanceProtobuf.ProcessInstance merged = KogitoProcessInstanceProtobuf.ProcessInstance.parseFrom(snapshot);
+        for (byte[] patch : patches) {
+            merged = apply(merged, patch);
+        }
+        return merged;
+    }
+
+    public static PersistedProcessInstanceState stateOf(KogitoProcessInstanceProtobuf.ProcessInstance instance, int patches) {
+        Map<String, Object> variables = new HashMap<>();
+        for (KogitoTypesProtobuf.Variable variable : instance.getContext().getVariableList()) {
+            variables.put(variable.getName(), digestOf(variable));
+        }
+        return new PersistedProcessInstanceState(variables, instance.getCompletedNodeIdsCount(), patches);
+    }
+
+    // the persisted state keeps a digest of every variable, so loaded instances do not hold a second copy of their variables
+    private static ByteString digestOf(KogitoTypesProtobuf.Variable variable) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance(VARIABLE_DIGEST_ALGORITHM);
+            CodedOutputStream output = CodedOutputStream.newInstance(new DigestOutputStream(OutputStream.nullOutputStream(), digest));
+            variable.writeTo(output);
+            output.flush();
+            return ByteString.copyFrom(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static KogitoProcessInstanceProtobuf.ProcessInstance apply(KogitoProcessInstanceProtobuf.ProcessInstance base, byte[] patch) throws IOException {
+        KogitoProcessInstanceProtobuf.ProcessInstance partial = null;
+        List<String> removed = new ArrayList<>();
+        CodedInputStream input = CodedInputStream.newInstance(patch);
+        int tag;
+        while ((tag = input.readTag()) != 0) {
+            switch (WireFormat.getTagFieldNumber(tag)) {
+                case PATCH_INSTANCE_FIELD:
+                    partial = KogitoProcessInstanceProtobuf.ProcessInstance.parseFrom(input.readBytes());
+                    break;
+                case PATCH_REMOVED_VARIABLE_FIELD:
+                    removed.add(input.readString());
+                    break;
+                default:
+                    input.skipField(tag);
+            }
+        }
+        if (partial == null) {
+            throw new IOException("Process instance patch does not contain a process instance");
+        }
+
+        Map<String, KogitoTypesProtobuf.Variable> variables = new LinkedHashMap<>();
+        for (KogitoTypesProtobuf.Variable variable : base.getContext().getVariableList()) {
+            variables.put(variable.getName(), variable);
+        }
+        removed.forEach(variables::remove);
+        for (KogitoTypesProtobuf.Variable variable : partial.getContext().getVariableList()) {
+            variables.put(variable.getName(), variable);
+        }
+        return partial.toBuilder()
+                .clearCompletedNodeIds()
+                .addAllCompletedNodeIds(base.getCompletedNodeIdsList())
+                .addAllCompletedNodeIds(partial.getCompletedNodeIdsList())
+                .setContext(partial.getContext().toBuilder().clearVariable().addAllVariable(variables.values()))
+                .build();
+    }
+}
@@ -68,12 +68,14 @@ public class ProtobufProcessInstanceReader {
     private MarshallerReaderContext context;
     private ProtobufVariableReader varReader;
     private ProcessInstanceMarshallerListener[] listeners;
+    private boolean readOnly;
 
     public ProtobufProcessInstanceReader(MarshallerReaderContext context) {
         this.context = context;
         this.ruleFlowProcessInstance = new RuleFlowProcessInstance();
         this.varReader = new ProtobufVariableReader(context);
         this.listeners = context.get(MarshallerContextName.MARSHALLER_INSTANCE_LISTENER);
+        this.readOnly = Boolean.TRUE.equals(context.get(MarshallerContextName.MARSHALLER_INSTANCE_READ_ONLY));
         context.set(MarshallerContextName.MARSHALLER_PROCESS_INSTANCE, ruleFlowProcessInstance);
     }
 
@@ -265,7 +267,9 @@ public class ProtobufProcessInstanceReader {
     }
 
     private <T extends NodeInstanceContainer & ContextInstanceContainer & ContextableInstance> void buildWorkflowContext(T container, WorkflowContext workflowContext) {
-        if (workflowContext.getNodeInstanceCount() > 0) {
+        // read only instances never expose their node instances, when the runtime state is required
+        // the instance is reloaded in full, so both node instances and exclusive groups are skipped
+        if (!readOnly && workflowContext.getNodeInstanceCount() > 0) {
             for (KogitoTypesProtobuf.NodeInstance nodeInstanceProtobuf : workflowContext.getNodeInstanceList()) {
                 buildNodeInstance(nodeInstanceProtobuf, container);
             }
@@ -274,11 +278,20 @@ public class ProtobufProcessInstanceReader {
         container.addContextInstance(VariableScope.VARIABLE_SCOPE, new VariableScopeInstance());
         if (workflowContext.getVariableCount() > 0) {
             VariableScopeInstance variableScopeInstance = (VariableScopeInstance) container.getContextInstance(VariableScope.VARIABLE_SCOPE);
-            varReader.buildVariables(workflowContext.getVariableList()).forEach(v -> variableScopeInstance.internalSetVariable(v.getName(), v.getValue()));
+            if (readOnly) {
+                for (KogitoTypesProtobuf.Variable variable : workflowContext.getVariableList()) {
+                    variableScopeInstance.internalSetLazyVariable(variable.getName(), () -> varReader.buildVariableValue(variable));
+                }
+            } else {
+                varReader.buildVariables(workflowContext.getVariableList()).forEach(v -> variableScopeInstance.internalSetVariable(v.getName(), v.getValue()));
+            }
         }
         if (workflowContext.getIterationLevelsCount() > 0) {
             container.getIterationLevels().putAll(buildIterationLevels(workflowContext.getIterationLevelsList()));
         }
+        if (readOnly) {
+            return;
+        }
         for (KogitoTypesProtobuf.NodeInstanceGroup group : workflowContext.getExclusiveGroupList()) {
             Function<String, KogitoNodeInstance> finder = nodeInstanceId -> container.getNodeInstance(nodeInstanceId, true);
             container.addContextInstance(ExclusiveGroup.EXCLUSIVE_GROUP, buildExclusiveGroupInstance(group, finder));
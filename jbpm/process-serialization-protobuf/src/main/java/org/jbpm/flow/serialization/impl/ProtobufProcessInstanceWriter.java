@@ -163,6 +163,7 @@ public class ProtobufProcessInstanceWriter {
         instance.setContext(buildWorkflowContext(workFlow));
 
         KogitoProcessInstanceProtobuf.ProcessInstance piProtobuf = instance.build();
+        context.set(MarshallerContextName.MARSHALLER_WRITTEN_PROCESS_INSTANCE, piProtobuf);
 
         String format = this.context.get(MARSHALLER_FORMAT);
         if (format != null && MARSHALLER_FORMAT_JSON.equals(format)) {
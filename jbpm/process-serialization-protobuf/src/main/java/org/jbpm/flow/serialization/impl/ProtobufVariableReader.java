@@ -42,9 +42,7 @@ public class ProtobufVariableReader {
         for (KogitoTypesProtobuf.Variable var : variablesProtobuf) {
             Variable storedVar = new Variable();
             storedVar.setName(var.getName());
-            Any value = var.getValue();
-            ObjectMarshallerStrategy strategy = context.findObjectUnmarshallerStrategyFor(value);
-            Object varValue = strategy.unmarshall(value);
+            Object varValue = buildVariableValue(var);
             storedVar.setType(DataTypeResolver.fromObject(varValue));
             if (varValue != null) {
                 storedVar.setValue(varValue);
@@ -54,4 +52,10 @@ public class ProtobufVariableReader {
         return variables;
     }
 
+    public Object buildVariableValue(KogitoTypesProtobuf.Variable var) {
+        Any value = var.getValue();
+        ObjectMarshallerStrategy strategy = context.findObjectUnmarshallerStrategyFor(value);
+        return strategy.unmarshall(value);
+    }
+
 }
@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbpm.flow.serialization.marshaller;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.infinispan.protostream.ProtobufUtil;
+import org.infinispan.protostream.SerializationContext;
+import org.jbpm.flow.serialization.ObjectMarshallerStrategy;
+import org.jbpm.flow.serialization.ProcessInstanceMarshallerException;
+
+import com.google.protobuf.Any;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+
+/**
+ * Marshalls lists whose elements all have a protostream marshaller registered, element by element, instead of
+ * serializing the whole list with java serialization.
+ * <p>
+ * Every element is written as a length delimited field holding the protostream wrapped message of the element, so
+ * lists mixing different types are supported. Lists are always read back as {@link ArrayList}, so only lists of that
+ * type are accepted; any other list is left to the java serialization fallback.
+ */
+public class ProtostreamListMarshallerStrategy implements ObjectMarshallerStrategy {
+
+    public static final String LIST_TYPE_URL = "org.kie.kogito.list/kogito.List";
+
+    private static final int ELEMENT_FIELD_NUMBER = 1;
+
+    private final SerializationContext context;
+
+    public ProtostreamListMarshallerStrategy(ProtostreamObjectMarshallerStrategy objectMarshallerStrategy) {
+        this(objectMarshallerStrategy.getSerializationContext());
+    }
+
+    public ProtostreamListMarshallerStrategy(SerializationContext context) {
+        this.context = context;
+    }
+
+    @Override
+    public Integer order() {
+        // ahead of ProtobufListMarshallerStrategy, which is then only used for the lists not accepted here
+        return DEFAULT_ORDER + 1;
+    }
+
+    @Override
+    public boolean acceptForMarshalling(Object value) {
+        if (value == null || value.getClass() != ArrayList.class) {
+            return false;
+        }
+        for (Object element : (List<?>) value) {
+            if (element == null || !context.canMarshall(element.getClass())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public Any marshall(Object unmarshalled) {
+        try {
+            ByteString.Output output = ByteString.newOutput();
+            CodedOutputStream codedOutput = CodedOutputStream.newInstance(output);
+            for (Object element : (List<?>) unmarshalled) {
+                codedOutput.writeByteArray(ELEMENT_FIELD_NUMBER, ProtobufUtil.toWrappedByteArray(context, element));
+            }
+            codedOutput.flush();
+            return Any.newBuilder().setTypeUrl(LIST_TYPE_URL).setValue(output.toByteString()).build();
+        } catch (IOException e) {
+            throw new ProcessInstanceMarshallerException("cannot marshall list " + unmarshalled, e);
+        }
+    }
+
+    @Override
+    public boolean acceptForUnmarshalling(Any value) {
+        return LIST_TYPE_URL.equals(value.getTypeUrl());
+    }
+
+    @Override
+    public Object unmarshall(Any marshalled) {
+        try {
+            List<Object> list = new ArrayList<>();
+            CodedInputStream codedInput = marshalled.getValue().newCodedInput();
+            int tag;
+            while ((tag = codedInput.readTag()) != 0) {
+                if (WireFormat.getTagFieldNumber(tag) == ELEMENT_FIELD_NUMBER) {
+                    list.add(ProtobufUtil.fromWrappedByteArray(context, codedInput.readByteArray()));
+                } else {
+                    codedInput.skipField(tag);
+                }
+            }
+            return list;
+        } catch (IOException e) {
+            throw new ProcessInstanceMarshallerException("cannot unmarshall list", e);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbpm.flow.serialization;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.jbpm.flow.serialization.impl.DeflatePayloadCompressor;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class PayloadCompressionTest {
+
+    private static final byte[] JSON = "{\"name\":\"value\",\"items\":[1,2,3]}".repeat(100).getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void testRoundTrip() throws Exception {
+        PayloadCompression compression = PayloadCompression.of(new DeflatePayloadCompressor(), 64);
+
+        byte[] encoded = compression.encode(JSON, JSON.length);
+
+        assertThat(encoded).hasSizeLessThan(JSON.length);
+        assertThat(encoded[0]).isZero();
+        assertThat(compression.decode(encoded)).isEqualTo(JSON);
+        assertThat(compression.decode(new ByteArrayInputStream(encoded)).readAllBytes()).isEqualTo(JSON);
+        assertThat(compression.compressedPayloads()).isOne();
+        assertThat(compression.rawBytes()).isEqualTo(JSON.length);
+        assertThat(compression.storedBytes()).isEqualTo(encoded.length);
+    }
+
+    @Test
+    void testStreamEncoding() throws Exception {
+        PayloadCompression compression = PayloadCompression.of(new DeflatePayloadCompressor(), 64);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        int written = compression.encode(JSON, JSON.length, output);
+
+        assertThat(written).isEqualTo(output.size()).isLessThan(JSON.length);
+        assertThat(compression.decode(output.toByteArray())).isEqualTo(JSON);
+    }
+
+    @Test
+    void testSmallPayloadsAreNotCompressed() throws Exception {
+        PayloadCompression compression = PayloadCompression.of(new DeflatePayloadCompressor(), JSON.length + 1);
+
+        assertThat(compression.encode(JSON, JSON.length)).isSameAs(JSON);
+        assertThat(compression.compressedPayloads()).isZero();
+        assertThat(compression.payloads()).isOne();
+    }
+
+    @Test
+    void testUncompressedPayloadsAreReadAsIs() throws Exception {
+        byte[] legacy = { 0x0A, 0x03, 'a', 'b', 'c' };
+        PayloadCompression compression = PayloadCompression.none();
+
+        assertThat(compression.decode(legacy)).isSameAs(legacy);
+        assertThat(compression.decode(new ByteArrayInputStream(legacy)).readAllBytes()).isEqualTo(legacy);
+        assertThat(compression.decode(PayloadCompression.of(new DeflatePayloadCompressor(), 0).encode(JSON, JSON.length))).isEqualTo(JSON);
+    }
+
+    @Test
+    void testConfigurationByName() {
+        assertThat(PayloadCompression.of(DeflatePayloadCompressor.NAME, 64).isEnabled()).isTrue();
+        assertThat(PayloadCompression.of(PayloadCompression.NONE, 64).isEnabled()).isFalse();
+        assertThat(PayloadCompression.of(null, 64).isEnabled()).isFalse();
+        assertThatIllegalArgumentException().isThrownBy(() -> PayloadCompression.of("unknown", 64));
+    }
+}
@@ -62,6 +62,7 @@ import org.jbpm.workflow.core.node.EndNode;
 import org.jbpm.workflow.core.node.HumanTaskNode;
 import org.jbpm.workflow.core.node.StartNode;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -241,6 +242,31 @@ public class ProcessInstanceMarshallTest {
                 .hasFieldOrPropertyWithValue("process", toMarshall.getProcess());
     }
 
+    @Test
+    public void testReadOnlyVariablesDecodedOnFirstAccess() throws Exception {
+        RuleFlowProcessInstance toMarshall = buildInstance(true);
+        ((VariableScopeInstance) toMarshall.getContextInstance(VariableScope.VARIABLE_SCOPE)).internalSetVariable("name", "henry");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ProtobufProcessMarshallerWriteContext ctxOut = new ProtobufProcessMarshallerWriteContext(out);
+        ctxOut.set(MarshallerContextName.OBJECT_MARSHALLING_STRATEGIES, ObjectMarshallerStrategyHelper.defaultStrategies());
+        ctxOut.set(MarshallerContextName.MARSHALLER_PROCESS, process);
+        new ProtobufProcessInstanceWriter(ctxOut).writeProcessInstance(toMarshall, out);
+
+        ByteArrayInputStream in = new ByteArrayInputStream(out.toByteArray());
+        ProtobufMarshallerReaderContext ctxIn = new ProtobufMarshallerReaderContext(in);
+        ctxIn.set(MarshallerContextName.OBJECT_MARSHALLING_STRATEGIES, ObjectMarshallerStrategyHelper.defaultStrategies());
+        ctxIn.set(MarshallerContextName.MARSHALLER_PROCESS, process);
+        ctxIn.set(MarshallerContextName.MARSHALLER_INSTANCE_READ_ONLY, true);
+        RuleFlowProcessInstance unmarshalled = new ProtobufProcessInstanceReader(ctxIn).read(in);
+
+        assertThat(unmarshalled.getStringId()).isEqualTo(PROCESS_INSTANCE_ID);
+        assertThat(unmarshalled.hasLazyVariables()).isTrue();
+        assertThat(unmarshalled.getVariable("name")).isEqualTo("henry");
+        assertThat(unmarshalled.hasLazyVariables()).isFalse();
+        assertThat(unmarshalled.getVariables()).containsEntry("name", "henry");
+    }
+
     @ParameterizedTest
     @MethodSource
     @NullSource
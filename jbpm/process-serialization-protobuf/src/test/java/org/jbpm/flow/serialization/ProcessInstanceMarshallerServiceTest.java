@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbpm.flow.serialization;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jbpm.flow.serialization.impl.DeflatePayloadCompressor;
+import org.jbpm.flow.serialization.impl.ProtobufMarshallerReaderContext;
+import org.jbpm.flow.serialization.impl.ProtobufProcessMarshallerWriteContext;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.kie.kogito.process.Process;
+import org.kie.kogito.process.ProcessInstance;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProcessInstanceMarshallerServiceTest {
+
+    // bigger than the initial marshalling buffer, so it has to grow while writing
+    private static final String PAYLOAD = "{\"name\":\"value\",\"items\":[1,2,3]}".repeat(500);
+
+    @ParameterizedTest
+    @ValueSource(strings = { PayloadCompression.NONE, DeflatePayloadCompressor.NAME })
+    void testStreamRoundTrip(String compressorName) {
+        List<int[]> sizes = new ArrayList<>();
+        ProcessInstanceMarshallerService service = ProcessInstanceMarshallerService.newBuilder()
+                .withProcessInstanceMarshallerFactory(new PayloadMarshallerFactory())
+                .withPayloadCompression(compressorName, 0)
+                .withListeners(new ProcessInstanceMarshallerListener() {
+                    @Override
+                    public void afterMarshallPayload(Process<?> process, int rawSize, int storedSize) {
+                        sizes.add(new int[] { rawSize, storedSize });
+                    }
+                })
+                .build();
+        Process<?> process = mock(Process.class);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        service.writeProcessInstance(instance(process, "1"), output);
+        byte[] written = output.toByteArray();
+
+        assertThat(service.readProcessInstance(new ByteArrayInputStream(written), process, false).id()).isEqualTo("1");
+        assertThat(service.unmarshallProcessInstance(written, process, false).id()).isEqualTo("1");
+        assertThat(service.marshallProcessInstance(instance(process, "1"))).isEqualTo(written);
+        assertThat(sizes).hasSize(2).allSatisfy(size -> {
+            assertThat(size[0]).isEqualTo(PAYLOAD.length() + 2);
+            assertThat(size[1]).isEqualTo(written.length);
+        });
+        if (service.payloadCompression().isEnabled()) {
+            assertThat(written.length).isLessThan(PAYLOAD.length());
+        }
+    }
+
+    private static ProcessInstance<?> instance(Process<?> process, String id) {
+        ProcessInstance<?> instance = mock(ProcessInstance.class);
+        when(instance.id()).thenReturn(id);
+        when(instance.process()).thenReturn((Process) process);
+        return instance;
+    }
+
+    // writes the instance id followed by a fixed payload, reads back an instance with that id
+    private static class PayloadMarshallerFactory implements ProcessInstanceMarshallerFactory, ProcessInstanceMarshaller {
+
+        @Override
+        public ProcessInstanceMarshaller newKogitoProcessInstanceMarshaller() {
+            return this;
+        }
+
+        @Override
+        public MarshallerWriterContext newWriterContext(OutputStream output) {
+            return new ProtobufProcessMarshallerWriteContext(output);
+        }
+
+        @Override
+        public MarshallerReaderContext newReaderContext(InputStream input) {
+            return new ProtobufMarshallerReaderContext(input);
+        }
+
+        @Override
+        public void writeProcessInstance(MarshallerWriterContext context, ProcessInstance<?> processInstance) throws IOException {
+            context.output().write((processInstance.id() + "\n" + PAYLOAD).getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public ProcessInstance<?> readProcessInstance(MarshallerReaderContext context) throws IOException {
+            String content = new String(context.input().readAllBytes(), StandardCharsets.UTF_8);
+            assertThat(content).endsWith(PAYLOAD);
+            return instance(context.get(MarshallerContextName.MARSHALLER_PROCESS), content.substring(0, content.indexOf('\n')));
+        }
+
+        @Override
+        public void reloadProcessInstance(MarshallerReaderContext context, ProcessInstance<?> processInstance) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
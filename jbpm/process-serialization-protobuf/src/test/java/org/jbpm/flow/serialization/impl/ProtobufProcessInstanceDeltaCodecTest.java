@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbpm.flow.serialization.impl;
+
+import java.util.List;
+
+import org.jbpm.flow.serialization.protobuf.KogitoProcessInstanceProtobuf;
+import org.jbpm.flow.serialization.protobuf.KogitoTypesProtobuf;
+import org.jbpm.workflow.instance.impl.PersistedProcessInstanceState;
+import org.junit.jupiter.api.Test;
+
+import com.google.protobuf.Any;
+import com.google.protobuf.StringValue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProtobufProcessInstanceDeltaCodecTest {
+
+    @Test
+    void testPatchOnlyContainsChanges() throws Exception {
+        KogitoProcessInstanceProtobuf.ProcessInstance snapshot = instance(1, List.of("node1", "node2"), variable("big", "unchanged"), variable("small", "before"), variable("gone", "x"));
+        PersistedProcessInstanceState persisted = ProtobufProcessInstanceDeltaCodec.stateOf(snapshot, 0);
+
+        KogitoProcessInstanceProtobuf.ProcessInstance current = instance(2, List.of("node1", "node2", "node3"), variable("big", "unchanged"), variable("small", "after"), variable("added", "y"));
+        byte[] patch = ProtobufProcessInstanceDeltaCodec.diff(current, persisted);
+
+        KogitoProcessInstanceProtobuf.ProcessInstance merged = ProtobufProcessInstanceDeltaCodec.merge(snapshot.toByteArray(), List.of(patch));
+        assertThat(merged.getState()).isEqualTo(2);
+        assertThat(merged.getCompletedNodeIdsList()).containsExactly("node1", "node2", "node3");
+        assertThat(merged.getContext().getVariableList()).containsExactlyInAnyOrderElementsOf(current.getContext().getVariableList());
+        assertThat(patch.length).isLessThan(current.getSerializedSize());
+    }
+
+    @Test
+    void testPatchesAreAppliedInOrder() throws Exception {
+        KogitoProcessInstanceProtobuf.ProcessInstance snapshot = instance(1, List.of("node1"), variable("var", "1"));
+        KogitoProcessInstanceProtobuf.ProcessInstance second = instance(1, List.of("node1", "node2"), variable("var", "2"));
+        KogitoProcessInstanceProtobuf.ProcessInstance third = instance(1, List.of("node1", "node2", "node3"), variable("var", "3"));
+
+        byte[] firstPatch = ProtobufProcessInstanceDeltaCodec.diff(second, ProtobufProcessInstanceDeltaCodec.stateOf(snapshot, 0));
+        byte[] secondPatch = ProtobufProcessInstanceDeltaCodec.diff(third, ProtobufProcessInstanceDeltaCodec.stateOf(second, 1));
+
+        assertThat(ProtobufProcessInstanceDeltaCodec.merge(snapshot.toByteArray(), List.of(firstPatch, secondPatch))).isEqualTo(third);
+    }
+
+    @Test
+    void testNoPatchWhenCompletedNodesShrink() throws Exception {
+        KogitoProcessInstanceProtobuf.ProcessInstance snapshot = instance(1, List.of("node1", "node2"), variable("var", "1"));
+        KogitoProcessInstanceProtobuf.ProcessInstance current = instance(1, List.of("node1"), variable("var", "1"));
+
+        assertThat(ProtobufProcessInstanceDeltaCodec.diff(current, ProtobufProcessInstanceDeltaCodec.stateOf(snapshot, 0))).isNull();
+    }
+
+    @Test
+    void testPersistedStateDoesNotKeepVariables() {
+        KogitoProcessInstanceProtobuf.ProcessInstance snapshot = instance(1, List.of("node1"), variable("big", "x".repeat(64 * 1024)));
+        PersistedProcessInstanceState persisted = ProtobufProcessInstanceDeltaCodec.stateOf(snapshot, 0);
+
+        assertThat(persisted.getVariables().get("big")).isNotInstanceOf(KogitoTypesProtobuf.Variable.class);
+        assertThat(persisted.isVariableDirty("big", ProtobufProcessInstanceDeltaCodec.stateOf(snapshot, 0).getVariables().get("big"))).isFalse();
+    }
+
+    private static KogitoProcessInstanceProtobuf.ProcessInstance instance(int state, List<String> completedNodeIds, KogitoTypesProtobuf.Variable... variables) {
+        return KogitoProcessInstanceProtobuf.ProcessInstance.newBuilder()
+                .setId("1")
+                .setProcessId("processId")
+                .setState(state)
+                .addAllCompletedNodeIds(completedNodeIds)
+                .setContext(KogitoTypesProtobuf.WorkflowContext.newBuilder().addAllVariable(List.of(variables)))
+                .build();
+    }
+
+    private static KogitoTypesProtobuf.Variable variable(String name, String value) {
+        return KogitoTypesProtobuf.Variable.newBuilder()
+                .setName(name)
+                .setDataType(String.class.getName())
+                .setValue(Any.pack(StringValue.of(value)))
+                .build();
+    }
+}
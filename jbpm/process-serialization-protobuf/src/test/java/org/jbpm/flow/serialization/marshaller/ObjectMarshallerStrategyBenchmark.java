@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbpm.flow.serialization.marshaller;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.jbpm.flow.serialization.ObjectMarshallerStrategy;
+import org.jbpm.flow.serialization.impl.marshallers.ProtobufListMarshallerStrategy;
+import org.jbpm.flow.serialization.impl.marshallers.ProtobufObjectMarshallerStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.google.protobuf.Any;
+
+/**
+ * Compares the java serialization fallback with the protostream strategies marshalling a data model object and a
+ * list of data model objects. Run it through {@link #main(String[])}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ObjectMarshallerStrategyBenchmark {
+
+    @Param({ "serialization", "protostream" })
+    private String strategy;
+
+    @Param({ "1", "100" })
+    private int listSize;
+
+    private ObjectMarshallerStrategy objectStrategy;
+    private ObjectMarshallerStrategy listStrategy;
+    private TestPerson person;
+    private List<TestPerson> persons;
+    private Any marshalledPerson;
+    private Any marshalledPersons;
+
+    @Setup
+    public void setup() {
+        if ("protostream".equals(strategy)) {
+            ProtostreamObjectMarshallerStrategy protostreamStrategy = TestPerson.objectMarshallerStrategy();
+            objectStrategy = protostreamStrategy;
+            listStrategy = new ProtostreamListMarshallerStrategy(protostreamStrategy);
+        } else {
+            objectStrategy = new ProtobufObjectMarshallerStrategy();
+            listStrategy = new ProtobufListMarshallerStrategy();
+        }
+        person = new TestPerson("person", 42);
+        persons = new ArrayList<>(listSize);
+        for (int i = 0; i < listSize; i++) {
+            persons.add(new TestPerson("person" + i, i));
+        }
+        marshalledPerson = objectStrategy.marshall(person);
+        marshalledPersons = listStrategy.marshall(persons);
+    }
+
+    @Benchmark
+    public Any marshallObject() {
+        return objectStrategy.marshall(person);
+    }
+
+    @Benchmark
+    public Object unmarshallObject() {
+        return objectStrategy.unmarshall(marshalledPerson);
+    }
+
+    @Benchmark
+    public Any marshallList() {
+        return listStrategy.marshall(persons);
+    }
+
+    @Benchmark
+    public Object unmarshallList() {
+        return listStrategy.unmarshall(marshalledPersons);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ObjectMarshallerStrategyBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbpm.flow.serialization.marshaller;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.jbpm.flow.serialization.impl.marshallers.ProtobufListMarshallerStrategy;
+import org.junit.jupiter.api.Test;
+
+import com.google.protobuf.Any;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProtostreamMarshallerStrategyTest {
+
+    private final ProtostreamObjectMarshallerStrategy objectStrategy = TestPerson.objectMarshallerStrategy();
+    private final ProtostreamListMarshallerStrategy listStrategy = new ProtostreamListMarshallerStrategy(objectStrategy);
+
+    @Test
+    void testObjectRoundTrip() {
+        TestPerson person = new TestPerson("john", 42);
+        assertThat(objectStrategy.acceptForMarshalling(person)).isTrue();
+
+        Any marshalled = objectStrategy.marshall(person);
+        assertThat(marshalled.getTypeUrl()).isEqualTo(ProtostreamObjectMarshallerStrategy.NAMESPACE + "test.Person");
+        assertThat(objectStrategy.acceptForUnmarshalling(marshalled)).isTrue();
+        assertThat(objectStrategy.unmarshall(marshalled)).isEqualTo(person);
+    }
+
+    @Test
+    void testListRoundTrip() {
+        List<Object> list = new ArrayList<>(List.of(new TestPerson("john", 42), new TestPerson("mary", 38)));
+        assertThat(listStrategy.acceptForMarshalling(list)).isTrue();
+        assertThat(listStrategy.order()).isGreaterThan(new ProtobufListMarshallerStrategy().order());
+
+        Any marshalled = listStrategy.marshall(list);
+        assertThat(objectStrategy.acceptForUnmarshalling(marshalled)).isFalse();
+        assertThat(listStrategy.acceptForUnmarshalling(marshalled)).isTrue();
+        assertThat(listStrategy.unmarshall(marshalled)).isEqualTo(list);
+    }
+
+    @Test
+    void testEmptyListRoundTrip() {
+        Any marshalled = listStrategy.marshall(new ArrayList<>());
+        assertThat(listStrategy.unmarshall(marshalled)).asList().isEmpty();
+    }
+
+    @Test
+    void testListNotAccepted() {
+        assertThat(listStrategy.acceptForMarshalling(new ArrayList<>(List.of(new TestPerson("john", 42), 1L)))).isFalse();
+        assertThat(listStrategy.acceptForMarshalling(new LinkedList<>(List.of(new TestPerson("john", 42))))).isFalse();
+        List<Object> withNull = new ArrayList<>();
+        withNull.add(null);
+        assertThat(listStrategy.acceptForMarshalling(withNull)).isFalse();
+    }
+}
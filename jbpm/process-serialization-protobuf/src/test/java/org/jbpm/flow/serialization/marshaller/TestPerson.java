@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbpm.flow.serialization.marshaller;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Objects;
+
+import org.infinispan.protostream.FileDescriptorSource;
+import org.infinispan.protostream.MessageMarshaller;
+
+public class TestPerson implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private String name;
+    private int age;
+
+    public TestPerson() {
+    }
+
+    public TestPerson(String name, int age) {
+        this.name = name;
+        this.age = age;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getAge() {
+        return age;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof TestPerson other && Objects.equals(name, other.name) && age == other.age;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, age);
+    }
+
+    /**
+     * Object marshaller strategy knowing {@link TestPerson}, as the one generated for the application data model
+     */
+    public static ProtostreamObjectMarshallerStrategy objectMarshallerStrategy() {
+        ProtostreamObjectMarshallerStrategy strategy = new ProtostreamObjectMarshallerStrategy();
+        strategy.getSerializationContext().registerProtoFiles(FileDescriptorSource.fromString("test-person.proto",
+                "syntax = \"proto2\";\npackage test;\nmessage Person {\n optional string name = 1;\n optional int32 age = 2;\n}\n"));
+        strategy.getSerializationContext().registerMarshaller(new Marshaller());
+        return strategy;
+    }
+
+    private static class Marshaller implements MessageMarshaller<TestPerson> {
+
+        @Override
+        public Class<TestPerson> getJavaClass() {
+            return TestPerson.class;
+        }
+
+        @Override
+        public String getTypeName() {
+            return "test.Person";
+        }
+
+        @Override
+        public TestPerson readFrom(ProtoStreamReader reader) throws IOException {
+            return new TestPerson(reader.readString("name"), reader.readInt("age"));
+        }
+
+        @Override
+        public void writeTo(ProtoStreamWriter writer, TestPerson person) throws IOException {
+            writer.writeString("name", person.getName());
+            writer.writeInt("age", person.getAge());
+        }
+    }
+}
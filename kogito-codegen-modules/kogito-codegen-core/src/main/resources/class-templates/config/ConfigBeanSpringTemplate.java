@@ -30,11 +30,31 @@ public class ConfigBean extends org.kie.kogito.config.StaticConfigBean {
     @org.springframework.beans.factory.annotation.Value("${kogito.jackson.fail-on-empty-bean:#{false}}")
     boolean failOnEmptyBean;
 
+    @org.springframework.beans.factory.annotation.Value("${kogito.signal.broadcast.page-size:#{0}}")
+    int signalBroadcastPageSize;
+
+    @org.springframework.beans.factory.annotation.Value("${kogito.persistence.write-behind:#{false}}")
+    boolean persistenceWriteBehind;
+
+    @org.springframework.beans.factory.annotation.Value("${kogito.process.instance.lock.strategy:atomic}")
+    java.lang.String processInstanceLockStrategy;
+
+    @org.springframework.beans.factory.annotation.Value("${kogito.process.instance.lock.stripes:#{1024}}")
+    int processInstanceLockStripes;
+
+    @org.springframework.beans.factory.annotation.Value("${kogito.process.instance.lock.timeout:#{30000}}")
+    long processInstanceLockTimeout;
+
     @jakarta.annotation.PostConstruct
     protected void init() {
         setServiceUrl(kogitoService.orElse(""));
         setCloudEvents(useCloudEvents);
         setFailOnEmptyBean(failOnEmptyBean);
+        setSignalBroadcastPageSize(signalBroadcastPageSize);
+        setPersistenceWriteBehind(persistenceWriteBehind);
+        setProcessInstanceLockStrategy(processInstanceLockStrategy);
+        setProcessInstanceLockStripes(processInstanceLockStripes);
+        setProcessInstanceLockTimeout(processInstanceLockTimeout);
         setGav($gav$);
     }
 }
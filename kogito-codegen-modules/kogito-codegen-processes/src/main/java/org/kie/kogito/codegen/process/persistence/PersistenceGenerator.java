@@ -268,6 +268,19 @@ public class PersistenceGenerator extends AbstractGenerator {
                     fqnProtoStreamMarshaller.replace('.', '/') + JAVA,
                     parsedClazzFile.toString()));
 
+            // lists of data model objects are marshalled element by element through the protostream context above
+            TemplatedGenerator generatorProtostreamListSerialization = TemplatedGenerator.builder().withTemplateBasePath(CLASS_TEMPLATES_PERSISTENCE)
+                    .withFallbackContext(JavaKogitoBuildContext.CONTEXT_NAME)
+                    .withPackageName(KOGITO_PROCESS_INSTANCE_PACKAGE)
+                    .build(context(), "ProtostreamListMarshaller");
+            CompilationUnit parsedListClazzFile = generatorProtostreamListSerialization.compilationUnitOrThrow();
+            ClassOrInterfaceDeclaration listClazz = parsedListClazzFile.findFirst(ClassOrInterfaceDeclaration.class)
+                    .orElseThrow(() -> new InvalidTemplateException(generatorProtostreamListSerialization, "Failed to find template for ProtostreamListMarshaller"));
+            String fqnProtoStreamListMarshaller = packageName + "." + listClazz.getName().toString();
+            generatedFiles.add(new GeneratedFile(GeneratedFileType.SOURCE,
+                    fqnProtoStreamListMarshaller.replace('.', '/') + JAVA,
+                    parsedListClazzFile.toString()));
+
             String objectMarshallerStrategyServiceDescriptor = "";
             try {
                 //try to find an existing ObjectMarshallerStrategy descriptor in the classpath to be appended to the ProtoStream generated one
@@ -276,7 +289,7 @@ public class PersistenceGenerator extends AbstractGenerator {
             } catch (Exception e) {
                 LOGGER.warn("No existing ObjectMarshallerStrategy found the the classpath to be included with the ProtoS generated one for SPI.");
             }
-            objectMarshallerStrategyServiceDescriptor += "\n" + fqnProtoStreamMarshaller + "\n";
+            objectMarshallerStrategyServiceDescriptor += "\n" + fqnProtoStreamMarshaller + "\n" + fqnProtoStreamListMarshaller + "\n";
 
             generatedFiles.add(new GeneratedFile(GeneratedFileType.INTERNAL_RESOURCE,
                     "META-INF/services/org.jbpm.flow.serialization.ObjectMarshallerStrategy",
@@ -22,7 +22,7 @@ import org.kie.kogito.jobs.JobsService;
 import org.kie.kogito.process.ProcessConfig;
 import org.kie.kogito.process.impl.StaticProcessConfig;
 import org.kie.kogito.services.jobs.impl.InMemoryProcessJobExecutorFactory;
-import org.kie.kogito.services.jobs.impl.InMemoryJobService;
+import org.kie.kogito.services.jobs.impl.JobExecutorFactoryRegistry;
 import org.kie.kogito.services.jobs.impl.InMemoryJobContext;
 import org.kie.kogito.uow.UnitOfWorkManager;
 
@@ -35,10 +35,10 @@ public class Processes implements org.kie.kogito.process.Processes {
         this.application = application;
         JobsService jobsService = this.application.config().get(ProcessConfig.class).jobsService();
         UnitOfWorkManager unitOfWorkManager = this.application.config().get(ProcessConfig.class).unitOfWorkManager();
-        if (jobsService instanceof InMemoryJobService) {
-            InMemoryJobService inMemoryJobService = (InMemoryJobService) jobsService;
+        if (jobsService instanceof JobExecutorFactoryRegistry) {
+            JobExecutorFactoryRegistry jobExecutorFactoryRegistry = (JobExecutorFactoryRegistry) jobsService;
             InMemoryJobContext context = new InMemoryJobContext(null, unitOfWorkManager, this, null);
-            inMemoryJobService.registerJobExecutorFactory(new InMemoryProcessJobExecutorFactory(context));
+            jobExecutorFactoryRegistry.registerJobExecutorFactory(new InMemoryProcessJobExecutorFactory(context));
         }
     }
 
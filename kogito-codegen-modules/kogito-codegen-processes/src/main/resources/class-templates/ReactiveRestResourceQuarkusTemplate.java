@@ -18,13 +18,18 @@
  */
 package com.myspace.demo;
 
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
 
+import jakarta.inject.Inject;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.DELETE;
 import jakarta.ws.rs.GET;
@@ -35,11 +40,16 @@ import jakarta.ws.rs.Path;
 import jakarta.ws.rs.DefaultValue;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.ServiceUnavailableException;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import jakarta.ws.rs.core.UriInfo;
 
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jbpm.util.JsonSchemaUtil;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstance;
@@ -53,6 +63,10 @@ import org.kie.kogito.process.workitem.TaskModel;
 import org.kie.kogito.auth.IdentityProvider;
 import org.kie.kogito.auth.IdentityProviders;
 import org.kie.kogito.auth.SecurityPolicy;
+import org.kie.kogito.services.executor.BoundedExecutor;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
 
 @Path("/$name$")
 public class $Type$ReactiveResource {
@@ -61,43 +75,71 @@ public class $Type$ReactiveResource {
 
     Application application;
 
+    @Inject
+    ProcessService processService;
+
+    @Inject
+    BoundedExecutor executor;
+
+    @ConfigProperty(name = BoundedExecutor.EXECUTOR_RETRY_AFTER_PROPERTY, defaultValue = BoundedExecutor.DEFAULT_RETRY_AFTER)
+    Long retryAfter;
+
+    @Inject
+    ObjectMapper objectMapper;
+
     @POST
     @Produces(MediaType.APPLICATION_JSON)
     @Consumes(MediaType.APPLICATION_JSON)
-    public CompletionStage<$Type$Output> createResource_$name$(@Context HttpHeaders httpHeaders,
-                                                               @QueryParam("businessKey") String businessKey,
+    public CompletionStage<Response> createResource_$name$(@Context HttpHeaders httpHeaders,
+                                                           @Context UriInfo uriInfo,
+                                                           @QueryParam("businessKey") String businessKey,
                                                                $Type$Input resource) {
-        return CompletableFuture
-                .supplyAsync(
-                        () -> {
-                            ProcessInstance<$Type$> pi = processService.createProcessInstance(process,
-                                                                                              businessKey,
-                                                                                              Optional.ofNullable(resource).orElse(new $Type$Input()).toModel(),
-                                                                                              httpHeaders.getHeaderString("X-KOGITO-StartFromNode"));
-                            return Response.created(uriInfo.getAbsolutePathBuilder().path(pi.id()).build())
-                                    .entity(pi.checkError().variables().toModel())
-                                    .build();
-                        });
+        return supplyAsync(
+                () -> {
+                    ProcessInstance<$Type$> pi = processService.createProcessInstance(process,
+                                                                                      businessKey,
+                                                                                      Optional.ofNullable(resource).orElse(new $Type$Input()).toModel(),
+                                                                                      httpHeaders.getHeaderString("X-KOGITO-StartFromNode"));
+                    return Response.created(uriInfo.getAbsolutePathBuilder().path(pi.id()).build())
+                            .entity(pi.checkError().variables().toModel())
+                            .build();
+                });
     }
 
     @GET()
     @Produces(MediaType.APPLICATION_JSON)
-    public CompletionStage<List<$Type$Output>> getResources_$name$() {
-        return CompletableFuture.supplyAsync(() -> processService.getProcessInstanceOutput(process));
+    public CompletionStage<List<$Type$Output>> getResources_$name$(@QueryParam("after") String after,
+                                                                   @QueryParam("pageSize") @DefaultValue("0") int pageSize) {
+        return supplyAsync(() -> after == null && pageSize <= 0 ? processService.getProcessInstanceOutput(process)
+                : processService.getProcessInstanceOutput(process, after, pageSize));
+    }
+
+    @GET()
+    @Produces("application/x-ndjson")
+    public StreamingOutput streamResources_$name$() {
+        return output -> {
+            try (Stream<$Type$Output> outputs = processService.streamProcessInstanceOutput(process);
+                    SequenceWriter writer = objectMapper.writer().withRootValueSeparator("\n").writeValues(output)) {
+                Iterator<$Type$Output> iterator = outputs.iterator();
+                while (iterator.hasNext()) {
+                    writer.write(iterator.next());
+                }
+            }
+        };
     }
 
     @GET()
     @Path("/{id}")
     @Produces(MediaType.APPLICATION_JSON)
     public CompletionStage<$Type$Output> getResource_$name$(@PathParam("id") String id) {
-        return CompletableFuture.supplyAsync(() -> processService.findById(process, id).orElseThrow(NotFoundException::new));
+        return supplyAsync(() -> processService.findById(process, id).orElseThrow(NotFoundException::new));
     }
 
     @DELETE()
     @Path("/{id}")
     @Produces(MediaType.APPLICATION_JSON)
     public CompletionStage<$Type$Output> deleteResource_$name$(@PathParam("id") final String id) {
-        return CompletableFuture.supplyAsync(() -> processService.delete(process, id).orElseThrow(NotFoundException::new));
+        return supplyAsync(() -> processService.delete(process, id).orElseThrow(NotFoundException::new));
     }
 
     @PUT()
@@ -105,7 +147,7 @@ public class $Type$ReactiveResource {
     @Consumes(MediaType.APPLICATION_JSON)
     @Produces(MediaType.APPLICATION_JSON)
     public CompletionStage<$Type$Output> updateModel_$name$(@PathParam("id") String id, $Type$ resource) {
-        return CompletableFuture.supplyAsync(() -> processService.update(process, id, resource).orElseThrow(NotFoundException::new));
+        return supplyAsync(() -> processService.update(process, id, resource).orElseThrow(NotFoundException::new));
     }
 
     @GET()
@@ -114,11 +156,20 @@ public class $Type$ReactiveResource {
     public CompletionStage<List<TaskModel>> getTasks_$name$(@PathParam("id") String id,
                                                            @QueryParam("user") final String user,
                                                            @QueryParam("group") final List<String> groups) {
-        return CompletableFuture.supplyAsync(
+        return supplyAsync(
                 () -> processService.getTasks(process, id, user, groups)
                         .orElseThrow(NotFoundException::new)
                         .stream()
                         .map($TaskModelFactory$::from)
                         .collect(Collectors.toList()));
     }
-}
\ No newline at end of file
+
+    private <T> CompletionStage<T> supplyAsync(Supplier<T> supplier) {
+        try {
+            return CompletableFuture.supplyAsync(supplier, executor);
+        } catch (RejectedExecutionException e) {
+            // the executor queue is full, ask the client to retry later instead of failing with a server error
+            throw new ServiceUnavailableException(retryAfter, e);
+        }
+    }
+}
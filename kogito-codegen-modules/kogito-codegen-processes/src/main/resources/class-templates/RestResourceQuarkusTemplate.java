@@ -18,10 +18,12 @@
  */
 package com.myspace.demo;
 
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import jakarta.inject.Inject;
 import jakarta.ws.rs.ClientErrorException;
@@ -44,6 +46,7 @@ import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.UriBuilder;
 import jakarta.ws.rs.core.UriInfo;
 import jakarta.ws.rs.core.Response.Status;
+import jakarta.ws.rs.core.StreamingOutput;
 
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
@@ -59,10 +62,15 @@ import org.kie.kogito.process.workitem.TaskModel;
 import org.kie.kogito.auth.IdentityProviderFactory;
 import org.kie.kogito.auth.SecurityPolicy;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+
 @Path("/$name$")
 @Tag(name = "Process - $name$", description = "$documentation$")
 public class $Type$Resource {
 
+    private static final String APPLICATION_NDJSON = "application/x-ndjson";
+
     Process<$Type$> process;
 
     @Inject
@@ -71,6 +79,9 @@ public class $Type$Resource {
     @Inject
     IdentityProviderFactory identityProviderFactory;
 
+    @Inject
+    ObjectMapper objectMapper;
+
     @POST
     @Produces(MediaType.APPLICATION_JSON)
     @Consumes(MediaType.APPLICATION_JSON)
@@ -97,8 +108,24 @@ public class $Type$Resource {
     @GET
     @Produces(MediaType.APPLICATION_JSON)
     @Operation(operationId = "getAllProcessInstances_$name$", summary = "$documentation$", description = "$processInstanceDescription$")
-    public List<$Type$Output> getResources_$name$() {
-        return processService.getProcessInstanceOutput(process);
+    public List<$Type$Output> getResources_$name$(@QueryParam("after") String after,
+                                                  @QueryParam("pageSize") @DefaultValue("0") int pageSize) {
+        return after == null && pageSize <= 0 ? processService.getProcessInstanceOutput(process) : processService.getProcessInstanceOutput(process, after, pageSize);
+    }
+
+    @GET
+    @Produces(APPLICATION_NDJSON)
+    @Operation(operationId = "streamAllProcessInstances_$name$", summary = "$documentation$", description = "$processInstanceDescription$")
+    public StreamingOutput streamResources_$name$() {
+        return output -> {
+            try (Stream<$Type$Output> outputs = processService.streamProcessInstanceOutput(process);
+                    SequenceWriter writer = objectMapper.writer().withRootValueSeparator("\n").writeValues(output)) {
+                Iterator<$Type$Output> iterator = outputs.iterator();
+                while (iterator.hasNext()) {
+                    writer.write(iterator.next());
+                }
+            }
+        };
     }
 
     @GET
@@ -18,10 +18,12 @@
  */
 package com.myspace.demo;
 
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.jbpm.util.JsonSchemaUtil;
 import org.kie.kogito.process.Process;
@@ -48,9 +50,13 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.UriComponents;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+
 import io.swagger.v3.oas.annotations.Operation;
 
 @RestController
@@ -66,6 +72,9 @@ public class $Type$Resource {
     @Autowired
     IdentityProviderFactory identityProviderFactory;
 
+    @Autowired
+    ObjectMapper objectMapper;
+
     @PostMapping(produces = MediaType.APPLICATION_JSON_VALUE, consumes = MediaType.APPLICATION_JSON_VALUE)
     @Operation(operationId = "createProcessInstance_$name$", summary = "$documentation$", description = "$processInstanceDescription$")
     public ResponseEntity<$Type$Output> createResource_$name$(@RequestHeader HttpHeaders httpHeaders,
@@ -86,8 +95,23 @@ public class $Type$Resource {
 
     @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
     @Operation(operationId = "getAllProcessInstances_$name$", summary = "$documentation$", description = "$processInstanceDescription$")
-    public List<$Type$Output> getResources_$name$() {
-        return processService.getProcessInstanceOutput(process);
+    public List<$Type$Output> getResources_$name$(@RequestParam(value = "after", required = false) String after,
+                                                  @RequestParam(value = "pageSize", defaultValue = "0") int pageSize) {
+        return after == null && pageSize <= 0 ? processService.getProcessInstanceOutput(process) : processService.getProcessInstanceOutput(process, after, pageSize);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(operationId = "streamAllProcessInstances_$name$", summary = "$documentation$", description = "$processInstanceDescription$")
+    public ResponseEntity<StreamingResponseBody> streamResources_$name$() {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(output -> {
+            try (Stream<$Type$Output> outputs = processService.streamProcessInstanceOutput(process);
+                    SequenceWriter writer = objectMapper.writer().withRootValueSeparator("\n").writeValues(output)) {
+                Iterator<$Type$Output> iterator = outputs.iterator();
+                while (iterator.hasNext()) {
+                    writer.write(iterator.next());
+                }
+            }
+        });
     }
 
     @GetMapping(value = "/schema", produces = MediaType.APPLICATION_JSON_VALUE)
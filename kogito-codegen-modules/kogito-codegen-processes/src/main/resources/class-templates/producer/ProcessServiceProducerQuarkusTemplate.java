@@ -19,11 +19,16 @@
 package $Package$;
 
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Disposes;
 import jakarta.enterprise.inject.Produces;
+import jakarta.enterprise.inject.Typed;
+import jakarta.inject.Singleton;
 
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.kie.kogito.Application;
 import org.kie.kogito.process.ProcessService;
 import org.kie.kogito.process.impl.ProcessServiceImpl;
+import org.kie.kogito.services.executor.BoundedExecutor;
 
 
 
@@ -34,4 +39,17 @@ public class ProcessServiceProducer {
     public ProcessService processService(Application application){
         return new ProcessServiceImpl(application);
     }
+
+    @Produces
+    @Singleton
+    @Typed(BoundedExecutor.class)
+    public BoundedExecutor restExecutor(@ConfigProperty(name = BoundedExecutor.EXECUTOR_TYPE_PROPERTY, defaultValue = BoundedExecutor.VIRTUAL_THREADS) String type,
+            @ConfigProperty(name = BoundedExecutor.EXECUTOR_MAX_CONCURRENCY_PROPERTY, defaultValue = BoundedExecutor.DEFAULT_MAX_CONCURRENCY) int maxConcurrency,
+            @ConfigProperty(name = BoundedExecutor.EXECUTOR_QUEUE_SIZE_PROPERTY, defaultValue = BoundedExecutor.DEFAULT_QUEUE_SIZE) int queueSize) {
+        return new BoundedExecutor(type, maxConcurrency, queueSize);
+    }
+
+    public void closeRestExecutor(@Disposes BoundedExecutor executor) {
+        executor.close();
+    }
 }
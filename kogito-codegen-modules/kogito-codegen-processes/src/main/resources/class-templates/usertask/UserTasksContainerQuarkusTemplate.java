@@ -25,7 +25,7 @@ import java.util.List;
 
 import org.kie.kogito.jobs.JobsService;
 import org.kie.kogito.services.jobs.impl.InMemoryJobContext;
-import org.kie.kogito.services.jobs.impl.InMemoryJobService;
+import org.kie.kogito.services.jobs.impl.JobExecutorFactoryRegistry;
 import org.kie.kogito.services.jobs.impl.InMemoryUserTaskJobExecutorFactory;
 import org.kie.kogito.uow.UnitOfWorkManager;
 import org.kie.kogito.uow.events.UnitOfWorkUserTaskEventListener;
@@ -64,10 +64,10 @@ public class UserTasks implements org.kie.kogito.usertask.UserTasks {
         }
         JobsService jobsService = application.config().get(UserTaskConfig.class).jobsService();
         UnitOfWorkManager unitOfWorkManager = application.config().get(UserTaskConfig.class).unitOfWorkManager();
-        if (jobsService instanceof InMemoryJobService) {
-            InMemoryJobService inMemoryJobService = (InMemoryJobService) jobsService;
+        if (jobsService instanceof JobExecutorFactoryRegistry) {
+            JobExecutorFactoryRegistry jobExecutorFactoryRegistry = (JobExecutorFactoryRegistry) jobsService;
             InMemoryJobContext context = new InMemoryJobContext(null, unitOfWorkManager, null, this);
-            inMemoryJobService.registerJobExecutorFactory(new InMemoryUserTaskJobExecutorFactory(context));
+            jobExecutorFactoryRegistry.registerJobExecutorFactory(new InMemoryUserTaskJobExecutorFactory(context));
         }
     }
 
@@ -376,6 +376,8 @@ public class ProcessResourceGeneratorTest {
             operationId = String.format("createProcessInstance_%s", nameWithoutExt);
         } else if (method.getNameAsString().startsWith("getResources_")) {
             operationId = String.format("getAllProcessInstances_%s", nameWithoutExt);
+        } else if (method.getNameAsString().startsWith("streamResources_")) {
+            operationId = String.format("streamAllProcessInstances_%s", nameWithoutExt);
         } else if (method.getNameAsString().startsWith("getResourceSchema_")) {
             operationId = String.format("getResourceSchema_%s", nameWithoutExt);
         } else if (method.getNameAsString().startsWith("getResource_")) {
@@ -62,7 +62,7 @@ class InfinispanPersistenceGeneratorTest extends AbstractPersistenceGeneratorTes
         }
         System.out.println("marshaller " + hasProtoMarshaller(context));
         System.out.println("index " + hasDataIndexProto(context));
-        int marshallerFiles = hasProtoMarshaller(context) ? 14 : 0;
+        int marshallerFiles = hasProtoMarshaller(context) ? 15 : 0;
         int dataIndexFiles = hasDataIndexProto(context) ? 2 : 0;
         int expectedNumberOfFiles = marshallerFiles + dataIndexFiles;
         assertThat(generatedFiles).hasSize(expectedNumberOfFiles);
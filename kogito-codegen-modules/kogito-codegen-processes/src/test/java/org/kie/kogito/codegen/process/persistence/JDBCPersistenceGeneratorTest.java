@@ -62,7 +62,7 @@ class JDBCPersistenceGeneratorTest extends AbstractPersistenceGeneratorTest {
             }
 
         }
-        int marshallerFiles = hasProtoMarshaller(context) ? 14 : 0;
+        int marshallerFiles = hasProtoMarshaller(context) ? 15 : 0;
         int dataIndexFiles = hasDataIndexProto(context) ? 2 : 0;
         int expectedNumberOfFiles = marshallerFiles + dataIndexFiles;
         assertThat(generatedFiles).hasSize(expectedNumberOfFiles);
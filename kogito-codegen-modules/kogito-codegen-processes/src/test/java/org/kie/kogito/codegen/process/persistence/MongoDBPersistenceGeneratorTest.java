@@ -46,7 +46,7 @@ class MongoDBPersistenceGeneratorTest extends AbstractPersistenceGeneratorTest {
         PersistenceGenerator persistenceGenerator = new PersistenceGenerator(context, protoGenerator, new ReflectionMarshallerGenerator(context));
         Collection<GeneratedFile> generatedFiles = persistenceGenerator.generate();
 
-        int marshallerFiles = hasProtoMarshaller(context) ? 14 : 0;
+        int marshallerFiles = hasProtoMarshaller(context) ? 15 : 0;
         int dataIndexFiles = hasDataIndexProto(context) ? 2 : 0;
         int expectedNumberOfFiles = marshallerFiles + dataIndexFiles;
         assertThat(generatedFiles).hasSize(expectedNumberOfFiles);
@@ -24,8 +24,10 @@ import java.util.Collection;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.kie.kogito.internal.process.runtime.KogitoProcessContext;
@@ -56,11 +58,16 @@ public class JqExpression implements Expression {
     static final String LANG = "jq";
 
     private static final Logger logger = LoggerFactory.getLogger(JqExpression.class);
+    private static final Pattern VARIABLE_REFERENCE = Pattern.compile("\\$([a-zA-Z_][a-zA-Z0-9_]*)");
+    private static final Set<String> MAGIC_VARIABLES = Set.of(ExpressionHandlerUtils.SECRET_MAGIC, ExpressionHandlerUtils.CONTEXT_MAGIC, ExpressionHandlerUtils.CONST_MAGIC);
+    private static final JsonNode SECRET_NODE = new PrefixJsonNode<>(ExpressionHandlerUtils::getOptionalSecret);
     private final Map<Class<? extends net.thisptr.jackson.jq.Expression>, Collection<Field>> declaredFieldsMap = new ConcurrentHashMap<>();
     private final Map<Class<? extends net.thisptr.jackson.jq.Expression>, Collection<Field>> allFieldsMap = new ConcurrentHashMap<>();
 
     private final Supplier<Scope> scope;
     private final String expr;
+    private final Set<String> variables;
+    private final boolean additionalVariables;
 
     private net.thisptr.jackson.jq.Expression internalExpr;
     private JsonQueryException validationError;
@@ -78,6 +85,8 @@ public class JqExpression implements Expression {
     public JqExpression(Supplier<Scope> scope, String expr, Version version) {
         this.expr = expr;
         this.scope = scope;
+        this.variables = referencedVariables(expr);
+        this.additionalVariables = !MAGIC_VARIABLES.containsAll(variables);
         try {
             this.internalExpr = compile(version);
             checkFunctionCall(internalExpr);
@@ -86,6 +95,15 @@ public class JqExpression implements Expression {
         }
     }
 
+    private static Set<String> referencedVariables(String expr) {
+        Set<String> variables = new HashSet<>();
+        Matcher matcher = VARIABLE_REFERENCE.matcher(expr);
+        while (matcher.find()) {
+            variables.add(matcher.group(1));
+        }
+        return variables;
+    }
+
     private net.thisptr.jackson.jq.Expression compile(Version version) throws JsonQueryException {
         net.thisptr.jackson.jq.Expression expression;
         try {
@@ -205,10 +223,19 @@ public class JqExpression implements Expression {
 
     private Scope getScope(KogitoProcessContext processInfo) {
         Scope childScope = Scope.newChildScope(scope.get());
-        childScope.setValue(ExpressionHandlerUtils.SECRET_MAGIC, new PrefixJsonNode<>(ExpressionHandlerUtils::getOptionalSecret));
-        childScope.setValue(ExpressionHandlerUtils.CONTEXT_MAGIC, new FunctionJsonNode(ExpressionHandlerUtils.getContextFunction(processInfo)));
-        childScope.setValue(ExpressionHandlerUtils.CONST_MAGIC, ExpressionHandlerUtils.getConstants(processInfo));
-        VariablesHelper.getAdditionalVariables(processInfo).forEach(childScope::setValue);
+        // only variables referenced by the expression are resolved, most filters do not use any
+        if (variables.contains(ExpressionHandlerUtils.SECRET_MAGIC)) {
+            childScope.setValue(ExpressionHandlerUtils.SECRET_MAGIC, SECRET_NODE);
+        }
+        if (variables.contains(ExpressionHandlerUtils.CONTEXT_MAGIC)) {
+            childScope.setValue(ExpressionHandlerUtils.CONTEXT_MAGIC, new FunctionJsonNode(ExpressionHandlerUtils.getContextFunction(processInfo)));
+        }
+        if (variables.contains(ExpressionHandlerUtils.CONST_MAGIC)) {
+            childScope.setValue(ExpressionHandlerUtils.CONST_MAGIC, ExpressionHandlerUtils.getConstants(processInfo));
+        }
+        if (additionalVariables) {
+            VariablesHelper.getAdditionalVariables(processInfo, variables::contains).forEach(childScope::setValue);
+        }
         return childScope;
     }
 
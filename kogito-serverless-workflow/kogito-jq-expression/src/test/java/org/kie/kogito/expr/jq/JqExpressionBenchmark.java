@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.expr.jq;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.kie.kogito.internal.process.runtime.KogitoProcessContext;
+import org.kie.kogito.jackson.utils.ObjectMapperFactory;
+import org.kie.kogito.process.expr.Expression;
+import org.kie.kogito.process.expr.ExpressionHandlerFactory;
+import org.kie.kogito.serverless.workflow.test.MockBuilder;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Evaluates filters typically found in state and action data filters against a workflow model.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JqExpressionBenchmark {
+
+    @Param({ ".order.items", "{total: [.order.items[].price] | add}", ".order + {customer: $WORKFLOW.instanceId}", "$CONST.currency" })
+    private String filter;
+
+    private Expression expression;
+    private JsonNode model;
+    private KogitoProcessContext context;
+
+    @Setup
+    public void setup() {
+        expression = ExpressionHandlerFactory.get("jq", filter);
+        ObjectNode order = ObjectMapperFactory.get().createObjectNode();
+        ArrayNode items = order.putArray("items");
+        for (int i = 0; i < 10; i++) {
+            items.addObject().put("name", "item" + i).put("price", i);
+        }
+        model = ObjectMapperFactory.get().createObjectNode().set("order", order);
+        context = MockBuilder.kogitoProcessContext()
+                .withProcessInstanceMock(p -> Mockito.when(p.getId()).thenReturn("1111-2222-3333"))
+                .withConstants(Collections.singletonMap("currency", "EUR"))
+                .build();
+    }
+
+    @Benchmark
+    public JsonNode eval() {
+        return expression.eval(model, JsonNode.class, context);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JqExpressionBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -281,6 +281,14 @@ class JqExpressionHandlerTest {
         assertThat(ExpressionHandlerFactory.get("jq", "length .variable").isValid()).isTrue();
     }
 
+    @Test
+    void testUnreferencedVariablesNotResolved() {
+        KogitoProcessContext context = Mockito.mock(KogitoProcessContext.class);
+        Expression parsedExpression = ExpressionHandlerFactory.get("jq", ".propertyString");
+        assertThat(parsedExpression.eval(getObjectNode(), String.class, context)).isEqualTo("string");
+        Mockito.verifyNoInteractions(context);
+    }
+
     private static Stream<Arguments> provideMagicWordExpressionsToTest() {
         return Stream.of(
                 Arguments.of("$WORKFLOW.instanceId", "1111-2222-3333", getContext()),
@@ -25,6 +25,7 @@ import java.net.URL;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -49,6 +50,7 @@ import org.kie.kogito.serverless.workflow.parser.handlers.StateHandler;
 import org.kie.kogito.serverless.workflow.parser.handlers.StateHandlerFactory;
 import org.kie.kogito.serverless.workflow.parser.handlers.validation.WorkflowValidator;
 import org.kie.kogito.serverless.workflow.suppliers.JsonSchemaValidatorSupplier;
+import org.kie.kogito.serverless.workflow.utils.ExpressionHandlerUtils;
 import org.kie.kogito.serverless.workflow.utils.ServerlessWorkflowUtils;
 import org.kie.kogito.serverless.workflow.utils.WorkflowFormat;
 
@@ -73,6 +75,9 @@ public class ServerlessWorkflowParser {
 
     public static final String JSON_NODE = "com.fasterxml.jackson.databind.JsonNode";
     public static final String DEFAULT_WORKFLOW_VAR = SWFConstants.DEFAULT_WORKFLOW_VAR;
+    public static final String PRECOMPILE_EXPRESSIONS_PROPERTY = ServerlessWorkflowUtils.APP_PROPERTIES_BASE + "expressions.precompile";
+
+    private static final String EXPR_PREFIX = "${";
 
     private NodeIdGenerator idGenerator = DefaultNodeIdGenerator.get();
     private Workflow workflow;
@@ -175,6 +180,12 @@ public class ServerlessWorkflowParser {
         if (!annotations.isEmpty()) {
             factory.metaData(Metadata.ANNOTATIONS, annotations);
         }
+        if (context.getApplicationProperty(PRECOMPILE_EXPRESSIONS_PROPERTY, Boolean.class).orElse(false)) {
+            Collection<String> expressions = collectExpressions();
+            if (!expressions.isEmpty()) {
+                factory.metaData(Metadata.PRECOMPILED_EXPRESSIONS, new ArrayList<>(expressions));
+            }
+        }
         factory.link();
         List<ProcessValidationError> errors = RuleFlowProcessValidator.getInstance().validateProcess(factory.getProcess(), new ArrayList<>());
         parserContext.validationErrors().forEach(m -> errors.add(new ProcessValidationErrorImpl(factory.getProcess(), m)));
@@ -197,6 +208,29 @@ public class ServerlessWorkflowParser {
         return processInfo;
     }
 
+    private Collection<String> collectExpressions() {
+        Collection<String> expressions = new LinkedHashSet<>();
+        collectExpressions(ServerlessWorkflowUtils.toJsonNode(workflow), expressions);
+        return expressions;
+    }
+
+    private void collectExpressions(JsonNode node, Collection<String> expressions) {
+        if (node.isTextual()) {
+            String text = node.asText();
+            if (text.trim().startsWith(EXPR_PREFIX)) {
+                // the same expression might reach the handler either verbatim or already resolved, so both are compiled
+                expressions.add(text);
+                try {
+                    expressions.add(ExpressionHandlerUtils.replaceExpr(workflow, text));
+                } catch (IllegalArgumentException ex) {
+                    // unknown function references are reported by the state handlers
+                }
+            }
+        } else {
+            node.forEach(child -> collectExpressions(child, expressions));
+        }
+    }
+
     private void loadConstants(RuleFlowProcessFactory factory, ParserContext parserContext) {
         Constants constants = workflow.getConstants();
         if (constants != null) {
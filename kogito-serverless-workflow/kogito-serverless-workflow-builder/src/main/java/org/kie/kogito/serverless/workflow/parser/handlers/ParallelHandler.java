@@ -18,10 +18,10 @@
  */
 package org.kie.kogito.serverless.workflow.parser.handlers;
 
-import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
 
 import org.jbpm.ruleflow.core.Metadata;
 import org.jbpm.ruleflow.core.RuleFlowNodeContainerFactory;
@@ -44,6 +44,7 @@ import org.kie.kogito.serverless.workflow.suppliers.MergeActionSupplier;
 import io.serverlessworkflow.api.Workflow;
 import io.serverlessworkflow.api.actions.Action;
 import io.serverlessworkflow.api.branches.Branch;
+import io.serverlessworkflow.api.filters.ActionDataFilter;
 import io.serverlessworkflow.api.states.ParallelState;
 import io.serverlessworkflow.api.states.ParallelState.CompletionType;
 
@@ -74,11 +75,12 @@ public class ParallelHandler extends CompositeContextNodeHandler<ParallelState>
             }
         }
 
-        Set<String> branchVariables = new HashSet<>();
+        // branch variable name -> whether the workflow data can be shared with it until modified
+        Map<String, Boolean> branchVariables = new LinkedHashMap<>();
         for (Branch branch : state.getBranches()) {
             currentBranch = branch;
             String branchVarName = getVarName();
-            branchVariables.add(branchVarName);
+            branchVariables.put(branchVarName, branch.getActions().stream().noneMatch(ParallelHandler::assignsToStateData));
             CompositeContextNodeFactory<?> embeddedSubProcess =
                     handleActions(makeCompositeNode(factory, getName(branch)), branch.getActions(), null, true, branchVarName);
             handleErrors(factory, embeddedSubProcess);
@@ -86,15 +88,13 @@ public class ParallelHandler extends CompositeContextNodeHandler<ParallelState>
             embeddedSubProcess.done().connection(splitFactory.getNode().getId(), branchId).connection(branchId, connectionNode.getNode().getId());
         }
 
-        Iterator<String> iter = branchVariables.iterator();
+        Iterator<Map.Entry<String, Boolean>> iter = branchVariables.entrySet().iterator();
         NodeFactory<?, ?> startNode;
         if (iter.hasNext()) {
-            startNode = factory.actionNode(parserContext.newId())
-                    .action(new CloneVariableActionSupplier(DEFAULT_WORKFLOW_VAR, iter.next()));
+            startNode = factory.actionNode(parserContext.newId()).action(cloneAction(iter.next()));
             NodeFactory<?, ?> currentNode = startNode;
             while (iter.hasNext()) {
-                currentNode = connect(currentNode, factory.actionNode(parserContext.newId())
-                        .action(new CloneVariableActionSupplier(DEFAULT_WORKFLOW_VAR, iter.next())));
+                currentNode = connect(currentNode, factory.actionNode(parserContext.newId()).action(cloneAction(iter.next())));
             }
             connect(currentNode, splitFactory);
         } else {
@@ -108,7 +108,26 @@ public class ParallelHandler extends CompositeContextNodeHandler<ParallelState>
             boolean shouldMerge, String modelVar) {
         currentNode = super.handleActions(embeddedSubProcess, currentNode, actions, outputVar, shouldMerge, modelVar);
         return connect(currentNode, embeddedSubProcess.actionNode(parserContext.newId())
-                .action(new MergeActionSupplier(modelVar, DEFAULT_WORKFLOW_VAR)));
+                .action(mergeAction(modelVar, DEFAULT_WORKFLOW_VAR)));
+    }
+
+    /**
+     * Branches share the untouched parts of the workflow data, so merges into the branch variables and back into the
+     * workflow data copy the nodes they modify instead of changing them in place.
+     */
+    @Override
+    protected MergeActionSupplier mergeAction(String inputVar, String outputVar) {
+        return new MergeActionSupplier(inputVar, outputVar, true);
+    }
+
+    private static CloneVariableActionSupplier cloneAction(Map.Entry<String, Boolean> branchVariable) {
+        return new CloneVariableActionSupplier(DEFAULT_WORKFLOW_VAR, branchVariable.getKey(), branchVariable.getValue());
+    }
+
+    // toStateData is assigned in place into the branch variable, which therefore needs its own deep copy of the workflow data
+    private static boolean assignsToStateData(Action action) {
+        ActionDataFilter filter = action.getActionDataFilter();
+        return filter != null && filter.isUseResults() && filter.getToStateData() != null;
     }
 
     private String getName(Branch branch) {
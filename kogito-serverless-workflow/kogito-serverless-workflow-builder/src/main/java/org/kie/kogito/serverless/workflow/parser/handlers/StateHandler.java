@@ -470,7 +470,7 @@ public abstract class StateHandler<S extends State> {
                         .action(new CollectorActionSupplier(workflow.getExpressionLang(), toStateExpr, modelVar, actionVarName)));
             } else if (shouldMerge) {
                 currentNode = connect(currentNode, embeddedSubProcess.actionNode(parserContext.newId())
-                        .action(new MergeActionSupplier(actionVarName, modelVar)));
+                        .action(mergeAction(actionVarName, modelVar)));
             }
         }
         currentNode.done();
@@ -478,6 +478,10 @@ public abstract class StateHandler<S extends State> {
 
     }
 
+    protected MergeActionSupplier mergeAction(String inputVar, String outputVar) {
+        return new MergeActionSupplier(inputVar, outputVar);
+    }
+
     protected final NodeFactory<?, ?> connect(NodeFactory<?, ?> currentNode, NodeFactory<?, ?> nodeFactory) {
         currentNode.done().connection(currentNode.getNode().getId(), nodeFactory.getNode().getId());
         return nodeFactory;
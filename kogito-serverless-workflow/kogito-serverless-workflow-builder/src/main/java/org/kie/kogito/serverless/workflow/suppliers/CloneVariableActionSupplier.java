@@ -30,9 +30,9 @@ public class CloneVariableActionSupplier extends CloneVariableAction implements
 
     private Expression expression;
 
-    public CloneVariableActionSupplier(String sourceName, String targetName) {
-        super(sourceName, targetName);
-        this.expression = ExpressionUtils.getObjectCreationExpr(CloneVariableAction.class, sourceName, targetName);
+    public CloneVariableActionSupplier(String sourceName, String targetName, boolean copyOnWrite) {
+        super(sourceName, targetName, copyOnWrite);
+        this.expression = ExpressionUtils.getObjectCreationExpr(CloneVariableAction.class, sourceName, targetName, copyOnWrite);
     }
 
     @Override
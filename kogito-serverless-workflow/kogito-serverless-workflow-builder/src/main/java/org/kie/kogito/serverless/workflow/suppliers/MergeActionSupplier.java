@@ -36,6 +36,11 @@ public class MergeActionSupplier extends MergeAction implements ExpressionSuppli
 
     }
 
+    public MergeActionSupplier(String inputName, String outputName, boolean copyOnWrite) {
+        super(inputName, outputName, copyOnWrite);
+        this.expression = ExpressionUtils.getObjectCreationExpr(MergeAction.class, inputName, outputName, copyOnWrite);
+    }
+
     @Override
     public Expression get(KogitoNode node, ProcessMetaData metadata) {
         return expression;
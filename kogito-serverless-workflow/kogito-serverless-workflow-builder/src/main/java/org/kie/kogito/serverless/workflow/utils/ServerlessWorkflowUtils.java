@@ -48,6 +48,7 @@ import org.kie.kogito.serverless.workflow.extensions.URIDefinitions;
 import org.kie.kogito.serverless.workflow.models.JsonNodeModel;
 import org.kie.kogito.serverless.workflow.suppliers.ConfigWorkItemSupplier;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.javaparser.ast.expr.Expression;
 
@@ -145,6 +146,16 @@ public class ServerlessWorkflowUtils {
         objectMapper.writeValue(writer, workflow);
     }
 
+    /**
+     * Converts a workflow into its json tree representation
+     * 
+     * @param workflow Workflow definition
+     * @return json tree of the workflow definition
+     */
+    public static JsonNode toJsonNode(Workflow workflow) {
+        return jsonWriterMapper.valueToTree(workflow);
+    }
+
     public static Optional<String> getBaseURI(Workflow workflow) {
         return Optional.ofNullable(getMetadata(workflow).get(BASE_URI));
     }
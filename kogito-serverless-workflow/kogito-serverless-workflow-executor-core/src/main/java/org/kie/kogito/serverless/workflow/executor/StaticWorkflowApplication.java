@@ -71,8 +71,8 @@ import org.kie.kogito.serverless.workflow.parser.ServerlessWorkflowParser;
 import org.kie.kogito.serverless.workflow.utils.ConfigResolverHolder;
 import org.kie.kogito.serverless.workflow.utils.MultiSourceConfigResolver;
 import org.kie.kogito.services.jobs.impl.InMemoryJobContext;
-import org.kie.kogito.services.jobs.impl.InMemoryJobService;
 import org.kie.kogito.services.jobs.impl.InMemoryProcessJobExecutorFactory;
+import org.kie.kogito.services.jobs.impl.JobExecutorFactoryRegistry;
 import org.kie.kogito.services.jobs.impl.StaticJobService;
 import org.kie.kogito.services.uow.CollectingUnitOfWorkFactory;
 import org.kie.kogito.services.uow.DefaultUnitOfWorkManager;
@@ -245,8 +245,8 @@ public class StaticWorkflowApplication extends StaticApplication implements Auto
             UnitOfWorkManager manager, ExecutorService executor, JobsService jobsService) {
         super(new StaticConfig(new Addons(Collections.emptySet()), new StaticProcessConfig(new CachedWorkItemHandlerConfig(),
                 new DefaultProcessEventListenerConfig(listeners), manager, jobsService), new StaticConfigBean()));
-        if (jobsService instanceof InMemoryJobService inMemoryJobService) {
-            inMemoryJobService.registerJobExecutorFactory(new InMemoryProcessJobExecutorFactory(new InMemoryJobContext(null, manager, processes, null)));
+        if (jobsService instanceof JobExecutorFactoryRegistry jobExecutorFactoryRegistry) {
+            jobExecutorFactoryRegistry.registerJobExecutorFactory(new InMemoryProcessJobExecutorFactory(new InMemoryJobContext(null, manager, processes, null)));
         }
         if (!properties.isEmpty()) {
             ConfigResolverHolder.setConfigResolver(MultiSourceConfigResolver.withSystemProperties(properties));
@@ -19,6 +19,7 @@
 package org.kie.kogito.serverless.workflow.executor;
 
 import java.time.Duration;
+import java.util.Collection;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -26,8 +27,12 @@ import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
 import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.TopicPartition;
 import org.kie.kogito.event.EventReceiver;
 import org.kie.kogito.event.EventReceiverFactory;
 import org.kie.kogito.serverless.workflow.executor.events.CloudEventReceiver;
@@ -39,12 +44,18 @@ import io.cloudevents.CloudEvent;
 
 public class KafkaEventReceiverFactory implements EventReceiverFactory {
 
+    public static final String PARALLELISM_PROPERTY = "kogito.sw.executor.event.parallelism";
+    public static final String MAX_IN_FLIGHT_PROPERTY = "kogito.sw.executor.event.maxInFlight";
+
     private static final Logger logger = LoggerFactory.getLogger(KafkaEventReceiverFactory.class);
+    private static final Duration PAUSED_POLL_INTERVAL = Duration.ofMillis(100);
+    private static final Duration REVOKE_TIMEOUT = Duration.ofSeconds(10);
     private Map<String, String> trigger2Topic = KafkaPropertiesFactory.get().triggerToTopicMap("kogito.addon.messaging.incoming.trigger.");
     private Map<String, CloudEventReceiver> receivers = new ConcurrentHashMap<>();
     private Consumer<byte[], CloudEvent> consumer;
     private Lock consumerLock = new ReentrantLock();
     private Thread consumerThread;
+    private KeyOrderedRecordDispatcher dispatcher;
 
     @Override
     public EventReceiver apply(String trigger) {
@@ -68,6 +79,10 @@ public class KafkaEventReceiverFactory implements EventReceiverFactory {
         if (consumerClosed) {
             consumerThread.join();
             consumerThread = null;
+            if (dispatcher != null) {
+                dispatcher.close();
+                dispatcher = null;
+            }
         }
     }
 
@@ -81,8 +96,9 @@ public class KafkaEventReceiverFactory implements EventReceiverFactory {
                 consumerCreated = consumer == null;
                 if (consumerCreated) {
                     consumer = createKafkaConsumer();
+                    dispatcher = createDispatcher();
                 }
-                consumer.subscribe(topics);
+                consumer.subscribe(topics, new DispatcherRebalanceListener());
             } finally {
                 consumerLock.unlock();
             }
@@ -97,6 +113,25 @@ public class KafkaEventReceiverFactory implements EventReceiverFactory {
         return new KafkaConsumer<>(KafkaPropertiesFactory.get().getKafkaConsumerConfig());
     }
 
+    private KeyOrderedRecordDispatcher createDispatcher() {
+        int parallelism = ConfigResolverHolder.getConfigResolver().getConfigProperty(PARALLELISM_PROPERTY, int.class).orElse(1);
+        if (parallelism <= 1) {
+            return null;
+        }
+        int maxInFlight = ConfigResolverHolder.getConfigResolver().getConfigProperty(MAX_IN_FLIGHT_PROPERTY, int.class).orElse(1000);
+        return new KeyOrderedRecordDispatcher(parallelism, maxInFlight, this::onRecord);
+    }
+
+    private void onRecord(ConsumerRecord<byte[], CloudEvent> record) {
+        String topic = record.topic();
+        CloudEventReceiver receiver = receivers.get(topic);
+        if (receiver == null) {
+            logger.info("No subscription for topic {}", topic);
+        } else {
+            receiver.onEvent(record.value());
+        }
+    }
+
     private void eventLoop() {
         while (true) {
             Iterable<ConsumerRecord<byte[], CloudEvent>> records;
@@ -106,17 +141,16 @@ public class KafkaEventReceiverFactory implements EventReceiverFactory {
                 if (consumer == null) {
                     return;
                 }
-                records = consumer.poll(Duration.ofSeconds(pollTimeout));
+                // while paused, poll often so consumption resumes as soon as in flight records are done
+                records = consumer.poll(consumer.paused().isEmpty() ? Duration.ofSeconds(pollTimeout) : PAUSED_POLL_INTERVAL);
             } finally {
                 consumerLock.unlock();
             }
             for (ConsumerRecord<byte[], CloudEvent> record : records) {
-                String topic = record.topic();
-                CloudEventReceiver receiver = receivers.get(topic);
-                if (receiver == null) {
-                    logger.info("No subscription for topic {}", topic);
+                if (dispatcher == null) {
+                    onRecord(record);
                 } else {
-                    receiver.onEvent(record.value());
+                    dispatcher.dispatch(record);
                 }
             }
             try {
@@ -124,10 +158,63 @@ public class KafkaEventReceiverFactory implements EventReceiverFactory {
                 if (consumer == null) {
                     return;
                 }
-                consumer.commitAsync();
+                if (dispatcher == null) {
+                    consumer.commitAsync();
+                } else {
+                    commitCompleted();
+                }
             } finally {
                 consumerLock.unlock();
             }
         }
     }
+
+    private void commitCompleted() {
+        Map<TopicPartition, OffsetAndMetadata> offsets = dispatcher.committableOffsets(consumer.assignment());
+        if (!offsets.isEmpty()) {
+            consumer.commitAsync(offsets, (committed, ex) -> {
+                if (ex != null) {
+                    logger.warn("Error committing offsets {}", committed, ex);
+                }
+            });
+        }
+        dispatcher.applyBackpressure(consumer);
+    }
+
+    // invoked by the consumer, from the polling thread or while closing it, always holding the consumer lock
+    private class DispatcherRebalanceListener implements ConsumerRebalanceListener {
+
+        @Override
+        public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+            if (dispatcher == null || partitions.isEmpty()) {
+                return;
+            }
+            try {
+                // records of the revoked partitions are finished, and their offsets committed, before the new owner
+                // starts consuming them, so they are not handled twice
+                Map<TopicPartition, OffsetAndMetadata> offsets = dispatcher.revoke(partitions, REVOKE_TIMEOUT);
+                if (!offsets.isEmpty()) {
+                    consumer.commitSync(offsets);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (KafkaException e) {
+                logger.warn("Error committing offsets of revoked partitions {}", partitions, e);
+            }
+        }
+
+        @Override
+        public void onPartitionsAssigned(Collection<TopicPartition> partitions) {
+            if (dispatcher != null) {
+                dispatcher.applyBackpressure(consumer);
+            }
+        }
+
+        @Override
+        public void onPartitionsLost(Collection<TopicPartition> partitions) {
+            if (dispatcher != null) {
+                dispatcher.lose(partitions);
+            }
+        }
+    }
 }
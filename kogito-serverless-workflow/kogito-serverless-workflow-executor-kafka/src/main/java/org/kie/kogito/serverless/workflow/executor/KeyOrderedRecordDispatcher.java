@@ -0,0 +1,214 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.serverless.workflow.executor;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.kie.kogito.event.cloudevents.CloudEventExtensionConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.cloudevents.CloudEvent;
+
+/**
+ * Dispatches polled records to a fixed number of single threaded lanes. Records sharing the same key (or, for keyless
+ * records, the same process reference id) always go to the same lane, so they are handled in order, while records with
+ * different keys are handled in parallel.
+ * <p>
+ * Only offsets of records whose handling has finished are reported as committable; a record still in flight holds
+ * back the committed offset of its partition. All methods but the lane tasks are expected to be invoked from the
+ * consumer polling thread, including the rebalance callbacks revoking partitions.
+ */
+class KeyOrderedRecordDispatcher implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(KeyOrderedRecordDispatcher.class);
+
+    private final ExecutorService[] lanes;
+    private final int maxInFlight;
+    private final Consumer<ConsumerRecord<byte[], CloudEvent>> handler;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Map<TopicPartition, PartitionOffsets> partitions = new ConcurrentHashMap<>();
+
+    KeyOrderedRecordDispatcher(int parallelism, int maxInFlight, Consumer<ConsumerRecord<byte[], CloudEvent>> handler) {
+        this.lanes = new ExecutorService[parallelism];
+        for (int i = 0; i < parallelism; i++) {
+            lanes[i] = Executors.newSingleThreadExecutor();
+        }
+        this.maxInFlight = maxInFlight;
+        this.handler = handler;
+    }
+
+    void dispatch(ConsumerRecord<byte[], CloudEvent> record) {
+        PartitionOffsets offsets = partitions.computeIfAbsent(new TopicPartition(record.topic(), record.partition()), k -> new PartitionOffsets());
+        offsets.polled(record.offset());
+        inFlight.incrementAndGet();
+        lanes[Math.floorMod(laneKey(record), lanes.length)].execute(() -> {
+            try {
+                handler.accept(record);
+            } catch (RuntimeException ex) {
+                logger.error("Error handling record {} of topic {} partition {}", record.offset(), record.topic(), record.partition(), ex);
+            } finally {
+                offsets.completed(record.offset());
+                inFlight.decrementAndGet();
+            }
+        });
+    }
+
+    private static int laneKey(ConsumerRecord<byte[], CloudEvent> record) {
+        if (record.key() != null && record.key().length > 0) {
+            return Arrays.hashCode(record.key());
+        }
+        Object correlation = record.value() == null ? null : record.value().getExtension(CloudEventExtensionConstants.PROCESS_REFERENCE_ID);
+        return correlation != null ? correlation.hashCode() : Objects.hash(record.topic(), record.partition());
+    }
+
+    /**
+     * Returns, for every assigned partition whose position advanced since the previous call, the offset to commit.
+     * Partitions no longer assigned are forgotten.
+     */
+    Map<TopicPartition, OffsetAndMetadata> committableOffsets(Set<TopicPartition> assignment) {
+        partitions.keySet().retainAll(assignment);
+        Map<TopicPartition, OffsetAndMetadata> result = new HashMap<>();
+        partitions.forEach((partition, offsets) -> {
+            long offset = offsets.committable();
+            if (offset > offsets.committed) {
+                offsets.committed = offset;
+                result.put(partition, new OffsetAndMetadata(offset));
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Pauses every assigned partition while the number of records in flight reaches the limit and resumes them once
+     * it goes below. Partitions assigned while consumption is paused are paused as well.
+     */
+    void applyBackpressure(org.apache.kafka.clients.consumer.Consumer<?, ?> consumer) {
+        if (inFlight.get() >= maxInFlight) {
+            Set<TopicPartition> active = new HashSet<>(consumer.assignment());
+            active.removeAll(consumer.paused());
+            if (!active.isEmpty()) {
+                logger.debug("Pausing consumption of {}, {} records in flight", active, inFlight.get());
+                consumer.pause(active);
+            }
+        } else if (!consumer.paused().isEmpty()) {
+            logger.debug("Resuming consumption, {} records in flight", inFlight.get());
+            consumer.resume(consumer.paused());
+        }
+    }
+
+    /**
+     * Waits, up to the given timeout, for the records in flight of the revoked partitions to be handled and returns
+     * the offsets to commit for them before they are handed over to another consumer. The revoked partitions are
+     * forgotten.
+     */
+    Map<TopicPartition, OffsetAndMetadata> revoke(Collection<TopicPartition> revoked, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        Map<TopicPartition, OffsetAndMetadata> result = new HashMap<>();
+        for (TopicPartition partition : revoked) {
+            PartitionOffsets offsets = partitions.remove(partition);
+            if (offsets != null) {
+                if (!offsets.awaitCompleted(deadline)) {
+                    logger.warn("Records of partition {} still in flight after {}, they might be handled again by the new owner", partition, timeout);
+                }
+                long offset = offsets.committable();
+                if (offset > offsets.committed) {
+                    result.put(partition, new OffsetAndMetadata(offset));
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Forgets partitions lost without a clean revocation, whose offsets can no longer be committed
+     */
+    void lose(Collection<TopicPartition> lost) {
+        partitions.keySet().removeAll(lost);
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        for (ExecutorService lane : lanes) {
+            lane.shutdown();
+        }
+        for (ExecutorService lane : lanes) {
+            if (!lane.awaitTermination(10, TimeUnit.SECONDS)) {
+                lane.shutdownNow();
+            }
+        }
+    }
+
+    private static class PartitionOffsets {
+        private final NavigableSet<Long> pending = new ConcurrentSkipListSet<>();
+        private volatile long next = -1;
+        private long committed = -1;
+
+        void polled(long offset) {
+            pending.add(offset);
+            next = offset + 1;
+        }
+
+        void completed(long offset) {
+            pending.remove(offset);
+            if (pending.isEmpty()) {
+                synchronized (this) {
+                    notifyAll();
+                }
+            }
+        }
+
+        synchronized boolean awaitCompleted(long deadline) throws InterruptedException {
+            long remaining;
+            while (!pending.isEmpty() && (remaining = deadline - System.nanoTime()) > 0) {
+                TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            }
+            return pending.isEmpty();
+        }
+
+        long committable() {
+            // next is only updated by the polling thread, so it cannot move while this is computed
+            Iterator<Long> iter = pending.iterator();
+            return iter.hasNext() ? iter.next() : next;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.serverless.workflow.executor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+
+import io.cloudevents.CloudEvent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+class KeyOrderedRecordDispatcherTest {
+
+    private static final String TOPIC = "events";
+    private static final TopicPartition PARTITION = new TopicPartition(TOPIC, 0);
+
+    @Test
+    void testRecordsWithSameKeyHandledInOrder() throws InterruptedException {
+        Map<String, List<Long>> handled = new ConcurrentHashMap<>();
+        CountDownLatch done = new CountDownLatch(100);
+        try (KeyOrderedRecordDispatcher dispatcher = new KeyOrderedRecordDispatcher(4, 1000, record -> {
+            handled.computeIfAbsent(new String(record.key(), StandardCharsets.UTF_8), k -> Collections.synchronizedList(new ArrayList<>())).add(record.offset());
+            done.countDown();
+        })) {
+            for (int i = 0; i < 100; i++) {
+                dispatcher.dispatch(record(i, "key" + i % 5));
+            }
+            assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        }
+        assertThat(handled).hasSize(5);
+        handled.values().forEach(offsets -> assertThat(offsets).hasSize(20).isSorted());
+    }
+
+    @Test
+    void testOnlyCompletedOffsetsCommitted() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(3);
+        try (KeyOrderedRecordDispatcher dispatcher = new KeyOrderedRecordDispatcher(3, 1000, record -> {
+            if (record.offset() == 1) {
+                await(release);
+            }
+            done.countDown();
+        })) {
+            dispatcher.dispatch(record(0, "a"));
+            dispatcher.dispatch(record(1, "b"));
+            dispatcher.dispatch(record(2, "c"));
+            awaitInFlight(dispatcher, 1);
+            assertThat(dispatcher.committableOffsets(Set.of(PARTITION))).containsEntry(PARTITION, new OffsetAndMetadata(1));
+            release.countDown();
+            assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+            awaitInFlight(dispatcher, 0);
+            assertThat(dispatcher.committableOffsets(Set.of(PARTITION))).containsEntry(PARTITION, new OffsetAndMetadata(3));
+            assertThat(dispatcher.committableOffsets(Set.of(PARTITION))).isEmpty();
+        }
+    }
+
+    @Test
+    void testPartitionsPausedWhenTooManyInFlight() throws InterruptedException {
+        MockConsumer<byte[], CloudEvent> consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        consumer.assign(List.of(PARTITION));
+        CountDownLatch release = new CountDownLatch(1);
+        try (KeyOrderedRecordDispatcher dispatcher = new KeyOrderedRecordDispatcher(2, 2, record -> await(release))) {
+            dispatcher.dispatch(record(0, "a"));
+            dispatcher.applyBackpressure(consumer);
+            assertThat(consumer.paused()).isEmpty();
+            dispatcher.dispatch(record(1, "b"));
+            dispatcher.applyBackpressure(consumer);
+            assertThat(consumer.paused()).containsExactly(PARTITION);
+            release.countDown();
+            awaitInFlight(dispatcher, 0);
+            dispatcher.applyBackpressure(consumer);
+            assertThat(consumer.paused()).isEmpty();
+        }
+    }
+
+    @Test
+    void testRevokeWaitsForInFlightRecords() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        try (KeyOrderedRecordDispatcher dispatcher = new KeyOrderedRecordDispatcher(2, 1000, record -> await(release))) {
+            dispatcher.dispatch(record(0, "a"));
+            dispatcher.dispatch(record(1, "b"));
+            new Thread(() -> {
+                sleep(100);
+                release.countDown();
+            }).start();
+            assertThat(dispatcher.revoke(List.of(PARTITION), Duration.ofSeconds(5))).containsExactly(entry(PARTITION, new OffsetAndMetadata(2)));
+            assertThat(dispatcher.inFlight()).isZero();
+            assertThat(dispatcher.committableOffsets(Set.of(PARTITION))).isEmpty();
+        }
+    }
+
+    @Test
+    void testRevokeTimeoutCommitsCompletedRecordsOnly() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        try (KeyOrderedRecordDispatcher dispatcher = new KeyOrderedRecordDispatcher(2, 1000, record -> {
+            if (record.offset() == 1) {
+                await(release);
+            }
+        })) {
+            dispatcher.dispatch(record(0, "a"));
+            dispatcher.dispatch(record(1, "b"));
+            awaitInFlight(dispatcher, 1);
+            assertThat(dispatcher.revoke(List.of(PARTITION), Duration.ofMillis(50))).containsExactly(entry(PARTITION, new OffsetAndMetadata(1)));
+            release.countDown();
+        }
+    }
+
+    @Test
+    void testAssignedPartitionsPausedWhenTooManyInFlight() throws InterruptedException {
+        TopicPartition assigned = new TopicPartition(TOPIC, 1);
+        MockConsumer<byte[], CloudEvent> consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        consumer.assign(List.of(PARTITION));
+        CountDownLatch release = new CountDownLatch(1);
+        try (KeyOrderedRecordDispatcher dispatcher = new KeyOrderedRecordDispatcher(1, 1, record -> await(release))) {
+            dispatcher.dispatch(record(0, "a"));
+            dispatcher.applyBackpressure(consumer);
+            assertThat(consumer.paused()).containsExactly(PARTITION);
+            consumer.assign(List.of(PARTITION, assigned));
+            dispatcher.applyBackpressure(consumer);
+            assertThat(consumer.paused()).containsExactlyInAnyOrder(PARTITION, assigned);
+            release.countDown();
+            awaitInFlight(dispatcher, 0);
+            dispatcher.applyBackpressure(consumer);
+            assertThat(consumer.paused()).isEmpty();
+        }
+    }
+
+    private static ConsumerRecord<byte[], CloudEvent> record(long offset, String key) {
+        return new ConsumerRecord<>(TOPIC, 0, offset, key.getBytes(StandardCharsets.UTF_8), null);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void awaitInFlight(KeyOrderedRecordDispatcher dispatcher, int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (dispatcher.inFlight() != expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(dispatcher.inFlight()).isEqualTo(expected);
+    }
+}
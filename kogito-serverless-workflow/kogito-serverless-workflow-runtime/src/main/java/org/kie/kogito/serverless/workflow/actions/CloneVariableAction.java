@@ -22,18 +22,39 @@ import org.jbpm.process.core.datatype.impl.coverter.CloneHelper;
 import org.jbpm.process.instance.impl.Action;
 import org.kie.kogito.internal.process.runtime.KogitoProcessContext;
 
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
 public class CloneVariableAction implements Action {
 
     private final String sourceName;
     private final String targetName;
+    private final boolean copyOnWrite;
 
     public CloneVariableAction(String sourceName, String targetName) {
+        this(sourceName, targetName, false);
+    }
+
+    /**
+     * @param copyOnWrite whether only the root object or array is copied, sharing its children with the source. That is only safe
+     *        when the target is then exclusively modified through {@link org.kie.kogito.jackson.utils.MergeUtils#mergeCopyOnWrite}.
+     */
+    public CloneVariableAction(String sourceName, String targetName, boolean copyOnWrite) {
         this.sourceName = sourceName;
         this.targetName = targetName;
+        this.copyOnWrite = copyOnWrite;
     }
 
     @Override
     public void execute(KogitoProcessContext context) throws Exception {
-        context.setVariable(targetName, CloneHelper.get().clone(context.getVariable(sourceName)));
+        Object value = context.getVariable(sourceName);
+        if (copyOnWrite && value instanceof ObjectNode object) {
+            value = object.objectNode().setAll(object);
+        } else if (copyOnWrite && value instanceof ArrayNode array) {
+            value = array.arrayNode().addAll(array);
+        } else {
+            value = CloneHelper.get().clone(value);
+        }
+        context.setVariable(targetName, value);
     }
 }
@@ -22,18 +22,31 @@ import org.jbpm.process.instance.impl.Action;
 import org.kie.kogito.internal.process.runtime.KogitoProcessContext;
 import org.kie.kogito.jackson.utils.MergeUtils;
 
+import com.fasterxml.jackson.databind.JsonNode;
+
 public class MergeAction implements Action {
 
     protected String inputName;
     protected String outputName;
+    protected boolean copyOnWrite;
 
     public MergeAction(String inputName, String outputName) {
+        this(inputName, outputName, false);
+    }
+
+    /**
+     * @param copyOnWrite whether the output must be merged without modifying its nodes, see {@link MergeUtils#mergeCopyOnWrite(JsonNode, JsonNode)}
+     */
+    public MergeAction(String inputName, String outputName, boolean copyOnWrite) {
         this.inputName = inputName;
         this.outputName = outputName;
+        this.copyOnWrite = copyOnWrite;
     }
 
     @Override
     public void execute(KogitoProcessContext context) throws Exception {
-        context.setVariable(outputName, MergeUtils.merge(ActionUtils.getJsonNode(context, inputName), ActionUtils.getJsonNode(context, outputName)));
+        JsonNode input = ActionUtils.getJsonNode(context, inputName);
+        JsonNode output = ActionUtils.getJsonNode(context, outputName);
+        context.setVariable(outputName, copyOnWrite ? MergeUtils.mergeCopyOnWrite(input, output) : MergeUtils.merge(input, output));
     }
 }
@@ -18,21 +18,136 @@
  */
 package org.kie.kogito.serverless.workflow.utils;
 
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.Map;
-import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.kie.kogito.process.expr.Expression;
 import org.kie.kogito.process.expr.ExpressionHandler;
 
+/**
+ * Keeps compiled expressions keyed by the expression text as received, so lookups do not need to trim it.
+ * <p>
+ * Expressions compiled on demand are kept in a bounded cache (<code>kogito.expression.cache.max-size</code>, read
+ * through {@link ConfigResolverHolder}); when it is full the least recently used tenth of it is evicted at once, so
+ * lookups never lock and the eviction scan is amortized over many misses. Expressions registered through
+ * {@link #precompile(String)} are never evicted.
+ */
 public abstract class CachedExpressionHandler implements ExpressionHandler {
 
-    private Map<String, Expression> expressions = Collections.synchronizedMap(new WeakHashMap<>());
+    public static final String MAX_SIZE_PROPERTY = "kogito.expression.cache.max-size";
+    public static final int DEFAULT_MAX_SIZE = 10000;
+
+    private final Map<String, Expression> precompiled = new ConcurrentHashMap<>();
+    private final Map<String, CachedExpression> expressions = new ConcurrentHashMap<>();
+    private final Object evictionLock = new Object();
+    // resolved on first use, handlers are loaded before the application registers its config resolver
+    private volatile int maxSize;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder compileNanos = new LongAdder();
+
+    protected CachedExpressionHandler() {
+        this(-1);
+    }
+
+    protected CachedExpressionHandler(int maxSize) {
+        this.maxSize = maxSize;
+    }
 
     @Override
     public Expression get(String expr) {
-        return expressions.computeIfAbsent(ExpressionHandlerUtils.trimExpr(expr), this::buildExpression);
+        Expression expression = precompiled.get(expr);
+        if (expression != null) {
+            hits.increment();
+            return expression;
+        }
+        CachedExpression cached = expressions.get(expr);
+        if (cached != null) {
+            hits.increment();
+            cached.lastUsed = System.nanoTime();
+            return cached.expression;
+        }
+        misses.increment();
+        // compiled outside of the map so building an expression might look up other ones
+        expression = compile(expr);
+        if (expressions.size() >= maxSize()) {
+            evict();
+        }
+        CachedExpression previous = expressions.putIfAbsent(expr, new CachedExpression(expression));
+        return previous == null ? expression : previous.expression;
+    }
+
+    @Override
+    public void precompile(String expr) {
+        if (!precompiled.containsKey(expr)) {
+            CachedExpression cached = expressions.remove(expr);
+            precompiled.putIfAbsent(expr, cached == null ? compile(expr) : cached.expression);
+        }
+    }
+
+    private Expression compile(String expr) {
+        long start = System.nanoTime();
+        try {
+            return buildExpression(ExpressionHandlerUtils.trimExpr(expr));
+        } finally {
+            compileNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    private int maxSize() {
+        int size = maxSize;
+        if (size < 0) {
+            size = ConfigResolverHolder.getConfigResolver().getConfigProperty(MAX_SIZE_PROPERTY, Integer.class).orElse(DEFAULT_MAX_SIZE);
+            maxSize = size;
+        }
+        return size;
+    }
+
+    private void evict() {
+        synchronized (evictionLock) {
+            int size = maxSize();
+            // another thread might have evicted while this one was waiting for the lock
+            if (expressions.size() < size) {
+                return;
+            }
+            long[] lastUsed = expressions.values().stream().mapToLong(cached -> cached.lastUsed).toArray();
+            if (lastUsed.length == 0) {
+                return;
+            }
+            Arrays.sort(lastUsed);
+            long threshold = lastUsed[Math.min(lastUsed.length, Math.max(1, size / 10)) - 1];
+            expressions.values().removeIf(cached -> cached.lastUsed <= threshold);
+        }
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long compileTimeNanos() {
+        return compileNanos.sum();
+    }
+
+    public int size() {
+        return precompiled.size() + expressions.size();
     }
 
     protected abstract Expression buildExpression(String expr);
+
+    private static class CachedExpression {
+
+        private final Expression expression;
+        private volatile long lastUsed;
+
+        private CachedExpression(Expression expression) {
+            this.expression = expression;
+            this.lastUsed = System.nanoTime();
+        }
+    }
 }
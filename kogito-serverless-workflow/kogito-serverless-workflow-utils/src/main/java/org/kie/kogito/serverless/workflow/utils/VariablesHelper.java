@@ -23,6 +23,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -55,12 +56,20 @@ public class VariablesHelper {
     }
 
     public static Map<String, JsonNode> getAdditionalVariables(KogitoProcessContext context) {
+        return getAdditionalVariables(context, name -> true);
+    }
+
+    /**
+     * Returns the additional variables visible from the context node instance whose name is accepted by the filter.
+     * Values of rejected variables are not converted to json.
+     */
+    public static Map<String, JsonNode> getAdditionalVariables(KogitoProcessContext context, Predicate<String> filter) {
         Map<String, JsonNode> variables = new HashMap<>();
         KogitoNodeInstance nodeInstance = context.getNodeInstance();
         if (nodeInstance != null) {
             NodeInstanceContainer container = nodeInstance instanceof NodeInstanceContainer ? (NodeInstanceContainer) nodeInstance : nodeInstance.getNodeInstanceContainer();
             while (container instanceof ContextableInstance) {
-                addVariablesFromContext((ContextableInstance) container, variables);
+                addVariablesFromContext((ContextableInstance) container, filter, variables);
                 container = container instanceof KogitoNodeInstance ? ((KogitoNodeInstance) container).getNodeInstanceContainer() : null;
             }
         }
@@ -92,11 +101,14 @@ public class VariablesHelper {
         return isEval instanceof Boolean ? ((Boolean) isEval).booleanValue() : false;
     }
 
-    private static void addVariablesFromContext(ContextableInstance node, Map<String, JsonNode> variables) {
+    private static void addVariablesFromContext(ContextableInstance node, Predicate<String> filter, Map<String, JsonNode> variables) {
         VariableScopeInstance variableScope = (VariableScopeInstance) node.getContextInstance(VariableScope.VARIABLE_SCOPE);
         if (variableScope != null) {
             Collection<String> evalVariables = getEvalVariables(node).map(Variable::getName).collect(Collectors.toList());
             for (Entry<String, Object> e : variableScope.getVariables().entrySet()) {
+                if (!filter.test(e.getKey())) {
+                    continue;
+                }
                 if (evalVariables.contains(e.getKey()) || node instanceof WorkflowProcessInstance && !PREDEFINED_KEYS.contains(e.getKey())) {
                     variables.putIfAbsent(e.getKey(), JsonObjectUtils.fromValue(e.getValue()));
                 }
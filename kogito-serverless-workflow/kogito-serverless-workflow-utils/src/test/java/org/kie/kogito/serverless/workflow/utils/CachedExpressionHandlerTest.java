@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.serverless.workflow.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.process.expr.Expression;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class CachedExpressionHandlerTest {
+
+    private static class MockExpressionHandler extends CachedExpressionHandler {
+
+        private final List<String> compiled = new ArrayList<>();
+
+        MockExpressionHandler() {
+        }
+
+        MockExpressionHandler(int maxSize) {
+            super(maxSize);
+        }
+
+        @Override
+        public String lang() {
+            return "mock";
+        }
+
+        @Override
+        protected Expression buildExpression(String expr) {
+            compiled.add(expr);
+            return mock(Expression.class);
+        }
+    }
+
+    @Test
+    void testExpressionCompiledOnce() {
+        MockExpressionHandler handler = new MockExpressionHandler(10);
+        Expression expression = handler.get("${ .name }");
+        assertThat(handler.get("${ .name }")).isSameAs(expression);
+        assertThat(handler.compiled).containsExactly(".name");
+        assertThat(handler.hitCount()).isEqualTo(1);
+        assertThat(handler.missCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testCacheIsBounded() {
+        MockExpressionHandler handler = new MockExpressionHandler(2);
+        handler.get(".a");
+        handler.get(".b");
+        handler.get(".c");
+        assertThat(handler.size()).isEqualTo(2);
+    }
+
+    @Test
+    void testLeastRecentlyUsedEvicted() {
+        MockExpressionHandler handler = new MockExpressionHandler(2);
+        Expression a = handler.get(".a");
+        handler.get(".b");
+        handler.get(".a");
+        handler.get(".c");
+        assertThat(handler.get(".a")).isSameAs(a);
+        handler.get(".b");
+        assertThat(handler.compiled).containsExactly(".a", ".b", ".c", ".b");
+    }
+
+    @Test
+    void testMaxSizeFromConfig() {
+        ConfigResolverHolder.setConfigResolver(new MapConfigResolver(Collections.singletonMap(CachedExpressionHandler.MAX_SIZE_PROPERTY, 1)));
+        try {
+            MockExpressionHandler handler = new MockExpressionHandler();
+            handler.get(".a");
+            handler.get(".b");
+            assertThat(handler.size()).isOne();
+        } finally {
+            ConfigResolverHolder.setConfigResolver(new SystemPropertiesConfigResolver());
+        }
+    }
+
+    @Test
+    void testPrecompiledNotEvicted() {
+        MockExpressionHandler handler = new MockExpressionHandler(1);
+        handler.precompile(".pinned");
+        Expression expression = handler.get(".pinned");
+        handler.get(".a");
+        handler.get(".b");
+        assertThat(handler.get(".pinned")).isSameAs(expression);
+        assertThat(handler.compiled).containsExactly(".pinned", ".a", ".b");
+    }
+}
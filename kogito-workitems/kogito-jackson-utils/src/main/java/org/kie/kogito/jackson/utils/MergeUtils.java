@@ -39,30 +39,58 @@ public class MergeUtils {
     }
 
     public static JsonNode merge(JsonNode src, JsonNode target, boolean mergeArray) {
+        return merge(src, target, mergeArray, false);
+    }
+
+    /**
+     * Same as {@link #merge(JsonNode, JsonNode)}, but neither the source nor the target are modified: only the objects and arrays
+     * along the merged paths are copied, so the result shares every untouched subtree with both documents.
+     *
+     * @param src JsonNode to be merged
+     * @param target JsonNode to merge to
+     */
+    public static JsonNode mergeCopyOnWrite(JsonNode src, JsonNode target) {
+        return merge(src, target, false, true);
+    }
+
+    private static JsonNode merge(JsonNode src, JsonNode target, boolean mergeArray, boolean copy) {
         if (target == null || target.isNull() || target.isObject() && target.isEmpty() && src != null && !src.isNull()) {
             return src;
+        } else if (src == target) {
+            return target;
         } else if (target.isArray()) {
-            return mergeArray(src, (ArrayNode) target, mergeArray);
+            return mergeArray(src, (ArrayNode) target, mergeArray, copy);
         } else if (target.isObject()) {
-            return mergeObject(src, (ObjectNode) target, mergeArray);
+            return mergeObject(src, (ObjectNode) target, mergeArray, copy);
         } else {
             if (src.isArray()) {
                 ArrayNode srcArray = (ArrayNode) src;
-                insert(srcArray, target, getExistingNodes(srcArray));
+                if (!contains(srcArray, target)) {
+                    srcArray = copy ? srcArray.arrayNode().addAll(srcArray) : srcArray;
+                    srcArray.insert(0, target);
+                }
+                return srcArray;
             } else if (src.isObject()) {
-                ((ObjectNode) src).set("_target", target);
+                ObjectNode srcObject = (ObjectNode) src;
+                if (copy) {
+                    srcObject = srcObject.objectNode().setAll(srcObject);
+                }
+                return srcObject.set("_target", target);
             }
             return src;
         }
     }
 
-    private static ObjectNode mergeObject(JsonNode src, ObjectNode target, boolean mergeArray) {
+    private static ObjectNode mergeObject(JsonNode src, ObjectNode target, boolean mergeArray, boolean copy) {
+        if (copy && (src.isObject() && !src.isEmpty() || !src.isObject() && !src.isNull())) {
+            target = target.objectNode().setAll(target);
+        }
         if (src.isObject()) {
             Iterator<Map.Entry<String, JsonNode>> mergedIterator = src.fields();
             while (mergedIterator.hasNext()) {
                 Map.Entry<String, JsonNode> entry = mergedIterator.next();
                 JsonNode found = target.get(entry.getKey());
-                target.set(entry.getKey(), found != null ? merge(entry.getValue(), found, mergeArray) : entry.getValue());
+                target.set(entry.getKey(), found != null ? merge(entry.getValue(), found, mergeArray, copy) : entry.getValue());
             }
         } else if (!src.isNull()) {
             target.set("response", src);
@@ -70,31 +98,38 @@ public class MergeUtils {
         return target;
     }
 
-    private static JsonNode mergeArray(JsonNode src, ArrayNode target, boolean mergeArray) {
+    private static JsonNode mergeArray(JsonNode src, ArrayNode target, boolean mergeArray, boolean copy) {
         if (src != target) {
             if (src.isArray()) {
                 if (mergeArray) {
-                    ((ArrayNode) src).forEach(node -> add(target, node, getExistingNodes(target)));
+                    Set<JsonNode> existingNodes = getExistingNodes(target);
+                    ArrayNode result = copy ? target.arrayNode().addAll(target) : target;
+                    ((ArrayNode) src).forEach(node -> add(result, node, existingNodes));
+                    return result;
                 } else {
                     return src;
                 }
-            } else {
-                add(target, src, getExistingNodes(target));
+            } else if (!contains(target, src)) {
+                return (copy ? target.arrayNode().addAll(target) : target).add(src);
             }
         }
         return target;
     }
 
     private static void add(ArrayNode array, JsonNode node, Set<JsonNode> existingNodes) {
-        if (!existingNodes.contains(node)) {
+        if (existingNodes.add(node)) {
             array.add(node);
         }
     }
 
-    private static void insert(ArrayNode array, JsonNode node, Set<JsonNode> existingNodes) {
-        if (!existingNodes.contains(node)) {
-            array.insert(0, node);
+    // a single lookup does not pay off hashing every element of a potentially big array
+    private static boolean contains(ArrayNode array, JsonNode node) {
+        for (JsonNode item : array) {
+            if (item.equals(node)) {
+                return true;
+            }
         }
+        return false;
     }
 
     private static Set<JsonNode> getExistingNodes(ArrayNode arrayNode) {
@@ -106,6 +106,40 @@ public class MergeUtilsTest {
         assertThat(merged.get(1)).isEqualTo(dummyCustomer);
     }
 
+    @Test
+    void testArrayMergeNoDuplicateInSource() {
+        assertThat(JsonObjectUtils
+                .toJavaValue(MergeUtils.merge(ObjectMapperFactory.get().createArrayNode().add(3).add(4).add(4), ObjectMapperFactory.get().createArrayNode().add(1).add(2).add(3), true)))
+                        .isEqualTo(Arrays.asList(1, 2, 3, 4));
+    }
+
+    @Test
+    void testSameNodeMerge() {
+        ObjectNode customer = getCustomer("Fulanito", 23, 999.9, false, "Parla", Arrays.asList("percebe 13"));
+        JsonNode expected = customer.deepCopy();
+        assertThat(MergeUtils.merge(customer, customer, true)).isSameAs(customer).isEqualTo(expected);
+    }
+
+    @Test
+    void testCopyOnWriteMerge() {
+        ObjectNode dummyCustomer = getCustomer("Fulanito", 23, 999.9, false, "Parla", Arrays.asList("percebe 13", "casa de mis padres en Mostoles"));
+        ObjectNode vipCustomer = getCustomer("Messi", 69, 1221312.2, true, "Parla", Arrays.asList("Isla paradisiaca anonima", "Palacio presidencial S/N"));
+        ObjectNode target = ObjectMapperFactory.get().createObjectNode().set("customer", vipCustomer);
+        target.set("other", dummyCustomer.deepCopy());
+        ObjectNode src = ObjectMapperFactory.get().createObjectNode().set("customer", ObjectMapperFactory.get().createObjectNode().put("age", 70));
+        JsonNode expectedTarget = target.deepCopy();
+        JsonNode expectedSrc = src.deepCopy();
+
+        JsonNode merged = MergeUtils.mergeCopyOnWrite(src, target);
+
+        assertThat(merged).isEqualTo(MergeUtils.merge(src.deepCopy(), target.deepCopy()));
+        assertThat(merged.get("customer").get("age").asInt()).isEqualTo(70);
+        assertThat(target).isEqualTo(expectedTarget);
+        assertThat(src).isEqualTo(expectedSrc);
+        assertThat(merged.get("other")).isSameAs(target.get("other"));
+        assertThat(merged.get("customer").get("addresses")).isSameAs(vipCustomer.get("addresses"));
+    }
+
     @Test
     void testNullMerge() {
         JsonNode srcNode = ObjectMapperFactory.get().createObjectNode().put("name", "javierito");
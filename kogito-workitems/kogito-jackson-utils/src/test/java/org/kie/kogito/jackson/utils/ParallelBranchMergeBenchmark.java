@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.jackson.utils;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Copies a large workflow data document into a parallel branch, merges an action result into the branch and the branch back
+ * into the workflow data, either deep copying the document or sharing it copy on write.
+ * Run through {@link #main(String[])} to report the bytes allocated per operation (<code>gc.alloc.rate.norm</code>).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParallelBranchMergeBenchmark {
+
+    @Param({ "false", "true" })
+    private boolean copyOnWrite;
+
+    private ObjectNode workflowData;
+    private JsonNode actionResult;
+
+    @Setup
+    public void setup() {
+        // about 2 MB once serialized
+        workflowData = ObjectMapperFactory.get().createObjectNode();
+        ArrayNode orders = workflowData.putArray("orders");
+        for (int i = 0; i < 10000; i++) {
+            ObjectNode order = orders.addObject().put("id", i).put("customer", "customer" + i).put("description", "x".repeat(150));
+            order.putArray("items").addObject().put("name", "item" + i).put("price", i);
+        }
+        workflowData.putObject("summary").put("count", orders.size());
+        actionResult = ObjectMapperFactory.get().createObjectNode().set("summary", ObjectMapperFactory.get().createObjectNode().put("status", "approved"));
+    }
+
+    @Benchmark
+    public JsonNode branch() {
+        if (copyOnWrite) {
+            JsonNode branchData = MergeUtils.mergeCopyOnWrite(actionResult, workflowData.objectNode().setAll(workflowData));
+            return MergeUtils.mergeCopyOnWrite(branchData, workflowData);
+        } else {
+            JsonNode branchData = MergeUtils.merge(actionResult, workflowData.deepCopy());
+            return MergeUtils.merge(branchData, workflowData);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ParallelBranchMergeBenchmark.class.getSimpleName()).addProfiler(GCProfiler.class).build()).run();
+    }
+}
@@ -18,9 +18,10 @@
  */
 package org.kogito.workitem.rest.auth;
 
+import java.util.Arrays;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
+import io.smallrye.mutiny.Uni;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.auth.oauth2.OAuth2Options;
 import io.vertx.mutiny.core.Vertx;
@@ -29,8 +30,6 @@ import io.vertx.mutiny.ext.auth.oauth2.OAuth2Auth;
 
 public abstract class OAuth2AuthToken<T> implements TokenRetriever {
 
-    private static final Map<Object, User> usersCache = new ConcurrentHashMap<>();
-
     private final String tokenUrl;
     private final String refreshUrl;
 
@@ -41,23 +40,12 @@ public abstract class OAuth2AuthToken<T> implements TokenRetriever {
 
     @Override
     public String getToken(Map<String, Object> parameters) {
-        User user = usersCache.compute(getCacheKey(parameters), this::getOrRefreshUser);
-        return user.principal().getString("access_token");
-    }
-
-    private User getOrRefreshUser(Object c, User user) {
-        T cacheKey = (T) c;
-        if (user == null) {
-            return createOAuth2(tokenUrl, cacheKey).authenticateAndAwait(getJsonObject(cacheKey));
-        } else if (user.expired()) {
-            return createOAuth2(refreshUrl != null ? refreshUrl : tokenUrl, cacheKey).refreshAndAwait(user);
-        } else {
-            return user;
-        }
+        T cacheKey = getCacheKey(parameters);
+        return OAuth2TokenManager.get().getToken(Arrays.asList(tokenUrl, refreshUrl, cacheKey), () -> new OAuth2TokenFetcher(cacheKey));
     }
 
-    private OAuth2Auth createOAuth2(String tokenPath, T cacheKey) {
-        return OAuth2Auth.create(Vertx.vertx(), fillOptions(new OAuth2Options().setTokenPath(tokenPath), cacheKey));
+    private OAuth2Auth createOAuth2(Vertx vertx, String tokenPath, T cacheKey) {
+        return OAuth2Auth.create(vertx, fillOptions(new OAuth2Options().setTokenPath(tokenPath), cacheKey));
     }
 
     protected abstract OAuth2Options fillOptions(OAuth2Options setTokenPath, T cacheKey);
@@ -66,4 +54,34 @@ public abstract class OAuth2AuthToken<T> implements TokenRetriever {
 
     protected abstract T getCacheKey(Map<String, Object> parameters);
 
+    private class OAuth2TokenFetcher implements OAuth2TokenManager.TokenFetcher {
+
+        private final T cacheKey;
+        private OAuth2Auth tokenAuth;
+        private OAuth2Auth refreshAuth;
+
+        private OAuth2TokenFetcher(T cacheKey) {
+            this.cacheKey = cacheKey;
+        }
+
+        @Override
+        public synchronized Uni<User> authenticate(Vertx vertx) {
+            return tokenProvider(vertx).authenticate(getJsonObject(cacheKey));
+        }
+
+        @Override
+        public synchronized Uni<User> refresh(Vertx vertx, User user) {
+            if (refreshAuth == null) {
+                refreshAuth = refreshUrl == null ? tokenProvider(vertx) : createOAuth2(vertx, refreshUrl, cacheKey);
+            }
+            return refreshAuth.refresh(user);
+        }
+
+        private OAuth2Auth tokenProvider(Vertx vertx) {
+            if (tokenAuth == null) {
+                tokenAuth = createOAuth2(vertx, tokenUrl, cacheKey);
+            }
+            return tokenAuth;
+        }
+    }
 }
@@ -0,0 +1,196 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kogito.workitem.rest.auth;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.json.JsonObject;
+import io.vertx.mutiny.core.Vertx;
+import io.vertx.mutiny.ext.auth.User;
+
+/**
+ * Keeps the OAuth2 tokens used by rest work items, one per token endpoint and credentials.
+ * <p>
+ * Valid tokens are returned without any locking. Once a token enters the refresh skew window
+ * (<code>kogito.rest.oauth2.refresh-skew</code>, in seconds) it keeps being returned while a refresh is fired in
+ * background, so callers only wait for the endpoint when there is no token yet or it has already expired. Concurrent
+ * fetches for the same key share a single in-flight request.
+ */
+public class OAuth2TokenManager {
+
+    public static final String REFRESH_SKEW_PROPERTY = "kogito.rest.oauth2.refresh-skew";
+    public static final int DEFAULT_REFRESH_SKEW = 30;
+
+    private static final String EXPIRATION = "exp";
+
+    private static final Logger logger = LoggerFactory.getLogger(OAuth2TokenManager.class);
+    private static final OAuth2TokenManager INSTANCE = new OAuth2TokenManager(Integer.getInteger(REFRESH_SKEW_PROPERTY, DEFAULT_REFRESH_SKEW));
+
+    public static OAuth2TokenManager get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Performs the calls against the token endpoint
+     */
+    public interface TokenFetcher {
+        Uni<User> authenticate(Vertx vertx);
+
+        Uni<User> refresh(Vertx vertx, User user);
+    }
+
+    private final Map<Object, TokenEntry> tokens = new ConcurrentHashMap<>();
+    private final int refreshSkew;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private volatile Vertx vertx;
+
+    OAuth2TokenManager(int refreshSkew) {
+        this.refreshSkew = refreshSkew;
+    }
+
+    /**
+     * Sets the Vert.x instance used to reach token endpoints. The latest registered instance is used, so an application
+     * restarted within the same class loader (as in dev mode) does not keep using the Vert.x instance of the previous,
+     * already closed, one.
+     * 
+     * @param vertx the application Vert.x instance
+     */
+    public synchronized void useVertx(Vertx vertx) {
+        if (vertx != null && vertx != this.vertx) {
+            logger.debug("Using Vert.x instance {} for OAuth2 token retrieval", vertx);
+            this.vertx = vertx;
+        }
+    }
+
+    private Vertx vertx() {
+        Vertx result = vertx;
+        if (result == null) {
+            synchronized (this) {
+                if (vertx == null) {
+                    logger.debug("No Vert.x instance registered for OAuth2 token retrieval, creating a shared one");
+                    vertx = Vertx.vertx();
+                }
+                result = vertx;
+            }
+        }
+        return result;
+    }
+
+    public String getToken(Object cacheKey, Supplier<TokenFetcher> fetcherSupplier) {
+        return tokens.computeIfAbsent(cacheKey, k -> new TokenEntry(fetcherSupplier.get())).token();
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long refreshCount() {
+        return refreshes.sum();
+    }
+
+    public long failureCount() {
+        return failures.sum();
+    }
+
+    private class TokenEntry {
+
+        private final TokenFetcher fetcher;
+        private volatile User user;
+        private CompletableFuture<User> inFlight;
+
+        private TokenEntry(TokenFetcher fetcher) {
+            this.fetcher = fetcher;
+        }
+
+        private String token() {
+            User current = user;
+            if (current != null) {
+                long expiresAt = expiresAt(current);
+                long now = System.currentTimeMillis() / 1000;
+                if (now < expiresAt) {
+                    hits.increment();
+                    if (expiresAt - refreshSkew <= now) {
+                        fetch(current);
+                    }
+                    return accessToken(current);
+                }
+            }
+            try {
+                return accessToken(fetch(current).join());
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException runtime ? runtime : e;
+            }
+        }
+
+        private synchronized CompletableFuture<User> fetch(User current) {
+            if (inFlight == null) {
+                refreshes.increment();
+                Uni<User> uni = current == null ? fetcher.authenticate(vertx())
+                        : fetcher.refresh(vertx(), current).onFailure().recoverWithUni(() -> fetcher.authenticate(vertx()));
+                CompletableFuture<User> future = uni.subscribeAsCompletionStage().whenComplete(this::onFetched);
+                // the fetch might have been completed synchronously, in such case there is nothing in flight
+                if (!future.isDone()) {
+                    inFlight = future;
+                }
+                return future;
+            }
+            return inFlight;
+        }
+
+        private synchronized void onFetched(User fetched, Throwable error) {
+            if (error == null) {
+                user = fetched;
+            } else {
+                failures.increment();
+                logger.warn("Error retrieving OAuth2 token", error);
+            }
+            inFlight = null;
+        }
+
+        private String accessToken(User user) {
+            return user.principal().getString("access_token");
+        }
+
+        /**
+         * Expiration time in seconds since epoch, as set by Vert.x OAuth2 from the token response
+         */
+        private long expiresAt(User user) {
+            Long expiresAt = expiration(user.attributes());
+            if (expiresAt == null) {
+                expiresAt = expiration(user.principal());
+            }
+            return expiresAt == null ? Long.MAX_VALUE : expiresAt;
+        }
+
+        private Long expiration(JsonObject json) {
+            return json != null && json.containsKey(EXPIRATION) ? json.getLong(EXPIRATION) : null;
+        }
+    }
+}
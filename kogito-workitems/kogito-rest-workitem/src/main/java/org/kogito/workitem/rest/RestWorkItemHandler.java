@@ -21,14 +21,17 @@ package org.kogito.workitem.rest;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.ServiceLoader;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
@@ -39,12 +42,25 @@ import org.jbpm.util.ContextFactory;
 import org.jbpm.workflow.core.node.WorkItemNode;
 import org.jbpm.workflow.instance.NodeInstance;
 import org.jbpm.workflow.instance.node.WorkItemNodeInstance;
+import org.kie.kogito.Application;
+import org.kie.kogito.Model;
 import org.kie.kogito.internal.process.workitem.KogitoWorkItem;
 import org.kie.kogito.internal.process.workitem.KogitoWorkItemHandler;
 import org.kie.kogito.internal.process.workitem.KogitoWorkItemManager;
 import org.kie.kogito.internal.process.workitem.WorkItemRecordParameters;
 import org.kie.kogito.internal.process.workitem.WorkItemTransition;
+import org.kie.kogito.process.Process;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceNotFoundException;
+import org.kie.kogito.process.Processes;
+import org.kie.kogito.process.impl.AbstractProcessInstance;
 import org.kie.kogito.process.workitems.impl.DefaultKogitoWorkItemHandler;
+import org.kie.kogito.services.uow.UnitOfWorkExecutor;
+import org.kie.kogito.uow.UnitOfWork;
+import org.kie.kogito.uow.UnitOfWorkManager;
+import org.kie.kogito.uow.events.UnitOfWorkAbortEvent;
+import org.kie.kogito.uow.events.UnitOfWorkEndEvent;
+import org.kie.kogito.uow.events.UnitOfWorkEventListener;
 import org.kogito.workitem.rest.auth.ApiKeyAuthDecorator;
 import org.kogito.workitem.rest.auth.AuthDecorator;
 import org.kogito.workitem.rest.auth.BasicAuthDecorator;
@@ -62,6 +78,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.mutiny.core.buffer.Buffer;
 import io.vertx.mutiny.ext.web.client.HttpRequest;
@@ -92,6 +109,7 @@ public class RestWorkItemHandler extends DefaultKogitoWorkItemHandler {
     public static final String PATH_PARAM_RESOLVER = "PathParamResolver";
     public static final String AUTH_METHOD = "AuthMethod";
     public static final String TARGET_TYPE = "TargetType";
+    public static final String ASYNC = "Async";
     private static final String HTTP_PROTOCOL = "http";
     private static final String HTTPS_PROTOCOL = "https";
 
@@ -100,6 +118,10 @@ public class RestWorkItemHandler extends DefaultKogitoWorkItemHandler {
     public static final int DEFAULT_PORT = 80;
     public static final int DEFAULT_SSL_PORT = 443;
 
+    // the process instance might not be visible yet when the response arrives right after the unit of work ended
+    private static final int NOT_FOUND_RETRIES = 5;
+    private static final Duration NOT_FOUND_BACKOFF = Duration.ofMillis(100);
+
     private static final Logger logger = LoggerFactory.getLogger(RestWorkItemHandler.class);
     private static final RestWorkItemHandlerResult DEFAULT_RESULT_HANDLER = new DefaultRestWorkItemHandlerResult();
     private static final RestWorkItemHandlerBodyBuilder DEFAULT_BODY_BUILDER = new DefaultWorkItemHandlerBodyBuilder();
@@ -115,11 +137,29 @@ public class RestWorkItemHandler extends DefaultKogitoWorkItemHandler {
     protected final WebClient httpClient;
     protected final WebClient httpsClient;
     private Collection<RequestDecorator> requestDecorators;
+    private final Collection<TransactionSynchronizer> transactionSynchronizers;
+    private final PendingRequests pendingRequests = new PendingRequests();
+    private UnitOfWorkManager registeredUnitOfWorkManager;
 
     public RestWorkItemHandler(WebClient httpClient, WebClient httpsClient) {
+        this(httpClient, httpsClient, StreamSupport.stream(ServiceLoader.load(TransactionSynchronizer.class).spliterator(), false).collect(Collectors.toList()));
+    }
+
+    protected RestWorkItemHandler(WebClient httpClient, WebClient httpsClient, Collection<TransactionSynchronizer> transactionSynchronizers) {
         this.httpClient = httpClient;
         this.httpsClient = httpsClient;
         this.requestDecorators = StreamSupport.stream(ServiceLoader.load(RequestDecorator.class).spliterator(), false).collect(Collectors.toList());
+        this.transactionSynchronizers = transactionSynchronizers;
+    }
+
+    @Override
+    public synchronized void setApplication(Application application) {
+        super.setApplication(application);
+        UnitOfWorkManager unitOfWorkManager = application == null ? null : application.unitOfWorkManager();
+        if (unitOfWorkManager != null && unitOfWorkManager != registeredUnitOfWorkManager) {
+            unitOfWorkManager.register(pendingRequests);
+            registeredUnitOfWorkManager = unitOfWorkManager;
+        }
     }
 
     @Override
@@ -143,6 +183,7 @@ public class RestWorkItemHandler extends DefaultKogitoWorkItemHandler {
         ParamsDecorator paramsDecorator = getClassParam(parameters, PARAMS_DECORATOR, ParamsDecorator.class, DEFAULT_PARAMS_DECORATOR, paramsDecorators);
         PathParamResolver pathParamResolver = getClassParam(parameters, PATH_PARAM_RESOLVER, PathParamResolver.class, DEFAULT_PATH_PARAM_RESOLVER, pathParamsResolvers);
         Collection<? extends AuthDecorator> authDecorators = getClassListParam(parameters, AUTH_METHOD, AuthDecorator.class, DEFAULT_AUTH_DECORATORS, authDecoratorsMap);
+        boolean async = getParam(parameters, ASYNC, Boolean.class, false);
 
         logger.debug("Filtered parameters are {}", parameters);
         // create request
@@ -190,6 +231,16 @@ public class RestWorkItemHandler extends DefaultKogitoWorkItemHandler {
         authDecorators.forEach(d -> d.decorate(workItem, parameters, request));
         paramsDecorator.decorate(workItem, parameters, request);
         Duration requestTimeout = getRequestTimeout(parameters);
+        if (async && application != null) {
+            Uni<HttpResponse<Buffer>> uni = method.equals(HttpMethod.POST) || method.equals(HttpMethod.PUT)
+                    ? sendBodyAsync(request, bodyBuilder.apply(parameters))
+                    : request.send();
+            if (requestTimeout != null) {
+                uni = uni.ifNoItem().after(requestTimeout).fail();
+            }
+            sendAfterUnitOfWork(workItem, uni, resultHandler, targetInfo);
+            return Optional.empty();
+        }
         HttpResponse<Buffer> response = method.equals(HttpMethod.POST) || method.equals(HttpMethod.PUT)
                 ? sendBody(request, bodyBuilder.apply(parameters), requestTimeout)
                 : send(request, requestTimeout);
@@ -198,6 +249,66 @@ public class RestWorkItemHandler extends DefaultKogitoWorkItemHandler {
                 Collections.singletonMap(RESULT, outputParams)));
     }
 
+    /**
+     * Fires the request once the current unit of work has ended, so the process instance holding the work item has
+     * already been stored and unlocked when the response arrives. If the unit of work is aborted, the request is never sent.
+     * When the unit of work runs within a transaction, the request is rather sent once that transaction has committed,
+     * see {@link TransactionSynchronizer}, and never if it rolls back.
+     * The work item stays active until then and is completed (or the process instance set in error) within a new unit of work,
+     * outside of the http client event loop.
+     */
+    private void sendAfterUnitOfWork(KogitoWorkItem workItem, Uni<HttpResponse<Buffer>> uni, RestWorkItemHandlerResult resultHandler, Class<?> targetInfo) {
+        String processId = workItem.getProcessInstance().getProcessId();
+        String processInstanceId = workItem.getProcessInstanceStringId();
+        String workItemId = workItem.getStringId();
+        String nodeInstanceId = workItem.getNodeInstance().getStringId();
+        Runnable send = () -> uni.emitOn(Infrastructure.getDefaultWorkerPool()).subscribe().with(
+                response -> executeOnProcessInstance(processId, processInstanceId, pi -> {
+                    Object outputParams;
+                    try {
+                        outputParams = pi.updateWorkItem(workItemId, wi -> resultHandler.apply(response, targetInfo, ContextFactory.fromItem(wi)));
+                    } catch (RuntimeException e) {
+                        setErrorState(pi, nodeInstanceId, e);
+                        return;
+                    }
+                    pi.completeWorkItem(workItemId, Collections.singletonMap(RESULT, outputParams));
+                }),
+                error -> executeOnProcessInstance(processId, processInstanceId, pi -> setErrorState(pi, nodeInstanceId, error)));
+        if (transactionSynchronizers.stream().anyMatch(synchronizer -> synchronizer.runAfterCommit(send))) {
+            return;
+        }
+        UnitOfWorkManager unitOfWorkManager = application.unitOfWorkManager();
+        if (unitOfWorkManager.hasActiveUnitOfWork() && unitOfWorkManager == registeredUnitOfWorkManager) {
+            pendingRequests.add(unitOfWorkManager.currentUnitOfWork(), send);
+        } else {
+            // no unit of work to wait for, the process instance is stored as it goes
+            send.run();
+        }
+    }
+
+    private void executeOnProcessInstance(String processId, String processInstanceId, Consumer<ProcessInstance<? extends Model>> action) {
+        Process<? extends Model> process = application.get(Processes.class).processById(processId);
+        Uni.createFrom().item(() -> UnitOfWorkExecutor.executeInUnitOfWork(application.unitOfWorkManager(), () -> {
+            action.accept(process.instances().findById(processInstanceId).orElseThrow(() -> new ProcessInstanceNotFoundException(processInstanceId)));
+            return null;
+        })).onFailure(ProcessInstanceNotFoundException.class).retry().withBackOff(NOT_FOUND_BACKOFF).atMost(NOT_FOUND_RETRIES)
+                .subscribe().with(r -> {
+                }, e -> logger.error("Cannot process rest response for process instance {} of process {}", processInstanceId, processId, e));
+    }
+
+    private static void setErrorState(ProcessInstance<?> processInstance, String nodeInstanceId, Throwable error) {
+        Exception exception = error instanceof Exception e ? e : new RuntimeException(error);
+        ((AbstractProcessInstance<?>) processInstance).executeInWorkflowProcessInstanceWrite(pi -> {
+            NodeInstance nodeInstance = pi.getNodeInstance(nodeInstanceId, true);
+            if (nodeInstance == null) {
+                logger.warn("Node instance {} of process instance {} is no longer active, ignoring rest error", nodeInstanceId, pi.getStringId(), exception);
+            } else {
+                pi.setErrorState(nodeInstance, exception);
+            }
+            return null;
+        });
+    }
+
     private boolean isHttps(String protocol) {
         return HTTPS_PROTOCOL.equalsIgnoreCase(protocol);
     }
@@ -207,15 +318,17 @@ public class RestWorkItemHandler extends DefaultKogitoWorkItemHandler {
     }
 
     private static HttpResponse<Buffer> sendBodyTimeout(HttpRequest<Buffer> request, Object body, Duration requestTimeout) {
-        Uni<HttpResponse<Buffer>> uni;
+        return sendBodyAsync(request, body).await().atMost(requestTimeout);
+    }
+
+    private static Uni<HttpResponse<Buffer>> sendBodyAsync(HttpRequest<Buffer> request, Object body) {
         if (body instanceof String string) {
-            uni = request.sendBuffer(Buffer.buffer(string));
+            return request.sendBuffer(Buffer.buffer(string));
         } else if (body instanceof byte[] bytes) {
-            uni = request.sendBuffer(Buffer.buffer(bytes));
+            return request.sendBuffer(Buffer.buffer(bytes));
         } else {
-            uni = request.sendJson(body);
+            return request.sendJson(body);
         }
-        return uni.await().atMost(requestTimeout);
     }
 
     private static HttpResponse<Buffer> sendBody(HttpRequest<Buffer> request, Object body) {
@@ -264,4 +377,32 @@ public class RestWorkItemHandler extends DefaultKogitoWorkItemHandler {
         logger.info("Cannot find definition for variable {}", varName);
         return null;
     }
+
+    /**
+     * Keeps the requests issued within a unit of work until it ends, dropping them if it is aborted
+     */
+    private static class PendingRequests implements UnitOfWorkEventListener {
+
+        private final Map<UnitOfWork, List<Runnable>> requests = new ConcurrentHashMap<>();
+
+        void add(UnitOfWork unitOfWork, Runnable request) {
+            requests.computeIfAbsent(unitOfWork, k -> Collections.synchronizedList(new ArrayList<>())).add(request);
+        }
+
+        @Override
+        public void onAfterEndEvent(UnitOfWorkEndEvent event) {
+            List<Runnable> pending = requests.remove(event.getUnitOfWork());
+            if (pending != null) {
+                pending.forEach(Runnable::run);
+            }
+        }
+
+        @Override
+        public void onAfterAbortEvent(UnitOfWorkAbortEvent event) {
+            List<Runnable> pending = requests.remove(event.getUnitOfWork());
+            if (pending != null) {
+                logger.debug("Discarding {} rest requests of aborted unit of work", pending.size());
+            }
+        }
+    }
 }
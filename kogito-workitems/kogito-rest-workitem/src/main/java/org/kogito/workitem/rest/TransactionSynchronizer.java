@@ -0,0 +1,34 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kogito.workitem.rest;
+
+/**
+ * Defers an action until the transaction active on the current thread commits. Implementations are
+ * looked up through {@link java.util.ServiceLoader}, so each runtime can plug in its transaction manager.
+ */
+public interface TransactionSynchronizer {
+
+    /**
+     * Registers the action to be run once the active transaction has committed; it is never run if the transaction rolls back.
+     *
+     * @param action action to defer
+     * @return false if there is no active transaction on the current thread, the action is then not registered
+     */
+    boolean runAfterCommit(Runnable action);
+}
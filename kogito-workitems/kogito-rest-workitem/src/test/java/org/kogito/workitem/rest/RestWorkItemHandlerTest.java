@@ -18,9 +18,12 @@
  */
 package org.kogito.workitem.rest;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.jbpm.process.core.Process;
 import org.jbpm.process.core.context.variable.Variable;
@@ -34,10 +37,19 @@ import org.jbpm.workflow.instance.node.WorkItemNodeInstance;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.kie.kogito.Application;
 import org.kie.kogito.internal.process.workitem.KogitoWorkItemManager;
 import org.kie.kogito.internal.process.workitem.WorkItemTransition;
 import org.kie.kogito.jackson.utils.ObjectMapperFactory;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstances;
+import org.kie.kogito.process.Processes;
 import org.kie.kogito.process.workitems.impl.KogitoWorkItemImpl;
+import org.kie.kogito.uow.UnitOfWork;
+import org.kie.kogito.uow.UnitOfWorkManager;
+import org.kie.kogito.uow.events.UnitOfWorkAbortEvent;
+import org.kie.kogito.uow.events.UnitOfWorkEndEvent;
+import org.kie.kogito.uow.events.UnitOfWorkEventListener;
 import org.kogito.workitem.rest.bodybuilders.DefaultWorkItemHandlerBodyBuilder;
 import org.kogito.workitem.rest.resulthandlers.DefaultRestWorkItemHandlerResult;
 import org.kogito.workitem.rest.resulthandlers.RestWorkItemHandlerResult;
@@ -51,6 +63,7 @@ import org.mockito.quality.Strictness;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
+import io.smallrye.mutiny.Uni;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.mutiny.core.buffer.Buffer;
 import io.vertx.mutiny.ext.web.client.HttpRequest;
@@ -63,6 +76,9 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -110,6 +126,13 @@ public class RestWorkItemHandlerTest {
 
     private RestWorkItemHandler handler;
 
+    private UnitOfWorkManager unitOfWorkManager;
+
+    private UnitOfWork unitOfWork;
+
+    // actions registered to run after the commit, null when there is no active transaction
+    private List<Runnable> transaction;
+
     @BeforeEach
     public void init() {
         WebClient webClient = mock(WebClient.class);
@@ -162,7 +185,8 @@ public class RestWorkItemHandlerTest {
         Map<String, String> outputMapping = Collections.singletonMap(RestWorkItemHandler.RESULT, DEFAULT_WORKFLOW_VAR);
         when(ioSpecification.getOutputMappingBySources()).thenReturn(outputMapping);
 
-        handler = new RestWorkItemHandler(webClient, sslClient);
+        transaction = null;
+        handler = new RestWorkItemHandler(webClient, sslClient, List.of(action -> transaction != null && transaction.add(action)));
     }
 
     @Test
@@ -299,6 +323,114 @@ public class RestWorkItemHandlerTest {
         assertSSLResult(handler.transitionToPhase(manager, workItem, handler.startingTransition(parameters)));
     }
 
+    @Test
+    public void testAsyncRestTaskHandler() {
+        ProcessInstances instances = mockAsyncApplication();
+        ProcessInstance kogitoProcessInstance = mockProcessInstance();
+        when(instances.findById("1")).thenReturn(Optional.of(kogitoProcessInstance));
+        when(request.send()).thenReturn(Uni.createFrom().item(response));
+
+        UnitOfWorkEventListener listener = startAsync();
+        verify(request, never()).sendAndAwait();
+
+        listener.onAfterEndEvent(new UnitOfWorkEndEvent(unitOfWork));
+
+        assertAsyncCompleted(kogitoProcessInstance);
+    }
+
+    @Test
+    public void testAsyncRestTaskHandlerNotSentOnAbort() {
+        mockAsyncApplication();
+        AtomicBoolean sent = new AtomicBoolean();
+        when(request.send()).thenReturn(Uni.createFrom().item(() -> {
+            sent.set(true);
+            return response;
+        }));
+
+        UnitOfWorkEventListener listener = startAsync();
+        listener.onAfterAbortEvent(new UnitOfWorkAbortEvent(unitOfWork));
+        listener.onAfterEndEvent(new UnitOfWorkEndEvent(unitOfWork));
+
+        assertThat(sent).isFalse();
+    }
+
+    @Test
+    public void testAsyncRestTaskHandlerRetriesUntilProcessInstanceFound() {
+        ProcessInstances instances = mockAsyncApplication();
+        ProcessInstance kogitoProcessInstance = mockProcessInstance();
+        when(instances.findById("1")).thenReturn(Optional.empty(), Optional.empty(), Optional.of(kogitoProcessInstance));
+        when(request.send()).thenReturn(Uni.createFrom().item(response));
+
+        startAsync().onAfterEndEvent(new UnitOfWorkEndEvent(unitOfWork));
+
+        assertAsyncCompleted(kogitoProcessInstance);
+        verify(instances, times(3)).findById("1");
+    }
+
+    @Test
+    public void testAsyncRestTaskHandlerSentAfterCommit() {
+        transaction = new ArrayList<>();
+        ProcessInstances instances = mockAsyncApplication();
+        ProcessInstance kogitoProcessInstance = mockProcessInstance();
+        when(instances.findById("1")).thenReturn(Optional.of(kogitoProcessInstance));
+        AtomicBoolean sent = new AtomicBoolean();
+        when(request.send()).thenReturn(Uni.createFrom().item(() -> {
+            sent.set(true);
+            return response;
+        }));
+
+        startAsync().onAfterEndEvent(new UnitOfWorkEndEvent(unitOfWork));
+        assertThat(sent).isFalse();
+        assertThat(transaction).hasSize(1);
+
+        transaction.forEach(Runnable::run);
+
+        assertAsyncCompleted(kogitoProcessInstance);
+    }
+
+    private ProcessInstances mockAsyncApplication() {
+        Application application = mock(Application.class);
+        unitOfWorkManager = mock(UnitOfWorkManager.class);
+        unitOfWork = mock(UnitOfWork.class);
+        Processes processes = mock(Processes.class);
+        org.kie.kogito.process.Process kogitoProcess = mock(org.kie.kogito.process.Process.class);
+        ProcessInstances instances = mock(ProcessInstances.class);
+        when(application.unitOfWorkManager()).thenReturn(unitOfWorkManager);
+        when(application.get(Processes.class)).thenReturn(processes);
+        when(unitOfWorkManager.currentUnitOfWork()).thenReturn(unitOfWork);
+        when(unitOfWorkManager.hasActiveUnitOfWork()).thenReturn(true);
+        when(unitOfWorkManager.newUnitOfWork()).thenReturn(mock(UnitOfWork.class));
+        when(processes.processById("restProcess")).thenReturn(kogitoProcess);
+        when(kogitoProcess.instances()).thenReturn(instances);
+        when(((WorkflowProcessInstance) workItem.getProcessInstance()).getProcessId()).thenReturn("restProcess");
+        workItem.setProcessInstanceId("1");
+        handler.setApplication(application);
+        return instances;
+    }
+
+    private ProcessInstance mockProcessInstance() {
+        ProcessInstance kogitoProcessInstance = mock(ProcessInstance.class);
+        when(kogitoProcessInstance.updateWorkItem(eq("2"), any())).thenAnswer(i -> i.<java.util.function.Function<Object, Object>> getArgument(1).apply(workItem));
+        return kogitoProcessInstance;
+    }
+
+    private UnitOfWorkEventListener startAsync() {
+        parameters.put(RestWorkItemHandler.METHOD, "GET");
+        parameters.put(RestWorkItemHandler.ASYNC, true);
+
+        assertThat(handler.transitionToPhase(manager, workItem, handler.startingTransition(parameters))).isEmpty();
+
+        ArgumentCaptor<UnitOfWorkEventListener> listenerCaptor = ArgumentCaptor.forClass(UnitOfWorkEventListener.class);
+        verify(unitOfWorkManager).register(listenerCaptor.capture());
+        return listenerCaptor.getValue();
+    }
+
+    private void assertAsyncCompleted(ProcessInstance kogitoProcessInstance) {
+        ArgumentCaptor<Map<String, Object>> resultCaptor = ArgumentCaptor.forClass(Map.class);
+        verify(kogitoProcessInstance, timeout(5000)).completeWorkItem(eq("2"), resultCaptor.capture());
+        assertThat(((ObjectNode) resultCaptor.getValue().get(RestWorkItemHandler.RESULT)).get("num").asInt()).isOne();
+    }
+
     public void assertResult(Optional<WorkItemTransition> transition) {
         Map<String, Object> results = transition.get().data();
         assertThat(results).hasSize(1).containsKey(RestWorkItemHandler.RESULT);
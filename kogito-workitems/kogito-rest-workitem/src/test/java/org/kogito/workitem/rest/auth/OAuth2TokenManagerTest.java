@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kogito.workitem.rest.auth;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.subscription.UniEmitter;
+import io.vertx.core.json.JsonObject;
+import io.vertx.mutiny.core.Vertx;
+import io.vertx.mutiny.ext.auth.User;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class OAuth2TokenManagerTest {
+
+    private OAuth2TokenManager tokenManager;
+    private AtomicInteger authenticateCalls;
+    private AtomicInteger refreshCalls;
+
+    @BeforeEach
+    void init() {
+        tokenManager = new OAuth2TokenManager(30);
+        tokenManager.useVertx(mock(Vertx.class));
+        authenticateCalls = new AtomicInteger();
+        refreshCalls = new AtomicInteger();
+    }
+
+    @Test
+    void testValidTokenIsCached() {
+        User user = user("token1", 3600);
+        OAuth2TokenManager.TokenFetcher fetcher = fetcher(Uni.createFrom().item(user), null);
+
+        assertThat(tokenManager.getToken("key", () -> fetcher)).isEqualTo("token1");
+        assertThat(tokenManager.getToken("key", () -> fetcher)).isEqualTo("token1");
+        assertThat(authenticateCalls.get()).isOne();
+        assertThat(refreshCalls.get()).isZero();
+        assertThat(tokenManager.hitCount()).isOne();
+        assertThat(tokenManager.refreshCount()).isOne();
+    }
+
+    @Test
+    void testTokenRefreshedAheadOfExpiry() {
+        User aboutToExpire = user("token1", 10);
+        User refreshed = user("token2", 3600);
+        OAuth2TokenManager.TokenFetcher fetcher = fetcher(Uni.createFrom().item(aboutToExpire), Uni.createFrom().item(refreshed));
+
+        assertThat(tokenManager.getToken("key", () -> fetcher)).isEqualTo("token1");
+        // still valid, returned while refresh is performed
+        assertThat(tokenManager.getToken("key", () -> fetcher)).isEqualTo("token1");
+        assertThat(tokenManager.getToken("key", () -> fetcher)).isEqualTo("token2");
+        assertThat(refreshCalls.get()).isOne();
+    }
+
+    @Test
+    void testConcurrentRefreshesAreCollapsed() {
+        User aboutToExpire = user("token1", 10);
+        UniEmitter<? super User>[] pending = new UniEmitter[1];
+        OAuth2TokenManager.TokenFetcher fetcher = fetcher(Uni.createFrom().item(aboutToExpire), Uni.createFrom().emitter(e -> pending[0] = e));
+
+        tokenManager.getToken("key", () -> fetcher);
+        for (int i = 0; i < 5; i++) {
+            assertThat(tokenManager.getToken("key", () -> fetcher)).isEqualTo("token1");
+        }
+        assertThat(refreshCalls.get()).isOne();
+
+        pending[0].complete(user("token2", 3600));
+        assertThat(tokenManager.getToken("key", () -> fetcher)).isEqualTo("token2");
+    }
+
+    @Test
+    void testExpiredTokenFetchedBeforeUse() {
+        User expired = user("token1", -10);
+        User refreshed = user("token2", 3600);
+        OAuth2TokenManager.TokenFetcher fetcher = fetcher(Uni.createFrom().item(expired), Uni.createFrom().item(refreshed));
+
+        assertThat(tokenManager.getToken("key", () -> fetcher)).isEqualTo("token1");
+        assertThat(tokenManager.getToken("key", () -> fetcher)).isEqualTo("token2");
+        assertThat(refreshCalls.get()).isOne();
+        assertThat(tokenManager.hitCount()).isZero();
+    }
+
+    @Test
+    void testTokenWithoutExpirationIsCached() {
+        User user = User.create(new JsonObject().put("access_token", "token1"));
+        OAuth2TokenManager.TokenFetcher fetcher = fetcher(Uni.createFrom().item(user), null);
+
+        assertThat(tokenManager.getToken("key", () -> fetcher)).isEqualTo("token1");
+        assertThat(tokenManager.getToken("key", () -> fetcher)).isEqualTo("token1");
+        assertThat(refreshCalls.get()).isZero();
+    }
+
+    @Test
+    void testLatestVertxIsUsed() {
+        Vertx restarted = mock(Vertx.class);
+        tokenManager.useVertx(restarted);
+        Vertx[] used = new Vertx[1];
+        OAuth2TokenManager.TokenFetcher fetcher = new OAuth2TokenManager.TokenFetcher() {
+            @Override
+            public Uni<User> authenticate(Vertx vertx) {
+                used[0] = vertx;
+                return Uni.createFrom().item(user("token1", 3600));
+            }
+
+            @Override
+            public Uni<User> refresh(Vertx vertx, User user) {
+                return authenticate(vertx);
+            }
+        };
+
+        tokenManager.getToken("key", () -> fetcher);
+        assertThat(used[0]).isSameAs(restarted);
+    }
+
+    @Test
+    void testFailureIsReported() {
+        OAuth2TokenManager.TokenFetcher fetcher = fetcher(Uni.createFrom().failure(new IllegalStateException("unauthorized")), null);
+
+        assertThatThrownBy(() -> tokenManager.getToken("key", () -> fetcher)).isInstanceOf(IllegalStateException.class).hasMessage("unauthorized");
+        assertThat(tokenManager.failureCount()).isOne();
+    }
+
+    private OAuth2TokenManager.TokenFetcher fetcher(Uni<User> authenticate, Uni<User> refresh) {
+        return new OAuth2TokenManager.TokenFetcher() {
+            @Override
+            public Uni<User> authenticate(Vertx vertx) {
+                authenticateCalls.incrementAndGet();
+                return authenticate;
+            }
+
+            @Override
+            public Uni<User> refresh(Vertx vertx, User user) {
+                refreshCalls.incrementAndGet();
+                return refresh;
+            }
+        };
+    }
+
+    private static User user(String token, long expiresIn) {
+        return User.create(new JsonObject().put("access_token", token), new JsonObject().put("exp", System.currentTimeMillis() / 1000 + expiresIn));
+    }
+}
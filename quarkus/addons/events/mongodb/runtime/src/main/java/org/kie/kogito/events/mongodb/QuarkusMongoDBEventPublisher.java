@@ -18,6 +18,9 @@
  */
 package org.kie.kogito.events.mongodb;
 
+import java.time.Duration;
+import java.util.Optional;
+
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.kie.kogito.mongodb.transaction.AbstractTransactionManager;
 
@@ -56,6 +59,10 @@ public class QuarkusMongoDBEventPublisher extends MongoDBEventPublisher {
     @ConfigProperty(name = "kogito.events.usertasks.collection", defaultValue = "kogitousertaskinstancesevents")
     String quarkusUserTasksEventsCollectionName;
 
+    @Inject
+    @ConfigProperty(name = "kogito.events.outbox.ttl")
+    Optional<Duration> quarkusOutboxTimeToLive;
+
     @PostConstruct
     public void setupQuarkusMongoDBEventPublisher() {
         super.configure();
@@ -95,4 +102,9 @@ public class QuarkusMongoDBEventPublisher extends MongoDBEventPublisher {
     protected String userTasksEventsCollection() {
         return this.quarkusUserTasksEventsCollectionName;
     }
+
+    @Override
+    protected Optional<Duration> outboxTimeToLive() {
+        return this.quarkusOutboxTimeToLive;
+    }
 }
@@ -18,6 +18,8 @@
  */
 package org.kie.kogito.events.config;
 
+import java.time.Duration;
+
 import io.quarkus.runtime.annotations.ConfigPhase;
 import io.quarkus.runtime.annotations.ConfigRoot;
 import io.smallrye.config.ConfigMapping;
@@ -69,4 +71,20 @@ public interface EventsRuntimeConfig {
     @WithName("usertasks.errors.propagate")
     @WithDefault("false")
     boolean isUserTasksPropagateError();
+
+    /**
+     * Maximum number of messages per channel sent without propagating errors that might be waiting for acknowledgement.
+     * Once reached, publishing blocks until some of them are acknowledged. Must be at least 1
+     */
+    @WithName("max-in-flight")
+    @WithDefault("1024")
+    int maxInFlightMessages();
+
+    /**
+     * Maximum time publishing waits for in-flight messages to be acknowledged once the limit is reached.
+     * When exceeded, publishing fails rather than blocking the caller indefinitely
+     */
+    @WithName("max-in-flight-timeout")
+    @WithDefault("30s")
+    Duration maxInFlightTimeout();
 }
@@ -18,10 +18,15 @@
  */
 package org.kie.kogito.events.process;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
 import org.eclipse.microprofile.reactive.messaging.Channel;
@@ -37,6 +42,7 @@ import org.slf4j.LoggerFactory;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import io.smallrye.mutiny.Uni;
 import io.smallrye.reactive.messaging.MutinyEmitter;
 import io.smallrye.reactive.messaging.providers.locals.ContextAwareMessage;
 
@@ -77,12 +83,17 @@ public abstract class AbstractMessagingEventPublisher implements EventPublisher
     @PostConstruct
     public void init() {
         decoratorProvider = decoratorProviderInstance.isResolvable() ? decoratorProviderInstance.get() : null;
+        int maxInFlight = eventsRuntimeConfig.maxInFlightMessages();
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("kogito.events.max-in-flight must be at least 1, but was " + maxInFlight);
+        }
+        Duration maxInFlightTimeout = eventsRuntimeConfig.maxInFlightTimeout();
         processDefinitionConsumer = eventsRuntimeConfig.isProcessDefinitionsPropagateErrors() ? new BlockingMessageEmitter(processDefinitionEventsEmitter, PROCESS_DEFINITIONS_TOPIC_NAME)
-                : new ReactiveMessageEmitter(processDefinitionEventsEmitter, PROCESS_DEFINITIONS_TOPIC_NAME);
+                : new ReactiveMessageEmitter(processDefinitionEventsEmitter, PROCESS_DEFINITIONS_TOPIC_NAME, maxInFlight, maxInFlightTimeout);
         processInstanceConsumer = eventsRuntimeConfig.isProcessInstancesPropagateError() ? new BlockingMessageEmitter(processInstancesEventsEmitter, PROCESS_INSTANCES_TOPIC_NAME)
-                : new ReactiveMessageEmitter(processInstancesEventsEmitter, PROCESS_INSTANCES_TOPIC_NAME);
+                : new ReactiveMessageEmitter(processInstancesEventsEmitter, PROCESS_INSTANCES_TOPIC_NAME, maxInFlight, maxInFlightTimeout);
         userTaskConsumer = eventsRuntimeConfig.isUserTasksPropagateError() ? new BlockingMessageEmitter(userTasksEventsEmitter, USER_TASK_INSTANCES_TOPIC_NAME)
-                : new ReactiveMessageEmitter(userTasksEventsEmitter, USER_TASK_INSTANCES_TOPIC_NAME);
+                : new ReactiveMessageEmitter(userTasksEventsEmitter, USER_TASK_INSTANCES_TOPIC_NAME, maxInFlight, maxInFlightTimeout);
     }
 
     protected Optional<AbstractMessageEmitter> getConsumer(DataEvent<?> event) {
@@ -121,6 +132,15 @@ public abstract class AbstractMessagingEventPublisher implements EventPublisher
     }
 
     protected void publishToTopic(AbstractMessageEmitter emitter, Object event) {
+        publishToTopic(emitter, event, null);
+    }
+
+    /**
+     * Publishes the event. When a collection of pending acknowledgements is given, emitters propagating errors add the
+     * acknowledgement of the message there rather than waiting for it, so it can be awaited together with the rest of
+     * the batch through {@link #awaitAcks(List)}
+     */
+    protected void publishToTopic(AbstractMessageEmitter emitter, Object event, List<Uni<Void>> pendingAcks) {
         logger.debug("About to publish event {} to topic {}", event, emitter.topic);
         Message<String> message = null;
         try {
@@ -131,10 +151,24 @@ public abstract class AbstractMessagingEventPublisher implements EventPublisher
             logger.error("Error while creating event to topic {} for event {}", emitter.topic, event);
         }
         if (message != null) {
-            emitter.accept(message);
+            if (pendingAcks == null) {
+                emitter.accept(message);
+            } else {
+                emitter.accept(message, pendingAcks);
+            }
+        }
+    }
+
+    protected void awaitAcks(List<Uni<Void>> pendingAcks) {
+        if (!pendingAcks.isEmpty()) {
+            Uni.join().all(pendingAcks).andFailFast().await().indefinitely();
         }
     }
 
+    protected static List<Uni<Void>> newPendingAcks() {
+        return new ArrayList<>();
+    }
+
     protected Message<String> decorateMessage(Message<String> message) {
         return decoratorProvider != null ? decoratorProvider.decorate(message) : message;
     }
@@ -148,6 +182,10 @@ public abstract class AbstractMessagingEventPublisher implements EventPublisher
             this.emitter = emitter;
             this.topic = topic;
         }
+
+        protected void accept(Message<String> message, List<Uni<Void>> pendingAcks) {
+            accept(message);
+        }
     }
 
     private static class BlockingMessageEmitter extends AbstractMessageEmitter {
@@ -160,26 +198,53 @@ public abstract class AbstractMessagingEventPublisher implements EventPublisher
             emitter.sendMessageAndAwait(message);
             logger.debug("Successfully published message {}", message.getPayload());
         }
+
+        @Override
+        protected void accept(Message<String> message, List<Uni<Void>> pendingAcks) {
+            // the message is sent once the returned uni is subscribed, which happens when all pending acks are awaited
+            pendingAcks.add(emitter.sendMessage(message).invoke(() -> logger.debug("Successfully published message {}", message.getPayload())));
+        }
     }
 
     private static class ReactiveMessageEmitter extends AbstractMessageEmitter {
-        protected ReactiveMessageEmitter(MutinyEmitter<String> emitter, String topic) {
+
+        private final Semaphore inFlight;
+        private final long timeoutMillis;
+
+        protected ReactiveMessageEmitter(MutinyEmitter<String> emitter, String topic, int maxInFlight, Duration timeout) {
             super(emitter, topic);
+            this.inFlight = new Semaphore(maxInFlight);
+            this.timeoutMillis = timeout.toMillis();
         }
 
         @Override
         public void accept(Message<String> message) {
-            emitter.sendMessageAndForget(message
-                    .withAck(() -> onAck(message))
-                    .withNack(reason -> onNack(reason, message)));
+            try {
+                if (!inFlight.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                    throw new IllegalStateException("Timed out after " + timeoutMillis + " ms waiting for in-flight messages to topic " + topic + " to be acknowledged");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting to publish message to topic " + topic, e);
+            }
+            try {
+                emitter.sendMessageAndForget(message
+                        .withAck(() -> onAck(message))
+                        .withNack(reason -> onNack(reason, message)));
+            } catch (RuntimeException e) {
+                inFlight.release();
+                throw e;
+            }
         }
 
         private CompletionStage<Void> onAck(Message<String> message) {
+            inFlight.release();
             logger.debug("Successfully published message {}", message.getPayload());
             return CompletableFuture.completedFuture(null);
         }
 
         private CompletionStage<Void> onNack(Throwable reason, Message<String> message) {
+            inFlight.release();
             logger.error("Error while publishing message {}", message, reason);
             return CompletableFuture.completedFuture(null);
         }
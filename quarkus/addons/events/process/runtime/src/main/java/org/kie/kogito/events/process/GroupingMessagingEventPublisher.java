@@ -24,6 +24,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.eclipse.microprofile.config.inject.ConfigProperty;
@@ -36,6 +37,7 @@ import org.kie.kogito.event.usertask.MultipleUserTaskInstanceDataEvent;
 import org.kie.kogito.event.usertask.UserTaskInstanceDataEvent;
 
 import io.quarkus.arc.lookup.LookupIfProperty;
+import io.smallrye.mutiny.Uni;
 
 import jakarta.inject.Singleton;
 
@@ -61,15 +63,17 @@ public class GroupingMessagingEventPublisher extends AbstractMessagingEventPubli
         for (DataEvent<?> event : events) {
             getConsumer(event).ifPresent(c -> eventsByChannel.computeIfAbsent(c, k -> new ArrayList<>()).add(event));
         }
-        eventsByChannel.entrySet().forEach(this::publishEvents);
+        List<Uni<Void>> pendingAcks = newPendingAcks();
+        eventsByChannel.entrySet().forEach(entry -> publishEvents(entry, pendingAcks));
+        awaitAcks(pendingAcks);
     }
 
     @SuppressWarnings({ "rawtypes", "unchecked" })
-    private void publishEvents(Map.Entry<AbstractMessageEmitter, Collection> entry) {
+    private void publishEvents(Map.Entry<AbstractMessageEmitter, Collection> entry, List<Uni<Void>> pendingAcks) {
         DataEvent<?> firstEvent = (DataEvent<?>) entry.getValue().iterator().next();
         URI source = firstEvent.getSource();
         if (firstEvent instanceof UserTaskInstanceDataEvent) {
-            publishToTopic(entry.getKey(), new MultipleUserTaskInstanceDataEvent(source, (Collection<UserTaskInstanceDataEvent<?>>) entry.getValue()));
+            publishToTopic(entry.getKey(), new MultipleUserTaskInstanceDataEvent(source, (Collection<UserTaskInstanceDataEvent<?>>) entry.getValue()), pendingAcks);
         } else if (firstEvent instanceof ProcessInstanceDataEvent) {
             MultipleProcessInstanceDataEvent sent = new MultipleProcessInstanceDataEvent(source, (Collection<ProcessInstanceDataEvent<? extends KogitoMarshallEventSupport>>) entry.getValue());
             if (binary) {
@@ -77,10 +81,10 @@ public class GroupingMessagingEventPublisher extends AbstractMessagingEventPubli
                 sent.setCompressed(compress);
                 sent.setMarshallFlags(KogitoMarshallEventFlag.buildFlags(EnumSet.allOf(KogitoMarshallEventFlag.class)));
             }
-            publishToTopic(entry.getKey(), sent);
+            publishToTopic(entry.getKey(), sent, pendingAcks);
         } else {
             for (DataEvent<?> event : (Collection<DataEvent<?>>) entry.getValue()) {
-                publishToTopic(entry.getKey(), event);
+                publishToTopic(entry.getKey(), event, pendingAcks);
             }
         }
     }
@@ -19,10 +19,12 @@
 package org.kie.kogito.events.process;
 
 import java.util.Collection;
+import java.util.List;
 
 import org.kie.kogito.event.DataEvent;
 
 import io.quarkus.arc.lookup.LookupUnlessProperty;
+import io.smallrye.mutiny.Uni;
 
 import jakarta.inject.Singleton;
 
@@ -37,9 +39,11 @@ public class ReactiveMessagingEventPublisher extends AbstractMessagingEventPubli
 
     @Override
     public void publish(Collection<DataEvent<?>> events) {
+        List<Uni<Void>> pendingAcks = newPendingAcks();
         for (DataEvent<?> event : events) {
-            publish(event);
+            getConsumer(event).ifPresent(emitter -> publishToTopic(emitter, event, pendingAcks));
         }
+        awaitAcks(pendingAcks);
     }
 
 }
@@ -19,6 +19,7 @@
 
 package org.kie.kogito.events.process;
 
+import java.time.Duration;
 import java.util.*;
 
 import org.eclipse.microprofile.reactive.messaging.Message;
@@ -109,6 +110,9 @@ public class GroupingMessagingEventPublisherTest {
 
         when(eventsRuntimeConfig.isProcessInstancesEventsEnabled()).thenReturn(true);
         when(eventsRuntimeConfig.isUserTasksEventsEnabled()).thenReturn(true);
+
+        when(eventsRuntimeConfig.maxInFlightMessages()).thenReturn(1024);
+        when(eventsRuntimeConfig.maxInFlightTimeout()).thenReturn(Duration.ofSeconds(30));
     }
 
     @Test
@@ -166,14 +170,14 @@ public class GroupingMessagingEventPublisherTest {
         Collection<DataEvent<?>> events = Arrays.asList(processInstanceEvent, userTaskEvent);
 
         // Spy on the publisher's internal method to verify the calls
-        doNothing().when(groupingMessagingEventPublisher).publishToTopic(any(), any());
+        doNothing().when(groupingMessagingEventPublisher).publishToTopic(any(), any(), any());
 
         // Invoke the method to test
         groupingMessagingEventPublisher.publish(events);
 
         // Capture and verify that the correct emitter was used for each event
-        verify(groupingMessagingEventPublisher, times(1)).publishToTopic(eq(processInstanceConsumer), any(MultipleProcessInstanceDataEvent.class));
-        verify(groupingMessagingEventPublisher, times(1)).publishToTopic(eq(userTaskConsumer), any(MultipleUserTaskInstanceDataEvent.class));
+        verify(groupingMessagingEventPublisher, times(1)).publishToTopic(eq(processInstanceConsumer), any(MultipleProcessInstanceDataEvent.class), any());
+        verify(groupingMessagingEventPublisher, times(1)).publishToTopic(eq(userTaskConsumer), any(MultipleUserTaskInstanceDataEvent.class), any());
     }
 
     @Test
@@ -199,25 +203,25 @@ public class GroupingMessagingEventPublisherTest {
         Collection<DataEvent<?>> events = Arrays.asList(processInstanceEvent1, processInstanceEvent2, userTaskEvent1, userTaskEvent2);
 
         // Spy on the internal publishToTopic to verify grouping
-        doNothing().when(groupingMessagingEventPublisher).publishToTopic(any(), any());
+        doNothing().when(groupingMessagingEventPublisher).publishToTopic(any(), any(), any());
 
         // Invoke the method to test
         groupingMessagingEventPublisher.publish(events);
 
         // Verify that two grouped publishToTopic calls are made: one for processInstanceConsumer, one for userTaskConsumer
-        verify(groupingMessagingEventPublisher, times(1)).publishToTopic(eq(processInstanceConsumer), any(MultipleProcessInstanceDataEvent.class));
-        verify(groupingMessagingEventPublisher, times(1)).publishToTopic(eq(userTaskConsumer), any(MultipleUserTaskInstanceDataEvent.class));
+        verify(groupingMessagingEventPublisher, times(1)).publishToTopic(eq(processInstanceConsumer), any(MultipleProcessInstanceDataEvent.class), any());
+        verify(groupingMessagingEventPublisher, times(1)).publishToTopic(eq(userTaskConsumer), any(MultipleUserTaskInstanceDataEvent.class), any());
 
         // Verify that the right number of events was grouped and passed to each emitter
         ArgumentCaptor<MultipleProcessInstanceDataEvent> captorPI = ArgumentCaptor.forClass(MultipleProcessInstanceDataEvent.class);
 
-        verify(groupingMessagingEventPublisher, times(1)).publishToTopic(eq(processInstanceConsumer), captorPI.capture());
+        verify(groupingMessagingEventPublisher, times(1)).publishToTopic(eq(processInstanceConsumer), captorPI.capture(), any());
         MultipleProcessInstanceDataEvent groupedProcessInstanceEvents = captorPI.getValue();
         assertEquals(2, groupedProcessInstanceEvents.getData().size()); // both processInstanceEvents are grouped
 
         ArgumentCaptor<MultipleUserTaskInstanceDataEvent> captorUT = ArgumentCaptor.forClass(MultipleUserTaskInstanceDataEvent.class);
 
-        verify(groupingMessagingEventPublisher, times(1)).publishToTopic(eq(userTaskConsumer), captorUT.capture());
+        verify(groupingMessagingEventPublisher, times(1)).publishToTopic(eq(userTaskConsumer), captorUT.capture(), any());
         MultipleUserTaskInstanceDataEvent groupedUserTaskEvents = captorUT.getValue();
         assertEquals(2, groupedUserTaskEvents.getData().size()); // both userTaskEvents are grouped
     }
@@ -227,12 +231,12 @@ public class GroupingMessagingEventPublisherTest {
         Collection<DataEvent<?>> events = Collections.emptyList();
 
         // Spy on the internal publishToTopic to verify no calls are made
-        doNothing().when(groupingMessagingEventPublisher).publishToTopic(any(), any());
+        doNothing().when(groupingMessagingEventPublisher).publishToTopic(any(), any(), any());
 
         groupingMessagingEventPublisher.publish(events);
 
         // Verify that publishToTopic is never called
-        verify(groupingMessagingEventPublisher, never()).publishToTopic(any(), anyCollection());
+        verify(groupingMessagingEventPublisher, never()).publishToTopic(any(), any(), any());
     }
 
     @Test
@@ -251,13 +255,13 @@ public class GroupingMessagingEventPublisherTest {
         Collection<DataEvent<?>> events = Arrays.asList(processInstanceEvent, userTaskEvent);
 
         // Spy on the publisher's internal method to verify no calls are made
-        doNothing().when(groupingMessagingEventPublisher).publishToTopic(any(), any());
+        doNothing().when(groupingMessagingEventPublisher).publishToTopic(any(), any(), any());
 
         // Invoke the method to test
         groupingMessagingEventPublisher.publish(events);
 
         // Verify that publishToTopic is never called since no consumers were found
-        verify(groupingMessagingEventPublisher, never()).publishToTopic(any(), anyCollection());
+        verify(groupingMessagingEventPublisher, never()).publishToTopic(any(), any(), any());
     }
 
     @Test
@@ -290,7 +294,7 @@ public class GroupingMessagingEventPublisherTest {
         groupingMessagingEventPublisher.publish(events);
 
         // Verify no publishing occurred since no consumer exists for unsupported event
-        verify(groupingMessagingEventPublisher, never()).publishToTopic(any(), anyCollection());
+        verify(groupingMessagingEventPublisher, never()).publishToTopic(any(), any(), any());
     }
 
     @Test
@@ -310,7 +314,7 @@ public class GroupingMessagingEventPublisherTest {
         groupingMessagingEventPublisher.publish(events);
 
         // Verify no publishing occurred since events are disabled
-        verify(groupingMessagingEventPublisher, never()).publishToTopic(any(), anyCollection());
+        verify(groupingMessagingEventPublisher, never()).publishToTopic(any(), any(), any());
     }
 
     @Test
@@ -327,7 +331,7 @@ public class GroupingMessagingEventPublisherTest {
         groupingMessagingEventPublisher.publish(events);
 
         // Verify the valid event is processed
-        verify(groupingMessagingEventPublisher, times(1)).publishToTopic(eq(processInstanceConsumer), any(MultipleProcessInstanceDataEvent.class));
+        verify(groupingMessagingEventPublisher, times(1)).publishToTopic(eq(processInstanceConsumer), any(MultipleProcessInstanceDataEvent.class), any());
     }
 
     @Test
@@ -380,8 +384,59 @@ public class GroupingMessagingEventPublisherTest {
         groupingMessagingEventPublisher.publish(events);
 
         // Ensure that only the supported event was published
-        verify(groupingMessagingEventPublisher, times(1)).publishToTopic(eq(processInstanceConsumer), any(MultipleProcessInstanceDataEvent.class));
-        verify(groupingMessagingEventPublisher, never()).publishToTopic(any(), eq(Collections.singletonList(unsupportedEvent)));
+        verify(groupingMessagingEventPublisher, times(1)).publishToTopic(eq(processInstanceConsumer), any(MultipleProcessInstanceDataEvent.class), any());
+        verify(groupingMessagingEventPublisher, never()).publishToTopic(any(), eq(unsupportedEvent), any());
+    }
+
+    @Test
+    void testInvalidMaxInFlight() {
+        when(eventsRuntimeConfig.maxInFlightMessages()).thenReturn(0);
+
+        assertThrows(IllegalArgumentException.class, () -> reactiveMessagingEventPublisher.init());
+    }
+
+    @Test
+    void testMaxInFlightReleasedOnAck() throws Exception {
+        ArgumentCaptor<Message<String>> sent = limitInFlightToOne();
+        DataEvent<String> event = processInstanceEvent();
+
+        reactiveMessagingEventPublisher.publish(event);
+        assertThrows(IllegalStateException.class, () -> reactiveMessagingEventPublisher.publish(event));
+        verify(processInstancesEventsEmitter, times(1)).sendMessageAndForget(any());
+
+        sent.getValue().ack().toCompletableFuture().get();
+        reactiveMessagingEventPublisher.publish(event);
+        verify(processInstancesEventsEmitter, times(2)).sendMessageAndForget(any());
+    }
+
+    @Test
+    void testMaxInFlightReleasedOnNack() throws Exception {
+        ArgumentCaptor<Message<String>> sent = limitInFlightToOne();
+        DataEvent<String> event = processInstanceEvent();
+
+        reactiveMessagingEventPublisher.publish(event);
+        assertThrows(IllegalStateException.class, () -> reactiveMessagingEventPublisher.publish(event));
+
+        sent.getValue().nack(new RuntimeException("broker failure")).toCompletableFuture().get();
+        reactiveMessagingEventPublisher.publish(event);
+        verify(processInstancesEventsEmitter, times(2)).sendMessageAndForget(any());
+    }
+
+    private ArgumentCaptor<Message<String>> limitInFlightToOne() throws Exception {
+        when(eventsRuntimeConfig.maxInFlightMessages()).thenReturn(1);
+        when(eventsRuntimeConfig.maxInFlightTimeout()).thenReturn(Duration.ofMillis(50));
+        when(json.writeValueAsString(any())).thenReturn("eventString");
+        when(decoratorProvider.decorate(any(Message.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        ArgumentCaptor<Message<String>> sent = ArgumentCaptor.forClass(Message.class);
+        doNothing().when(processInstancesEventsEmitter).sendMessageAndForget(sent.capture());
+        reactiveMessagingEventPublisher.init();
+        return sent;
+    }
+
+    private DataEvent<String> processInstanceEvent() {
+        DataEvent<String> event = mock(DataEvent.class);
+        when(event.getType()).thenReturn("ProcessInstanceStateDataEvent");
+        return event;
     }
 
     private void mockMessageForBothAckNack(Message<String> message) {
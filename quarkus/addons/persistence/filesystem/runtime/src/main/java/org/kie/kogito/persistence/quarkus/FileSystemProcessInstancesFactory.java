@@ -32,7 +32,9 @@ public class FileSystemProcessInstancesFactory extends AbstractProcessInstancesF
     }
 
     @Inject
-    public FileSystemProcessInstancesFactory(@ConfigProperty(name = "kogito.persistence.filesystem.path", defaultValue = "/tmp") String path) {
-        super(path);
+    public FileSystemProcessInstancesFactory(@ConfigProperty(name = "kogito.persistence.filesystem.path", defaultValue = "/tmp") String path,
+            @ConfigProperty(name = "kogito.persistence.compression", defaultValue = "none") String compression,
+            @ConfigProperty(name = "kogito.persistence.compression.threshold", defaultValue = "1024") int compressionThreshold) {
+        super(path, compression, compressionThreshold);
     }
 }
@@ -37,8 +37,11 @@ public class JDBCProcessInstancesFactory extends AbstractProcessInstancesFactory
     public JDBCProcessInstancesFactory(DataSource dataSource,
             @ConfigProperty(name = "kogito.persistence.optimistic.lock", defaultValue = "false") Boolean lock,
             @ConfigProperty(name = "kogito.persistence.headers.enabled", defaultValue = "false") boolean headersEnabled,
-            @ConfigProperty(name = "kogito.persistence.headers.excluded") Optional<List<String>> headersExcluded) {
-        super(dataSource, lock, HeadersPersistentConfig.of(headersEnabled, headersExcluded));
+            @ConfigProperty(name = "kogito.persistence.headers.excluded") Optional<List<String>> headersExcluded,
+            @ConfigProperty(name = "kogito.persistence.delta.max-patches", defaultValue = "0") int deltaMaxPatches,
+            @ConfigProperty(name = "kogito.persistence.compression", defaultValue = "none") String compression,
+            @ConfigProperty(name = "kogito.persistence.compression.threshold", defaultValue = "1024") int compressionThreshold) {
+        super(dataSource, lock, HeadersPersistentConfig.of(headersEnabled, headersExcluded), deltaMaxPatches, compression, compressionThreshold);
     }
 
     public JDBCProcessInstancesFactory() {
@@ -38,8 +38,10 @@ public class PostgresqlProcessInstancesFactory extends AbstractProcessInstancesF
             @ConfigProperty(name = "kogito.persistence.query.timeout.millis", defaultValue = "10000") Long queryTimeout,
             @ConfigProperty(name = "kogito.persistence.optimistic.lock", defaultValue = "false") Boolean lock,
             @ConfigProperty(name = "kogito.persistence.headers.enabled", defaultValue = "false") boolean headersEnabled,
-            @ConfigProperty(name = "kogito.persistence.headers.excluded") Optional<List<String>> headersExcluded) {
-        super(client, queryTimeout, lock, HeadersPersistentConfig.of(headersEnabled, headersExcluded));
+            @ConfigProperty(name = "kogito.persistence.headers.excluded") Optional<List<String>> headersExcluded,
+            @ConfigProperty(name = "kogito.persistence.compression", defaultValue = "none") String compression,
+            @ConfigProperty(name = "kogito.persistence.compression.threshold", defaultValue = "1024") int compressionThreshold) {
+        super(client, queryTimeout, lock, HeadersPersistentConfig.of(headersEnabled, headersExcluded), compression, compressionThreshold);
     }
 
     protected PostgresqlProcessInstancesFactory() {
@@ -23,6 +23,7 @@ import java.util.Optional;
 
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.kie.kogito.internal.process.runtime.HeadersPersistentConfig;
+import org.kie.kogito.jobs.JobStore;
 import org.kie.kogito.persistence.rocksdb.RocksDBProcessInstancesFactory;
 import org.kie.kogito.process.ProcessInstancesFactory;
 import org.rocksdb.Options;
@@ -31,6 +32,8 @@ import org.rocksdb.RocksDBException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.quarkus.arc.properties.IfBuildProperty;
+
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
@@ -50,6 +53,12 @@ public class RocksDbProcessInstancesFactoryProducer {
     boolean headersEnabled;
     @ConfigProperty(name = "kogito.persistence.headers.excluded")
     Optional<List<String>> headersExcluded;
+    @ConfigProperty(name = "kogito.persistence.delta.max-patches", defaultValue = "0")
+    int deltaMaxPatches;
+    @ConfigProperty(name = "kogito.persistence.compression", defaultValue = "none")
+    String compression;
+    @ConfigProperty(name = "kogito.persistence.compression.threshold", defaultValue = "1024")
+    int compressionThreshold;
 
     @PostConstruct
     void init() throws RocksDBException {
@@ -58,7 +67,7 @@ public class RocksDbProcessInstancesFactoryProducer {
         String dataDir = config.dataDir();
         logger.info("Opening rocksdb in directory {}", dataDir);
         processInstancesFactory = new RocksDBProcessInstancesFactory(options, dataDir,
-                HeadersPersistentConfig.of(headersEnabled, headersExcluded));
+                HeadersPersistentConfig.of(headersEnabled, headersExcluded), deltaMaxPatches, compression, compressionThreshold);
     }
 
     @Produces
@@ -66,6 +75,12 @@ public class RocksDbProcessInstancesFactoryProducer {
         return processInstancesFactory;
     }
 
+    @Produces
+    @IfBuildProperty(name = "kogito.persistence.job-store.enabled", stringValue = "true")
+    JobStore jobStore() {
+        return processInstancesFactory.createJobStore();
+    }
+
     @PreDestroy
     void cleanup() throws RocksDBException {
         processInstancesFactory.close();
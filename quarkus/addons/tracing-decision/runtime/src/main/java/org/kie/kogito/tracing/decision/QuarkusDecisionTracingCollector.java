@@ -18,8 +18,10 @@
  */
 package org.kie.kogito.tracing.decision;
 
+import java.time.Duration;
 import java.util.function.BiFunction;
 
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.kie.kogito.Application;
 import org.kie.kogito.config.ConfigBean;
 import org.kie.kogito.tracing.decision.event.evaluate.EvaluateEvent;
@@ -41,13 +43,21 @@ public class QuarkusDecisionTracingCollector {
         this.collector = new DecisionTracingCollector(eventEmitter::emit, modelSupplier, configBean);
     }
 
-    @Inject
     public QuarkusDecisionTracingCollector(final QuarkusTraceEventEmitter eventEmitter,
             final ConfigBean configBean,
             final Application application) {
         this(eventEmitter, configBean, new ApplicationModelSupplier(application));
     }
 
+    @Inject
+    public QuarkusDecisionTracingCollector(final QuarkusTraceEventEmitter eventEmitter,
+            final ConfigBean configBean,
+            final Application application,
+            @ConfigProperty(name = "kogito.addon.tracing.decision.maxInFlightExecutions", defaultValue = "10000") int maxInFlightExecutions,
+            @ConfigProperty(name = "kogito.addon.tracing.decision.executionTtlMillis", defaultValue = "300000") long executionTtlMillis) {
+        this.collector = new DecisionTracingCollector(eventEmitter::emit, new ApplicationModelSupplier(application), configBean, maxInFlightExecutions, Duration.ofMillis(executionTtlMillis));
+    }
+
     @ConsumeEvent("kogito-tracing-decision_EvaluateEvent")
     public void onEvent(final EvaluateEvent event) {
         collector.addEvent(event);
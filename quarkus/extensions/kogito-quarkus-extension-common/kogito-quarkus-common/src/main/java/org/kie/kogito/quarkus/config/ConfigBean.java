@@ -52,6 +52,31 @@ public class ConfigBean extends StaticConfigBean {
         return runtimeConfig.get().processInstanceLimit();
     }
 
+    @Override
+    public int signalBroadcastPageSize() {
+        return runtimeConfig.get().signalBroadcastPageSize();
+    }
+
+    @Override
+    public boolean persistenceWriteBehind() {
+        return runtimeConfig.get().persistenceWriteBehind();
+    }
+
+    @Override
+    public String processInstanceLockStrategy() {
+        return runtimeConfig.get().processInstanceLockStrategy();
+    }
+
+    @Override
+    public int processInstanceLockStripes() {
+        return runtimeConfig.get().processInstanceLockStripes();
+    }
+
+    @Override
+    public long processInstanceLockTimeout() {
+        return runtimeConfig.get().processInstanceLockTimeout();
+    }
+
     @Override
     public Optional<KogitoGAV> getGav() {
         return Optional.ofNullable(gav.get());
@@ -50,6 +50,44 @@ public interface KogitoRuntimeConfig {
     @WithDefault("1000")
     short processInstanceLimit();
 
+    /**
+     * Number of instances signalled per unit of work when broadcasting a signal to every instance waiting for it,
+     * 0 means all the waiting instances are signalled within the unit of work in progress
+     */
+    @WithName("signal.broadcast.page-size")
+    @WithDefault("0")
+    int signalBroadcastPageSize();
+
+    /**
+     * Whether updates of process instances are deferred to the end of the unit of work, so every instance
+     * is written once per unit of work
+     */
+    @WithName("persistence.write-behind")
+    @WithDefault("false")
+    boolean persistenceWriteBehind();
+
+    /**
+     * Strategy locking process instances while operated on, either <code>atomic</code> or <code>striped</code>
+     */
+    @WithName("process.instance.lock.strategy")
+    @WithDefault("atomic")
+    String processInstanceLockStrategy();
+
+    /**
+     * Number of stripes of the <code>striped</code> process instance lock strategy
+     */
+    @WithName("process.instance.lock.stripes")
+    @WithDefault("1024")
+    int processInstanceLockStripes();
+
+    /**
+     * Maximum time, in milliseconds, a nested operation waits for the lock of a process instance
+     * with the <code>striped</code> process instance lock strategy
+     */
+    @WithName("process.instance.lock.timeout")
+    @WithDefault("30000")
+    long processInstanceLockTimeout();
+
     /**
      * Auth Configuration
      */
@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.quarkus.runtime;
+
+import org.kogito.workitem.rest.TransactionSynchronizer;
+
+import io.quarkus.arc.Arc;
+import io.quarkus.arc.ArcContainer;
+import io.quarkus.arc.InstanceHandle;
+
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+
+/**
+ * Runs the action once the active JTA transaction has committed, when the application uses a transaction manager.
+ */
+public class JtaTransactionSynchronizer implements TransactionSynchronizer {
+
+    @Override
+    public boolean runAfterCommit(Runnable action) {
+        ArcContainer container = Arc.container();
+        if (container == null) {
+            return false;
+        }
+        InstanceHandle<TransactionSynchronizationRegistry> registry = container.instance(TransactionSynchronizationRegistry.class);
+        if (!registry.isAvailable() || registry.get().getTransactionStatus() != Status.STATUS_ACTIVE) {
+            return false;
+        }
+        registry.get().registerInterposedSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == Status.STATUS_COMMITTED) {
+                    action.run();
+                }
+            }
+        });
+        return true;
+    }
+}
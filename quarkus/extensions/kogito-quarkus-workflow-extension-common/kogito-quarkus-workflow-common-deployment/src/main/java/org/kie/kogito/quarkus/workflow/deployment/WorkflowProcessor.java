@@ -101,7 +101,7 @@ public abstract class WorkflowProcessor {
         if (capabilities.isCapabilityWithPrefixPresent(PERSISTENCE_CAPABILITY)) {
             indexDependency.produce(new IndexDependencyBuildItem("com.google.protobuf", "protobuf-java"));
             resource.produce(new NativeImageResourceBuildItem("kogito-types.proto"));
-            reflectiveClass.produce(new ReflectiveClassBuildItem(true, true, "org.kie.kogito.persistence.ProtostreamObjectMarshaller"));
+            reflectiveClass.produce(new ReflectiveClassBuildItem(true, true, "org.kie.kogito.persistence.ProtostreamObjectMarshaller", "org.kie.kogito.persistence.ProtostreamListMarshaller"));
             resource.produce(new NativeImageResourceBuildItem("META-INF/services/" + ObjectMarshallerStrategy.class.getName()));
             serviceProviderBuildItemBuildProducer.produce(ServiceProviderBuildItem.allProvidersFromClassPath(ObjectMarshallerStrategy.class.getName()));
             addInnerClasses(KogitoProcessInstanceProtobuf.class, reflectiveHierarchyClass);
@@ -20,16 +20,21 @@ package org.kie.kogito.quarkus.workflow;
 
 import java.util.concurrent.ScheduledExecutorService;
 
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.kie.kogito.config.ConfigBean;
 import org.kie.kogito.correlation.CorrelationService;
 import org.kie.kogito.event.correlation.DefaultCorrelationService;
+import org.kie.kogito.jobs.JobStore;
 import org.kie.kogito.jobs.JobsService;
 import org.kie.kogito.process.ProcessVersionResolver;
 import org.kie.kogito.process.Processes;
 import org.kie.kogito.process.version.ProjectVersionProcessVersionResolver;
+import org.kie.kogito.services.jobs.impl.DurableInMemoryJobService;
 import org.kie.kogito.services.jobs.impl.InMemoryJobContext;
 import org.kie.kogito.services.jobs.impl.InMemoryJobService;
 import org.kie.kogito.services.jobs.impl.InMemoryProcessJobExecutorFactory;
+import org.kie.kogito.services.jobs.impl.JobExecutorFactoryRegistry;
+import org.kie.kogito.services.jobs.impl.TimingWheelJobService;
 import org.kie.kogito.services.uow.StaticUnitOfWorkManger;
 import org.kie.kogito.uow.UnitOfWorkManager;
 import org.kie.kogito.usertask.UserTasks;
@@ -63,11 +68,22 @@ public class KogitoBeanProducer {
 
     @DefaultBean
     @Produces
-    JobsService jobsService(Instance<Processes> processes, Instance<UserTasks> userTasks, UnitOfWorkManager uowm, ScheduledExecutorService executor) {
+    JobsService jobsService(Instance<Processes> processes, Instance<UserTasks> userTasks, Instance<JobStore> jobStore, UnitOfWorkManager uowm, ScheduledExecutorService executor,
+            @ConfigProperty(name = InMemoryJobService.IN_MEMORY_JOB_SERVICE_TYPE_PROPERTY, defaultValue = InMemoryJobService.SCHEDULED_TYPE) String type,
+            @ConfigProperty(name = TimingWheelJobService.TICK_DURATION_PROPERTY, defaultValue = TimingWheelJobService.DEFAULT_TICK_DURATION) long tickDuration,
+            @ConfigProperty(name = TimingWheelJobService.WHEEL_SIZE_PROPERTY, defaultValue = TimingWheelJobService.DEFAULT_WHEEL_SIZE) int wheelSize,
+            @ConfigProperty(name = InMemoryJobService.IN_MEMORY_JOB_SERVICE_POOL_SIZE_PROPERTY, defaultValue = "10") int poolSize) {
         InMemoryJobContext context = new InMemoryJobContext(null, uowm, processes.isResolvable() ? processes.get() : null, userTasks.isResolvable() ? userTasks.get() : null);
-        InMemoryJobService inMemoryJobService = new InMemoryJobService(executor);
-        inMemoryJobService.registerJobExecutorFactory(new InMemoryProcessJobExecutorFactory(context));
-        return inMemoryJobService;
+        JobExecutorFactoryRegistry jobsService;
+        if (jobStore.isResolvable()) {
+            jobsService = new DurableInMemoryJobService(executor, jobStore.get());
+        } else if (InMemoryJobService.TIMING_WHEEL_TYPE.equals(type)) {
+            jobsService = new TimingWheelJobService(tickDuration, wheelSize, poolSize);
+        } else {
+            jobsService = new InMemoryJobService(executor);
+        }
+        jobsService.registerJobExecutorFactory(new InMemoryProcessJobExecutorFactory(context));
+        return (JobsService) jobsService;
     }
 
     @Produces
@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.integrationtests.quarkus;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.services.jobs.impl.InMemoryJobService;
+import org.kie.kogito.services.jobs.impl.TimingWheelJobService;
+
+import io.quarkus.test.junit.QuarkusIntegrationTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+
+import static org.kie.kogito.test.utils.ProcessInstancesRESTTestUtils.assertProcessInstanceHasFinished;
+import static org.kie.kogito.test.utils.ProcessInstancesRESTTestUtils.newProcessInstanceAndGetId;
+
+@QuarkusIntegrationTest
+@TestProfile(TimingWheelJobServiceIT.TimingWheelProfile.class)
+class TimingWheelJobServiceIT {
+
+    private static final String TIMER_EVENT = "/MultipleTimerInstancesTimerEvent";
+    private static final String TIMER_EVENT_GET_BY_ID_URL = TIMER_EVENT + "/{id}";
+    private static final String BOUNDARY_TIMER_EVENT = "/MultipleTimerInstancesBoundaryTimerEvent";
+    private static final String BOUNDARY_TIMER_EVENT_GET_BY_ID_URL = BOUNDARY_TIMER_EVENT + "/{id}";
+    private static final String EMPTY_DATA = "{}";
+    private static final int AT_LEAST_SECONDS = 1;
+    private static final int AT_MOST_SECONDS = 120;
+
+    public static class TimingWheelProfile implements QuarkusTestProfile {
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of(InMemoryJobService.IN_MEMORY_JOB_SERVICE_TYPE_PROPERTY, InMemoryJobService.TIMING_WHEEL_TYPE,
+                    TimingWheelJobService.TICK_DURATION_PROPERTY, "10");
+        }
+    }
+
+    @Test
+    void timerEvent() {
+        String processInstanceId = newProcessInstanceAndGetId(TIMER_EVENT, EMPTY_DATA);
+        assertProcessInstanceHasFinished(TIMER_EVENT_GET_BY_ID_URL, processInstanceId, AT_LEAST_SECONDS, AT_MOST_SECONDS);
+    }
+
+    @Test
+    void boundaryTimerEvent() {
+        String processInstanceId = newProcessInstanceAndGetId(BOUNDARY_TIMER_EVENT, EMPTY_DATA);
+        assertProcessInstanceHasFinished(BOUNDARY_TIMER_EVENT_GET_BY_ID_URL, processInstanceId, AT_LEAST_SECONDS, AT_MOST_SECONDS);
+    }
+}
@@ -18,6 +18,9 @@
  */
 package org.kie.kogito.events.mongodb;
 
+import java.time.Duration;
+import java.util.Optional;
+
 import org.kie.kogito.mongodb.transaction.AbstractTransactionManager;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -51,6 +54,9 @@ public class SpringbootMongoDBEventPublisher extends MongoDBEventPublisher {
     @Value("${kogito.events.usertasks.collection:kogitousertaskinstancesevents}")
     String springUserTasksEventsCollectionName;
 
+    @Value("${kogito.events.outbox.ttl:#{null}}")
+    Optional<Duration> springOutboxTimeToLive;
+
     @PostConstruct
     public void setupSpringbootMongoDBEventPublisher() {
         super.configure();
@@ -91,4 +97,9 @@ public class SpringbootMongoDBEventPublisher extends MongoDBEventPublisher {
         return this.springUserTasksEventsCollectionName;
     }
 
+    @Override
+    protected Optional<Duration> outboxTimeToLive() {
+        return this.springOutboxTimeToLive;
+    }
+
 }
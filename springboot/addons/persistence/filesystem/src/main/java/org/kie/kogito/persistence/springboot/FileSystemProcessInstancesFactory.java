@@ -25,8 +25,10 @@ import org.springframework.stereotype.Component;
 @Component
 public class FileSystemProcessInstancesFactory extends AbstractProcessInstancesFactory {
 
-    public FileSystemProcessInstancesFactory(@Value("${kogito.persistence.filesystem.path:/tmp}") String path) {
-        super(path);
+    public FileSystemProcessInstancesFactory(@Value("${kogito.persistence.filesystem.path:/tmp}") String path,
+            @Value("${kogito.persistence.compression:none}") String compression,
+            @Value("${kogito.persistence.compression.threshold:1024}") int compressionThreshold) {
+        super(path, compression, compressionThreshold);
     }
 
 }
@@ -36,10 +36,14 @@ public class JDBCProcessInstancesFactory extends AbstractProcessInstancesFactory
     public JDBCProcessInstancesFactory(DataSource dataSource,
             @Value("${kogito.persistence.optimistic.lock:false}") Boolean lock,
             @Value("${kogito.persistence.headers.enabled:false}") Boolean headersEnabled,
-            @Value("${kogito.persistence.headers.excluded:}") List<String> headersExcluded) {
+            @Value("${kogito.persistence.headers.excluded:}") List<String> headersExcluded,
+            @Value("${kogito.persistence.delta.max-patches:0}") int deltaMaxPatches,
+            @Value("${kogito.persistence.compression:none}") String compression,
+            @Value("${kogito.persistence.compression.threshold:1024}") int compressionThreshold) {
 
         // Wrap the original DataSource so operations use the transactional Connection
-        super(new TransactionAwareDataSourceProxy(dataSource), lock, new HeadersPersistentConfig(headersEnabled, headersExcluded));
+        super(new TransactionAwareDataSourceProxy(dataSource), lock, new HeadersPersistentConfig(headersEnabled, headersExcluded), deltaMaxPatches,
+                compression, compressionThreshold);
     }
 
 }
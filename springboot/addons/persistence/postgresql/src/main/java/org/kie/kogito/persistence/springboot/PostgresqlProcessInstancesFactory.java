@@ -37,8 +37,10 @@ public class PostgresqlProcessInstancesFactory extends AbstractProcessInstancesF
             @Value("${kogito.persistence.query.timeout.millis:10000}") Long queryTimeout,
             @Value("${kogito.persistence.optimistic.lock:false}") Boolean lock,
             @Value("${kogito.persistence.headers.enabled:false}") Boolean headersEnabled,
-            @Value("${kogito.persistence.headers.excluded:}") List<String> headersExcluded) {
-        super(client, queryTimeout, lock, new HeadersPersistentConfig(headersEnabled, headersExcluded));
+            @Value("${kogito.persistence.headers.excluded:}") List<String> headersExcluded,
+            @Value("${kogito.persistence.compression:none}") String compression,
+            @Value("${kogito.persistence.compression.threshold:1024}") int compressionThreshold) {
+        super(client, queryTimeout, lock, new HeadersPersistentConfig(headersEnabled, headersExcluded), compression, compressionThreshold);
     }
 
     protected PostgresqlProcessInstancesFactory() {
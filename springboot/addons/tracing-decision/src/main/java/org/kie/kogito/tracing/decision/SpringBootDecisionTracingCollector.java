@@ -18,6 +18,7 @@
  */
 package org.kie.kogito.tracing.decision;
 
+import java.time.Duration;
 import java.util.function.BiFunction;
 
 import org.kie.dmn.api.core.DMNModel;
@@ -42,6 +43,14 @@ public class SpringBootDecisionTracingCollector {
         this(eventEmitter, configBean, new ApplicationModelSupplier(application));
     }
 
+    public SpringBootDecisionTracingCollector(final SpringBootTraceEventEmitter eventEmitter,
+            final ConfigBean configBean,
+            final Application application,
+            final int maxInFlightExecutions,
+            final Duration executionTtl) {
+        this.collector = new DecisionTracingCollector(eventEmitter::emit, new ApplicationModelSupplier(application), configBean, maxInFlightExecutions, executionTtl);
+    }
+
     public void onApplicationEvent(final EvaluateEvent event) {
         collector.addEvent(event);
     }
@@ -18,6 +18,7 @@
  */
 package org.kie.kogito.tracing.decision;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.Executor;
@@ -64,11 +65,14 @@ public class SpringBootDecisionTracingConfiguration {
             final SpringBootTraceEventEmitter eventEmitter,
             final ConfigBean configBean,
             final Application application,
-            @Value(value = "${kogito.addon.tracing.decision.asyncEnabled:true}") final boolean asyncEnabled) {
+            @Value(value = "${kogito.addon.tracing.decision.asyncEnabled:true}") final boolean asyncEnabled,
+            @Value(value = "${kogito.addon.tracing.decision.maxInFlightExecutions:10000}") final int maxInFlightExecutions,
+            @Value(value = "${kogito.addon.tracing.decision.executionTtlMillis:300000}") final long executionTtlMillis) {
+        Duration executionTtl = Duration.ofMillis(executionTtlMillis);
         if (asyncEnabled) {
-            return new SpringBootDecisionTracingCollectorAsync(eventEmitter, configBean, application);
+            return new SpringBootDecisionTracingCollectorAsync(eventEmitter, configBean, application, maxInFlightExecutions, executionTtl);
         } else {
-            return new SpringBootDecisionTracingCollector(eventEmitter, configBean, application);
+            return new SpringBootDecisionTracingCollector(eventEmitter, configBean, application, maxInFlightExecutions, executionTtl);
         }
     }
 
@@ -23,17 +23,22 @@ import java.util.List;
 import org.kie.kogito.config.ConfigBean;
 import org.kie.kogito.correlation.CorrelationService;
 import org.kie.kogito.event.correlation.DefaultCorrelationService;
+import org.kie.kogito.jobs.JobStore;
 import org.kie.kogito.jobs.JobsService;
 import org.kie.kogito.process.version.ProjectVersionProcessVersionResolver;
+import org.kie.kogito.services.jobs.impl.DurableInMemoryJobService;
 import org.kie.kogito.services.jobs.impl.InMemoryJobContext;
 import org.kie.kogito.services.jobs.impl.InMemoryJobService;
 import org.kie.kogito.services.jobs.impl.InMemoryProcessJobExecutorFactory;
+import org.kie.kogito.services.jobs.impl.JobExecutorFactoryRegistry;
+import org.kie.kogito.services.jobs.impl.TimingWheelJobService;
 import org.kie.kogito.services.uow.CollectingUnitOfWorkFactory;
 import org.kie.kogito.services.uow.DefaultUnitOfWorkManager;
 import org.kie.kogito.uow.UnitOfWorkManager;
 import org.kie.kogito.usertask.UserTasks;
 import org.kogito.workitem.rest.RestWorkItemHandlerUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
@@ -59,11 +64,22 @@ public class KogitoBeanProducer {
 
     @Bean
     @ConditionalOnMissingBean(JobsService.class)
-    JobsService jobsService(List<Processes> processes, List<UserTasks> userTasks, UnitOfWorkManager uowm) {
+    JobsService jobsService(List<Processes> processes, List<UserTasks> userTasks, List<JobStore> jobStores, UnitOfWorkManager uowm,
+            @Value("${" + InMemoryJobService.IN_MEMORY_JOB_SERVICE_TYPE_PROPERTY + ":" + InMemoryJobService.SCHEDULED_TYPE + "}") String type,
+            @Value("${" + TimingWheelJobService.TICK_DURATION_PROPERTY + ":" + TimingWheelJobService.DEFAULT_TICK_DURATION + "}") long tickDuration,
+            @Value("${" + TimingWheelJobService.WHEEL_SIZE_PROPERTY + ":" + TimingWheelJobService.DEFAULT_WHEEL_SIZE + "}") int wheelSize,
+            @Value("${" + InMemoryJobService.IN_MEMORY_JOB_SERVICE_POOL_SIZE_PROPERTY + ":10}") int poolSize) {
         InMemoryJobContext context = new InMemoryJobContext(null, uowm, !processes.isEmpty() ? processes.get(0) : null, !userTasks.isEmpty() ? userTasks.get(0) : null);
-        InMemoryJobService inMemoryJobService = new InMemoryJobService();
-        inMemoryJobService.registerJobExecutorFactory(new InMemoryProcessJobExecutorFactory(context));
-        return inMemoryJobService;
+        JobExecutorFactoryRegistry jobsService;
+        if (!jobStores.isEmpty()) {
+            jobsService = new DurableInMemoryJobService(jobStores.get(0));
+        } else if (InMemoryJobService.TIMING_WHEEL_TYPE.equals(type)) {
+            jobsService = new TimingWheelJobService(tickDuration, wheelSize, poolSize);
+        } else {
+            jobsService = new InMemoryJobService();
+        }
+        jobsService.registerJobExecutorFactory(new InMemoryProcessJobExecutorFactory(context));
+        return (JobsService) jobsService;
     }
 
     @Bean